@@ -0,0 +1,196 @@
+package com.cerner.beadledom.avro;
+
+import com.cerner.beadledom.jackson.filter.FieldFilteringGenerator;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.jsonFormatVisitors.JsonFormatVisitorWrapper;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.BeanSerializerBase;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import org.apache.avro.Schema;
+import org.apache.avro.specific.SpecificData;
+import org.apache.avro.specific.SpecificRecordBase;
+
+/**
+ * A serializer for Avro {@link SpecificRecordBase} types that reads and writes only the fields
+ * selected by a {@link com.cerner.beadledom.jackson.filter.FieldFilter}.
+ *
+ * <p>When a record is written to a {@link FieldFilteringGenerator}, the record's fields are walked
+ * in the order of its bean serializer and only the selected fields are read, by their schema
+ * position using {@link SpecificRecordBase#get(int)} rather than reflection. Excluded fields,
+ * including large nested arrays, are never read or serialized.
+ *
+ * <p>Properties that are not plain schema fields, such as properties renamed or configured with
+ * {@code @JsonSerialize} or {@code @JsonFormat}, directly or through a mix-in, are written by
+ * their bean property writer. Records with an object id, and all other serialization, are
+ * handled by the bean serializer, so unfiltered output is unchanged.
+ */
+class AvroFieldFilteringSerializer extends JsonSerializer<SpecificRecordBase>
+    implements ContextualSerializer, ResolvableSerializer {
+  private final BeanSerializerBase delegate;
+  private final Schema schema;
+  private Field[] fields;
+
+  AvroFieldFilteringSerializer(BeanSerializerBase delegate, Schema schema) {
+    this.delegate = delegate;
+    this.schema = schema;
+    this.fields = findFields(delegate, schema);
+  }
+
+  @Override
+  public void serialize(SpecificRecordBase value, JsonGenerator gen, SerializerProvider provider)
+      throws IOException {
+    if (!(gen instanceof FieldFilteringGenerator) || fields == null
+        || delegate.usesObjectId() || provider.getActiveView() != null) {
+      delegate.serialize(value, gen, provider);
+      return;
+    }
+
+    FieldFilteringGenerator filteringGen = (FieldFilteringGenerator) gen;
+    gen.writeStartObject();
+    for (Field field : fields) {
+      if (!filteringGen.includesField(field.name.getValue())) {
+        continue;
+      }
+
+      try {
+        if (field.position < 0) {
+          field.writer.serializeAsField(value, gen, provider);
+          continue;
+        }
+
+        Object fieldValue = value.get(field.position);
+        if (fieldValue == null) {
+          if (!field.writer.willSuppressNulls()) {
+            gen.writeFieldName(field.name);
+            provider.defaultSerializeNull(gen);
+          }
+          continue;
+        }
+
+        gen.writeFieldName(field.name);
+        provider.findValueSerializer(fieldValue.getClass(), field.writer)
+            .serialize(fieldValue, gen, provider);
+      } catch (IOException e) {
+        throw e;
+      } catch (Exception e) {
+        throw JsonMappingException.wrapWithPath(e, value, field.name.getValue());
+      }
+    }
+    gen.writeEndObject();
+  }
+
+  @Override
+  public void serializeWithType(
+      SpecificRecordBase value, JsonGenerator gen, SerializerProvider provider,
+      TypeSerializer typeSer) throws IOException {
+    delegate.serializeWithType(value, gen, provider, typeSer);
+  }
+
+  @Override
+  public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property)
+      throws JsonMappingException {
+    JsonSerializer<?> contextual = delegate.createContextual(provider, property);
+    if (contextual == delegate) {
+      return this;
+    }
+    if (!(contextual instanceof BeanSerializerBase)) {
+      return contextual;
+    }
+    return new AvroFieldFilteringSerializer((BeanSerializerBase) contextual, schema);
+  }
+
+  @Override
+  public void resolve(SerializerProvider provider) throws JsonMappingException {
+    delegate.resolve(provider);
+    // Resolving may replace the property writers of the bean serializer
+    fields = findFields(delegate, schema);
+  }
+
+  @Override
+  public boolean usesObjectId() {
+    return delegate.usesObjectId();
+  }
+
+  @Override
+  public boolean isEmpty(SerializerProvider provider, SpecificRecordBase value) {
+    return delegate.isEmpty(provider, value);
+  }
+
+  @Override
+  public void acceptJsonFormatVisitor(JsonFormatVisitorWrapper visitor, JavaType type)
+      throws JsonMappingException {
+    delegate.acceptJsonFormatVisitor(visitor, type);
+  }
+
+  /**
+   * Returns the record schema of an Avro specific record type.
+   */
+  static Schema schemaOf(Class<?> recordClass) {
+    return SpecificData.get().getSchema(recordClass);
+  }
+
+  /**
+   * Returns the fields written by the bean serializer, or null if any of its properties is not
+   * written by a {@link BeanPropertyWriter}.
+   */
+  private static Field[] findFields(BeanSerializerBase serializer, Schema schema) {
+    List<Field> fields = new ArrayList<Field>();
+    Iterator<PropertyWriter> properties = serializer.properties();
+    while (properties.hasNext()) {
+      PropertyWriter property = properties.next();
+      if (!(property instanceof BeanPropertyWriter)) {
+        return null;
+      }
+
+      BeanPropertyWriter writer = (BeanPropertyWriter) property;
+      Schema.Field schemaField = schema.getField(writer.getName());
+      int position = schemaField != null && isPlain(writer) ? schemaField.pos() : -1;
+      fields.add(new Field(writer, position));
+    }
+
+    return fields.toArray(new Field[fields.size()]);
+  }
+
+  /**
+   * Returns true if the property writer writes its value with the default serializer of the value
+   * type, so the value can be read from the record and written without the writer.
+   */
+  private static boolean isPlain(BeanPropertyWriter writer) {
+    return writer.getAnnotation(JsonSerialize.class) == null
+        && writer.getAnnotation(JsonFormat.class) == null
+        && !writer.hasNullSerializer()
+        && writer.getTypeSerializer() == null
+        && writer.getViews() == null;
+  }
+
+  /**
+   * A serialized field of a record, with its position in the record's schema, or -1 if it is
+   * written by its bean property writer.
+   */
+  private static class Field {
+    final BeanPropertyWriter writer;
+    final SerializableString name;
+    final int position;
+
+    Field(BeanPropertyWriter writer, int position) {
+      this.writer = writer;
+      this.name = writer.getSerializedName();
+      this.position = position;
+    }
+  }
+}
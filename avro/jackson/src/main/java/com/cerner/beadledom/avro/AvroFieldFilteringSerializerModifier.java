@@ -0,0 +1,30 @@
+package com.cerner.beadledom.avro;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.std.BeanSerializerBase;
+import org.apache.avro.specific.SpecificRecordBase;
+
+/**
+ * A {@link BeanSerializerModifier} that wraps the bean serializers of Avro
+ * {@link SpecificRecordBase} types with an {@link AvroFieldFilteringSerializer}.
+ *
+ * <p>Serializers that are not bean serializers, such as custom serializers registered for a
+ * record type, and the bean serializers of records with an any-getter, are used unchanged.
+ */
+class AvroFieldFilteringSerializerModifier extends BeanSerializerModifier {
+  @Override
+  public JsonSerializer<?> modifySerializer(
+      SerializationConfig config, BeanDescription beanDesc, JsonSerializer<?> serializer) {
+    if (!SpecificRecordBase.class.isAssignableFrom(beanDesc.getBeanClass())
+        || !(serializer instanceof BeanSerializerBase) || beanDesc.findAnyGetter() != null) {
+      return serializer;
+    }
+
+    return new AvroFieldFilteringSerializer(
+        (BeanSerializerBase) serializer,
+        AvroFieldFilteringSerializer.schemaOf(beanDesc.getBeanClass()));
+  }
+}
@@ -49,6 +49,8 @@ public class AvroJacksonModule extends Module {
     // Serialization is easy - this mixin disables serialization of the Schema field,
     // and everything else Just Works.
     context.setMixInAnnotations(SpecificRecordBase.class, AvroMappingMixin.class);
+    // When field filtering, only the property writers of the selected fields of a record are used.
+    context.addBeanSerializerModifier(new AvroFieldFilteringSerializerModifier());
     // Deserialization is harder. Registering a custom Deserializers instance allows us to manually
     // construct a JsonDeserializer each time the ObjectMapper encounters a new type, so we can
     // detect SpecificRecordBase subclasses and handle them specially.
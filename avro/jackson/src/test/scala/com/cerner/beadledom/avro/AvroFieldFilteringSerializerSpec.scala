@@ -0,0 +1,136 @@
+package com.cerner.beadledom.avro
+
+import com.cerner.beadledom.jackson.filter.{FieldFilter, FieldFilterWriter}
+import com.cerner.beadledom.metadata.BuildInfo
+import com.fasterxml.jackson.annotation.JsonProperty
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.fasterxml.jackson.databind.annotation.JsonSerialize
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer
+import java.io.StringWriter
+import java.util.Properties
+import org.scalatest.{FunSpec, ShouldMatchers}
+import scala.collection.JavaConverters._
+
+/**
+ * Spec tests for {@link AvroFieldFilteringSerializer}.
+ */
+class AvroFieldFilteringSerializerSpec extends FunSpec with ShouldMatchers {
+  val buildInfo = BuildInfo.builder()
+      .setVersion("1.0")
+      .setArtifactId("artifactId")
+      .setGroupId("groupId")
+      .setScmRevision("ScmRevision")
+      .setRawProperties(new Properties())
+      .build()
+
+  val mapper = new ObjectMapper().registerModule(new AvroJacksonModule(buildInfo))
+  val writer = new FieldFilterWriter(mapper)
+
+  def model(innerCount: Int): OuterTestModel = {
+    OuterTestModel.newBuilder
+        .setInnerModels((0 until innerCount).map(i =>
+      InnerTestModel.newBuilder
+          .setNullableWithDefault(if (i % 2 == 0) null else "value" + i)
+          .setSomeField("field" + i)
+          .build).asJava)
+        .setLongWithoutDefault(9)
+        .setStringWithoutDefault("yo")
+        .build
+  }
+
+  def writeFiltered(value: AnyRef, fields: String, writer: FieldFilterWriter = writer): String = {
+    val stringWriter = new StringWriter
+    val jgen = mapper.getFactory.createGenerator(stringWriter)
+    writer.writeValue(jgen, value, FieldFilter.create(fields))
+    jgen.flush()
+    stringWriter.toString
+  }
+
+  def writeBuffered(value: AnyRef, fields: String): String = {
+    val stringWriter = new StringWriter
+    val jgen = mapper.getFactory.createGenerator(stringWriter)
+    val parser = mapper.getFactory.createParser(mapper.writeValueAsString(value))
+    FieldFilter.create(fields).writeJson(parser, jgen)
+    jgen.flush()
+    stringWriter.toString
+  }
+
+  describe("AvroFieldFilteringSerializer") {
+    it("does not change unfiltered output") {
+      val str = mapper.writeValueAsString(model(3))
+      mapper.readValue(str, classOf[OuterTestModel]) should be(model(3))
+    }
+
+    it("writes only the top level fields selected") {
+      writeFiltered(model(3), "stringWithoutDefault,longWithDefault") should be(
+        """{"stringWithoutDefault":"yo","longWithDefault":5}""")
+    }
+
+    it("writes only the nested fields selected") {
+      writeFiltered(model(2), "innerModels/someField") should be(
+        """{"innerModels":[{"someField":"field0"},{"someField":"field1"}]}""")
+    }
+
+    it("writes null fields that are selected") {
+      writeFiltered(model(1), "innerModels/nullableWithDefault") should be(
+        """{"innerModels":[{"nullableWithDefault":null}]}""")
+    }
+
+    it("writes the same json as filtering the buffered output") {
+      val value = model(5)
+      Seq("stringWithoutDefault", "innerModels", "innerModels/someField",
+        "longWithoutDefault,innerModels[1:3]", "-innerModels",
+        "innerModels/*,-innerModels/someField", "doesNotExist").foreach { fields =>
+        writeFiltered(value, fields) should be(writeBuffered(value, fields))
+      }
+    }
+
+    it("applies property level configuration to the selected fields") {
+      val mixInMapper = new ObjectMapper().registerModule(new AvroJacksonModule(buildInfo))
+          .addMixIn(classOf[OuterTestModel], classOf[LongAsStringMixin])
+
+      writeFiltered(model(1), "longWithoutDefault", new FieldFilterWriter(mixInMapper)) should be(
+        "{\"longWithoutDefault\":\"9\"}")
+    }
+
+    it("writes renamed properties with their bean property writer") {
+      val mixInMapper = new ObjectMapper().registerModule(new AvroJacksonModule(buildInfo))
+          .addMixIn(classOf[OuterTestModel], classOf[RenamedLongMixin])
+
+      writeFiltered(model(1), "count,stringWithoutDefault", new FieldFilterWriter(mixInMapper)) should
+          be("{\"stringWithoutDefault\":\"yo\",\"count\":9}")
+    }
+  }
+
+  describe("A series of tests to measure filtered avro serialization") {
+    it("measures filtered serialization of a record with a large nested array") {
+      val value = model(100000)
+      val iterations = 10
+
+      // Warm up
+      writeFiltered(value, "stringWithoutDefault")
+      writeBuffered(value, "stringWithoutDefault")
+
+      val streamingStart = System.nanoTime()
+      (1 to iterations).foreach(_ => writeFiltered(value, "stringWithoutDefault"))
+      val streamingMillis = (System.nanoTime() - streamingStart) / 1000000
+
+      val bufferedStart = System.nanoTime()
+      (1 to iterations).foreach(_ => writeBuffered(value, "stringWithoutDefault"))
+      val bufferedMillis = (System.nanoTime() - bufferedStart) / 1000000
+
+      println(s"Filtered avro serialization of $iterations records: $streamingMillis ms")
+      println(s"Buffered avro serialization of $iterations records: $bufferedMillis ms")
+    }
+  }
+}
+
+abstract class LongAsStringMixin {
+  @JsonSerialize(using = classOf[ToStringSerializer])
+  def getLongWithoutDefault: java.lang.Long
+}
+
+abstract class RenamedLongMixin {
+  @JsonProperty("count")
+  def getLongWithoutDefault: java.lang.Long
+}
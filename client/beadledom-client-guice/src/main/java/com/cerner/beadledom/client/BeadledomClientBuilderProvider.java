@@ -72,9 +72,23 @@ class BeadledomClientBuilderProvider implements Provider<BeadledomClientBuilder>
 
       clientBuilder.setConnectionPoolSize(config.connectionPoolSize());
       clientBuilder.setMaxPooledPerRouteSize(config.maxPooledPerRouteSize());
+      for (Map.Entry<String, Integer> entry : config.maxPooledPerRouteSizes().entrySet()) {
+        clientBuilder.setMaxPooledPerRouteSize(entry.getKey(), entry.getValue());
+      }
       clientBuilder.setSocketTimeout(config.socketTimeoutMillis(), TimeUnit.SECONDS);
       clientBuilder.setConnectionTimeout(config.connectionTimeoutMillis(), TimeUnit.SECONDS);
       clientBuilder.setTtl(config.ttlMillis(), TimeUnit.SECONDS);
+      clientBuilder.setIdleConnectionTimeout(
+          config.idleConnectionTimeoutMillis(), TimeUnit.MILLISECONDS);
+      clientBuilder.setValidateAfterInactivity(
+          config.validateAfterInactivityMillis(), TimeUnit.MILLISECONDS);
+      clientBuilder.setNonBlockingHttpEngine(config.nonBlockingHttpEngine());
+      clientBuilder.setStreamRequestBodies(config.streamRequestBodies());
+      clientBuilder.setUnbufferedResponseBodies(config.unbufferedResponseBodies());
+      clientBuilder.setRetryPolicy(config.retryPolicy());
+      clientBuilder.setHedgingPolicy(config.hedgingPolicy());
+      clientBuilder.setConcurrencyLimitPolicy(config.concurrencyLimitPolicy());
+      clientBuilder.setResponseCachePolicy(config.responseCachePolicy());
 
       if (config.sslContext() != null) {
         clientBuilder.sslContext(config.sslContext());
@@ -10,7 +10,8 @@ import org.slf4j.LoggerFactory;
  * Lifecycle hooks for {@link BeadledomClient}.
  *
  * <p>This makes sure that the Beadledom client is closed when the lifecycle managing container
- * shuts down.
+ * shuts down. Closing the client also stops the background eviction of the idle connections of its
+ * connection pool, and the eviction thread once no clients that use it remain open.
  *
  * @author John Leacox
  * @since 2.0
@@ -1,6 +1,7 @@
 package com.cerner.beadledom.client
 
 import com.google.inject._
+import java.util.Collections
 import javax.ws.rs.ext
 import org.scalatest.{BeforeAndAfter, FunSpec, MustMatchers}
 
@@ -70,6 +71,10 @@ class BeadledomClientModuleSpec extends FunSpec with MustMatchers with BeforeAnd
               .builder()
               .connectionPoolSize(1)
               .connectionTimeoutMillis(2)
+              .idleConnectionTimeoutMillis(3)
+              .validateAfterInactivityMillis(4)
+              .maxPooledPerRouteSizes(
+                Collections.singletonMap[String, Integer]("example.com:443", 5))
               .correlationIdName(correlationIdName)
               .build()
 
@@ -88,6 +93,9 @@ class BeadledomClientModuleSpec extends FunSpec with MustMatchers with BeforeAnd
 
       config.connectionPoolSize mustBe 1
       config.connectionTimeoutMillis mustBe 2 * 1000
+      config.idleConnectionTimeoutMillis mustBe 3
+      config.validateAfterInactivityMillis mustBe 4
+      config.maxPooledPerRouteSizes.get("example.com:443") mustBe 5
       config.correlationIdName mustBe correlationIdName
 
       classOf[BeadledomClient].isAssignableFrom(clientBuilder.build.getClass) mustBe true
@@ -140,6 +140,16 @@ public abstract class BeadledomClientBuilder extends ClientBuilder {
    */
   public abstract BeadledomClientBuilder setMaxPooledPerRouteSize(int maxPooledPerRouteSize);
 
+  /**
+   * Sets the max connection pool size of a single route, given as {@code host:port}, overriding
+   * the default max connection pool size per route.
+   *
+   * @return this builder
+   * @since 2.7
+   */
+  public abstract BeadledomClientBuilder setMaxPooledPerRouteSize(
+      String route, int maxPooledPerRouteSize);
+
   /**
    * Sets the default socket timeout to be used.
    * @return this builder
@@ -160,4 +170,87 @@ public abstract class BeadledomClientBuilder extends ClientBuilder {
    * @return this builder
    */
   public abstract BeadledomClientBuilder setTtl(int ttl, TimeUnit timeUnit);
+
+  /**
+   * Sets how long a pooled connection may be idle before it is closed in the background, or 0 to
+   * keep idle connections until they expire.
+   *
+   * @return this builder
+   * @since 2.7
+   */
+  public abstract BeadledomClientBuilder setIdleConnectionTimeout(
+      int idleConnectionTimeout, TimeUnit timeUnit);
+
+  /**
+   * Sets how long a pooled connection may be idle before it is checked for having been closed by
+   * the server when it is next leased, or 0 to never check pooled connections.
+   *
+   * @return this builder
+   * @since 2.7
+   */
+  public abstract BeadledomClientBuilder setValidateAfterInactivity(
+      int validateAfterInactivity, TimeUnit timeUnit);
+
+  /**
+   * Sets whether requests are sent with a non-blocking http engine, which multiplexes its
+   * connections over a few I/O threads, rather than the default blocking http engine.
+   *
+   * @return this builder
+   * @since 2.7
+   */
+  public abstract BeadledomClientBuilder setNonBlockingHttpEngine(boolean nonBlockingHttpEngine);
+
+  /**
+   * Sets whether request bodies are written straight to the connection with chunked transfer
+   * encoding, rather than buffered before they are sent so the request can be retried.
+   *
+   * @return this builder
+   * @since 2.7
+   */
+  public abstract BeadledomClientBuilder setStreamRequestBodies(boolean streamRequestBodies);
+
+  /**
+   * Sets whether response bodies are read straight from the stream of the connection, rather than
+   * through an additional buffer.
+   *
+   * @return this builder
+   * @since 2.7
+   */
+  public abstract BeadledomClientBuilder setUnbufferedResponseBodies(
+      boolean unbufferedResponseBodies);
+
+  /**
+   * Sets the policy failed requests are retried with.
+   *
+   * @return this builder
+   * @since 2.7
+   */
+  public abstract BeadledomClientBuilder setRetryPolicy(RetryPolicy retryPolicy);
+
+  /**
+   * Sets the policy {@code GET} requests are hedged with, or null to not hedge requests.
+   *
+   * @return this builder
+   * @since 2.7
+   */
+  public abstract BeadledomClientBuilder setHedgingPolicy(HedgingPolicy hedgingPolicy);
+
+  /**
+   * Sets the policy concurrent requests are limited with, or null to only limit concurrent
+   * requests by the connection pool.
+   *
+   * @return this builder
+   * @since 2.7
+   */
+  public abstract BeadledomClientBuilder setConcurrencyLimitPolicy(
+      ConcurrencyLimitPolicy concurrencyLimitPolicy);
+
+  /**
+   * Sets the policy responses are cached with, or null to not cache responses.
+   *
+   * @return this builder
+   * @since 2.7
+   */
+  public abstract BeadledomClientBuilder setResponseCachePolicy(
+      ResponseCachePolicy responseCachePolicy);
 }
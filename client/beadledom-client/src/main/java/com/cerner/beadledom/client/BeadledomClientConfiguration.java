@@ -2,6 +2,8 @@ package com.cerner.beadledom.client;
 
 import com.google.auto.value.AutoValue;
 import java.security.KeyStore;
+import java.util.Collections;
+import java.util.Map;
 import javax.annotation.Nullable;
 import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.SSLContext;
@@ -16,6 +18,8 @@ public abstract class BeadledomClientConfiguration {
   private static final int DEFAULT_SOCKET_TIMEOUT_MILLIS = 10000;
   private static final int DEFAULT_CONNECTION_TIMEOUT_MILLIS = 10000;
   private static final int DEFAULT_TTL_MILLIS = 1800000;
+  private static final int DEFAULT_IDLE_CONNECTION_TIMEOUT_MILLIS = 30000;
+  private static final int DEFAULT_VALIDATE_AFTER_INACTIVITY_MILLIS = 2000;
 
   public Builder newBuilder() {
     return BeadledomClientConfiguration.builder(this);
@@ -32,21 +36,110 @@ public abstract class BeadledomClientConfiguration {
     return new AutoValue_BeadledomClientConfiguration.Builder()
         .connectionPoolSize(DEFAULT_CONNECTION_POOL_SIZE)
         .maxPooledPerRouteSize(DEFAULT_MAX_POOLED_PER_ROUTE)
+        .maxPooledPerRouteSizes(Collections.<String, Integer>emptyMap())
         .socketTimeoutMillis(DEFAULT_SOCKET_TIMEOUT_MILLIS)
         .connectionTimeoutMillis(DEFAULT_CONNECTION_TIMEOUT_MILLIS)
-        .ttlMillis(DEFAULT_TTL_MILLIS);
+        .ttlMillis(DEFAULT_TTL_MILLIS)
+        .idleConnectionTimeoutMillis(DEFAULT_IDLE_CONNECTION_TIMEOUT_MILLIS)
+        .validateAfterInactivityMillis(DEFAULT_VALIDATE_AFTER_INACTIVITY_MILLIS)
+        .nonBlockingHttpEngine(false)
+        .streamRequestBodies(false)
+        .unbufferedResponseBodies(false)
+        .retryPolicy(RetryPolicy.builder().build());
   }
 
   public abstract int connectionPoolSize();
 
   public abstract int maxPooledPerRouteSize();
 
+  /**
+   * Returns the max connection pool sizes of specific routes, keyed by {@code host:port}.
+   *
+   * <p>Routes without an entry use {@link #maxPooledPerRouteSize()}.
+   *
+   * @since 2.7
+   */
+  public abstract Map<String, Integer> maxPooledPerRouteSizes();
+
   public abstract int socketTimeoutMillis();
 
   public abstract int connectionTimeoutMillis();
 
   public abstract int ttlMillis();
 
+  /**
+   * Returns how long a pooled connection may be idle before it is closed in the background, or 0 if
+   * idle connections are kept until they expire.
+   *
+   * @since 2.7
+   */
+  public abstract int idleConnectionTimeoutMillis();
+
+  /**
+   * Returns how long a pooled connection may be idle before it is checked for having been closed by
+   * the server when it is next leased, or 0 if pooled connections are never checked.
+   *
+   * @since 2.7
+   */
+  public abstract int validateAfterInactivityMillis();
+
+  /**
+   * Returns true if the client sends requests with a non-blocking http engine, which multiplexes
+   * its connections over a few I/O threads, rather than the default blocking http engine.
+   *
+   * @since 2.7
+   */
+  public abstract boolean nonBlockingHttpEngine();
+
+  /**
+   * Returns true if request bodies are written straight to the connection with chunked transfer
+   * encoding, rather than buffered before they are sent so the request can be retried.
+   *
+   * @since 2.7
+   */
+  public abstract boolean streamRequestBodies();
+
+  /**
+   * Returns true if response bodies are read straight from the stream of the connection, rather
+   * than through an additional buffer.
+   *
+   * @since 2.7
+   */
+  public abstract boolean unbufferedResponseBodies();
+
+  /**
+   * Returns the policy the client retries failed requests with.
+   *
+   * @since 2.7
+   */
+  public abstract RetryPolicy retryPolicy();
+
+  /**
+   * Returns the policy the client hedges its {@code GET} requests with, or null if requests are
+   * not hedged.
+   *
+   * @since 2.7
+   */
+  @Nullable
+  public abstract HedgingPolicy hedgingPolicy();
+
+  /**
+   * Returns the policy the client limits its concurrent requests with, or null if concurrent
+   * requests are only limited by the connection pool.
+   *
+   * @since 2.7
+   */
+  @Nullable
+  public abstract ConcurrencyLimitPolicy concurrencyLimitPolicy();
+
+  /**
+   * Returns the policy the client caches responses with, or null if responses are not cached.
+   *
+   * @since 2.7
+   */
+  @Nullable
+  public abstract ResponseCachePolicy responseCachePolicy();
+
   @Nullable
   public abstract SSLContext sslContext();
 
@@ -65,12 +158,32 @@ public abstract class BeadledomClientConfiguration {
 
     public abstract Builder maxPooledPerRouteSize(int maxPooledRouteSize);
 
+    public abstract Builder maxPooledPerRouteSizes(Map<String, Integer> maxPooledPerRouteSizes);
+
     public abstract Builder socketTimeoutMillis(int socketTimeoutMillis);
 
     public abstract Builder connectionTimeoutMillis(int connectionTimeoutMillis);
 
     public abstract Builder ttlMillis(int ttlMillis);
 
+    public abstract Builder idleConnectionTimeoutMillis(int idleConnectionTimeoutMillis);
+
+    public abstract Builder validateAfterInactivityMillis(int validateAfterInactivityMillis);
+
+    public abstract Builder nonBlockingHttpEngine(boolean nonBlockingHttpEngine);
+
+    public abstract Builder streamRequestBodies(boolean streamRequestBodies);
+
+    public abstract Builder unbufferedResponseBodies(boolean unbufferedResponseBodies);
+
+    public abstract Builder retryPolicy(RetryPolicy retryPolicy);
+
+    public abstract Builder hedgingPolicy(HedgingPolicy hedgingPolicy);
+
+    public abstract Builder concurrencyLimitPolicy(ConcurrencyLimitPolicy concurrencyLimitPolicy);
+
+    public abstract Builder responseCachePolicy(ResponseCachePolicy responseCachePolicy);
+
     public abstract Builder sslContext(SSLContext context);
 
     public abstract Builder trustStore(KeyStore key);
@@ -0,0 +1,43 @@
+package com.cerner.beadledom.client;
+
+import javax.annotation.Nullable;
+import javax.ws.rs.ProcessingException;
+
+/**
+ * Thrown when a request is not sent because the client, or the route of the request, already has
+ * as many requests in flight as its concurrency limit.
+ *
+ * @since 2.7
+ */
+public class ConcurrencyLimitExceededException extends ProcessingException {
+  private static final long serialVersionUID = 1L;
+
+  private final String route;
+  private final int limit;
+
+  /**
+   * Creates an instance of {@link ConcurrencyLimitExceededException} for the given route, or for
+   * the client as a whole if the route is null, and the limit that was exceeded.
+   */
+  public ConcurrencyLimitExceededException(@Nullable String route, int limit) {
+    super((route == null ? "Client" : "Route " + route) + " concurrency limit of " + limit
+        + " requests exceeded");
+    this.route = route;
+    this.limit = limit;
+  }
+
+  /**
+   * Returns the route whose limit was exceeded, or null if the limit of the client was exceeded.
+   */
+  @Nullable
+  public String getRoute() {
+    return route;
+  }
+
+  /**
+   * Returns the limit that was exceeded.
+   */
+  public int getLimit() {
+    return limit;
+  }
+}
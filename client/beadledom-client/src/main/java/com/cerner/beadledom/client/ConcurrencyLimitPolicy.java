@@ -0,0 +1,106 @@
+package com.cerner.beadledom.client;
+
+import com.google.auto.value.AutoValue;
+
+/**
+ * Configures how a client limits its concurrent requests.
+ *
+ * <p>The client as a whole, and each route of the client, may only have as many requests in
+ * flight as its current limit. Requests over either limit fail fast with a
+ * {@link ConcurrencyLimitExceededException}, rather than waiting for a connection. A request is in
+ * flight from when it is sent until its response has been read or closed.
+ *
+ * <p>The limits adapt to the observed latency with a gradient algorithm: a limit grows while
+ * requests complete in about their usual time, and shrinks when the latency of a request grows
+ * beyond the latency tolerance times the average latency, or when a request fails or is rejected
+ * by the server with a 429 or 503 response. The limits stay between the min and max limits.
+ *
+ * @since 2.7
+ */
+@AutoValue
+public abstract class ConcurrencyLimitPolicy {
+  public static final int DEFAULT_INITIAL_LIMIT = 20;
+  public static final int DEFAULT_MIN_LIMIT = 1;
+  public static final int DEFAULT_MAX_LIMIT = 200;
+  public static final double DEFAULT_LATENCY_TOLERANCE = 2;
+
+  /**
+   * Creates a new builder for {@code ConcurrencyLimitPolicy} with the default values.
+   *
+   * <p>By default the limits start at 20 requests, and adapt between 1 and 200 requests with a
+   * latency tolerance of 2.
+   */
+  public static Builder builder() {
+    return new AutoValue_ConcurrencyLimitPolicy.Builder()
+        .initialLimit(DEFAULT_INITIAL_LIMIT)
+        .minLimit(DEFAULT_MIN_LIMIT)
+        .maxLimit(DEFAULT_MAX_LIMIT)
+        .latencyTolerance(DEFAULT_LATENCY_TOLERANCE);
+  }
+
+  public Builder newBuilder() {
+    return new AutoValue_ConcurrencyLimitPolicy.Builder(this);
+  }
+
+  /**
+   * Returns the number of concurrent requests a limit starts at.
+   */
+  public abstract int initialLimit();
+
+  /**
+   * Returns the lowest a limit may shrink to.
+   */
+  public abstract int minLimit();
+
+  /**
+   * Returns the highest a limit may grow to.
+   */
+  public abstract int maxLimit();
+
+  /**
+   * Returns how many times longer than the average latency a request may take before the limit
+   * shrinks.
+   */
+  public abstract double latencyTolerance();
+
+  @AutoValue.Builder
+  public abstract static class Builder {
+    public abstract Builder initialLimit(int initialLimit);
+
+    public abstract Builder minLimit(int minLimit);
+
+    public abstract Builder maxLimit(int maxLimit);
+
+    public abstract Builder latencyTolerance(double latencyTolerance);
+
+    abstract ConcurrencyLimitPolicy autoBuild();
+
+    /**
+     * Builds the {@code ConcurrencyLimitPolicy}.
+     *
+     * @throws IllegalArgumentException if the min limit is not positive, if the initial limit is
+     *     not between the min and max limits, or if the latency tolerance is less than 1
+     */
+    public ConcurrencyLimitPolicy build() {
+      ConcurrencyLimitPolicy policy = autoBuild();
+      if (policy.minLimit() <= 0) {
+        throw new IllegalArgumentException(
+            "minLimit: " + policy.minLimit() + " must be positive");
+      }
+      if (policy.maxLimit() < policy.minLimit()) {
+        throw new IllegalArgumentException(
+            "maxLimit: " + policy.maxLimit() + " must not be less than minLimit");
+      }
+      if (policy.initialLimit() < policy.minLimit() || policy.initialLimit() > policy.maxLimit()) {
+        throw new IllegalArgumentException(
+            "initialLimit: " + policy.initialLimit() + " must be between minLimit and maxLimit");
+      }
+      if (!(policy.latencyTolerance() >= 1)) {
+        throw new IllegalArgumentException(
+            "latencyTolerance: " + policy.latencyTolerance() + " must be at least 1");
+      }
+
+      return policy;
+    }
+  }
+}
@@ -0,0 +1,120 @@
+package com.cerner.beadledom.client;
+
+import com.google.auto.value.AutoValue;
+
+/**
+ * Configures how a client hedges its {@code GET} requests.
+ *
+ * <p>When a {@code GET} request has not been answered within the hedge delay, the same request is
+ * sent again. The first response to arrive is used, and the other attempt is aborted, which
+ * releases its connection.
+ *
+ * <p>The hedge delay is a percentile of the recent latencies of the hedged requests of the
+ * client, so only the slowest requests are hedged. Until enough latencies have been observed, the
+ * initial delay is used. The delay is never shorter than the minimum delay.
+ *
+ * <p>Hedges are limited by a client-wide budget, a token bucket that allows a percentage of the
+ * {@code GET} requests of the client to be hedged, plus a burst of hedges, so hedging cannot
+ * double the load on a backend.
+ *
+ * @since 2.7
+ */
+@AutoValue
+public abstract class HedgingPolicy {
+  public static final double DEFAULT_DELAY_PERCENTILE = 95;
+  public static final int DEFAULT_INITIAL_DELAY_MILLIS = 100;
+  public static final int DEFAULT_MIN_DELAY_MILLIS = 10;
+  public static final int DEFAULT_BUDGET_PERCENT = 5;
+  public static final int DEFAULT_BUDGET_BURST = 10;
+
+  /**
+   * Creates a new builder for {@code HedgingPolicy} with the default values.
+   *
+   * <p>By default requests are hedged after the 95th percentile of the recent latencies, at least
+   * 10 milliseconds, or after 100 milliseconds until latencies have been observed; and 5 percent
+   * of the requests, plus a burst of 10 hedges, may be hedged.
+   */
+  public static Builder builder() {
+    return new AutoValue_HedgingPolicy.Builder()
+        .delayPercentile(DEFAULT_DELAY_PERCENTILE)
+        .initialDelayMillis(DEFAULT_INITIAL_DELAY_MILLIS)
+        .minDelayMillis(DEFAULT_MIN_DELAY_MILLIS)
+        .budgetPercent(DEFAULT_BUDGET_PERCENT)
+        .budgetBurst(DEFAULT_BUDGET_BURST);
+  }
+
+  public Builder newBuilder() {
+    return new AutoValue_HedgingPolicy.Builder(this);
+  }
+
+  /**
+   * Returns the percentile of the recent request latencies after which a request is hedged.
+   */
+  public abstract double delayPercentile();
+
+  /**
+   * Returns the delay after which a request is hedged until enough latencies have been observed,
+   * in milliseconds.
+   */
+  public abstract int initialDelayMillis();
+
+  /**
+   * Returns the shortest delay after which a request is hedged, in milliseconds.
+   */
+  public abstract int minDelayMillis();
+
+  /**
+   * Returns the percentage of the {@code GET} requests of a client that may be hedged.
+   */
+  public abstract int budgetPercent();
+
+  /**
+   * Returns the number of hedges a client may send on top of its budget percentage, which is also
+   * the most hedges the budget can save up.
+   */
+  public abstract int budgetBurst();
+
+  @AutoValue.Builder
+  public abstract static class Builder {
+    public abstract Builder delayPercentile(double delayPercentile);
+
+    public abstract Builder initialDelayMillis(int initialDelayMillis);
+
+    public abstract Builder minDelayMillis(int minDelayMillis);
+
+    public abstract Builder budgetPercent(int budgetPercent);
+
+    public abstract Builder budgetBurst(int budgetBurst);
+
+    abstract HedgingPolicy autoBuild();
+
+    /**
+     * Builds the {@code HedgingPolicy}.
+     *
+     * @throws IllegalArgumentException if the delay percentile is not between 0 and 100, if a
+     *     delay or the budget percentage is negative, or if the budget burst is not positive
+     */
+    public HedgingPolicy build() {
+      HedgingPolicy hedgingPolicy = autoBuild();
+      if (!(hedgingPolicy.delayPercentile() > 0 && hedgingPolicy.delayPercentile() <= 100)) {
+        throw new IllegalArgumentException(
+            "delayPercentile: " + hedgingPolicy.delayPercentile() + " must be between 0 and 100");
+      }
+      checkNotNegative(hedgingPolicy.initialDelayMillis(), "initialDelayMillis");
+      checkNotNegative(hedgingPolicy.minDelayMillis(), "minDelayMillis");
+      checkNotNegative(hedgingPolicy.budgetPercent(), "budgetPercent");
+      if (hedgingPolicy.budgetBurst() <= 0) {
+        throw new IllegalArgumentException(
+            "budgetBurst: " + hedgingPolicy.budgetBurst() + " must be positive");
+      }
+
+      return hedgingPolicy;
+    }
+
+    private static void checkNotNegative(int value, String name) {
+      if (value < 0) {
+        throw new IllegalArgumentException(name + ": " + value + " must not be negative");
+      }
+    }
+  }
+}
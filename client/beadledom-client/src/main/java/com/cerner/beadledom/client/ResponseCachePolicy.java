@@ -0,0 +1,103 @@
+package com.cerner.beadledom.client;
+
+import com.google.auto.value.AutoValue;
+import java.io.File;
+import javax.annotation.Nullable;
+
+/**
+ * Configures how a client caches responses.
+ *
+ * <p>Cacheable responses are stored in a least recently used cache of at most the max entries,
+ * each with a body of at most the max object size, so the bodies held by the cache are bounded by
+ * their product. Responses with larger bodies are not cached. The bodies are held in memory, or
+ * in files of the cache directory if one is given; the files are deleted when the client is
+ * closed.
+ *
+ * <p>The cache honors the {@code Cache-Control} and {@code Expires} headers of responses, and
+ * keeps a variant of a response for each value of the request headers named by its {@code Vary}
+ * header. Stale responses with an {@code ETag} or a {@code Last-Modified} header are revalidated
+ * with a conditional request, and served from the cache if the server responds with 304 Not
+ * Modified. Responses without explicit freshness information are not cached.
+ *
+ * <p>A shared cache, the default, does not cache responses to requests with an
+ * {@code Authorization} header or responses that are {@code Cache-Control: private}, so its
+ * responses may be served to any user of the client.
+ *
+ * @since 2.7
+ */
+@AutoValue
+public abstract class ResponseCachePolicy {
+  public static final int DEFAULT_MAX_ENTRIES = 1000;
+  public static final long DEFAULT_MAX_OBJECT_SIZE_BYTES = 64 * 1024;
+
+  /**
+   * Creates a new builder for {@code ResponseCachePolicy} with the default values.
+   *
+   * <p>By default the cache is a shared cache in memory of up to 1000 responses, with bodies of up
+   * to 64 KiB.
+   */
+  public static Builder builder() {
+    return new AutoValue_ResponseCachePolicy.Builder()
+        .maxEntries(DEFAULT_MAX_ENTRIES)
+        .maxObjectSizeBytes(DEFAULT_MAX_OBJECT_SIZE_BYTES)
+        .sharedCache(true);
+  }
+
+  public Builder newBuilder() {
+    return new AutoValue_ResponseCachePolicy.Builder(this);
+  }
+
+  /**
+   * Returns the maximum number of responses in the cache.
+   */
+  public abstract int maxEntries();
+
+  /**
+   * Returns the maximum size of the body of a cached response, in bytes.
+   */
+  public abstract long maxObjectSizeBytes();
+
+  /**
+   * Returns true if the cache is shared by all the users of the client.
+   */
+  public abstract boolean sharedCache();
+
+  /**
+   * Returns the directory the bodies of the cached responses are stored in, or null if they are
+   * held in memory.
+   */
+  @Nullable
+  public abstract File cacheDirectory();
+
+  @AutoValue.Builder
+  public abstract static class Builder {
+    public abstract Builder maxEntries(int maxEntries);
+
+    public abstract Builder maxObjectSizeBytes(long maxObjectSizeBytes);
+
+    public abstract Builder sharedCache(boolean sharedCache);
+
+    public abstract Builder cacheDirectory(File cacheDirectory);
+
+    abstract ResponseCachePolicy autoBuild();
+
+    /**
+     * Builds the {@code ResponseCachePolicy}.
+     *
+     * @throws IllegalArgumentException if the max entries or the max object size is not positive
+     */
+    public ResponseCachePolicy build() {
+      ResponseCachePolicy policy = autoBuild();
+      if (policy.maxEntries() <= 0) {
+        throw new IllegalArgumentException(
+            "maxEntries: " + policy.maxEntries() + " must be positive");
+      }
+      if (policy.maxObjectSizeBytes() <= 0) {
+        throw new IllegalArgumentException(
+            "maxObjectSizeBytes: " + policy.maxObjectSizeBytes() + " must be positive");
+      }
+
+      return policy;
+    }
+  }
+}
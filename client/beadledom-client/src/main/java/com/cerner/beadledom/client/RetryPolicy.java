@@ -0,0 +1,225 @@
+package com.cerner.beadledom.client;
+
+import com.google.auto.value.AutoValue;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Configures how a client retries failed requests.
+ *
+ * <p>A request is retried when it fails with an I/O error, or when the response has one of the
+ * retryable status codes, up to the maximum number of retries. Requests that may have reached the
+ * server are only retried if their method is idempotent; requests with other methods are only
+ * retried if they failed before they were sent.
+ *
+ * <p>Retries wait for an exponential backoff with full jitter: a random delay between 0 and the
+ * initial backoff, doubled for each retry, up to the maximum backoff. When a retryable response
+ * has a {@code Retry-After} header, the request is retried after the delay the server asked for,
+ * or not retried at all if that delay is longer than the maximum backoff.
+ *
+ * <p>Retries are limited by a client-wide budget, a token bucket that allows a percentage of the
+ * requests of the client to be retried, plus a burst of retries. When a backend is failing, the
+ * budget keeps the client from multiplying the load on it with retries.
+ *
+ * @since 2.7
+ */
+@AutoValue
+public abstract class RetryPolicy {
+  public static final int DEFAULT_MAX_RETRIES = 2;
+  public static final int DEFAULT_INITIAL_BACKOFF_MILLIS = 100;
+  public static final int DEFAULT_MAX_BACKOFF_MILLIS = 2000;
+  public static final int DEFAULT_BUDGET_PERCENT = 10;
+  public static final int DEFAULT_BUDGET_BURST = 10;
+
+  private static final Random random = new Random();
+
+  /**
+   * Creates a new builder for {@code RetryPolicy} with the default values.
+   *
+   * <p>By default requests are retried twice, with a backoff starting at 100 milliseconds of up to
+   * 2 seconds, on I/O errors and on 500, 502, 503 and 504 responses. Requests with the
+   * {@code GET}, {@code HEAD}, {@code OPTIONS}, {@code PUT}, {@code DELETE} and {@code TRACE}
+   * methods are idempotent, and 10 percent of the requests, plus a burst of 10 retries, may be
+   * retried.
+   */
+  public static Builder builder() {
+    return new AutoValue_RetryPolicy.Builder()
+        .maxRetries(DEFAULT_MAX_RETRIES)
+        .initialBackoffMillis(DEFAULT_INITIAL_BACKOFF_MILLIS)
+        .maxBackoffMillis(DEFAULT_MAX_BACKOFF_MILLIS)
+        .retryableStatusCodes(500, 502, 503, 504)
+        .idempotentMethods("GET", "HEAD", "OPTIONS", "PUT", "DELETE", "TRACE")
+        .honorRetryAfter(true)
+        .budgetPercent(DEFAULT_BUDGET_PERCENT)
+        .budgetBurst(DEFAULT_BUDGET_BURST);
+  }
+
+  /**
+   * Returns a policy that never retries requests.
+   */
+  public static RetryPolicy none() {
+    return builder().maxRetries(0).build();
+  }
+
+  public Builder newBuilder() {
+    return new AutoValue_RetryPolicy.Builder(this);
+  }
+
+  /**
+   * Returns the maximum number of times a request is retried.
+   */
+  public abstract int maxRetries();
+
+  /**
+   * Returns the maximum backoff before the first retry of a request, in milliseconds.
+   */
+  public abstract int initialBackoffMillis();
+
+  /**
+   * Returns the maximum backoff before any retry of a request, and the longest
+   * {@code Retry-After} delay that is honored, in milliseconds.
+   */
+  public abstract int maxBackoffMillis();
+
+  /**
+   * Returns the status codes of the responses that are retried.
+   */
+  public abstract Set<Integer> retryableStatusCodes();
+
+  /**
+   * Returns the upper case names of the methods whose requests are retried after they may have
+   * reached the server.
+   */
+  public abstract Set<String> idempotentMethods();
+
+  /**
+   * Returns true if retryable responses are retried after the delay of their {@code Retry-After}
+   * header, rather than after the backoff.
+   */
+  public abstract boolean honorRetryAfter();
+
+  /**
+   * Returns the percentage of the requests of a client that may be retried.
+   */
+  public abstract int budgetPercent();
+
+  /**
+   * Returns the number of retries a client may make on top of its budget percentage, which is also
+   * the most retries the budget can save up.
+   */
+  public abstract int budgetBurst();
+
+  /**
+   * Returns true if responses with the given status code are retried.
+   */
+  public boolean isRetryableStatus(int statusCode) {
+    return retryableStatusCodes().contains(statusCode);
+  }
+
+  /**
+   * Returns true if requests with the given method are retried after they may have reached the
+   * server.
+   */
+  public boolean isIdempotent(String method) {
+    return method != null && idempotentMethods().contains(method.toUpperCase(Locale.ENGLISH));
+  }
+
+  /**
+   * Returns a random backoff, in milliseconds, before the given retry of a request, starting from
+   * 1 for the first retry.
+   */
+  public long backoffMillis(int retry) {
+    long ceiling = initialBackoffMillis();
+    for (int i = 1; i < retry && ceiling < maxBackoffMillis(); i++) {
+      ceiling *= 2;
+    }
+    ceiling = Math.min(ceiling, maxBackoffMillis());
+
+    if (ceiling <= 0) {
+      return 0;
+    }
+
+    synchronized (random) {
+      return (long) (random.nextDouble() * (ceiling + 1));
+    }
+  }
+
+  @AutoValue.Builder
+  public abstract static class Builder {
+    public abstract Builder maxRetries(int maxRetries);
+
+    public abstract Builder initialBackoffMillis(int initialBackoffMillis);
+
+    public abstract Builder maxBackoffMillis(int maxBackoffMillis);
+
+    abstract Builder retryableStatusCodes(Set<Integer> retryableStatusCodes);
+
+    /**
+     * Sets the status codes of the responses that are retried, replacing the default status codes.
+     */
+    public Builder retryableStatusCodes(int... retryableStatusCodes) {
+      Set<Integer> statusCodes = new LinkedHashSet<Integer>();
+      for (int statusCode : retryableStatusCodes) {
+        statusCodes.add(statusCode);
+      }
+
+      return retryableStatusCodes(Collections.unmodifiableSet(statusCodes));
+    }
+
+    abstract Builder idempotentMethods(Set<String> idempotentMethods);
+
+    /**
+     * Sets the methods whose requests are retried after they may have reached the server,
+     * replacing the default methods.
+     */
+    public Builder idempotentMethods(String... idempotentMethods) {
+      Set<String> methods = new LinkedHashSet<String>();
+      for (String method : idempotentMethods) {
+        if (method == null) {
+          throw new NullPointerException("idempotentMethods: null");
+        }
+
+        methods.add(method.toUpperCase(Locale.ENGLISH));
+      }
+
+      return idempotentMethods(Collections.unmodifiableSet(methods));
+    }
+
+    public abstract Builder honorRetryAfter(boolean honorRetryAfter);
+
+    public abstract Builder budgetPercent(int budgetPercent);
+
+    public abstract Builder budgetBurst(int budgetBurst);
+
+    abstract RetryPolicy autoBuild();
+
+    /**
+     * Builds the {@code RetryPolicy}.
+     *
+     * @throws IllegalArgumentException if the max retries, a backoff or the budget percentage is
+     *     negative, or if the budget burst is not positive
+     */
+    public RetryPolicy build() {
+      RetryPolicy retryPolicy = autoBuild();
+      checkNotNegative(retryPolicy.maxRetries(), "maxRetries");
+      checkNotNegative(retryPolicy.initialBackoffMillis(), "initialBackoffMillis");
+      checkNotNegative(retryPolicy.maxBackoffMillis(), "maxBackoffMillis");
+      checkNotNegative(retryPolicy.budgetPercent(), "budgetPercent");
+      if (retryPolicy.budgetBurst() <= 0) {
+        throw new IllegalArgumentException(
+            "budgetBurst: " + retryPolicy.budgetBurst() + " must be positive");
+      }
+
+      return retryPolicy;
+    }
+
+    private static void checkNotNegative(int value, String name) {
+      if (value < 0) {
+        throw new IllegalArgumentException(name + ": " + value + " must not be negative");
+      }
+    }
+  }
+}
@@ -10,9 +10,19 @@ class BeadledomClientConfigurationSpec extends FunSpec with ShouldMatchers with
       val clientConfig : BeadledomClientConfiguration = BeadledomClientConfiguration.builder().build()
       clientConfig.connectionPoolSize() should be(200)
       clientConfig.maxPooledPerRouteSize() should be(100)
+      clientConfig.maxPooledPerRouteSizes() shouldBe empty
       clientConfig.socketTimeoutMillis() should be(10000)
       clientConfig.connectionTimeoutMillis() should be(10000)
       clientConfig.ttlMillis() should be(1800000)
+      clientConfig.idleConnectionTimeoutMillis() should be(30000)
+      clientConfig.validateAfterInactivityMillis() should be(2000)
+      clientConfig.nonBlockingHttpEngine() should be(false)
+      clientConfig.streamRequestBodies() should be(false)
+      clientConfig.unbufferedResponseBodies() should be(false)
+      clientConfig.retryPolicy() should be(RetryPolicy.builder().build())
+      clientConfig.hedgingPolicy() should be(null)
+      clientConfig.concurrencyLimitPolicy() should be(null)
+      clientConfig.responseCachePolicy() should be(null)
     }
   }
 }
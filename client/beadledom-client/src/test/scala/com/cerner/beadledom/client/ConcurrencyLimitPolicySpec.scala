@@ -0,0 +1,55 @@
+package com.cerner.beadledom.client
+
+import org.scalatest.{FunSpec, MustMatchers}
+
+class ConcurrencyLimitPolicySpec extends FunSpec with MustMatchers {
+  describe("ConcurrencyLimitPolicy") {
+    it("has default values") {
+      val concurrencyLimitPolicy = ConcurrencyLimitPolicy.builder().build()
+
+      concurrencyLimitPolicy.initialLimit() mustBe 20
+      concurrencyLimitPolicy.minLimit() mustBe 1
+      concurrencyLimitPolicy.maxLimit() mustBe 200
+      concurrencyLimitPolicy.latencyTolerance() mustBe 2.0
+    }
+
+    it("rejects a min limit that is not positive") {
+      intercept[IllegalArgumentException] {
+        ConcurrencyLimitPolicy.builder().minLimit(0).build()
+      }
+    }
+
+    it("rejects a max limit less than the min limit") {
+      intercept[IllegalArgumentException] {
+        ConcurrencyLimitPolicy.builder().initialLimit(5).minLimit(5).maxLimit(4).build()
+      }
+    }
+
+    it("rejects an initial limit that is not between the min and max limits") {
+      intercept[IllegalArgumentException] {
+        ConcurrencyLimitPolicy.builder().minLimit(5).initialLimit(4).build()
+      }
+      intercept[IllegalArgumentException] {
+        ConcurrencyLimitPolicy.builder().maxLimit(10).initialLimit(11).build()
+      }
+    }
+
+    it("rejects a latency tolerance less than 1") {
+      intercept[IllegalArgumentException] {
+        ConcurrencyLimitPolicy.builder().latencyTolerance(0.5).build()
+      }
+      intercept[IllegalArgumentException] {
+        ConcurrencyLimitPolicy.builder().latencyTolerance(Double.NaN).build()
+      }
+    }
+
+    it("creates a builder from an existing policy") {
+      val concurrencyLimitPolicy = ConcurrencyLimitPolicy.builder().maxLimit(50).build()
+
+      val copy = concurrencyLimitPolicy.newBuilder().minLimit(5).build()
+
+      copy.maxLimit() mustBe 50
+      copy.minLimit() mustBe 5
+    }
+  }
+}
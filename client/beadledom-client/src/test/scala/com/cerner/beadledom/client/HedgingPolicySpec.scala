@@ -0,0 +1,60 @@
+package com.cerner.beadledom.client
+
+import org.scalatest.{FunSpec, MustMatchers}
+
+class HedgingPolicySpec extends FunSpec with MustMatchers {
+  describe("HedgingPolicy") {
+    it("has default values") {
+      val hedgingPolicy = HedgingPolicy.builder().build()
+
+      hedgingPolicy.delayPercentile() mustBe 95.0
+      hedgingPolicy.initialDelayMillis() mustBe 100
+      hedgingPolicy.minDelayMillis() mustBe 10
+      hedgingPolicy.budgetPercent() mustBe 5
+      hedgingPolicy.budgetBurst() mustBe 10
+    }
+
+    it("rejects a delay percentile that is not between 0 and 100") {
+      intercept[IllegalArgumentException] {
+        HedgingPolicy.builder().delayPercentile(0).build()
+      }
+      intercept[IllegalArgumentException] {
+        HedgingPolicy.builder().delayPercentile(100.5).build()
+      }
+      intercept[IllegalArgumentException] {
+        HedgingPolicy.builder().delayPercentile(Double.NaN).build()
+      }
+    }
+
+    it("accepts the 100th percentile") {
+      HedgingPolicy.builder().delayPercentile(100).build().delayPercentile() mustBe 100.0
+    }
+
+    it("rejects negative values") {
+      intercept[IllegalArgumentException] {
+        HedgingPolicy.builder().initialDelayMillis(-1).build()
+      }
+      intercept[IllegalArgumentException] {
+        HedgingPolicy.builder().minDelayMillis(-1).build()
+      }
+      intercept[IllegalArgumentException] {
+        HedgingPolicy.builder().budgetPercent(-1).build()
+      }
+    }
+
+    it("rejects a budget burst that is not positive") {
+      intercept[IllegalArgumentException] {
+        HedgingPolicy.builder().budgetBurst(0).build()
+      }
+    }
+
+    it("creates a builder from an existing policy") {
+      val hedgingPolicy = HedgingPolicy.builder().delayPercentile(99).build()
+
+      val copy = hedgingPolicy.newBuilder().budgetPercent(2).build()
+
+      copy.delayPercentile() mustBe 99.0
+      copy.budgetPercent() mustBe 2
+    }
+  }
+}
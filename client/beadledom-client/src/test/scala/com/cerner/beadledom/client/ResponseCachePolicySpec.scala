@@ -0,0 +1,40 @@
+package com.cerner.beadledom.client
+
+import java.io.File
+import org.scalatest.{FunSpec, MustMatchers}
+
+class ResponseCachePolicySpec extends FunSpec with MustMatchers {
+  describe("ResponseCachePolicy") {
+    it("has default values") {
+      val responseCachePolicy = ResponseCachePolicy.builder().build()
+
+      responseCachePolicy.maxEntries() mustBe 1000
+      responseCachePolicy.maxObjectSizeBytes() mustBe 65536L
+      responseCachePolicy.sharedCache() mustBe true
+      responseCachePolicy.cacheDirectory() mustBe null
+    }
+
+    it("rejects max entries that are not positive") {
+      intercept[IllegalArgumentException] {
+        ResponseCachePolicy.builder().maxEntries(0).build()
+      }
+    }
+
+    it("rejects a max object size that is not positive") {
+      intercept[IllegalArgumentException] {
+        ResponseCachePolicy.builder().maxObjectSizeBytes(0).build()
+      }
+    }
+
+    it("creates a builder from an existing policy") {
+      val responseCachePolicy = ResponseCachePolicy.builder()
+          .cacheDirectory(new File("cache"))
+          .build()
+
+      val copy = responseCachePolicy.newBuilder().maxEntries(10).build()
+
+      copy.cacheDirectory() mustBe new File("cache")
+      copy.maxEntries() mustBe 10
+    }
+  }
+}
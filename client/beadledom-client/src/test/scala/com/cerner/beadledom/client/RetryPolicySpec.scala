@@ -0,0 +1,109 @@
+package com.cerner.beadledom.client
+
+import org.scalatest.{FunSpec, MustMatchers}
+
+import scala.collection.JavaConverters._
+
+class RetryPolicySpec extends FunSpec with MustMatchers {
+  describe("RetryPolicy") {
+    it("has default values") {
+      val retryPolicy = RetryPolicy.builder().build()
+
+      retryPolicy.maxRetries() mustBe 2
+      retryPolicy.initialBackoffMillis() mustBe 100
+      retryPolicy.maxBackoffMillis() mustBe 2000
+      retryPolicy.retryableStatusCodes().asScala mustBe Set(500, 502, 503, 504)
+      retryPolicy.idempotentMethods().asScala mustBe
+          Set("GET", "HEAD", "OPTIONS", "PUT", "DELETE", "TRACE")
+      retryPolicy.honorRetryAfter() mustBe true
+      retryPolicy.budgetPercent() mustBe 10
+      retryPolicy.budgetBurst() mustBe 10
+    }
+
+    it("never retries with the none policy") {
+      RetryPolicy.none().maxRetries() mustBe 0
+    }
+
+    it("retries the configured status codes") {
+      val retryPolicy = RetryPolicy.builder().retryableStatusCodes(429, 503).build()
+
+      retryPolicy.isRetryableStatus(429) mustBe true
+      retryPolicy.isRetryableStatus(503) mustBe true
+      retryPolicy.isRetryableStatus(500) mustBe false
+    }
+
+    it("treats the configured methods as idempotent regardless of case") {
+      val retryPolicy = RetryPolicy.builder().idempotentMethods("get", "Put").build()
+
+      retryPolicy.isIdempotent("GET") mustBe true
+      retryPolicy.isIdempotent("put") mustBe true
+      retryPolicy.isIdempotent("DELETE") mustBe false
+      retryPolicy.isIdempotent("POST") mustBe false
+      retryPolicy.isIdempotent(null) mustBe false
+    }
+
+    it("treats POST as not idempotent by default") {
+      val retryPolicy = RetryPolicy.builder().build()
+
+      retryPolicy.isIdempotent("GET") mustBe true
+      retryPolicy.isIdempotent("DELETE") mustBe true
+      retryPolicy.isIdempotent("POST") mustBe false
+      retryPolicy.isIdempotent("PATCH") mustBe false
+    }
+
+    it("backs off exponentially with jitter up to the max backoff") {
+      val retryPolicy = RetryPolicy.builder()
+          .initialBackoffMillis(100)
+          .maxBackoffMillis(300)
+          .build()
+
+      val first = (1 to 1000).map(_ => retryPolicy.backoffMillis(1))
+      val second = (1 to 1000).map(_ => retryPolicy.backoffMillis(2))
+      val tenth = (1 to 1000).map(_ => retryPolicy.backoffMillis(10))
+
+      first.min must be >= 0L
+      first.max must be <= 100L
+      second.max must be <= 200L
+      second.max must be > 100L
+      tenth.max must be <= 300L
+      tenth.max must be > 200L
+      first.distinct.size must be > 1
+    }
+
+    it("does not back off without an initial backoff") {
+      val retryPolicy = RetryPolicy.builder().initialBackoffMillis(0).build()
+
+      retryPolicy.backoffMillis(3) mustBe 0
+    }
+
+    it("rejects negative values") {
+      intercept[IllegalArgumentException] {
+        RetryPolicy.builder().maxRetries(-1).build()
+      }
+      intercept[IllegalArgumentException] {
+        RetryPolicy.builder().initialBackoffMillis(-1).build()
+      }
+      intercept[IllegalArgumentException] {
+        RetryPolicy.builder().maxBackoffMillis(-1).build()
+      }
+      intercept[IllegalArgumentException] {
+        RetryPolicy.builder().budgetPercent(-1).build()
+      }
+    }
+
+    it("rejects a budget burst that is not positive") {
+      intercept[IllegalArgumentException] {
+        RetryPolicy.builder().budgetBurst(0).build()
+      }
+    }
+
+    it("creates a builder from an existing policy") {
+      val retryPolicy = RetryPolicy.builder().maxRetries(5).build()
+
+      val copy = retryPolicy.newBuilder().budgetPercent(20).build()
+
+      copy.maxRetries() mustBe 5
+      copy.budgetPercent() mustBe 20
+    }
+  }
+}
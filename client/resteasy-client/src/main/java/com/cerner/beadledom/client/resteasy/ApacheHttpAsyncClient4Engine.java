@@ -0,0 +1,370 @@
+package com.cerner.beadledom.client.resteasy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.annotation.Nullable;
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.SSLContext;
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.ClientRequestFilter;
+import javax.ws.rs.client.ClientResponseFilter;
+import javax.ws.rs.client.Invocation;
+import javax.ws.rs.client.InvocationCallback;
+import javax.ws.rs.client.ResponseProcessingException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+import org.apache.commons.io.IOUtils;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.concurrent.BasicFuture;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.message.BasicHeader;
+import org.apache.http.protocol.HTTP;
+import org.jboss.resteasy.client.jaxrs.ClientHttpEngine;
+import org.jboss.resteasy.client.jaxrs.engines.ApacheHttpClient4Engine;
+import org.jboss.resteasy.client.jaxrs.internal.AbortedResponse;
+import org.jboss.resteasy.client.jaxrs.internal.ClientInvocation;
+import org.jboss.resteasy.client.jaxrs.internal.ClientRequestContextImpl;
+import org.jboss.resteasy.client.jaxrs.internal.ClientResponse;
+import org.jboss.resteasy.client.jaxrs.internal.ClientResponseContextImpl;
+
+/**
+ * A {@link ClientHttpEngine} backed by the non-blocking Apache HttpAsyncClient.
+ *
+ * <p>The connections of the client are read and written by the few I/O reactor threads of the
+ * HttpAsyncClient. Each response is read into memory before it is returned, so a response never
+ * holds on to a connection.
+ *
+ * <p>The client http engine SPI of this RESTEasy version is synchronous, so a request sent through
+ * the JAX-RS API, including an {@link javax.ws.rs.client.AsyncInvoker} request, still holds the
+ * invoking thread, or a thread of RESTEasy's async executor, for the whole exchange; the engine
+ * saves no threads for such requests. Only requests sent with
+ * {@link #submit(ClientInvocation, InvocationCallback)}, usually through
+ * {@link BeadledomResteasyClient#submit(Invocation, InvocationCallback)}, are sent without holding
+ * a thread while they are in flight.
+ *
+ * <p>The engine does not retry, hedge or limit the concurrency of requests, and does not cache
+ * responses.
+ *
+ * <p>The engine starts the HttpAsyncClient if it is not running, and closes it when the engine is
+ * closed.
+ *
+ * @since 2.7
+ */
+public class ApacheHttpAsyncClient4Engine implements ClientHttpEngine {
+  private final CloseableHttpAsyncClient httpAsyncClient;
+  private final SSLContext sslContext;
+  private final HostnameVerifier hostnameVerifier;
+  private volatile boolean closed;
+
+  /**
+   * Creates an instance of {@link ApacheHttpAsyncClient4Engine} that sends requests with the given
+   * HttpAsyncClient.
+   */
+  public ApacheHttpAsyncClient4Engine(CloseableHttpAsyncClient httpAsyncClient) {
+    this(httpAsyncClient, null, null);
+  }
+
+  /**
+   * Creates an instance of {@link ApacheHttpAsyncClient4Engine} that sends requests with the given
+   * HttpAsyncClient, which is configured with the given SSL context and hostname verifier.
+   */
+  public ApacheHttpAsyncClient4Engine(
+      CloseableHttpAsyncClient httpAsyncClient,
+      @Nullable SSLContext sslContext,
+      @Nullable HostnameVerifier hostnameVerifier) {
+    if (httpAsyncClient == null) {
+      throw new NullPointerException("httpAsyncClient: null");
+    }
+
+    this.httpAsyncClient = httpAsyncClient;
+    this.sslContext = sslContext;
+    this.hostnameVerifier = hostnameVerifier;
+
+    if (!httpAsyncClient.isRunning()) {
+      httpAsyncClient.start();
+    }
+  }
+
+  @Override
+  public SSLContext getSslContext() {
+    return sslContext;
+  }
+
+  @Override
+  public HostnameVerifier getHostnameVerifier() {
+    return hostnameVerifier;
+  }
+
+  @Override
+  public ClientResponse invoke(ClientInvocation request) {
+    Future<HttpResponse> future = execute(request, null);
+
+    final HttpResponse res;
+    try {
+      res = future.get();
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new ProcessingException("Interrupted while waiting for the response", e);
+    } catch (ExecutionException e) {
+      throw new ProcessingException("Unable to invoke request", e.getCause());
+    }
+
+    return toClientResponse(request, res);
+  }
+
+  /**
+   * Sends the request without waiting for its response, and returns a future of the response.
+   *
+   * <p>Like {@link ClientInvocation#invoke()}, the request filters of the client are applied before
+   * the request is sent, on the calling thread, and the response filters once the response has
+   * been read, on an I/O reactor thread of the HttpAsyncClient, which also completes the callback.
+   * The callback must therefore not block. No thread is held while the request is in flight.
+   *
+   * @param request the request to send
+   * @param callback the callback completed with the response or the failure of the request, if any
+   * @return the future of the response; cancelling it aborts the request
+   * @throws ProcessingException if the request could not be sent
+   */
+  public Future<Response> submit(
+      final ClientInvocation request, @Nullable final InvocationCallback<Response> callback) {
+    final ClientRequestContextImpl requestContext = new ClientRequestContextImpl(request);
+    final AtomicReference<Future<HttpResponse>> exchange =
+        new AtomicReference<Future<HttpResponse>>();
+    final BasicFuture<Response> future = new BasicFuture<Response>(
+        callback == null ? null : new FutureCallback<Response>() {
+          @Override
+          public void completed(Response response) {
+            callback.completed(response);
+          }
+
+          @Override
+          public void failed(Exception e) {
+            callback.failed(e);
+          }
+
+          @Override
+          public void cancelled() {
+            callback.failed(new ProcessingException(new CancellationException()));
+          }
+        }) {
+      @Override
+      public boolean cancel(boolean mayInterruptIfRunning) {
+        Future<HttpResponse> sent = exchange.get();
+        if (sent != null) {
+          sent.cancel(mayInterruptIfRunning);
+        }
+        return super.cancel(mayInterruptIfRunning);
+      }
+    };
+
+    Response aborted = filterRequest(request, requestContext);
+    if (aborted != null) {
+      completeResponse(
+          future, request, requestContext, new AbortedResponse(request.getClientConfiguration(),
+              aborted));
+      return future;
+    }
+
+    exchange.set(execute(request, new FutureCallback<HttpResponse>() {
+      @Override
+      public void completed(HttpResponse res) {
+        try {
+          completeResponse(future, request, requestContext, toClientResponse(request, res));
+        } catch (RuntimeException e) {
+          future.failed(e);
+        }
+      }
+
+      @Override
+      public void failed(Exception e) {
+        future.failed(new ProcessingException("Unable to invoke request", e));
+      }
+
+      @Override
+      public void cancelled() {
+        future.cancel(true);
+      }
+    }));
+    return future;
+  }
+
+  private Future<HttpResponse> execute(
+      ClientInvocation request, @Nullable FutureCallback<HttpResponse> callback) {
+    HttpRequestBase httpMethod = createHttpMethod(request.getUri().toString(), request.getMethod());
+    try {
+      loadHttpMethod(request, httpMethod);
+      return httpAsyncClient.execute(httpMethod, callback);
+    } catch (ProcessingException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new ProcessingException("Unable to invoke request", e);
+    }
+  }
+
+  /**
+   * Applies the request filters of the client to the request, and returns the response a filter
+   * aborted the request with, if any.
+   */
+  @Nullable
+  private static Response filterRequest(
+      ClientInvocation request, ClientRequestContextImpl requestContext) {
+    ClientRequestFilter[] requestFilters = request.getRequestFilters();
+    if (requestFilters == null) {
+      return null;
+    }
+
+    for (ClientRequestFilter filter : requestFilters) {
+      try {
+        filter.filter(requestContext);
+      } catch (ProcessingException e) {
+        throw e;
+      } catch (Throwable e) {
+        throw new ProcessingException(e);
+      }
+      if (requestContext.getAbortedWithResponse() != null) {
+        return requestContext.getAbortedWithResponse();
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Applies the response filters of the client to the response, and completes the future with it.
+   */
+  private static void completeResponse(
+      BasicFuture<Response> future, ClientInvocation request,
+      ClientRequestContextImpl requestContext, ClientResponse response) {
+    ClientResponseFilter[] responseFilters = request.getResponseFilters();
+    if (responseFilters != null && responseFilters.length > 0) {
+      ClientResponseContextImpl responseContext = new ClientResponseContextImpl(response);
+      for (ClientResponseFilter filter : responseFilters) {
+        try {
+          filter.filter(requestContext, responseContext);
+        } catch (ResponseProcessingException e) {
+          future.failed(e);
+          return;
+        } catch (Throwable e) {
+          future.failed(new ResponseProcessingException(response, e));
+          return;
+        }
+      }
+    }
+    future.completed(response);
+  }
+
+  private static ClientResponse toClientResponse(
+      ClientInvocation request, final HttpResponse res) {
+    ClientResponse response = new ClientResponse(request.getClientConfiguration()) {
+      InputStream stream;
+
+      @Override
+      protected void setInputStream(InputStream is) {
+        stream = is;
+      }
+
+      @Override
+      public InputStream getInputStream() {
+        if (stream == null) {
+          HttpEntity entity = res.getEntity();
+          if (entity == null) {
+            return null;
+          }
+          try {
+            stream = entity.getContent();
+          } catch (IOException e) {
+            throw new RuntimeException(e);
+          }
+        }
+        return stream;
+      }
+
+      @Override
+      public void releaseConnection() throws IOException {
+        // The connection was released once the response was read; only the buffer remains
+        if (stream != null) {
+          stream.close();
+        }
+      }
+    };
+    response.setProperties(request.getMutableProperties());
+    response.setStatus(res.getStatusLine().getStatusCode());
+    response.setHeaders(ApacheHttpClient4Engine.extractHeaders(res));
+    response.setClientConfiguration(request.getClientConfiguration());
+    return response;
+  }
+
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+
+    IOUtils.closeQuietly(httpAsyncClient);
+    closed = true;
+  }
+
+  private HttpRequestBase createHttpMethod(String url, String restVerb) {
+    if ("GET".equals(restVerb)) {
+      return new HttpGet(url);
+    } else if ("POST".equals(restVerb)) {
+      return new HttpPost(url);
+    } else {
+      final String verb = restVerb;
+      return new HttpPost(url) {
+        @Override
+        public String getMethod() {
+          return verb;
+        }
+      };
+    }
+  }
+
+  private void loadHttpMethod(ClientInvocation request, HttpRequestBase httpMethod)
+      throws IOException {
+    if (request.getEntity() != null) {
+      if (httpMethod instanceof HttpGet) {
+        throw new ProcessingException("A GET request cannot have a body.");
+      }
+
+      ByteArrayOutputStream body = new ByteArrayOutputStream();
+      request.getDelegatingOutputStream().setDelegate(body);
+      request.writeRequestBody(request.getEntityStream());
+      body.close();
+
+      ByteArrayEntity entity = new ByteArrayEntity(body.toByteArray());
+      MediaType mediaType = request.getHeaders().getMediaType();
+      if (mediaType != null) {
+        entity.setContentType(new BasicHeader(HTTP.CONTENT_TYPE, mediaType.toString()));
+      }
+
+      commitHeaders(request, httpMethod);
+      ((HttpPost) httpMethod).setEntity(entity);
+    } else {
+      commitHeaders(request, httpMethod);
+    }
+  }
+
+  private void commitHeaders(ClientInvocation request, HttpRequestBase httpMethod) {
+    MultivaluedMap<String, String> headers = request.getHeaders().asMap();
+    for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+      for (String value : header.getValue()) {
+        httpMethod.addHeader(header.getKey(), value);
+      }
+    }
+  }
+}
@@ -4,12 +4,19 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
+import javax.annotation.Nullable;
 import javax.ws.rs.ProcessingException;
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
 
+import com.cerner.beadledom.client.resteasy.http.ConcurrencyLimiter;
+import com.cerner.beadledom.client.resteasy.http.RequestHedger;
+import com.cerner.beadledom.client.resteasy.http.ResponseCache;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.output.DeferredFileOutputStream;
 import org.apache.http.HttpEntity;
@@ -20,11 +27,13 @@ import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.entity.AbstractHttpEntity;
 import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.FileEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.message.BasicHeader;
+import org.apache.http.protocol.BasicHttpContext;
 import org.apache.http.protocol.HTTP;
 import org.apache.http.protocol.HttpContext;
 import org.jboss.resteasy.client.jaxrs.engines.ApacheHttpClient4Engine;
@@ -36,6 +45,26 @@ import org.jboss.resteasy.logging.Logger;
  * This client is extended from the {@link ApacheHttpClient4Engine} to provide support for adding
  * request configuration information to each HTTP request.
  *
+ * <p>Request bodies are buffered, in memory or in a temporary file, before they are sent, unless
+ * the engine streams request bodies or the request has the
+ * {@link BeadledomResteasyClient#STREAM_REQUEST_BODY_PROPERTY} property. A streamed body is
+ * written straight to the connection with chunked transfer encoding; it cannot be sent again, so
+ * requests with a streamed body are not retried once it has been sent, and headers added while
+ * writing it are not sent.
+ *
+ * <p>Response bodies are read through an additional buffer, unless the engine passes response
+ * bodies through or the request has the
+ * {@link BeadledomResteasyClient#UNBUFFERED_RESPONSE_BODY_PROPERTY} property. A body that is
+ * passed through is read by the entity reader straight from the stream of the connection.
+ *
+ * <p>{@code GET} requests are hedged when the engine has a {@link RequestHedger}, and requests
+ * are limited to the concurrency limits of a {@link ConcurrencyLimiter} when the engine has one.
+ * A request holds its permit, like its connection, until its response is released by reading its
+ * entity or closing it, so the limits cover the time to read the body as well; a response that is
+ * never closed keeps its permit. A request that fails, or that the server rejects with a 429 or
+ * 503 response, shrinks the limits, while a request answered by the response cache releases its
+ * permit without adapting them.
+ *
  * <p><strong>Note:</strong> Most of the contents of this class are copied from
  * {@link ApacheHttpClient4Engine}.
  *
@@ -48,29 +77,102 @@ import org.jboss.resteasy.logging.Logger;
 class ApacheHttpClient4Dot3Engine extends ApacheHttpClient4Engine {
   private static final Logger logger = Logger.getLogger(ApacheHttpClient4Dot3Engine.class);
 
+  private boolean streamRequestBodies;
+  private boolean unbufferedResponseBodies;
+  private RequestHedger requestHedger;
+  private ConcurrencyLimiter concurrencyLimiter;
+
   public ApacheHttpClient4Dot3Engine(HttpClient httpClient, HttpContext httpContext) {
     super(httpClient, httpContext);
     this.httpClient = httpClient;
     this.httpContext = httpContext;
   }
 
+  /**
+   * Sets whether request bodies are streamed, unless a request has the
+   * {@link BeadledomResteasyClient#STREAM_REQUEST_BODY_PROPERTY} property.
+   */
+  public void setStreamRequestBodies(boolean streamRequestBodies) {
+    this.streamRequestBodies = streamRequestBodies;
+  }
+
+  /**
+   * Sets whether response bodies are passed through without an additional buffer, unless a
+   * request has the {@link BeadledomResteasyClient#UNBUFFERED_RESPONSE_BODY_PROPERTY} property.
+   */
+  public void setUnbufferedResponseBodies(boolean unbufferedResponseBodies) {
+    this.unbufferedResponseBodies = unbufferedResponseBodies;
+  }
+
+  /**
+   * Sets the hedger that {@code GET} requests without a body are sent with, or null to not hedge
+   * requests. The hedger is closed with the engine.
+   */
+  public void setRequestHedger(@Nullable RequestHedger requestHedger) {
+    this.requestHedger = requestHedger;
+  }
+
+  /**
+   * Sets the limiter that requests must acquire a permit from before they are sent, or null to not
+   * limit concurrent requests.
+   */
+  public void setConcurrencyLimiter(@Nullable ConcurrencyLimiter concurrencyLimiter) {
+    this.concurrencyLimiter = concurrencyLimiter;
+  }
+
   @SuppressWarnings("unchecked")
   @Override
-  public ClientResponse invoke(ClientInvocation request) {
-    String uri = request.getUri().toString();
+  public ClientResponse invoke(final ClientInvocation request) {
+    final boolean unbufferedResponseBody = getBooleanProperty(
+        request, BeadledomResteasyClient.UNBUFFERED_RESPONSE_BODY_PROPERTY,
+        unbufferedResponseBodies);
+    final String uri = request.getUri().toString();
     final HttpRequestBase httpMethod = createHttpMethod(uri, request.getMethod());
     final HttpResponse res;
+    // Acquired outside of the try, so requests over the limit fail fast with the unwrapped
+    // ConcurrencyLimitExceededException
+    final ConcurrencyLimiter.Permit permit =
+        concurrencyLimiter == null ? null : concurrencyLimiter.acquire(request.getUri());
+    // Each request gets its own context, so the state of a request, such as its retries, is not
+    // shared with concurrent requests
+    final HttpContext requestContext = new BasicHttpContext(httpContext);
     try {
       loadHttpMethod(request, httpMethod);
       httpMethod.setConfig((RequestConfig) httpContext.getAttribute(HttpClientContext.REQUEST_CONFIG));
 
-      res = httpClient.execute(httpMethod, httpContext);
+      if (requestHedger != null && httpMethod instanceof HttpGet) {
+        res = requestHedger.execute(httpClient, httpContext, requestContext, httpMethod,
+            new Callable<HttpRequestBase>() {
+              @Override
+              public HttpRequestBase call() throws Exception {
+                HttpRequestBase hedge = createHttpMethod(uri, request.getMethod());
+                commitHeaders(request, hedge);
+                hedge.setConfig(httpMethod.getConfig());
+                return hedge;
+              }
+            });
+      } else {
+        res = httpClient.execute(httpMethod, requestContext);
+      }
     } catch (Exception e) {
+      if (permit != null) {
+        permit.release(true);
+      }
       throw new ProcessingException("Unable to invoke request", e);
     } finally {
       cleanUpAfterExecute(httpMethod);
     }
 
+    int statusCode = res.getStatusLine().getStatusCode();
+    final boolean dropped = statusCode == 429 || statusCode == 503;
+    if (permit != null && ResponseCache.isCacheResponse(requestContext)) {
+      // The latency of a response from the cache says nothing about the load of the server
+      permit.cancel();
+    } else if (permit != null && res.getEntity() == null) {
+      // Without a body, the connection has already been released
+      permit.release(dropped);
+    }
+
     ClientResponse response = new ClientResponse(request.getClientConfiguration()) {
       InputStream stream;
       InputStream hc4Stream;
@@ -88,7 +190,7 @@ class ApacheHttpClient4Dot3Engine extends ApacheHttpClient4Engine {
           }
           try {
             hc4Stream = entity.getContent();
-            stream = createBufferedStream(hc4Stream);
+            stream = unbufferedResponseBody ? hc4Stream : createBufferedStream(hc4Stream);
           } catch (IOException e) {
             throw new RuntimeException(e);
           }
@@ -129,6 +231,11 @@ class ApacheHttpClient4Dot3Engine extends ApacheHttpClient4Engine {
             } catch (IOException ignored) {
             }
           }
+
+          // The permit covers the connection until it is released, including reading the body
+          if (permit != null) {
+            permit.release(dropped);
+          }
         }
       }
     };
@@ -162,6 +269,13 @@ class ApacheHttpClient4Dot3Engine extends ApacheHttpClient4Engine {
         throw new ProcessingException("A GET request cannot have a body.");
       }
 
+      if (getBooleanProperty(
+          request, BeadledomResteasyClient.STREAM_REQUEST_BODY_PROPERTY, streamRequestBodies)) {
+        commitHeaders(request, httpMethod);
+        ((HttpPost) httpMethod).setEntity(new StreamingRequestEntity(request));
+        return;
+      }
+
       ByteArrayOutputStream baos = new ByteArrayOutputStream();
       request.getDelegatingOutputStream().setDelegate(baos);
       try {
@@ -178,6 +292,20 @@ class ApacheHttpClient4Dot3Engine extends ApacheHttpClient4Engine {
     }
   }
 
+  /**
+   * Returns the value of a boolean property of the request, or the default value if the request
+   * does not have the property.
+   */
+  private static boolean getBooleanProperty(
+      ClientInvocation request, String name, boolean defaultValue) {
+    Object value = request.getClientConfiguration().getProperty(name);
+    if (value == null) {
+      return defaultValue;
+    }
+
+    return Boolean.TRUE.equals(value) || Boolean.parseBoolean(value.toString());
+  }
+
   protected void commitHeaders(ClientInvocation request, HttpRequestBase httpMethod) {
     MultivaluedMap<String, String> headers = request.getHeaders().asMap();
     for (Map.Entry<String, List<String>> header : headers.entrySet()) {
@@ -198,6 +326,9 @@ class ApacheHttpClient4Dot3Engine extends ApacheHttpClient4Engine {
     if (CloseableHttpClient.class.isAssignableFrom(httpClient.getClass())) {
       IOUtils.closeQuietly((CloseableHttpClient) httpClient);
     }
+    if (requestHedger != null) {
+      requestHedger.close();
+    }
     closed = true;
   }
 
@@ -339,4 +470,47 @@ class ApacheHttpClient4Dot3Engine extends ApacheHttpClient4Engine {
       return this.file;
     }
   }
+
+  /**
+   * An entity that writes the body of the request straight to the connection, without buffering
+   * it. The body can only be written once.
+   */
+  private static class StreamingRequestEntity extends AbstractHttpEntity {
+    private final ClientInvocation request;
+
+    StreamingRequestEntity(ClientInvocation request) {
+      this.request = request;
+      setChunked(true);
+      MediaType mediaType = request.getHeaders().getMediaType();
+      if (mediaType != null) {
+        setContentType(mediaType.toString());
+      }
+    }
+
+    @Override
+    public boolean isRepeatable() {
+      return false;
+    }
+
+    @Override
+    public long getContentLength() {
+      return -1;
+    }
+
+    @Override
+    public InputStream getContent() {
+      throw new UnsupportedOperationException("A streamed request body cannot be read");
+    }
+
+    @Override
+    public void writeTo(OutputStream outputStream) throws IOException {
+      request.getDelegatingOutputStream().setDelegate(outputStream);
+      request.writeRequestBody(request.getEntityStream());
+    }
+
+    @Override
+    public boolean isStreaming() {
+      return false;
+    }
+  }
 }
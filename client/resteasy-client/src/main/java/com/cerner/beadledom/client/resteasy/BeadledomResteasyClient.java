@@ -1,15 +1,33 @@
 package com.cerner.beadledom.client.resteasy;
 
 import com.cerner.beadledom.client.BeadledomClient;
+import com.cerner.beadledom.client.resteasy.http.ConcurrencyLimitStats;
+import com.cerner.beadledom.client.resteasy.http.ConcurrencyLimiter;
+import com.cerner.beadledom.client.resteasy.http.ConnectionPoolRouteStats;
+import com.cerner.beadledom.client.resteasy.http.HedgingStats;
+import com.cerner.beadledom.client.resteasy.http.InstrumentedPoolingConnectionManager;
+import com.cerner.beadledom.client.resteasy.http.RequestHedger;
+import com.cerner.beadledom.client.resteasy.http.ResponseCache;
+import com.cerner.beadledom.client.resteasy.http.ResponseCacheStats;
+import com.cerner.beadledom.client.resteasy.http.RetryBudget;
+import com.cerner.beadledom.client.resteasy.http.RetryStats;
 import java.net.URI;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Future;
+import javax.annotation.Nullable;
 import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.SSLContext;
 import javax.ws.rs.client.Invocation;
+import javax.ws.rs.client.InvocationCallback;
 import javax.ws.rs.core.Configuration;
 import javax.ws.rs.core.Link;
+import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriBuilder;
+import org.jboss.resteasy.client.jaxrs.ClientHttpEngine;
 import org.jboss.resteasy.client.jaxrs.ResteasyClient;
+import org.jboss.resteasy.client.jaxrs.internal.ClientInvocation;
 
 /**
  * A Beadledom Wrapper for {@link ResteasyClient}.
@@ -18,25 +36,213 @@ import org.jboss.resteasy.client.jaxrs.ResteasyClient;
  * @since 2.0
  */
 public class BeadledomResteasyClient extends BeadledomClient {
+  /**
+   * The name of the property that sets whether the body of a request is written straight to the
+   * connection with chunked transfer encoding, rather than buffered before it is sent, overriding
+   * the configuration of the client. The value is a {@link Boolean} or a boolean string.
+   *
+   * <pre><code>
+   *     client.target(uri).request()
+   *         .property(BeadledomResteasyClient.STREAM_REQUEST_BODY_PROPERTY, true)
+   *         .post(entity);
+   * </code></pre>
+   *
+   * @since 2.7
+   */
+  public static final String STREAM_REQUEST_BODY_PROPERTY =
+      "com.cerner.beadledom.client.streamRequestBody";
+
+  /**
+   * The name of the property that sets whether the body of a response is read by the entity
+   * reader straight from the stream of the connection, rather than through an additional buffer,
+   * overriding the configuration of the client. The value is a {@link Boolean} or a boolean
+   * string.
+   *
+   * <p>Reading the response as an {@link java.io.InputStream} then consumes the body in constant
+   * memory, regardless of its size; the stream must be closed to release the connection.
+   *
+   * @since 2.7
+   */
+  public static final String UNBUFFERED_RESPONSE_BODY_PROPERTY =
+      "com.cerner.beadledom.client.unbufferedResponseBody";
+
   private final ResteasyClient client;
+  private final InstrumentedPoolingConnectionManager connectionManager;
+  private final RetryBudget retryBudget;
+  private final RequestHedger requestHedger;
+  private final ConcurrencyLimiter concurrencyLimiter;
+  private final ResponseCache responseCache;
 
-  private BeadledomResteasyClient(ResteasyClient client) {
+  private BeadledomResteasyClient(
+      ResteasyClient client, @Nullable InstrumentedPoolingConnectionManager connectionManager,
+      @Nullable RetryBudget retryBudget, @Nullable RequestHedger requestHedger,
+      @Nullable ConcurrencyLimiter concurrencyLimiter, @Nullable ResponseCache responseCache) {
     this.client = client;
+    this.connectionManager = connectionManager;
+    this.retryBudget = retryBudget;
+    this.requestHedger = requestHedger;
+    this.concurrencyLimiter = concurrencyLimiter;
+    this.responseCache = responseCache;
   }
 
   /**
    * Creates an instance of {@link BeadledomResteasyClient}.
    */
   public static BeadledomResteasyClient create(ResteasyClient client) {
+    return create(client, null, null, null, null, null);
+  }
+
+  static BeadledomResteasyClient create(
+      ResteasyClient client, @Nullable InstrumentedPoolingConnectionManager connectionManager,
+      @Nullable RetryBudget retryBudget, @Nullable RequestHedger requestHedger,
+      @Nullable ConcurrencyLimiter concurrencyLimiter, @Nullable ResponseCache responseCache) {
     if (client == null) {
       throw new NullPointerException("client: null");
     }
 
-    return new BeadledomResteasyClient(client);
+    return new BeadledomResteasyClient(
+        client, connectionManager, retryBudget, requestHedger, concurrencyLimiter, responseCache);
+  }
+
+  /**
+   * Sends the request of the invocation and returns a future of its response.
+   *
+   * @see #submit(Invocation, InvocationCallback)
+   * @since 2.7
+   */
+  public Future<Response> submit(Invocation invocation) {
+    return submit(invocation, null);
+  }
+
+  /**
+   * Sends the request of the invocation and returns a future of its response, completing the
+   * callback once the response has been received.
+   *
+   * <p>If the client uses the non-blocking {@link ApacheHttpAsyncClient4Engine}, no thread is held
+   * while the request is in flight: the request is sent from the calling thread and the response is
+   * read, and the callback completed, by an I/O thread of the engine, so the callback must not
+   * block. Otherwise, and for invocations not built by this client, the invocation is submitted
+   * with {@link Invocation#submit(InvocationCallback)}, which holds a thread of RESTEasy's async
+   * executor for the whole exchange.
+   *
+   * <pre><code>
+   *     Future&lt;Response&gt; response = client.submit(client.target(uri).request().buildGet());
+   * </code></pre>
+   *
+   * @param invocation the invocation to send, built by a request of this client
+   * @param callback the callback completed with the response or the failure of the request, if any
+   * @return the future of the response
+   * @since 2.7
+   */
+  public Future<Response> submit(
+      Invocation invocation, @Nullable InvocationCallback<Response> callback) {
+    if (client.httpEngine() instanceof ApacheHttpAsyncClient4Engine
+        && invocation instanceof ClientInvocation
+        && ((ClientInvocation) invocation).getClient() == client) {
+      return ((ApacheHttpAsyncClient4Engine) client.httpEngine())
+          .submit((ClientInvocation) invocation, callback);
+    }
+
+    return callback == null ? invocation.submit() : invocation.submit(callback);
+  }
+
+  /**
+   * Returns the statistics of each route in the connection pool of the client: the leased, pending,
+   * available and max connections, and the time requests have waited to lease a connection.
+   *
+   * <p>The list is empty if the client was built with a custom {@link ClientHttpEngine}.
+   *
+   * @since 2.7
+   */
+  public List<ConnectionPoolRouteStats> getConnectionPoolStats() {
+    if (connectionManager == null) {
+      return Collections.emptyList();
+    }
+
+    return connectionManager.getRouteStats();
+  }
+
+  /**
+   * Returns the number of requests the client has sent, the number of retries it has made because
+   * of the response status or of an I/O error, the number of retries its retry budget rejected,
+   * and the retries the budget currently allows.
+   *
+   * <p>Returns null if the client was built with a custom {@link ClientHttpEngine} or with the
+   * non-blocking http engine, which do not retry requests with a retry policy.
+   *
+   * @since 2.7
+   */
+  @Nullable
+  public RetryStats getRetryStats() {
+    if (retryBudget == null) {
+      return null;
+    }
+
+    return retryBudget.getStats();
+  }
+
+  /**
+   * Returns the number of {@code GET} requests the client could have hedged, the number of hedges
+   * it sent, the number of hedges that won, the number of hedges its hedging budget rejected, and
+   * the current hedge delay.
+   *
+   * <p>Returns null if the client does not hedge requests.
+   *
+   * @since 2.7
+   */
+  @Nullable
+  public HedgingStats getHedgingStats() {
+    if (requestHedger == null) {
+      return null;
+    }
+
+    return requestHedger.getStats();
+  }
+
+  /**
+   * Returns the statistics of the concurrency limit of the client, followed by the statistics of
+   * the concurrency limit of each route the client has sent requests to: the current limit, the
+   * requests in flight, and the number of requests that were rejected.
+   *
+   * <p>The list is empty if the client does not limit its concurrent requests.
+   *
+   * @since 2.7
+   */
+  public List<ConcurrencyLimitStats> getConcurrencyLimitStats() {
+    if (concurrencyLimiter == null) {
+      return Collections.emptyList();
+    }
+
+    return concurrencyLimiter.getStats();
   }
 
+  /**
+   * Returns the number of requests the response cache of the client answered from the cache, the
+   * number the server answered, and the number it answered from the cache after revalidating the
+   * cached response with the server.
+   *
+   * <p>Returns null if the client does not cache responses.
+   *
+   * @since 2.7
+   */
+  @Nullable
+  public ResponseCacheStats getResponseCacheStats() {
+    if (responseCache == null) {
+      return null;
+    }
+
+    return responseCache.getStats();
+  }
+
+  /**
+   * Closes the client, and stops evicting the idle connections of its connection pool.
+   */
   @Override
   public void close() {
+    if (connectionManager != null) {
+      IdleConnectionEvictor.shared().unregister(connectionManager);
+    }
+
     client.close();
   }
 
@@ -3,29 +3,45 @@ package com.cerner.beadledom.client.resteasy;
 import com.cerner.beadledom.client.BeadledomClient;
 import com.cerner.beadledom.client.BeadledomClientBuilder;
 import com.cerner.beadledom.client.BeadledomClientConfiguration;
+import com.cerner.beadledom.client.ConcurrencyLimitPolicy;
 import com.cerner.beadledom.client.CorrelationIdContext;
 import com.cerner.beadledom.client.CorrelationIdFilter;
-import com.cerner.beadledom.client.resteasy.http.DefaultServiceUnavailableRetryStrategy;
+import com.cerner.beadledom.client.HedgingPolicy;
+import com.cerner.beadledom.client.ResponseCachePolicy;
+import com.cerner.beadledom.client.RetryPolicy;
+import com.cerner.beadledom.client.resteasy.http.ConcurrencyLimiter;
+import com.cerner.beadledom.client.resteasy.http.InstrumentedPoolingConnectionManager;
+import com.cerner.beadledom.client.resteasy.http.RequestHedger;
+import com.cerner.beadledom.client.resteasy.http.ResponseCache;
+import com.cerner.beadledom.client.resteasy.http.RetryBudget;
+import com.cerner.beadledom.client.resteasy.http.RetryPolicyHttpRequestRetryHandler;
+import com.cerner.beadledom.client.resteasy.http.RetryPolicyServiceUnavailableRetryStrategy;
 import com.cerner.beadledom.client.resteasy.http.X509HostnameVerifierAdapter;
 import java.security.KeyStore;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
 import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.SSLContext;
 import javax.ws.rs.client.ClientBuilder;
 import javax.ws.rs.core.Configuration;
+import org.apache.http.HttpHost;
 import org.apache.http.client.RedirectStrategy;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.protocol.HttpClientContext;
 import org.apache.http.config.SocketConfig;
+import org.apache.http.conn.routing.HttpRoute;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.conn.ssl.SSLContexts;
 import org.apache.http.conn.ssl.X509HostnameVerifier;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.DefaultRedirectStrategy;
 import org.apache.http.impl.client.HttpClientBuilder;
-import org.apache.http.impl.client.StandardHttpRequestRetryHandler;
-import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
 import org.apache.http.protocol.BasicHttpContext;
 import org.apache.http.protocol.HttpContext;
 import org.jboss.resteasy.client.jaxrs.ClientHttpEngine;
@@ -42,11 +58,14 @@ import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder;
  * @since 1.0
  */
 public class BeadledomResteasyClientBuilder extends BeadledomClientBuilder {
-  private static final int DEFAULT_RETRY_INTERVAL_MILLIS = 1000;
-
   private final ResteasyClientBuilder resteasyClientBuilder;
   private BeadledomClientConfiguration.Builder clientConfigBuilder;
   private ClientHttpEngine httpEngine;
+  private InstrumentedPoolingConnectionManager connectionManager;
+  private RetryBudget retryBudget;
+  private RequestHedger requestHedger;
+  private ConcurrencyLimiter concurrencyLimiter;
+  private ResponseCache responseCache;
 
   private KeyStore clientKeyStore;
   private String clientPrivateKeyPassword;
@@ -134,6 +153,34 @@ public class BeadledomResteasyClientBuilder extends BeadledomClientBuilder {
     return this;
   }
 
+  /**
+   * Sets the max connection pool size of a single route, given as {@code host:port}, to be used if
+   * a {@link ClientHttpEngine} isn't specified via {@link #setHttpEngine(ClientHttpEngine)}.
+   *
+   * <p>The size applies to both http and https connections to the host and port. Routes without a
+   * size of their own use the default max connection pool size per route.
+   *
+   * <p>If a {@link ClientHttpEngine} is specified via {@link #setHttpEngine(ClientHttpEngine)},
+   * then this property will be ignored.
+   *
+   * @return this builder
+   */
+  @Override
+  public BeadledomResteasyClientBuilder setMaxPooledPerRouteSize(
+      String route, int maxPooledPerRouteSize) {
+    HttpHost host = parseRoute(route);
+    if (maxPooledPerRouteSize < 0) {
+      throw new IllegalArgumentException(
+          "max connection pool size per route cannot be negative");
+    }
+
+    Map<String, Integer> sizes = new LinkedHashMap<String, Integer>(
+        clientConfigBuilder.build().maxPooledPerRouteSizes());
+    sizes.put(host.toHostString(), maxPooledPerRouteSize);
+    this.clientConfigBuilder.maxPooledPerRouteSizes(Collections.unmodifiableMap(sizes));
+    return this;
+  }
+
   /**
    * Sets the default socket timeout to be used if a {@link ClientHttpEngine} isn't
    * specified via {@link #setHttpEngine(ClientHttpEngine)}.
@@ -199,6 +246,201 @@ public class BeadledomResteasyClientBuilder extends BeadledomClientBuilder {
     return this;
   }
 
+  /**
+   * Sets how long a pooled connection may be idle before it is closed in the background, if a
+   * {@link ClientHttpEngine} isn't specified via {@link #setHttpEngine(ClientHttpEngine)}.
+   *
+   * <p>If a {@link ClientHttpEngine} is specified via {@link #setHttpEngine(ClientHttpEngine)},
+   * then this property will be ignored.
+   *
+   * @return this builder
+   */
+  @Override
+  public BeadledomResteasyClientBuilder setIdleConnectionTimeout(
+      int idleConnectionTimeout, TimeUnit timeUnit) {
+    long millis = timeUnit.toMillis(idleConnectionTimeout);
+    if (millis > Integer.MAX_VALUE || millis < 0) {
+      throw new IllegalArgumentException(
+          "Idle connection timeout must be smaller than Integer.MAX_VALUE when converted to "
+              + "milliseconds");
+    }
+
+    this.clientConfigBuilder.idleConnectionTimeoutMillis((int) millis);
+    return this;
+  }
+
+  /**
+   * Sets how long a pooled connection may be idle before it is checked for having been closed by
+   * the server when it is next leased, if a {@link ClientHttpEngine} isn't specified via
+   * {@link #setHttpEngine(ClientHttpEngine)}.
+   *
+   * <p>If a {@link ClientHttpEngine} is specified via {@link #setHttpEngine(ClientHttpEngine)},
+   * then this property will be ignored.
+   *
+   * @return this builder
+   */
+  @Override
+  public BeadledomResteasyClientBuilder setValidateAfterInactivity(
+      int validateAfterInactivity, TimeUnit timeUnit) {
+    long millis = timeUnit.toMillis(validateAfterInactivity);
+    if (millis > Integer.MAX_VALUE || millis < 0) {
+      throw new IllegalArgumentException(
+          "Validate after inactivity must be smaller than Integer.MAX_VALUE when converted to "
+              + "milliseconds");
+    }
+
+    this.clientConfigBuilder.validateAfterInactivityMillis((int) millis);
+    return this;
+  }
+
+  /**
+   * Sets whether requests are sent with the non-blocking {@link ApacheHttpAsyncClient4Engine} if a
+   * {@link ClientHttpEngine} isn't specified via {@link #setHttpEngine(ClientHttpEngine)}.
+   *
+   * <p>The non-blocking engine only saves threads for requests sent with
+   * {@link BeadledomResteasyClient#submit(javax.ws.rs.client.Invocation)}; requests sent through
+   * the JAX-RS API, including its async invoker, still hold a thread for the whole exchange. The
+   * engine reads every response into memory, does not retry, hedge or limit the concurrency of
+   * requests, and does not cache responses. It ignores the per-route connection pool sizes, TTL,
+   * idle connection timeout and validate after inactivity, and reports no connection pool
+   * statistics.
+   *
+   * <p>If a {@link ClientHttpEngine} is specified via {@link #setHttpEngine(ClientHttpEngine)},
+   * then this property will be ignored.
+   *
+   * @return this builder
+   */
+  @Override
+  public BeadledomResteasyClientBuilder setNonBlockingHttpEngine(boolean nonBlockingHttpEngine) {
+    this.clientConfigBuilder.nonBlockingHttpEngine(nonBlockingHttpEngine);
+    return this;
+  }
+
+  /**
+   * Sets whether request bodies are written straight to the connection with chunked transfer
+   * encoding if a {@link ClientHttpEngine} isn't specified via
+   * {@link #setHttpEngine(ClientHttpEngine)}.
+   *
+   * <p>Streamed request bodies are neither buffered in memory nor spilled to temporary files, but
+   * they cannot be sent again, so requests with a streamed body are not retried once it has been
+   * sent. The body of a single request can be streamed, or buffered, by setting the
+   * {@link BeadledomResteasyClient#STREAM_REQUEST_BODY_PROPERTY} property of the request. The
+   * non-blocking http engine always buffers request bodies.
+   *
+   * <p>If a {@link ClientHttpEngine} is specified via {@link #setHttpEngine(ClientHttpEngine)},
+   * then this property will be ignored.
+   *
+   * @return this builder
+   */
+  @Override
+  public BeadledomResteasyClientBuilder setStreamRequestBodies(boolean streamRequestBodies) {
+    this.clientConfigBuilder.streamRequestBodies(streamRequestBodies);
+    return this;
+  }
+
+  /**
+   * Sets whether response bodies are read by the entity readers straight from the stream of the
+   * connection, rather than through an additional buffer, if a {@link ClientHttpEngine} isn't
+   * specified via {@link #setHttpEngine(ClientHttpEngine)}.
+   *
+   * <p>The body of a single response can be passed through, or buffered, by setting the
+   * {@link BeadledomResteasyClient#UNBUFFERED_RESPONSE_BODY_PROPERTY} property of the request. The
+   * non-blocking http engine always reads response bodies into memory.
+   *
+   * <p>If a {@link ClientHttpEngine} is specified via {@link #setHttpEngine(ClientHttpEngine)},
+   * then this property will be ignored.
+   *
+   * @return this builder
+   */
+  @Override
+  public BeadledomResteasyClientBuilder setUnbufferedResponseBodies(
+      boolean unbufferedResponseBodies) {
+    this.clientConfigBuilder.unbufferedResponseBodies(unbufferedResponseBodies);
+    return this;
+  }
+
+  /**
+   * Sets the policy failed requests are retried with if a {@link ClientHttpEngine} isn't specified
+   * via {@link #setHttpEngine(ClientHttpEngine)}.
+   *
+   * <p>The retries of the client are limited by a budget that is shared by all of its requests.
+   * The non-blocking http engine does not retry requests.
+   *
+   * <p>If a {@link ClientHttpEngine} is specified via {@link #setHttpEngine(ClientHttpEngine)},
+   * then this property will be ignored.
+   *
+   * @return this builder
+   */
+  @Override
+  public BeadledomResteasyClientBuilder setRetryPolicy(RetryPolicy retryPolicy) {
+    if (retryPolicy == null) {
+      throw new NullPointerException("retryPolicy: null");
+    }
+
+    this.clientConfigBuilder.retryPolicy(retryPolicy);
+    return this;
+  }
+
+  /**
+   * Sets the policy {@code GET} requests are hedged with if a {@link ClientHttpEngine} isn't
+   * specified via {@link #setHttpEngine(ClientHttpEngine)}, or null to not hedge requests.
+   *
+   * <p>A hedged request is sent from the calling thread, and its hedge from one of a bounded set of
+   * threads of the client. A hedge acquires its own permit of the concurrency limits of the client,
+   * and is not sent if they are reached. The non-blocking http engine does not hedge requests.
+   *
+   * <p>If a {@link ClientHttpEngine} is specified via {@link #setHttpEngine(ClientHttpEngine)},
+   * then this property will be ignored.
+   *
+   * @return this builder
+   */
+  @Override
+  public BeadledomResteasyClientBuilder setHedgingPolicy(HedgingPolicy hedgingPolicy) {
+    this.clientConfigBuilder.hedgingPolicy(hedgingPolicy);
+    return this;
+  }
+
+  /**
+   * Sets the policy concurrent requests are limited with if a {@link ClientHttpEngine} isn't
+   * specified via {@link #setHttpEngine(ClientHttpEngine)}, or null to only limit concurrent
+   * requests by the connection pool.
+   *
+   * <p>Requests over the limit of the client, or of their route, fail fast with a
+   * {@link com.cerner.beadledom.client.ConcurrencyLimitExceededException}. The non-blocking http
+   * engine does not limit concurrent requests.
+   *
+   * <p>If a {@link ClientHttpEngine} is specified via {@link #setHttpEngine(ClientHttpEngine)},
+   * then this property will be ignored.
+   *
+   * @return this builder
+   */
+  @Override
+  public BeadledomResteasyClientBuilder setConcurrencyLimitPolicy(
+      ConcurrencyLimitPolicy concurrencyLimitPolicy) {
+    this.clientConfigBuilder.concurrencyLimitPolicy(concurrencyLimitPolicy);
+    return this;
+  }
+
+  /**
+   * Sets the policy responses are cached with if a {@link ClientHttpEngine} isn't specified via
+   * {@link #setHttpEngine(ClientHttpEngine)}, or null to not cache responses.
+   *
+   * <p>The cache honors the {@code Cache-Control}, {@code Expires} and {@code Vary} headers of
+   * responses, and revalidates stale responses with conditional requests. The non-blocking http
+   * engine does not cache responses.
+   *
+   * <p>If a {@link ClientHttpEngine} is specified via {@link #setHttpEngine(ClientHttpEngine)},
+   * then this property will be ignored.
+   *
+   * @return this builder
+   */
+  @Override
+  public BeadledomResteasyClientBuilder setResponseCachePolicy(
+      ResponseCachePolicy responseCachePolicy) {
+    this.clientConfigBuilder.responseCachePolicy(responseCachePolicy);
+    return this;
+  }
+
   /**
    * Sets the default SSL Context to be used if a {@link ClientHttpEngine} isn't
    * specified via {@link #setHttpEngine(ClientHttpEngine)}.
@@ -271,22 +513,93 @@ public class BeadledomResteasyClientBuilder extends BeadledomClientBuilder {
     resteasyClientBuilder.register(correlationIdFilter);
 
     if (httpEngine == null) {
-      httpEngine = initDefaultHttpEngine(clientConfig);
+      if (clientConfig.nonBlockingHttpEngine()) {
+        httpEngine = initNonBlockingHttpEngine(clientConfig);
+      } else {
+        connectionManager = initDefaultConnectionManager(clientConfig);
+        retryBudget = new RetryBudget(clientConfig.retryPolicy());
+        if (clientConfig.concurrencyLimitPolicy() != null) {
+          concurrencyLimiter = new ConcurrencyLimiter(clientConfig.concurrencyLimitPolicy());
+        }
+        if (clientConfig.hedgingPolicy() != null) {
+          requestHedger = new RequestHedger(clientConfig.hedgingPolicy(), concurrencyLimiter);
+        }
+        if (clientConfig.responseCachePolicy() != null) {
+          responseCache = new ResponseCache(clientConfig.responseCachePolicy());
+        }
+        httpEngine = initDefaultHttpEngine(
+            clientConfig, connectionManager, retryBudget, requestHedger, concurrencyLimiter,
+            responseCache);
+      }
     }
 
     resteasyClientBuilder.httpEngine(httpEngine);
-    return BeadledomResteasyClient.create(resteasyClientBuilder.build());
+    return BeadledomResteasyClient.create(
+        resteasyClientBuilder.build(), connectionManager, retryBudget, requestHedger,
+        concurrencyLimiter, responseCache);
+  }
+
+  private InstrumentedPoolingConnectionManager initDefaultConnectionManager(
+      BeadledomClientConfiguration clientConfig) {
+    InstrumentedPoolingConnectionManager connectionManager =
+        new InstrumentedPoolingConnectionManager(clientConfig.ttlMillis(), TimeUnit.SECONDS);
+    connectionManager.setMaxTotal(clientConfig.connectionPoolSize());
+    connectionManager.setDefaultMaxPerRoute(clientConfig.maxPooledPerRouteSize());
+    connectionManager.setValidateAfterInactivity(clientConfig.validateAfterInactivityMillis());
+
+    for (Map.Entry<String, Integer> entry : clientConfig.maxPooledPerRouteSizes().entrySet()) {
+      HttpHost host = parseRoute(entry.getKey());
+      String hostName = host.getHostName();
+      int port = host.getPort();
+      // The route planner creates a different route for each scheme
+      connectionManager.setMaxPerRoute(
+          new HttpRoute(new HttpHost(hostName, port, "http")), entry.getValue());
+      connectionManager.setMaxPerRoute(
+          new HttpRoute(new HttpHost(hostName, port, "https"), null, true), entry.getValue());
+    }
+
+    IdleConnectionEvictor.shared()
+        .register(connectionManager, clientConfig.idleConnectionTimeoutMillis());
+    return connectionManager;
   }
 
-  private ClientHttpEngine initDefaultHttpEngine(BeadledomClientConfiguration clientConfig) {
+  /**
+   * Parses a route given as {@code host:port}.
+   */
+  static HttpHost parseRoute(String route) {
+    if (route == null) {
+      throw new NullPointerException("route: null");
+    }
+
+    int separator = route.lastIndexOf(':');
+    if (separator <= 0 || separator == route.length() - 1) {
+      throw new IllegalArgumentException("route must be given as host:port: " + route);
+    }
+
+    int port;
+    try {
+      port = Integer.parseInt(route.substring(separator + 1));
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("route must be given as host:port: " + route, e);
+    }
+    if (port <= 0 || port > 65535) {
+      throw new IllegalArgumentException("route port must be between 1 and 65535: " + route);
+    }
+
+    return new HttpHost(route.substring(0, separator), port);
+  }
+
+  private ClientHttpEngine initDefaultHttpEngine(
+      BeadledomClientConfiguration clientConfig,
+      InstrumentedPoolingConnectionManager connectionManager,
+      RetryBudget retryBudget,
+      @Nullable RequestHedger requestHedger,
+      @Nullable ConcurrencyLimiter concurrencyLimiter,
+      @Nullable ResponseCache responseCache) {
     SocketConfig socketConfig = SocketConfig.custom()
         .setSoTimeout(clientConfig.socketTimeoutMillis())
         .build();
 
-    PoolingHttpClientConnectionManager connectionManager =
-        new PoolingHttpClientConnectionManager(clientConfig.ttlMillis(), TimeUnit.SECONDS);
-    connectionManager.setMaxTotal(clientConfig.connectionPoolSize());
-    connectionManager.setDefaultMaxPerRoute(clientConfig.maxPooledPerRouteSize());
     connectionManager.setDefaultSocketConfig(socketConfig);
 
     RequestConfig requestConfig =
@@ -300,15 +613,17 @@ public class BeadledomResteasyClientBuilder extends BeadledomClientBuilder {
     RedirectStrategy redirectStrategy = new DefaultRedirectStrategy();
 
     HttpClientBuilder httpClientBuilder =
-        HttpClientBuilder.create()
+        (responseCache == null ? HttpClientBuilder.create() : responseCache.newHttpClientBuilder())
             .setConnectionManager(connectionManager)
             .setDefaultRequestConfig(requestConfig)
             .setDefaultSocketConfig(socketConfig)
             .setRedirectStrategy(redirectStrategy)
+            .addInterceptorFirst(retryBudget)
             .setRetryHandler(
-                new StandardHttpRequestRetryHandler(3, true))
+                new RetryPolicyHttpRequestRetryHandler(clientConfig.retryPolicy(), retryBudget))
             .setServiceUnavailableRetryStrategy(
-                new DefaultServiceUnavailableRetryStrategy(DEFAULT_RETRY_INTERVAL_MILLIS));
+                new RetryPolicyServiceUnavailableRetryStrategy(
+                    clientConfig.retryPolicy(), retryBudget));
 
     X509HostnameVerifier verifier = null;
     if (clientConfig.verifier() != null) {
@@ -320,27 +635,8 @@ public class BeadledomResteasyClientBuilder extends BeadledomClientBuilder {
     }
 
     try {
-      SSLConnectionSocketFactory sslConnectionSocketFactory;
-      SSLContext configuredContext = clientConfig.sslContext();
-      if (configuredContext != null) {
-        sslConnectionSocketFactory = new SSLConnectionSocketFactory(configuredContext, verifier);
-      } else if (clientKeyStore != null || clientConfig.trustStore() != null) {
-        SSLContext tlsContext = SSLContexts.custom()
-            .useProtocol(SSLConnectionSocketFactory.TLS)
-            .setSecureRandom(null)
-            .loadKeyMaterial(
-                clientKeyStore,
-                clientPrivateKeyPassword != null ? clientPrivateKeyPassword.toCharArray() : null)
-            .loadTrustMaterial(clientConfig.trustStore())
-            .build();
-        sslConnectionSocketFactory = new SSLConnectionSocketFactory(tlsContext, verifier);
-      } else {
-        SSLContext tlsContext = SSLContext.getInstance(SSLConnectionSocketFactory.TLS);
-        tlsContext.init(null, null, null);
-        sslConnectionSocketFactory = new SSLConnectionSocketFactory(tlsContext, verifier);
-      }
-
-      httpClientBuilder.setSSLSocketFactory(sslConnectionSocketFactory);
+      httpClientBuilder.setSSLSocketFactory(
+          new SSLConnectionSocketFactory(initSslContext(clientConfig), verifier));
     } catch (Exception e) {
       throw new RuntimeException("An error occurred configuring SSL", e);
     }
@@ -350,7 +646,74 @@ public class BeadledomResteasyClientBuilder extends BeadledomClientBuilder {
     HttpContext context = new BasicHttpContext();
     context.setAttribute(HttpClientContext.REQUEST_CONFIG, requestConfig);
 
-    return new ApacheHttpClient4Dot3Engine(closeableHttpClient, context);
+    ApacheHttpClient4Dot3Engine engine =
+        new ApacheHttpClient4Dot3Engine(closeableHttpClient, context);
+    engine.setStreamRequestBodies(clientConfig.streamRequestBodies());
+    engine.setUnbufferedResponseBodies(clientConfig.unbufferedResponseBodies());
+    engine.setRequestHedger(requestHedger);
+    engine.setConcurrencyLimiter(concurrencyLimiter);
+    return engine;
+  }
+
+  private ClientHttpEngine initNonBlockingHttpEngine(BeadledomClientConfiguration clientConfig) {
+    RequestConfig requestConfig =
+        RequestConfig.custom()
+            .setConnectionRequestTimeout(clientConfig.connectionTimeoutMillis())
+            .setConnectTimeout(clientConfig.connectionTimeoutMillis())
+            .setSocketTimeout(clientConfig.socketTimeoutMillis())
+            .build();
+
+    IOReactorConfig ioReactorConfig = IOReactorConfig.custom()
+        .setConnectTimeout(clientConfig.connectionTimeoutMillis())
+        .setSoTimeout(clientConfig.socketTimeoutMillis())
+        .build();
+
+    SSLContext sslContext;
+    try {
+      sslContext = initSslContext(clientConfig);
+    } catch (Exception e) {
+      throw new RuntimeException("An error occurred configuring SSL", e);
+    }
+
+    // DefaultRedirectStrategy will only redirect HEAD and GET requests.
+    HttpAsyncClientBuilder httpAsyncClientBuilder =
+        HttpAsyncClients.custom()
+            .setMaxConnTotal(clientConfig.connectionPoolSize())
+            .setMaxConnPerRoute(clientConfig.maxPooledPerRouteSize())
+            .setDefaultRequestConfig(requestConfig)
+            .setDefaultIOReactorConfig(ioReactorConfig)
+            .setRedirectStrategy(new DefaultRedirectStrategy())
+            .setSSLContext(sslContext);
+
+    HostnameVerifier verifier = clientConfig.verifier();
+    if (verifier != null) {
+      httpAsyncClientBuilder.setSSLHostnameVerifier(verifier);
+    }
+
+    return new ApacheHttpAsyncClient4Engine(
+        httpAsyncClientBuilder.build(), sslContext, verifier);
+  }
+
+  private SSLContext initSslContext(BeadledomClientConfiguration clientConfig) throws Exception {
+    SSLContext configuredContext = clientConfig.sslContext();
+    if (configuredContext != null) {
+      return configuredContext;
+    }
+
+    if (clientKeyStore != null || clientConfig.trustStore() != null) {
+      return SSLContexts.custom()
+          .useProtocol(SSLConnectionSocketFactory.TLS)
+          .setSecureRandom(null)
+          .loadKeyMaterial(
+              clientKeyStore,
+              clientPrivateKeyPassword != null ? clientPrivateKeyPassword.toCharArray() : null)
+          .loadTrustMaterial(clientConfig.trustStore())
+          .build();
+    }
+
+    SSLContext tlsContext = SSLContext.getInstance(SSLConnectionSocketFactory.TLS);
+    tlsContext.init(null, null, null);
+    return tlsContext;
   }
 
   @Override
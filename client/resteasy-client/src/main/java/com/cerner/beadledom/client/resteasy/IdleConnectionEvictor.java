@@ -0,0 +1,159 @@
+package com.cerner.beadledom.client.resteasy;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Closes the expired and idle connections of registered connection pools in the background.
+ *
+ * <p>The connections of a pool are otherwise only closed when they are leased, so connections the
+ * server has closed during a lull would fail the first requests after it.
+ *
+ * <p>A single daemon thread checks every registered pool, at half the shortest idle timeout of the
+ * pools but at least every {@value #MAX_INTERVAL_MILLIS} milliseconds. The thread is started when
+ * the first pool is registered and stopped once every pool has been unregistered, which happens
+ * when their clients are closed.
+ *
+ * <p>Pools are held weakly, so the pool of a client that is discarded without being closed is not
+ * kept alive by the evictor; it is dropped once it has been garbage collected, and the thread is
+ * stopped on the next eviction pass if no pools remain.
+ *
+ * @since 2.7
+ */
+final class IdleConnectionEvictor {
+  static final long MIN_INTERVAL_MILLIS = 100;
+  static final long MAX_INTERVAL_MILLIS = 5000;
+
+  private static final Logger logger = LoggerFactory.getLogger(IdleConnectionEvictor.class);
+
+  private static final IdleConnectionEvictor SHARED = new IdleConnectionEvictor();
+
+  // Guarded by this
+  private final Map<HttpClientConnectionManager, Long> idleTimeouts =
+      new WeakHashMap<HttpClientConnectionManager, Long>();
+  private ScheduledExecutorService executor;
+  private ScheduledFuture<?> evictionTask;
+  private long intervalMillis;
+
+  /**
+   * Returns the evictor shared by all clients.
+   */
+  static IdleConnectionEvictor shared() {
+    return SHARED;
+  }
+
+  /**
+   * Starts evicting the expired connections of the pool, and the connections that have been idle
+   * for longer than the idle timeout unless it is 0.
+   */
+  synchronized void register(HttpClientConnectionManager connectionManager,
+      long idleTimeoutMillis) {
+    if (connectionManager == null) {
+      throw new NullPointerException("connectionManager: null");
+    }
+
+    idleTimeouts.put(connectionManager, idleTimeoutMillis);
+    schedule();
+  }
+
+  /**
+   * Stops evicting the connections of the pool, and stops the thread if no pools remain.
+   */
+  synchronized void unregister(HttpClientConnectionManager connectionManager) {
+    if (idleTimeouts.remove(connectionManager) == null) {
+      return;
+    }
+
+    if (idleTimeouts.isEmpty()) {
+      stop();
+      return;
+    }
+
+    schedule();
+  }
+
+  /**
+   * Returns true if the eviction thread is running.
+   */
+  synchronized boolean isRunning() {
+    return executor != null;
+  }
+
+  /**
+   * Evicts the expired and idle connections of every registered pool, and stops the thread if
+   * every pool has been garbage collected.
+   */
+  void evict() {
+    Map<HttpClientConnectionManager, Long> pools;
+    synchronized (this) {
+      if (idleTimeouts.isEmpty()) {
+        if (executor != null) {
+          stop();
+        }
+        return;
+      }
+      pools = new HashMap<HttpClientConnectionManager, Long>(idleTimeouts);
+    }
+
+    for (Map.Entry<HttpClientConnectionManager, Long> pool : pools.entrySet()) {
+      try {
+        pool.getKey().closeExpiredConnections();
+        if (pool.getValue() > 0) {
+          pool.getKey().closeIdleConnections(pool.getValue(), TimeUnit.MILLISECONDS);
+        }
+      } catch (RuntimeException e) {
+        logger.warn("Error evicting idle connections", e);
+      }
+    }
+  }
+
+  private void stop() {
+    executor.shutdownNow();
+    executor = null;
+    evictionTask = null;
+    intervalMillis = 0;
+  }
+
+  private void schedule() {
+    long interval = MAX_INTERVAL_MILLIS;
+    for (long idleTimeoutMillis : idleTimeouts.values()) {
+      if (idleTimeoutMillis > 0) {
+        interval = Math.min(interval, Math.max(MIN_INTERVAL_MILLIS, idleTimeoutMillis / 2));
+      }
+    }
+
+    if (executor == null) {
+      executor = Executors.newSingleThreadScheduledExecutor(new EvictorThreadFactory());
+    } else if (interval == intervalMillis) {
+      return;
+    } else {
+      evictionTask.cancel(false);
+    }
+
+    intervalMillis = interval;
+    evictionTask = executor.scheduleWithFixedDelay(new Runnable() {
+      @Override
+      public void run() {
+        evict();
+      }
+    }, interval, interval, TimeUnit.MILLISECONDS);
+  }
+
+  private static class EvictorThreadFactory implements ThreadFactory {
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, "beadledom-client-idle-connection-evictor");
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
@@ -0,0 +1,39 @@
+package com.cerner.beadledom.client.resteasy.http;
+
+import com.google.auto.value.AutoValue;
+import javax.annotation.Nullable;
+
+/**
+ * A snapshot of the concurrency limit of a client, or of a single route of a client.
+ *
+ * @since 2.7
+ */
+@AutoValue
+public abstract class ConcurrencyLimitStats {
+  static ConcurrencyLimitStats create(
+      @Nullable String route, int limit, int inFlight, long rejections) {
+    return new AutoValue_ConcurrencyLimitStats(route, limit, inFlight, rejections);
+  }
+
+  /**
+   * Returns the target of the route, such as {@code https://example.com:443}, or null for the
+   * limit of the client as a whole.
+   */
+  @Nullable
+  public abstract String route();
+
+  /**
+   * Returns the current limit of requests in flight.
+   */
+  public abstract int limit();
+
+  /**
+   * Returns the number of requests in flight.
+   */
+  public abstract int inFlight();
+
+  /**
+   * Returns the number of requests that were rejected because the limit was reached.
+   */
+  public abstract long rejections();
+}
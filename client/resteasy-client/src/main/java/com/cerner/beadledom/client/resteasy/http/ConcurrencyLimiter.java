@@ -0,0 +1,146 @@
+package com.cerner.beadledom.client.resteasy.http;
+
+import com.cerner.beadledom.client.ConcurrencyLimitExceededException;
+import com.cerner.beadledom.client.ConcurrencyLimitPolicy;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Limits the requests a client has in flight, as a whole and for each route, according to a
+ * {@link ConcurrencyLimitPolicy}.
+ *
+ * <p>A request acquires a {@link Permit} from both the limit of the client and the limit of its
+ * route before it is sent, and releases it with the latency of the request once its response has
+ * been released. Requests over either limit fail fast with a
+ * {@link ConcurrencyLimitExceededException}.
+ *
+ * @since 2.7
+ */
+public class ConcurrencyLimiter {
+  private final ConcurrencyLimitPolicy policy;
+  private final GradientLimit clientLimit;
+  private final ConcurrentMap<String, GradientLimit> routeLimits =
+      new ConcurrentHashMap<String, GradientLimit>();
+
+  /**
+   * Creates an instance of {@link ConcurrencyLimiter} with the given concurrency limit policy.
+   */
+  public ConcurrencyLimiter(ConcurrencyLimitPolicy policy) {
+    if (policy == null) {
+      throw new NullPointerException("policy: null");
+    }
+
+    this.policy = policy;
+    this.clientLimit = new GradientLimit(null, policy);
+  }
+
+  /**
+   * Acquires a permit to send a request to the given URI.
+   *
+   * @throws ConcurrencyLimitExceededException if the client or the route of the URI is at its
+   *     limit
+   */
+  public Permit acquire(URI uri) {
+    GradientLimit routeLimit = getRouteLimit(uri);
+
+    if (!clientLimit.tryAcquire()) {
+      throw new ConcurrencyLimitExceededException(null, clientLimit.getStats().limit());
+    }
+    if (!routeLimit.tryAcquire()) {
+      clientLimit.release();
+      throw new ConcurrencyLimitExceededException(
+          routeLimit.getStats().route(), routeLimit.getStats().limit());
+    }
+
+    return new Permit(routeLimit);
+  }
+
+  /**
+   * Returns the statistics of the limit of the client, followed by the statistics of the limit of
+   * each route the client has sent requests to.
+   */
+  public List<ConcurrencyLimitStats> getStats() {
+    List<ConcurrencyLimitStats> stats = new ArrayList<ConcurrencyLimitStats>();
+    stats.add(clientLimit.getStats());
+    for (GradientLimit routeLimit : routeLimits.values()) {
+      stats.add(routeLimit.getStats());
+    }
+
+    return stats;
+  }
+
+  private GradientLimit getRouteLimit(URI uri) {
+    String route = getRoute(uri);
+    GradientLimit routeLimit = routeLimits.get(route);
+    if (routeLimit == null) {
+      GradientLimit newLimit = new GradientLimit(route, policy);
+      routeLimit = routeLimits.putIfAbsent(route, newLimit);
+      if (routeLimit == null) {
+        routeLimit = newLimit;
+      }
+    }
+
+    return routeLimit;
+  }
+
+  /**
+   * Returns the route of the URI, such as {@code https://example.com:443}.
+   */
+  static String getRoute(URI uri) {
+    String scheme = uri.getScheme() == null ? "http" : uri.getScheme().toLowerCase(Locale.ENGLISH);
+    int port = uri.getPort();
+    if (port == -1) {
+      port = "https".equals(scheme) ? 443 : 80;
+    }
+
+    return scheme + "://" + uri.getHost() + ":" + port;
+  }
+
+  /**
+   * The permit of a request to be in flight, which must be released or cancelled. Only the first
+   * release or cancellation of a permit counts, so it may be released again when a response is
+   * closed more than once.
+   */
+  public class Permit {
+    private final GradientLimit routeLimit;
+    private final long startNanos = System.nanoTime();
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private Permit(GradientLimit routeLimit) {
+      this.routeLimit = routeLimit;
+    }
+
+    /**
+     * Releases the permit of a request that completed, adapting the limits to its latency.
+     *
+     * @param dropped true if the request failed or the server rejected it because of load
+     */
+    public void release(boolean dropped) {
+      if (!released.compareAndSet(false, true)) {
+        return;
+      }
+
+      long latencyNanos = System.nanoTime() - startNanos;
+      routeLimit.release(latencyNanos, dropped);
+      clientLimit.release(latencyNanos, dropped);
+    }
+
+    /**
+     * Releases the permit of a request whose latency says nothing about the load of the server,
+     * such as a hedge that was aborted, without adapting the limits.
+     */
+    public void cancel() {
+      if (!released.compareAndSet(false, true)) {
+        return;
+      }
+
+      routeLimit.release();
+      clientLimit.release();
+    }
+  }
+}
@@ -0,0 +1,60 @@
+package com.cerner.beadledom.client.resteasy.http;
+
+import com.google.auto.value.AutoValue;
+
+/**
+ * A snapshot of the connections of a single route in a client's connection pool, and of the time
+ * requests have waited to lease them.
+ *
+ * @since 2.7
+ */
+@AutoValue
+public abstract class ConnectionPoolRouteStats {
+  static ConnectionPoolRouteStats create(
+      String route, int leased, int pending, int available, int max, long leaseCount,
+      double meanLeaseWaitMillis, double maxLeaseWaitMillis) {
+    return new AutoValue_ConnectionPoolRouteStats(
+        route, leased, pending, available, max, leaseCount, meanLeaseWaitMillis,
+        maxLeaseWaitMillis);
+  }
+
+  /**
+   * Returns the target of the route, such as {@code https://example.com:443}.
+   */
+  public abstract String route();
+
+  /**
+   * Returns the number of connections of the route that are in use.
+   */
+  public abstract int leased();
+
+  /**
+   * Returns the number of requests waiting for a connection of the route.
+   */
+  public abstract int pending();
+
+  /**
+   * Returns the number of idle connections of the route that are kept in the pool.
+   */
+  public abstract int available();
+
+  /**
+   * Returns the maximum number of connections of the route.
+   */
+  public abstract int max();
+
+  /**
+   * Returns the number of connections of the route that have been requested from the pool.
+   */
+  public abstract long leaseCount();
+
+  /**
+   * Returns the mean time requests have waited for a connection of the route, in milliseconds.
+   */
+  public abstract double meanLeaseWaitMillis();
+
+  /**
+   * Returns the longest time a request has waited for a connection of the route, in milliseconds.
+   */
+  public abstract double maxLeaseWaitMillis();
+}
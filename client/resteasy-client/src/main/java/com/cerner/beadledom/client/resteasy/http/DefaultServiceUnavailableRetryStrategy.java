@@ -1,5 +1,8 @@
 package com.cerner.beadledom.client.resteasy.http;
 
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpRequest;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.ServiceUnavailableRetryStrategy;
 import org.apache.http.client.protocol.HttpClientContext;
@@ -10,9 +13,14 @@ import org.slf4j.LoggerFactory;
 /**
  * A default {@link ServiceUnavailableRetryStrategy} with a configurable retry interval.
  *
+ * <p>Requests whose body cannot be sent again, such as streamed bodies, are not retried.
+ *
  * @author John Leacox
  * @since 1.0
+ * @deprecated clients retry with a {@link com.cerner.beadledom.client.RetryPolicy} and the
+ *     {@link RetryPolicyServiceUnavailableRetryStrategy}
  */
+@Deprecated
 public class DefaultServiceUnavailableRetryStrategy
     implements ServiceUnavailableRetryStrategy {
   private static final Logger logger =
@@ -34,6 +42,10 @@ public class DefaultServiceUnavailableRetryStrategy
     int status = httpResponse.getStatusLine().getStatusCode();
     if (executionCount < 3 && status >= 500 && status < 600) {
       HttpClientContext context = HttpClientContext.adapt(httpContext);
+      if (!isRepeatable(context.getRequest())) {
+        return false;
+      }
+
       logger.info(
           "Retry " + executionCount + " for request for: "
               + context.getRequest().getRequestLine().getUri());
@@ -42,6 +54,15 @@ public class DefaultServiceUnavailableRetryStrategy
     return false;
   }
 
+  private static boolean isRepeatable(HttpRequest request) {
+    if (!(request instanceof HttpEntityEnclosingRequest)) {
+      return true;
+    }
+
+    HttpEntity entity = ((HttpEntityEnclosingRequest) request).getEntity();
+    return entity == null || entity.isRepeatable();
+  }
+
   @Override
   public long getRetryInterval() {
     return retryIntervalMillis;
@@ -0,0 +1,91 @@
+package com.cerner.beadledom.client.resteasy.http;
+
+import com.cerner.beadledom.client.ConcurrencyLimitPolicy;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A concurrency limit that adapts to the latency of requests with a gradient algorithm.
+ *
+ * <p>Each sample compares its latency to a long term average latency. While the latency is within
+ * the tolerance of the average, the limit grows by about its square root, the headroom allowed
+ * for queueing; beyond the tolerance, the limit shrinks by the ratio of the two latencies, by at
+ * most half. Updates are smoothed, and the limit does not grow while less than half of it is in
+ * use. A failed request shrinks the limit by a tenth.
+ */
+class GradientLimit {
+  private static final double SMOOTHING = 0.2;
+  private static final double DROP_BACKOFF = 0.9;
+  private static final int AVERAGE_WINDOW = 100;
+
+  private final String route;
+  private final ConcurrencyLimitPolicy policy;
+
+  private double limit;
+  private double averageLatencyNanos;
+  private int inFlight;
+  private final AtomicLong rejections = new AtomicLong();
+
+  GradientLimit(String route, ConcurrencyLimitPolicy policy) {
+    this.route = route;
+    this.policy = policy;
+    this.limit = policy.initialLimit();
+  }
+
+  /**
+   * Takes a slot for a request, returning false if the limit is reached.
+   */
+  synchronized boolean tryAcquire() {
+    if (inFlight >= (int) limit) {
+      rejections.incrementAndGet();
+      return false;
+    }
+
+    inFlight++;
+    return true;
+  }
+
+  /**
+   * Releases the slot of a request that was not sent.
+   */
+  synchronized void release() {
+    inFlight--;
+  }
+
+  /**
+   * Releases the slot of a request that completed with the given latency, and adapts the limit.
+   */
+  synchronized void release(long latencyNanos, boolean dropped) {
+    final int requestsInFlight = inFlight;
+    inFlight--;
+
+    if (dropped) {
+      limit = clamp(limit * DROP_BACKOFF);
+      return;
+    }
+
+    long sample = Math.max(1, latencyNanos);
+    if (averageLatencyNanos == 0) {
+      averageLatencyNanos = sample;
+    } else {
+      averageLatencyNanos += (sample - averageLatencyNanos) / AVERAGE_WINDOW;
+    }
+
+    double gradient =
+        Math.max(0.5, Math.min(1.0, policy.latencyTolerance() * averageLatencyNanos / sample));
+    if (gradient == 1.0 && requestsInFlight < limit / 2) {
+      // The limit is not what holds the client back, so there is no need for it to grow
+      return;
+    }
+
+    double newLimit = limit * gradient + Math.sqrt(limit);
+    limit = clamp(limit * (1 - SMOOTHING) + newLimit * SMOOTHING);
+  }
+
+  synchronized ConcurrencyLimitStats getStats() {
+    return ConcurrencyLimitStats.create(route, (int) limit, inFlight, rejections.get());
+  }
+
+  private double clamp(double value) {
+    return Math.max(policy.minLimit(), Math.min(policy.maxLimit(), value));
+  }
+}
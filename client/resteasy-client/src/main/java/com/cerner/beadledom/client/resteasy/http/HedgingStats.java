@@ -0,0 +1,42 @@
+package com.cerner.beadledom.client.resteasy.http;
+
+import com.google.auto.value.AutoValue;
+
+/**
+ * A snapshot of the hedged requests of a client, and of its current hedge delay.
+ *
+ * @since 2.7
+ */
+@AutoValue
+public abstract class HedgingStats {
+  static HedgingStats create(
+      long requests, long hedges, long hedgesWon, long budgetRejections, long delayMillis) {
+    return new AutoValue_HedgingStats(requests, hedges, hedgesWon, budgetRejections, delayMillis);
+  }
+
+  /**
+   * Returns the number of requests that could be hedged.
+   */
+  public abstract long requests();
+
+  /**
+   * Returns the number of hedges that were sent.
+   */
+  public abstract long hedges();
+
+  /**
+   * Returns the number of hedges whose response arrived before the response of the original
+   * request.
+   */
+  public abstract long hedgesWon();
+
+  /**
+   * Returns the number of hedges that were not sent because the hedging budget was exhausted.
+   */
+  public abstract long budgetRejections();
+
+  /**
+   * Returns the delay after which a request is currently hedged, in milliseconds.
+   */
+  public abstract long delayMillis();
+}
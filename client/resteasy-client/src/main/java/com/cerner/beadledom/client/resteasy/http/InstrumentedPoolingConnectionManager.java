@@ -0,0 +1,121 @@
+package com.cerner.beadledom.client.resteasy.http;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+
+/**
+ * A {@link PoolingHttpClientConnectionManager} that records how long requests wait to lease a
+ * connection, and reports it with the pool statistics of each route.
+ *
+ * @since 2.7
+ */
+public class InstrumentedPoolingConnectionManager extends PoolingHttpClientConnectionManager {
+  private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+  private final ConcurrentMap<HttpRoute, LeaseTimer> leaseTimers =
+      new ConcurrentHashMap<HttpRoute, LeaseTimer>();
+
+  /**
+   * Creates an instance of {@link InstrumentedPoolingConnectionManager} whose connections live at
+   * most the given time.
+   */
+  public InstrumentedPoolingConnectionManager(long timeToLive, TimeUnit timeUnit) {
+    super(timeToLive, timeUnit);
+  }
+
+  @Override
+  public ConnectionRequest requestConnection(HttpRoute route, Object state) {
+    final ConnectionRequest request = super.requestConnection(route, state);
+    final LeaseTimer timer = leaseTimer(route);
+    final long startNanos = System.nanoTime();
+    return new ConnectionRequest() {
+      @Override
+      public HttpClientConnection get(long timeout, TimeUnit timeUnit)
+          throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+        try {
+          return request.get(timeout, timeUnit);
+        } finally {
+          timer.record(System.nanoTime() - startNanos);
+        }
+      }
+
+      @Override
+      public boolean cancel() {
+        return request.cancel();
+      }
+    };
+  }
+
+  /**
+   * Returns the statistics of every route that has connections in the pool or has requested one.
+   */
+  public List<ConnectionPoolRouteStats> getRouteStats() {
+    Set<HttpRoute> routes = new LinkedHashSet<HttpRoute>(getRoutes());
+    routes.addAll(leaseTimers.keySet());
+
+    List<ConnectionPoolRouteStats> routeStats =
+        new ArrayList<ConnectionPoolRouteStats>(routes.size());
+    for (HttpRoute route : routes) {
+      PoolStats stats = getStats(route);
+      LeaseTimer timer = leaseTimers.get(route);
+      long leaseCount = timer == null ? 0 : timer.count.get();
+      double meanWaitMillis =
+          leaseCount == 0 ? 0 : timer.totalNanos.get() / (leaseCount * NANOS_PER_MILLI);
+      double maxWaitMillis = timer == null ? 0 : timer.maxNanos.get() / NANOS_PER_MILLI;
+
+      routeStats.add(ConnectionPoolRouteStats.create(
+          route.getTargetHost().toURI(),
+          stats.getLeased(),
+          stats.getPending(),
+          stats.getAvailable(),
+          stats.getMax(),
+          leaseCount,
+          meanWaitMillis,
+          maxWaitMillis));
+    }
+
+    return Collections.unmodifiableList(routeStats);
+  }
+
+  private LeaseTimer leaseTimer(HttpRoute route) {
+    LeaseTimer timer = leaseTimers.get(route);
+    if (timer == null) {
+      LeaseTimer newTimer = new LeaseTimer();
+      timer = leaseTimers.putIfAbsent(route, newTimer);
+      if (timer == null) {
+        timer = newTimer;
+      }
+    }
+    return timer;
+  }
+
+  private static final class LeaseTimer {
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    void record(long waitNanos) {
+      count.incrementAndGet();
+      totalNanos.addAndGet(waitNanos);
+
+      long max = maxNanos.get();
+      while (waitNanos > max && !maxNanos.compareAndSet(max, waitNanos)) {
+        max = maxNanos.get();
+      }
+    }
+  }
+}
@@ -0,0 +1,340 @@
+package com.cerner.beadledom.client.resteasy.http;
+
+import com.cerner.beadledom.client.HedgingPolicy;
+import java.io.Closeable;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.protocol.BasicHttpContext;
+import org.apache.http.protocol.HttpContext;
+
+/**
+ * Sends requests with a hedge, according to a {@link HedgingPolicy}.
+ *
+ * <p>A request is sent from the calling thread. If it has not completed within the hedge delay,
+ * and the hedging budget allows it, a hedge of the request is sent from a thread of the hedger.
+ * The first attempt to complete with a response wins, and the other attempt is aborted, which
+ * releases its connection. An attempt that fails only fails the request if the other attempt fails
+ * as well.
+ *
+ * <p>The hedger has at most as many threads as the budget burst of the policy, so hedges that are
+ * due while every thread is busy wait for a thread, and are dropped if the request has completed
+ * by then. When the hedger has a {@link ConcurrencyLimiter}, a hedge must acquire its own permit,
+ * and is not sent if the client or the route of the request is at its limit.
+ *
+ * <p>The hedge delay is the configured percentile of the latencies of the last
+ * {@value #LATENCY_WINDOW_SIZE} requests, recomputed every {@value #DELAY_UPDATE_INTERVAL}
+ * requests.
+ *
+ * @since 2.7
+ */
+public class RequestHedger implements Closeable {
+  static final int LATENCY_WINDOW_SIZE = 1000;
+  static final int DELAY_UPDATE_INTERVAL = 20;
+
+  private static final long THREAD_KEEP_ALIVE_SECONDS = 60;
+
+  // Tokens are hundredths of a hedge, so a request adds the budget percentage
+  private static final long TOKENS_PER_HEDGE = 100;
+
+  private final HedgingPolicy hedgingPolicy;
+  private final ConcurrencyLimiter concurrencyLimiter;
+  private final ScheduledThreadPoolExecutor executor;
+
+  private final long[] latencies = new long[LATENCY_WINDOW_SIZE];
+  private long recordedLatencies;
+  private volatile long delayMillis;
+
+  private final long maxTokens;
+  private final AtomicLong tokens;
+
+  private final AtomicLong requests = new AtomicLong();
+  private final AtomicLong hedges = new AtomicLong();
+  private final AtomicLong hedgesWon = new AtomicLong();
+  private final AtomicLong budgetRejections = new AtomicLong();
+
+  /**
+   * Creates an instance of {@link RequestHedger} with the given hedging policy, whose hedges are
+   * not limited by a {@link ConcurrencyLimiter}.
+   */
+  public RequestHedger(HedgingPolicy hedgingPolicy) {
+    this(hedgingPolicy, null);
+  }
+
+  /**
+   * Creates an instance of {@link RequestHedger} with the given hedging policy, whose hedges
+   * acquire a permit from the given concurrency limiter, unless it is null.
+   */
+  public RequestHedger(
+      HedgingPolicy hedgingPolicy, @Nullable ConcurrencyLimiter concurrencyLimiter) {
+    if (hedgingPolicy == null) {
+      throw new NullPointerException("hedgingPolicy: null");
+    }
+
+    this.hedgingPolicy = hedgingPolicy;
+    this.concurrencyLimiter = concurrencyLimiter;
+    this.executor = new ScheduledThreadPoolExecutor(
+        Math.max(1, hedgingPolicy.budgetBurst()), new ThreadFactory() {
+          private final AtomicInteger threadCount = new AtomicInteger();
+
+          @Override
+          public Thread newThread(Runnable runnable) {
+            Thread thread =
+                new Thread(runnable, "beadledom-client-hedging-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+          }
+        });
+    this.executor.setKeepAliveTime(THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+    this.executor.allowCoreThreadTimeOut(true);
+    this.delayMillis = Math.max(hedgingPolicy.initialDelayMillis(), hedgingPolicy.minDelayMillis());
+    this.maxTokens = hedgingPolicy.budgetBurst() * TOKENS_PER_HEDGE;
+    this.tokens = new AtomicLong(maxTokens);
+  }
+
+  /**
+   * Executes the given request, and a hedge created by the given factory if the request is slow,
+   * returning the first response.
+   *
+   * @param httpClient the client that executes the request and the hedge
+   * @param httpContext the parent context of the context the hedge is executed with
+   * @param requestContext the context the request is executed with
+   * @param httpMethod the request
+   * @param hedgeFactory creates a copy of the request to send as the hedge
+   * @throws Exception the exception of the request, if both the request and the hedge failed
+   */
+  public HttpResponse execute(
+      HttpClient httpClient, HttpContext httpContext, HttpContext requestContext,
+      HttpRequestBase httpMethod, Callable<HttpRequestBase> hedgeFactory) throws Exception {
+    long startNanos = System.nanoTime();
+    recordRequest();
+
+    Hedge hedge = new Hedge(httpClient, httpContext, httpMethod, hedgeFactory);
+    ScheduledFuture<?> scheduledHedge =
+        executor.schedule(hedge, delayMillis, TimeUnit.MILLISECONDS);
+
+    HttpResponse response = null;
+    Exception failure = null;
+    try {
+      response = httpClient.execute(httpMethod, requestContext);
+    } catch (Exception e) {
+      failure = e;
+    } finally {
+      scheduledHedge.cancel(false);
+    }
+
+    HttpResponse winner = hedge.awaitWinner(response, failure);
+    recordLatency(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+    return winner;
+  }
+
+  /**
+   * Returns the counts of the hedged requests, and the current hedge delay.
+   */
+  public HedgingStats getStats() {
+    return HedgingStats.create(
+        requests.get(), hedges.get(), hedgesWon.get(), budgetRejections.get(), delayMillis);
+  }
+
+  /**
+   * Stops the threads of the hedger.
+   */
+  @Override
+  public void close() {
+    executor.shutdownNow();
+  }
+
+  private void recordRequest() {
+    requests.incrementAndGet();
+
+    while (true) {
+      long current = tokens.get();
+      long next = Math.min(maxTokens, current + hedgingPolicy.budgetPercent());
+      if (next == current || tokens.compareAndSet(current, next)) {
+        return;
+      }
+    }
+  }
+
+  private boolean tryAcquire() {
+    while (true) {
+      long current = tokens.get();
+      if (current < TOKENS_PER_HEDGE) {
+        budgetRejections.incrementAndGet();
+        return false;
+      }
+
+      if (tokens.compareAndSet(current, current - TOKENS_PER_HEDGE)) {
+        return true;
+      }
+    }
+  }
+
+  private synchronized void recordLatency(long latencyMillis) {
+    latencies[(int) (recordedLatencies % latencies.length)] = latencyMillis;
+    recordedLatencies++;
+
+    if (recordedLatencies % DELAY_UPDATE_INTERVAL == 0) {
+      long[] sorted =
+          Arrays.copyOf(latencies, (int) Math.min(recordedLatencies, latencies.length));
+      Arrays.sort(sorted);
+      int index = (int) Math.ceil(hedgingPolicy.delayPercentile() / 100 * sorted.length) - 1;
+      long percentile = sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+      delayMillis = Math.max(percentile, hedgingPolicy.minDelayMillis());
+    }
+  }
+
+  /**
+   * The hedge of a request, sent from a thread of the hedger once the hedge delay has passed,
+   * unless the request has completed by then.
+   */
+  private class Hedge implements Runnable {
+    private final HttpClient httpClient;
+    private final HttpContext httpContext;
+    private final HttpRequestBase httpMethod;
+    private final Callable<HttpRequestBase> hedgeFactory;
+
+    // Guarded by this
+    private boolean requestCompleted;
+    private boolean requestSucceeded;
+    private HttpRequestBase hedgeMethod;
+    private boolean hedgeCompleted;
+    private HttpResponse hedgeResponse;
+
+    Hedge(
+        HttpClient httpClient, HttpContext httpContext, HttpRequestBase httpMethod,
+        Callable<HttpRequestBase> hedgeFactory) {
+      this.httpClient = httpClient;
+      this.httpContext = httpContext;
+      this.httpMethod = httpMethod;
+      this.hedgeFactory = hedgeFactory;
+    }
+
+    @Override
+    public void run() {
+      synchronized (this) {
+        if (requestCompleted) {
+          return;
+        }
+      }
+
+      ConcurrencyLimiter.Permit permit = null;
+      HttpRequestBase hedge;
+      try {
+        if (concurrencyLimiter != null) {
+          permit = concurrencyLimiter.acquire(httpMethod.getURI());
+        }
+        if (!tryAcquire()) {
+          cancel(permit);
+          return;
+        }
+        hedge = hedgeFactory.call();
+      } catch (Exception e) {
+        // The client or the route is at its concurrency limit, or the hedge could not be created
+        cancel(permit);
+        return;
+      }
+
+      synchronized (this) {
+        if (requestCompleted) {
+          cancel(permit);
+          return;
+        }
+        hedgeMethod = hedge;
+      }
+      hedges.incrementAndGet();
+
+      HttpResponse response = null;
+      try {
+        response = httpClient.execute(hedge, new BasicHttpContext(httpContext));
+      } catch (Exception e) {
+        // The hedge only fails the request if the request fails as well
+      }
+
+      boolean won;
+      boolean aborted;
+      synchronized (this) {
+        won = response != null && !requestSucceeded;
+        aborted = requestSucceeded;
+        if (won) {
+          hedgeResponse = response;
+        }
+        hedgeCompleted = true;
+        notifyAll();
+      }
+
+      if (won) {
+        httpMethod.abort();
+      } else {
+        hedge.abort();
+      }
+
+      if (permit != null) {
+        if (aborted) {
+          permit.cancel();
+        } else {
+          int statusCode = response == null ? 0 : response.getStatusLine().getStatusCode();
+          permit.release(response == null || statusCode == 429 || statusCode == 503);
+        }
+      }
+    }
+
+    /**
+     * Completes the request with its response or failure, and returns the response that won,
+     * waiting for the hedge if the request failed while its hedge is in flight.
+     *
+     * @throws Exception the failure of the request, if the hedge did not complete with a response
+     */
+    HttpResponse awaitWinner(HttpResponse response, Exception failure) throws Exception {
+      HttpRequestBase losingHedge;
+      synchronized (this) {
+        requestCompleted = true;
+        try {
+          while (response == null && hedgeMethod != null && !hedgeCompleted) {
+            wait();
+          }
+        } catch (InterruptedException e) {
+          hedgeMethod.abort();
+          Thread.currentThread().interrupt();
+          throw e;
+        }
+
+        if (hedgeResponse != null) {
+          hedgesWon.incrementAndGet();
+          if (response != null) {
+            // The response arrived after the hedge had won and aborted the request
+            httpMethod.abort();
+          }
+          return hedgeResponse;
+        }
+
+        if (response == null) {
+          throw failure;
+        }
+
+        requestSucceeded = true;
+        losingHedge = hedgeCompleted ? null : hedgeMethod;
+      }
+
+      if (losingHedge != null) {
+        losingHedge.abort();
+      }
+      return response;
+    }
+
+    private void cancel(@Nullable ConcurrencyLimiter.Permit permit) {
+      if (permit != null) {
+        permit.cancel();
+      }
+    }
+  }
+}
@@ -0,0 +1,169 @@
+package com.cerner.beadledom.client.resteasy.http;
+
+import com.cerner.beadledom.client.ResponseCachePolicy;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.http.HttpException;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.cache.CacheResponseStatus;
+import org.apache.http.client.cache.HttpCacheContext;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpExecutionAware;
+import org.apache.http.client.methods.HttpRequestWrapper;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.client.cache.CacheConfig;
+import org.apache.http.impl.client.cache.CachingHttpClientBuilder;
+import org.apache.http.impl.execchain.ClientExecChain;
+import org.apache.http.protocol.HttpContext;
+
+/**
+ * The response cache of a client, configured by a {@link ResponseCachePolicy}, which records how
+ * the requests of the client were answered.
+ *
+ * <p>The cache is the HTTP/1.1 compliant cache of Apache HttpClient, added to the client by the
+ * builder returned by {@link #newHttpClientBuilder()}. It sits inside the retries of the client,
+ * so each attempt of a request is answered from the cache when possible.
+ *
+ * <p>The {@code Content-Length} of a 304 response is not merged into the cached response it
+ * revalidates, as some servers send a length of 0 with a 304 response, which would otherwise
+ * truncate the cached body. A revalidation the server answers with a new response rather than a
+ * 304 response is recorded as a miss.
+ *
+ * @since 2.7
+ */
+public class ResponseCache {
+  private static final String SERVER_STATUS_ATTRIBUTE =
+      ResponseCache.class.getName() + ".serverStatus";
+
+  private final ResponseCachePolicy policy;
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong revalidations = new AtomicLong();
+  private final AtomicLong cacheModuleResponses = new AtomicLong();
+
+  /**
+   * Creates an instance of {@link ResponseCache} with the given response cache policy.
+   */
+  public ResponseCache(ResponseCachePolicy policy) {
+    if (policy == null) {
+      throw new NullPointerException("policy: null");
+    }
+
+    this.policy = policy;
+  }
+
+  /**
+   * Returns a new {@link HttpClientBuilder} for a client whose responses are cached by this cache.
+   *
+   * <p>The storage of the cache belongs to the built client, and is released when it is closed.
+   */
+  public HttpClientBuilder newHttpClientBuilder() {
+    CacheConfig cacheConfig = CacheConfig.custom()
+        .setMaxCacheEntries(policy.maxEntries())
+        .setMaxObjectSize(policy.maxObjectSizeBytes())
+        .setSharedCache(policy.sharedCache())
+        .setHeuristicCachingEnabled(false)
+        .build();
+
+    CachingHttpClientBuilder builder = new CachingHttpClientBuilder() {
+      @Override
+      protected ClientExecChain decorateMainExec(final ClientExecChain mainExec) {
+        final ClientExecChain cachingExec = super.decorateMainExec(new ClientExecChain() {
+          @Override
+          public CloseableHttpResponse execute(
+              HttpRoute route, HttpRequestWrapper request, HttpClientContext context,
+              HttpExecutionAware execAware) throws IOException, HttpException {
+            CloseableHttpResponse response = mainExec.execute(route, request, context, execAware);
+            int statusCode = response.getStatusLine().getStatusCode();
+            context.setAttribute(SERVER_STATUS_ATTRIBUTE, statusCode);
+            if (statusCode == HttpStatus.SC_NOT_MODIFIED) {
+              response.removeHeaders(HttpHeaders.CONTENT_LENGTH);
+            }
+            return response;
+          }
+        });
+        return new ClientExecChain() {
+          @Override
+          public CloseableHttpResponse execute(
+              HttpRoute route, HttpRequestWrapper request, HttpClientContext context,
+              HttpExecutionAware execAware) throws IOException, HttpException {
+            CloseableHttpResponse response =
+                cachingExec.execute(route, request, context, execAware);
+            record(cacheResponseStatus(context));
+            return response;
+          }
+        };
+      }
+    };
+    builder.setCacheConfig(cacheConfig);
+    if (policy.cacheDirectory() != null) {
+      builder.setCacheDir(policy.cacheDirectory());
+    }
+
+    return builder;
+  }
+
+  /**
+   * Returns the number of requests that were answered from the cache, by the server, from the
+   * cache after revalidating the cached response, and with a response generated by the cache.
+   */
+  public ResponseCacheStats getStats() {
+    return ResponseCacheStats.create(
+        hits.get(), misses.get(), revalidations.get(), cacheModuleResponses.get());
+  }
+
+  /**
+   * Returns true if the request executed with the given context was answered by the cache, with a
+   * cached response, a revalidated cached response or a response generated by the cache, rather
+   * than by a response of the server.
+   */
+  public static boolean isCacheResponse(HttpContext context) {
+    CacheResponseStatus status = cacheResponseStatus(context);
+    return status != null && status != CacheResponseStatus.CACHE_MISS;
+  }
+
+  /**
+   * Returns how the cache answered the request executed with the given context, or null if the
+   * request was not executed by a caching client.
+   *
+   * <p>The cache reports a revalidated response even when the server answers the revalidation
+   * with a new response, which is a miss.
+   */
+  private static CacheResponseStatus cacheResponseStatus(HttpContext context) {
+    CacheResponseStatus status = HttpCacheContext.adapt(context).getCacheResponseStatus();
+    if (status == CacheResponseStatus.VALIDATED
+        && !Integer.valueOf(HttpStatus.SC_NOT_MODIFIED)
+            .equals(context.getAttribute(SERVER_STATUS_ATTRIBUTE))) {
+      return CacheResponseStatus.CACHE_MISS;
+    }
+
+    return status;
+  }
+
+  void record(CacheResponseStatus status) {
+    if (status == null) {
+      return;
+    }
+
+    switch (status) {
+      case CACHE_HIT:
+        hits.incrementAndGet();
+        break;
+      case CACHE_MISS:
+        misses.incrementAndGet();
+        break;
+      case VALIDATED:
+        revalidations.incrementAndGet();
+        break;
+      case CACHE_MODULE_RESPONSE:
+        cacheModuleResponses.incrementAndGet();
+        break;
+      default:
+        break;
+    }
+  }
+}
@@ -0,0 +1,52 @@
+package com.cerner.beadledom.client.resteasy.http;
+
+import com.google.auto.value.AutoValue;
+
+/**
+ * A snapshot of how the requests of a client were answered by its response cache.
+ *
+ * @since 2.7
+ */
+@AutoValue
+public abstract class ResponseCacheStats {
+  static ResponseCacheStats create(
+      long hits, long misses, long revalidations, long cacheModuleResponses) {
+    return new AutoValue_ResponseCacheStats(hits, misses, revalidations, cacheModuleResponses);
+  }
+
+  /**
+   * Returns the number of requests answered from the cache without contacting the server.
+   */
+  public abstract long hits();
+
+  /**
+   * Returns the number of requests answered by the server, because there was no usable cached
+   * response or the cached response was modified.
+   */
+  public abstract long misses();
+
+  /**
+   * Returns the number of requests answered from the cache after the server confirmed with a 304
+   * Not Modified response that the cached response is still valid.
+   */
+  public abstract long revalidations();
+
+  /**
+   * Returns the number of requests answered by the cache with a response it generated, such as a
+   * 504 Gateway Timeout to an {@code only-if-cached} request without a cached response.
+   */
+  public abstract long cacheModuleResponses();
+
+  /**
+   * Returns the ratio of the requests answered from the cache, including revalidated responses, to
+   * all the requests, or 0 if there were no requests.
+   */
+  public double hitRatio() {
+    long requests = hits() + misses() + revalidations() + cacheModuleResponses();
+    if (requests == 0) {
+      return 0;
+    }
+
+    return (double) (hits() + revalidations()) / requests;
+  }
+}
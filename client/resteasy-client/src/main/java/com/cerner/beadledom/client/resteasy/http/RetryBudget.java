@@ -0,0 +1,120 @@
+package com.cerner.beadledom.client.resteasy.http;
+
+import com.cerner.beadledom.client.RetryPolicy;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.protocol.HttpContext;
+
+/**
+ * A client-wide token bucket that limits the retries of a client to a percentage of its requests.
+ *
+ * <p>Each request adds a fraction of a retry to the bucket, and each retry takes a whole retry
+ * from it. The bucket starts full, and holds at most the budget burst of the {@link RetryPolicy}.
+ * As a response interceptor, the budget records each request once, when its first response is
+ * received; the retry handler records the requests that fail with an I/O error instead. Requests
+ * answered by the {@link ResponseCache} are not recorded, as they add no load to the server.
+ *
+ * <p>The budget also counts the requests and retries of the client, which are reported by
+ * {@link #getStats()}.
+ *
+ * @since 2.7
+ */
+public class RetryBudget implements HttpResponseInterceptor {
+  private static final String RECORDED_ATTRIBUTE = RetryBudget.class.getName() + ".recorded";
+
+  // Tokens are hundredths of a retry, so a request adds the budget percentage
+  private static final long TOKENS_PER_RETRY = 100;
+
+  private final long depositPerRequest;
+  private final long maxTokens;
+  private final AtomicLong tokens;
+
+  private final AtomicLong requests = new AtomicLong();
+  private final AtomicLong statusRetries = new AtomicLong();
+  private final AtomicLong ioExceptionRetries = new AtomicLong();
+  private final AtomicLong budgetRejections = new AtomicLong();
+
+  /**
+   * Creates an instance of {@link RetryBudget} with the budget of the given retry policy.
+   */
+  public RetryBudget(RetryPolicy retryPolicy) {
+    this.depositPerRequest = retryPolicy.budgetPercent();
+    this.maxTokens = retryPolicy.budgetBurst() * TOKENS_PER_RETRY;
+    this.tokens = new AtomicLong(maxTokens);
+  }
+
+  @Override
+  public void process(HttpResponse response, HttpContext context) {
+    recordRequest(context);
+  }
+
+  /**
+   * Records the request executed with the given context, unless it has already been recorded or
+   * was answered by the response cache.
+   */
+  public void recordRequest(HttpContext context) {
+    if (context.getAttribute(RECORDED_ATTRIBUTE) != null
+        || ResponseCache.isCacheResponse(context)) {
+      return;
+    }
+
+    context.setAttribute(RECORDED_ATTRIBUTE, Boolean.TRUE);
+    recordRequest();
+  }
+
+  /**
+   * Records a request, adding its share of a retry to the budget.
+   */
+  public void recordRequest() {
+    requests.incrementAndGet();
+
+    while (true) {
+      long current = tokens.get();
+      long next = Math.min(maxTokens, current + depositPerRequest);
+      if (next == current || tokens.compareAndSet(current, next)) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Takes a retry from the budget, returning false if the budget is exhausted.
+   */
+  public boolean tryAcquire() {
+    while (true) {
+      long current = tokens.get();
+      if (current < TOKENS_PER_RETRY) {
+        budgetRejections.incrementAndGet();
+        return false;
+      }
+
+      if (tokens.compareAndSet(current, current - TOKENS_PER_RETRY)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Records a retry made because of the response status.
+   */
+  public void recordStatusRetry() {
+    statusRetries.incrementAndGet();
+  }
+
+  /**
+   * Records a retry made because of an I/O error.
+   */
+  public void recordIoExceptionRetry() {
+    ioExceptionRetries.incrementAndGet();
+  }
+
+  /**
+   * Returns the request and retry counts of the client, and the retries the budget allows.
+   */
+  public RetryStats getStats() {
+    return RetryStats.create(
+        requests.get(), statusRetries.get(), ioExceptionRetries.get(), budgetRejections.get(),
+        (int) (tokens.get() / TOKENS_PER_RETRY));
+  }
+}
@@ -0,0 +1,87 @@
+package com.cerner.beadledom.client.resteasy.http;
+
+import com.cerner.beadledom.client.RetryPolicy;
+import java.io.IOException;
+import org.apache.http.HttpRequest;
+import org.apache.http.client.HttpRequestRetryHandler;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.impl.client.DefaultHttpRequestRetryHandler;
+import org.apache.http.protocol.HttpContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link HttpRequestRetryHandler} that retries the requests that failed with an I/O error up to
+ * the max retries of a {@link RetryPolicy}, within a {@link RetryBudget}.
+ *
+ * <p>Requests with an idempotent method are retried, while requests with other methods are only
+ * retried if they failed before they were sent. Like the {@link DefaultHttpRequestRetryHandler},
+ * requests that failed to connect or timed out are not retried. Requests with a body that cannot
+ * be sent again, such as a streamed body, are not retried either, so they fail with their I/O
+ * error without taking a retry from the budget. Each retry waits for the backoff of the policy.
+ *
+ * @since 2.7
+ */
+public class RetryPolicyHttpRequestRetryHandler extends DefaultHttpRequestRetryHandler {
+  private static final Logger logger =
+      LoggerFactory.getLogger(RetryPolicyHttpRequestRetryHandler.class);
+
+  private final RetryPolicy retryPolicy;
+  private final RetryBudget retryBudget;
+
+  /**
+   * Creates an instance of {@link RetryPolicyHttpRequestRetryHandler} with the given retry policy
+   * and budget.
+   */
+  public RetryPolicyHttpRequestRetryHandler(RetryPolicy retryPolicy, RetryBudget retryBudget) {
+    super(retryPolicy.maxRetries(), false);
+
+    if (retryBudget == null) {
+      throw new NullPointerException("retryBudget: null");
+    }
+
+    this.retryPolicy = retryPolicy;
+    this.retryBudget = retryBudget;
+  }
+
+  @Override
+  public boolean retryRequest(IOException exception, int executionCount, HttpContext context) {
+    retryBudget.recordRequest(context);
+    if (!super.retryRequest(exception, executionCount, context)) {
+      return false;
+    }
+
+    HttpRequest request = HttpClientContext.adapt(context).getRequest();
+    if (request != null && !RetryPolicyServiceUnavailableRetryStrategy.isRepeatable(request)) {
+      logger.debug("Not retrying request with a body that cannot be sent again after I/O error: "
+          + exception);
+      return false;
+    }
+
+    if (!retryBudget.tryAcquire()) {
+      logger.debug("Retry budget exhausted after I/O error: " + exception);
+      return false;
+    }
+
+    retryBudget.recordIoExceptionRetry();
+
+    long backoffMillis = retryPolicy.backoffMillis(executionCount);
+    logger.info("Retry " + executionCount + " after I/O error in " + backoffMillis + " ms: "
+        + exception);
+    if (backoffMillis > 0) {
+      try {
+        Thread.sleep(backoffMillis);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  @Override
+  protected boolean handleAsIdempotent(HttpRequest request) {
+    return retryPolicy.isIdempotent(request.getRequestLine().getMethod());
+  }
+}
@@ -0,0 +1,140 @@
+package com.cerner.beadledom.client.resteasy.http;
+
+import com.cerner.beadledom.client.RetryPolicy;
+import java.util.Date;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.ServiceUnavailableRetryStrategy;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.client.utils.DateUtils;
+import org.apache.http.protocol.HttpContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link ServiceUnavailableRetryStrategy} that retries the responses with the retryable status
+ * codes of a {@link RetryPolicy}, within a {@link RetryBudget}.
+ *
+ * <p>Only requests with an idempotent method are retried, and requests whose body cannot be sent
+ * again, such as streamed bodies, are not retried. Retries wait for the backoff of the policy, or
+ * for the delay of the {@code Retry-After} header of the response.
+ *
+ * @since 2.7
+ */
+public class RetryPolicyServiceUnavailableRetryStrategy
+    implements ServiceUnavailableRetryStrategy {
+  private static final Logger logger =
+      LoggerFactory.getLogger(RetryPolicyServiceUnavailableRetryStrategy.class);
+
+  private final RetryPolicy retryPolicy;
+  private final RetryBudget retryBudget;
+
+  // The interval is decided with the retry, and read by the same thread right after
+  private final ThreadLocal<Long> retryInterval = new ThreadLocal<Long>();
+
+  /**
+   * Creates an instance of {@link RetryPolicyServiceUnavailableRetryStrategy} with the given retry
+   * policy and budget.
+   */
+  public RetryPolicyServiceUnavailableRetryStrategy(
+      RetryPolicy retryPolicy, RetryBudget retryBudget) {
+    if (retryPolicy == null) {
+      throw new NullPointerException("retryPolicy: null");
+    }
+    if (retryBudget == null) {
+      throw new NullPointerException("retryBudget: null");
+    }
+
+    this.retryPolicy = retryPolicy;
+    this.retryBudget = retryBudget;
+  }
+
+  @Override
+  public boolean retryRequest(
+      HttpResponse httpResponse, int executionCount, HttpContext httpContext) {
+    int status = httpResponse.getStatusLine().getStatusCode();
+    if (executionCount > retryPolicy.maxRetries() || !retryPolicy.isRetryableStatus(status)) {
+      return false;
+    }
+
+    HttpRequest request = HttpClientContext.adapt(httpContext).getRequest();
+    if (request == null
+        || !retryPolicy.isIdempotent(request.getRequestLine().getMethod())
+        || !isRepeatable(request)) {
+      return false;
+    }
+
+    long interval = retryPolicy.backoffMillis(executionCount);
+    if (retryPolicy.honorRetryAfter()) {
+      Long retryAfterMillis = getRetryAfterMillis(httpResponse);
+      if (retryAfterMillis != null) {
+        if (retryAfterMillis > retryPolicy.maxBackoffMillis()) {
+          logger.debug("Not retrying request for: " + request.getRequestLine().getUri()
+              + ", Retry-After of " + retryAfterMillis + " ms exceeds the max backoff");
+          return false;
+        }
+
+        interval = retryAfterMillis;
+      }
+    }
+
+    if (!retryBudget.tryAcquire()) {
+      logger.debug("Retry budget exhausted for request for: " + request.getRequestLine().getUri());
+      return false;
+    }
+
+    retryBudget.recordStatusRetry();
+    retryInterval.set(interval);
+    logger.info(
+        "Retry " + executionCount + " for request for: " + request.getRequestLine().getUri()
+            + " in " + interval + " ms");
+    return true;
+  }
+
+  @Override
+  public long getRetryInterval() {
+    Long interval = retryInterval.get();
+    retryInterval.remove();
+    return interval == null ? 0 : interval;
+  }
+
+  /**
+   * Returns the delay of the {@code Retry-After} header of the response, in milliseconds, or null
+   * if the response does not have a valid {@code Retry-After} header.
+   */
+  static Long getRetryAfterMillis(HttpResponse httpResponse) {
+    Header header = httpResponse.getFirstHeader(HttpHeaders.RETRY_AFTER);
+    if (header == null || header.getValue() == null) {
+      return null;
+    }
+
+    String value = header.getValue().trim();
+    try {
+      long seconds = Long.parseLong(value);
+      return seconds < 0 ? null : seconds * 1000;
+    } catch (NumberFormatException e) {
+      Date date = DateUtils.parseDate(value);
+      if (date == null) {
+        return null;
+      }
+
+      return Math.max(0, date.getTime() - System.currentTimeMillis());
+    }
+  }
+
+  /**
+   * Returns true if the request has no body, or a body that can be sent again.
+   */
+  static boolean isRepeatable(HttpRequest request) {
+    if (!(request instanceof HttpEntityEnclosingRequest)) {
+      return true;
+    }
+
+    HttpEntity entity = ((HttpEntityEnclosingRequest) request).getEntity();
+    return entity == null || entity.isRepeatable();
+  }
+}
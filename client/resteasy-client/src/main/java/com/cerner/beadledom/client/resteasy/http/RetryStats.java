@@ -0,0 +1,51 @@
+package com.cerner.beadledom.client.resteasy.http;
+
+import com.google.auto.value.AutoValue;
+
+/**
+ * A snapshot of the requests a client has sent, of the retries it has made, and of the state of
+ * its retry budget.
+ *
+ * @since 2.7
+ */
+@AutoValue
+public abstract class RetryStats {
+  static RetryStats create(
+      long requests, long statusRetries, long ioExceptionRetries, long budgetRejections,
+      int availableRetries) {
+    return new AutoValue_RetryStats(
+        requests, statusRetries, ioExceptionRetries, budgetRejections, availableRetries);
+  }
+
+  /**
+   * Returns the number of requests the client has sent, not counting retries.
+   */
+  public abstract long requests();
+
+  /**
+   * Returns the number of times a request has been retried because of its response status.
+   */
+  public abstract long statusRetries();
+
+  /**
+   * Returns the number of times a request has been retried because of an I/O error.
+   */
+  public abstract long ioExceptionRetries();
+
+  /**
+   * Returns the number of retries that were not made because the retry budget was exhausted.
+   */
+  public abstract long budgetRejections();
+
+  /**
+   * Returns the number of retries the retry budget currently allows.
+   */
+  public abstract int availableRetries();
+
+  /**
+   * Returns the number of times a request has been retried.
+   */
+  public long retries() {
+    return statusRetries() + ioExceptionRetries();
+  }
+}
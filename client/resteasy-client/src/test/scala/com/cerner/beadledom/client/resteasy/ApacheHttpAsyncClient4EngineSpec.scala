@@ -0,0 +1,222 @@
+package com.cerner.beadledom.client.resteasy
+
+import java.util.concurrent.{CountDownLatch, ExecutionException, Executors, TimeUnit}
+import java.util.concurrent.atomic.AtomicReference
+import javax.ws.rs.ProcessingException
+import javax.ws.rs.client.{ClientRequestContext, ClientRequestFilter, ClientResponseContext}
+import javax.ws.rs.client.{ClientResponseFilter, Entity, InvocationCallback}
+import javax.ws.rs.core.{MediaType, Response}
+import org.apache.commons.io.IOUtils
+import org.apache.http.impl.nio.client.HttpAsyncClients
+import org.scalatest.{FunSpec, MustMatchers}
+
+/**
+  * Tests for the non-blocking http engine, including a load test, against an in-process HTTP
+  * server.
+  */
+class ApacheHttpAsyncClient4EngineSpec extends FunSpec with MustMatchers with StubHttpServer {
+  val responseDelayMillis = 100
+
+  override protected def serverBacklog: Int = 256
+
+  handle("/slow") { exchange =>
+    Thread.sleep(responseDelayMillis)
+    respond(exchange, 200, "slow")
+  }
+  handle("/echo") { exchange =>
+    val body = IOUtils.toString(exchange.getRequestBody, "UTF-8")
+    respond(exchange, 200, exchange.getRequestMethod + " " +
+        exchange.getRequestHeaders.getFirst("Content-Type") + " " + body)
+  }
+  handle("/error") { exchange =>
+    respond(exchange, 503, "unavailable")
+  }
+
+  def newClient(): BeadledomResteasyClient = {
+    BeadledomResteasyClientBuilder.newBuilder()
+        .setNonBlockingHttpEngine(true)
+        .build()
+  }
+
+  describe("ApacheHttpAsyncClient4Engine") {
+    it("is used when the non-blocking http engine is configured") {
+      val client = newClient()
+
+      client.target(s"$serverUri/slow").request().get(classOf[String]) mustBe "slow"
+      client.getConnectionPoolStats mustBe empty
+
+      client.close()
+    }
+
+    it("can be set as the http engine of a client") {
+      val client = BeadledomResteasyClientBuilder.newBuilder()
+          .setHttpEngine(new ApacheHttpAsyncClient4Engine(HttpAsyncClients.createDefault()))
+          .build()
+
+      client.target(s"$serverUri/slow").request().get(classOf[String]) mustBe "slow"
+
+      client.close()
+    }
+
+    it("sends the request method, headers and body") {
+      val client = newClient()
+
+      val response = client.target(s"$serverUri/echo").request()
+          .put(Entity.entity("body", MediaType.TEXT_PLAIN_TYPE), classOf[String])
+
+      response mustBe "PUT text/plain body"
+
+      client.close()
+    }
+
+    it("returns error responses") {
+      val client = newClient()
+
+      val response = client.target(s"$serverUri/error").request().get()
+
+      response.getStatus mustBe 503
+      response.readEntity(classOf[String]) mustBe "unavailable"
+
+      client.close()
+    }
+
+    it("rejects a GET request with a body") {
+      val client = newClient()
+
+      intercept[ProcessingException] {
+        client.target(s"$serverUri/echo").request()
+            .method("GET", Entity.text("body"), classOf[String])
+      }
+
+      client.close()
+    }
+
+    it("fails requests to an unreachable server") {
+      val client = newClient()
+
+      intercept[ProcessingException] {
+        client.target("http://localhost:1/unreachable").request().get(classOf[String])
+      }
+
+      client.close()
+    }
+
+    it("submits requests without holding a thread while they are in flight") {
+      val requests = 200
+      val client = BeadledomResteasyClientBuilder.newBuilder()
+          .setNonBlockingHttpEngine(true)
+          .setConnectionPoolSize(requests)
+          .setMaxPooledPerRouteSize(requests)
+          .build()
+      // The threads of the server that answers the requests do not count
+      def clientThreads = Thread.activeCount() - serverExecutor.getPoolSize
+      val threadsBefore = clientThreads
+
+      val startNanos = System.nanoTime()
+      val futures = (1 to requests).map(_ =>
+        client.submit(client.target(s"$serverUri/slow").request().buildGet()))
+      // Every request was sent from this thread without waiting for its response
+      val threadsInFlight = clientThreads
+
+      futures.foreach(_.get(30, TimeUnit.SECONDS).readEntity(classOf[String]) mustBe "slow")
+      val elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)
+
+      elapsedMillis must be < (requests * responseDelayMillis / 4).toLong
+      (threadsInFlight - threadsBefore) must be < requests / 4
+
+      client.close()
+    }
+
+    it("completes the callback of a submitted request") {
+      val client = newClient()
+      val done = new CountDownLatch(1)
+      val body = new AtomicReference[String]()
+
+      client.submit(client.target(s"$serverUri/slow").request().buildGet(),
+        new InvocationCallback[Response] {
+          override def completed(response: Response): Unit = {
+            body.set(response.readEntity(classOf[String]))
+            done.countDown()
+          }
+
+          override def failed(throwable: Throwable): Unit = done.countDown()
+        })
+
+      done.await(5, TimeUnit.SECONDS) mustBe true
+      body.get mustBe "slow"
+
+      client.close()
+    }
+
+    it("applies the filters of the client to submitted requests") {
+      val client = newClient()
+      val requestFilter = new ClientRequestFilter {
+        override def filter(request: ClientRequestContext): Unit =
+          request.getHeaders.putSingle("Content-Type", "text/filtered")
+      }
+      val responseFilter = new ClientResponseFilter {
+        override def filter(request: ClientRequestContext, response: ClientResponseContext): Unit =
+          response.setStatus(299)
+      }
+      client.register(requestFilter, 1)
+      client.register(responseFilter, 1)
+
+      val response = client.submit(client.target(s"$serverUri/echo").request()
+          .buildPut(Entity.entity("body", MediaType.TEXT_PLAIN_TYPE))).get(5, TimeUnit.SECONDS)
+
+      response.getStatus mustBe 299
+      response.readEntity(classOf[String]) mustBe "PUT text/filtered body"
+
+      client.close()
+    }
+
+    it("fails submitted requests to an unreachable server") {
+      val client = newClient()
+
+      val thrown = intercept[ExecutionException] {
+        client.submit(client.target("http://localhost:1/unreachable").request().buildGet())
+            .get(5, TimeUnit.SECONDS)
+      }
+
+      thrown.getCause mustBe a[ProcessingException]
+
+      client.close()
+    }
+
+    it("submits requests of a client with the blocking http engine") {
+      val client = BeadledomResteasyClientBuilder.newBuilder().build()
+
+      client.submit(client.target(s"$serverUri/slow").request().buildGet())
+          .get(5, TimeUnit.SECONDS).readEntity(classOf[String]) mustBe "slow"
+
+      client.close()
+    }
+
+    it("handles many concurrent requests to a slow server") {
+      val requests = 200
+      val client = BeadledomResteasyClientBuilder.newBuilder()
+          .setNonBlockingHttpEngine(true)
+          .setConnectionPoolSize(requests)
+          .setMaxPooledPerRouteSize(requests)
+          .build()
+
+      val callers = Executors.newFixedThreadPool(requests)
+      val startNanos = System.nanoTime()
+      val futures = (1 to requests).map { _ =>
+        callers.submit(new java.util.concurrent.Callable[String] {
+          override def call(): String =
+            client.target(s"$serverUri/slow").request().get(classOf[String])
+        })
+      }
+
+      futures.foreach(_.get(30, TimeUnit.SECONDS) mustBe "slow")
+      val elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)
+
+      // Requests are served concurrently rather than one connection at a time
+      elapsedMillis must be < (requests * responseDelayMillis / 4).toLong
+
+      callers.shutdown()
+      client.close()
+    }
+  }
+}
@@ -1,6 +1,8 @@
 package com.cerner.beadledom.client.resteasy
 
-import com.cerner.beadledom.client.BeadledomClientBuilder
+import com.cerner.beadledom.client.{BeadledomClientBuilder, ConcurrencyLimitPolicy, HedgingPolicy,
+  ResponseCachePolicy, RetryPolicy}
+import java.util.concurrent.TimeUnit
 import org.scalatest.{BeforeAndAfter, FunSpec, ShouldMatchers}
 
 import scala.language.postfixOps
@@ -29,6 +31,115 @@ class BeadledomResteasyClientBuilderSpec extends FunSpec with ShouldMatchers wit
         builder.socketTimeoutMillis() should be(10000)
         builder.connectionTimeoutMillis() should be(10000)
         builder.ttlMillis() should be(1800000)
+        builder.idleConnectionTimeoutMillis() should be(30000)
+        builder.validateAfterInactivityMillis() should be(2000)
+        builder.nonBlockingHttpEngine() should be(false)
+        builder.streamRequestBodies() should be(false)
+        builder.unbufferedResponseBodies() should be(false)
+        builder.retryPolicy() should be(RetryPolicy.builder().build())
+        builder.hedgingPolicy() should be(null)
+        builder.concurrencyLimitPolicy() should be(null)
+        builder.responseCachePolicy() should be(null)
+      }
+
+      it("sets the response cache policy") {
+        val responseCachePolicy = ResponseCachePolicy.builder().maxEntries(10).build()
+
+        val config = BeadledomResteasyClientBuilder.newBuilder()
+            .setResponseCachePolicy(responseCachePolicy)
+            .getBeadledomClientConfiguration
+
+        config.responseCachePolicy() should be(responseCachePolicy)
+      }
+
+      it("sets the concurrency limit policy") {
+        val concurrencyLimitPolicy = ConcurrencyLimitPolicy.builder().maxLimit(50).build()
+
+        val config = BeadledomResteasyClientBuilder.newBuilder()
+            .setConcurrencyLimitPolicy(concurrencyLimitPolicy)
+            .getBeadledomClientConfiguration
+
+        config.concurrencyLimitPolicy() should be(concurrencyLimitPolicy)
+      }
+
+      it("sets the hedging policy") {
+        val hedgingPolicy = HedgingPolicy.builder().delayPercentile(99).build()
+
+        val config = BeadledomResteasyClientBuilder.newBuilder()
+            .setHedgingPolicy(hedgingPolicy)
+            .getBeadledomClientConfiguration
+
+        config.hedgingPolicy() should be(hedgingPolicy)
+      }
+
+      it("sets the retry policy") {
+        val retryPolicy = RetryPolicy.builder().maxRetries(5).build()
+
+        val config = BeadledomResteasyClientBuilder.newBuilder()
+            .setRetryPolicy(retryPolicy)
+            .getBeadledomClientConfiguration
+
+        config.retryPolicy() should be(retryPolicy)
+      }
+
+      it("rejects a null retry policy") {
+        intercept[NullPointerException] {
+          BeadledomResteasyClientBuilder.newBuilder().setRetryPolicy(null)
+        }
+      }
+
+      it("adds the max connection pool size of a route") {
+        val config = BeadledomResteasyClientBuilder.newBuilder()
+            .setMaxPooledPerRouteSize("example.com:443", 5)
+            .setMaxPooledPerRouteSize("localhost:8080", 10)
+            .getBeadledomClientConfiguration
+
+        config.maxPooledPerRouteSizes().size() should be(2)
+        config.maxPooledPerRouteSizes().get("example.com:443") should be(5)
+        config.maxPooledPerRouteSizes().get("localhost:8080") should be(10)
+      }
+
+      it("sets the idle connection timeout and validate after inactivity in milliseconds") {
+        val config = BeadledomResteasyClientBuilder.newBuilder()
+            .setIdleConnectionTimeout(1, TimeUnit.MINUTES)
+            .setValidateAfterInactivity(5, TimeUnit.SECONDS)
+            .getBeadledomClientConfiguration
+
+        config.idleConnectionTimeoutMillis() should be(60000)
+        config.validateAfterInactivityMillis() should be(5000)
+      }
+
+      it("rejects a negative idle connection timeout") {
+        intercept[IllegalArgumentException] {
+          BeadledomResteasyClientBuilder.newBuilder()
+              .setIdleConnectionTimeout(-1, TimeUnit.MILLISECONDS)
+        }
+      }
+
+      it("rejects a negative validate after inactivity") {
+        intercept[IllegalArgumentException] {
+          BeadledomResteasyClientBuilder.newBuilder()
+              .setValidateAfterInactivity(-1, TimeUnit.MILLISECONDS)
+        }
+      }
+
+      it("rejects a route without a port") {
+        intercept[IllegalArgumentException] {
+          BeadledomResteasyClientBuilder.newBuilder().setMaxPooledPerRouteSize("example.com", 5)
+        }
+      }
+
+      it("rejects a route with an invalid port") {
+        intercept[IllegalArgumentException] {
+          BeadledomResteasyClientBuilder.newBuilder().setMaxPooledPerRouteSize("example.com:x", 5)
+        }
+      }
+
+      it("rejects a negative max connection pool size of a route") {
+        intercept[IllegalArgumentException] {
+          BeadledomResteasyClientBuilder.newBuilder()
+              .setMaxPooledPerRouteSize("example.com:443", -1)
+        }
       }
     }
   }
@@ -0,0 +1,133 @@
+package com.cerner.beadledom.client.resteasy
+
+import com.cerner.beadledom.client.{ConcurrencyLimitExceededException, ConcurrencyLimitPolicy,
+  RetryPolicy}
+import java.util.concurrent.{CountDownLatch, Executors, TimeUnit}
+import javax.ws.rs.core.Response
+import org.scalatest.concurrent.{Eventually, ScalaFutures}
+import org.scalatest.time.{Seconds, Span}
+import org.scalatest.{FunSpec, MustMatchers}
+
+import scala.collection.JavaConverters._
+import scala.concurrent.{ExecutionContext, Future}
+
+/**
+  * Integration tests for concurrency limits, against an in-process HTTP server whose responses
+  * can be held back.
+  */
+class ConcurrencyLimitSpec extends FunSpec with MustMatchers with StubHttpServer
+    with Eventually with ScalaFutures {
+  @volatile var responseLatch = new CountDownLatch(0)
+
+  handle("/") { exchange =>
+    responseLatch.await(5, TimeUnit.SECONDS)
+    respond(exchange, 200, "ok")
+  }
+  handle("/unavailable") { exchange =>
+    respond(exchange, 503, "unavailable")
+  }
+
+  override implicit val patienceConfig = PatienceConfig(timeout = Span(5, Seconds))
+
+  // Each request in flight blocks a thread, however few processors there are
+  val callerExecutor = Executors.newCachedThreadPool()
+  implicit val callerContext = ExecutionContext.fromExecutor(callerExecutor)
+
+  override protected def afterAll(): Unit = {
+    try {
+      super.afterAll()
+    } finally {
+      callerExecutor.shutdownNow()
+    }
+  }
+
+  def newClient(policy: ConcurrencyLimitPolicy): BeadledomResteasyClient =
+    BeadledomResteasyClientBuilder.newBuilder()
+        .setConcurrencyLimitPolicy(policy)
+        .setRetryPolicy(RetryPolicy.none())
+        .build()
+
+  def clientStats(client: BeadledomResteasyClient) =
+    client.getConcurrencyLimitStats.asScala.head
+
+  describe("BeadledomResteasyClient") {
+    it("fails fast when the concurrency limit is reached") {
+      val client = newClient(ConcurrencyLimitPolicy.builder().initialLimit(2).maxLimit(2).build())
+      responseLatch = new CountDownLatch(1)
+
+      val inFlight = (1 to 2).map(_ =>
+        Future(client.target(serverUri).request().get(classOf[String])))
+      eventually {
+        clientStats(client).inFlight mustBe 2
+      }
+
+      val exception = intercept[ConcurrencyLimitExceededException] {
+        client.target(serverUri).request().get(classOf[String])
+      }
+      exception.getLimit mustBe 2
+
+      responseLatch.countDown()
+      inFlight.foreach(_.futureValue mustBe "ok")
+
+      val stats = clientStats(client)
+      stats.inFlight mustBe 0
+      stats.rejections mustBe 1
+      client.target(serverUri).request().get(classOf[String]) mustBe "ok"
+
+      client.close()
+    }
+
+    it("holds the permit of a request until its response is released") {
+      val client = newClient(ConcurrencyLimitPolicy.builder().build())
+
+      val response = client.target(serverUri).request().get()
+      clientStats(client).inFlight mustBe 1
+
+      response.readEntity(classOf[String]) mustBe "ok"
+      clientStats(client).inFlight mustBe 0
+
+      val unread = client.target(serverUri).request().get()
+      clientStats(client).inFlight mustBe 1
+
+      unread.close()
+      unread.close()
+      clientStats(client).inFlight mustBe 0
+
+      client.close()
+    }
+
+    it("reports the limit of each route") {
+      val client = newClient(ConcurrencyLimitPolicy.builder().build())
+
+      client.target(serverUri).request().get(classOf[String]) mustBe "ok"
+
+      val stats = client.getConcurrencyLimitStats.asScala
+      stats.map(_.route) mustBe Seq(null, s"http://localhost:${server.getAddress.getPort}")
+      stats.map(_.limit) mustBe Seq(20, 20)
+
+      client.close()
+    }
+
+    it("shrinks the limit when the server rejects requests") {
+      val client = newClient(ConcurrencyLimitPolicy.builder().build())
+
+      (1 to 10).foreach { _ =>
+        val response = client.target(s"$serverUri/unavailable").request().get()
+        response.getStatus mustBe Response.Status.SERVICE_UNAVAILABLE.getStatusCode
+        response.close()
+      }
+
+      clientStats(client).limit must be < 10
+
+      client.close()
+    }
+
+    it("reports no concurrency limit stats when requests are not limited") {
+      val client = BeadledomResteasyClientBuilder.newBuilder().build()
+
+      client.getConcurrencyLimitStats mustBe empty
+
+      client.close()
+    }
+  }
+}
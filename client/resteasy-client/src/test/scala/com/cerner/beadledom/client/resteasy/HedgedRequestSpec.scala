@@ -0,0 +1,163 @@
+package com.cerner.beadledom.client.resteasy
+
+import com.cerner.beadledom.client.{ConcurrencyLimitPolicy, HedgingPolicy}
+import java.util.concurrent.atomic.AtomicInteger
+import javax.ws.rs.client.Entity
+import org.scalatest.concurrent.Eventually
+import org.scalatest.time.{Seconds, Span}
+import org.scalatest.{BeforeAndAfter, FunSpec, MustMatchers}
+
+import scala.collection.JavaConverters._
+
+/**
+  * Integration tests for hedged requests, against an in-process HTTP server whose first responses
+  * are slow.
+  */
+class HedgedRequestSpec extends FunSpec with MustMatchers with BeforeAndAfter
+    with StubHttpServer with Eventually {
+  val slowResponseMillis = 2000
+
+  val slowResponses = new AtomicInteger()
+  val attempts = new AtomicInteger()
+
+  handle("/") { exchange =>
+    attempts.incrementAndGet()
+    if (slowResponses.getAndDecrement() > 0) {
+      Thread.sleep(slowResponseMillis)
+    }
+    respond(exchange, 200, "ok")
+  }
+
+  before {
+    slowResponses.set(0)
+    attempts.set(0)
+  }
+
+  override implicit val patienceConfig = PatienceConfig(timeout = Span(5, Seconds))
+
+  val hedgingPolicy = HedgingPolicy.builder()
+      .initialDelayMillis(100)
+      .build()
+
+  def newClient(policy: HedgingPolicy): BeadledomResteasyClient =
+    BeadledomResteasyClientBuilder.newBuilder().setHedgingPolicy(policy).build()
+
+  def timeMillis(block: => Unit): Long = {
+    val start = System.nanoTime()
+    block
+    (System.nanoTime() - start) / 1000000
+  }
+
+  describe("BeadledomResteasyClient") {
+    it("hedges a slow GET request and uses the first response") {
+      val client = newClient(hedgingPolicy)
+      slowResponses.set(1)
+
+      val elapsedMillis = timeMillis {
+        client.target(serverUri).request().get(classOf[String]) mustBe "ok"
+      }
+
+      elapsedMillis must be < slowResponseMillis.toLong
+      attempts.get mustBe 2
+      val stats = client.getHedgingStats
+      stats.requests mustBe 1
+      stats.hedges mustBe 1
+      stats.hedgesWon mustBe 1
+
+      client.close()
+    }
+
+    it("releases the connection of the losing attempt") {
+      val client = newClient(hedgingPolicy)
+      slowResponses.set(1)
+
+      client.target(serverUri).request().get(classOf[String]) mustBe "ok"
+
+      eventually {
+        client.getConnectionPoolStats.asScala.map(_.leased).sum mustBe 0
+      }
+
+      client.close()
+    }
+
+    it("does not hedge fast requests") {
+      val client = newClient(hedgingPolicy)
+
+      (1 to 5).foreach(_ => client.target(serverUri).request().get(classOf[String]) mustBe "ok")
+
+      attempts.get mustBe 5
+      client.getHedgingStats.hedges mustBe 0
+
+      client.close()
+    }
+
+    it("does not hedge requests with other methods") {
+      val client = newClient(hedgingPolicy)
+      slowResponses.set(1)
+
+      client.target(serverUri).request().post(Entity.text("body"), classOf[String]) mustBe "ok"
+
+      attempts.get mustBe 1
+      client.getHedgingStats.requests mustBe 0
+
+      client.close()
+    }
+
+    it("limits hedges to the hedging budget of the client") {
+      val client = newClient(hedgingPolicy.newBuilder().budgetPercent(0).budgetBurst(1).build())
+      slowResponses.set(1)
+      client.target(serverUri).request().get(classOf[String]) mustBe "ok"
+
+      slowResponses.set(1)
+      val elapsedMillis = timeMillis {
+        client.target(serverUri).request().get(classOf[String]) mustBe "ok"
+      }
+
+      elapsedMillis must be >= slowResponseMillis.toLong
+      attempts.get mustBe 3
+      val stats = client.getHedgingStats
+      stats.hedges mustBe 1
+      stats.budgetRejections mustBe 1
+
+      client.close()
+    }
+
+    it("does not hedge requests when the concurrency limit is reached") {
+      val client = BeadledomResteasyClientBuilder.newBuilder()
+          .setHedgingPolicy(hedgingPolicy)
+          .setConcurrencyLimitPolicy(
+            ConcurrencyLimitPolicy.builder().initialLimit(1).minLimit(1).maxLimit(1).build())
+          .build()
+      slowResponses.set(1)
+
+      val elapsedMillis = timeMillis {
+        client.target(serverUri).request().get(classOf[String]) mustBe "ok"
+      }
+
+      elapsedMillis must be >= slowResponseMillis.toLong
+      attempts.get mustBe 1
+      client.getHedgingStats.hedges mustBe 0
+      client.getConcurrencyLimitStats.asScala.head.inFlight mustBe 0
+
+      client.close()
+    }
+
+    it("adapts the hedge delay to the observed latencies") {
+      val client = newClient(hedgingPolicy.newBuilder().initialDelayMillis(5000).build())
+
+      (1 to 20).foreach(_ => client.target(serverUri).request().get(classOf[String]))
+
+      client.getHedgingStats.delayMillis must be < 5000L
+
+      client.close()
+    }
+
+    it("reports no hedging stats when requests are not hedged") {
+      val client = BeadledomResteasyClientBuilder.newBuilder().build()
+
+      client.getHedgingStats mustBe null
+
+      client.close()
+    }
+  }
+}
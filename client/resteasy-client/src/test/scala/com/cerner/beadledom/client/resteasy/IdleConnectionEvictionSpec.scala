@@ -0,0 +1,52 @@
+package com.cerner.beadledom.client.resteasy
+
+import java.util.concurrent.TimeUnit
+import org.scalatest.concurrent.Eventually
+import org.scalatest.time.{Seconds, Span}
+import org.scalatest.{FunSpec, MustMatchers}
+
+import scala.collection.JavaConverters._
+
+/**
+  * Integration tests for the eviction of idle connections, against an in-process HTTP server.
+  */
+class IdleConnectionEvictionSpec extends FunSpec with MustMatchers with StubHttpServer
+    with Eventually {
+  handle("/") { exchange =>
+    respond(exchange, 200, "ok")
+  }
+
+  override implicit val patienceConfig = PatienceConfig(timeout = Span(5, Seconds))
+
+  describe("BeadledomResteasyClient") {
+    it("closes pooled connections that have been idle for longer than the idle timeout") {
+      val client = BeadledomResteasyClientBuilder.newBuilder()
+          .setIdleConnectionTimeout(200, TimeUnit.MILLISECONDS)
+          .build()
+
+      client.target(serverUri).request().get(classOf[String]) mustBe "ok"
+      client.getConnectionPoolStats.asScala.head.available mustBe 1
+
+      eventually {
+        client.getConnectionPoolStats.asScala.head.available mustBe 0
+      }
+
+      client.target(serverUri).request().get(classOf[String]) mustBe "ok"
+
+      client.close()
+    }
+
+    it("keeps idle connections pooled when the idle timeout is 0") {
+      val client = BeadledomResteasyClientBuilder.newBuilder()
+          .setIdleConnectionTimeout(0, TimeUnit.MILLISECONDS)
+          .build()
+
+      client.target(serverUri).request().get(classOf[String]) mustBe "ok"
+      Thread.sleep(500)
+
+      client.getConnectionPoolStats.asScala.head.available mustBe 1
+
+      client.close()
+    }
+  }
+}
@@ -0,0 +1,106 @@
+package com.cerner.beadledom.client.resteasy
+
+import java.lang.ref.WeakReference
+import java.util.concurrent.{CountDownLatch, TimeUnit}
+import org.apache.http.conn.HttpClientConnectionManager
+import org.apache.http.impl.conn.BasicHttpClientConnectionManager
+import org.mockito.Mockito._
+import org.mockito.invocation.InvocationOnMock
+import org.mockito.stubbing.Answer
+import org.scalatest.{FunSpec, MustMatchers}
+import org.scalatest.mock.MockitoSugar
+
+class IdleConnectionEvictorSpec extends FunSpec with MustMatchers with MockitoSugar {
+  describe("IdleConnectionEvictor") {
+    it("closes the expired and idle connections of registered pools") {
+      val evictor = new IdleConnectionEvictor
+      val connectionManager = mock[HttpClientConnectionManager]
+      val evicted = new CountDownLatch(1)
+      doAnswer(new Answer[Unit] {
+        override def answer(invocation: InvocationOnMock): Unit = evicted.countDown()
+      }).when(connectionManager).closeIdleConnections(200, TimeUnit.MILLISECONDS)
+
+      evictor.register(connectionManager, 200)
+
+      evicted.await(5, TimeUnit.SECONDS) mustBe true
+      verify(connectionManager, atLeastOnce()).closeExpiredConnections()
+
+      evictor.unregister(connectionManager)
+    }
+
+    it("only closes the expired connections of pools without an idle timeout") {
+      val evictor = new IdleConnectionEvictor
+      val connectionManager = mock[HttpClientConnectionManager]
+
+      evictor.register(connectionManager, 0)
+      evictor.evict()
+
+      verify(connectionManager).closeExpiredConnections()
+      verify(connectionManager, never()).closeIdleConnections(
+        org.mockito.Matchers.anyLong(), org.mockito.Matchers.any(classOf[TimeUnit]))
+
+      evictor.unregister(connectionManager)
+    }
+
+    it("keeps evicting the other pools when a pool fails") {
+      val evictor = new IdleConnectionEvictor
+      val failingManager = mock[HttpClientConnectionManager]
+      val connectionManager = mock[HttpClientConnectionManager]
+      when(failingManager.closeExpiredConnections()).thenThrow(new IllegalStateException("shut"))
+
+      evictor.register(failingManager, 1000)
+      evictor.register(connectionManager, 1000)
+      evictor.evict()
+
+      verify(connectionManager).closeIdleConnections(1000, TimeUnit.MILLISECONDS)
+
+      evictor.unregister(failingManager)
+      evictor.unregister(connectionManager)
+    }
+
+    it("stops the eviction thread once every pool is unregistered") {
+      val evictor = new IdleConnectionEvictor
+      val connectionManager = mock[HttpClientConnectionManager]
+      val otherManager = mock[HttpClientConnectionManager]
+
+      evictor.isRunning mustBe false
+
+      evictor.register(connectionManager, 1000)
+      evictor.register(otherManager, 0)
+      evictor.isRunning mustBe true
+
+      evictor.unregister(connectionManager)
+      evictor.isRunning mustBe true
+
+      evictor.unregister(otherManager)
+      evictor.isRunning mustBe false
+    }
+
+    it("does not keep pools that are no longer referenced") {
+      val evictor = new IdleConnectionEvictor
+      var connectionManager = new BasicHttpClientConnectionManager()
+      val reference = new WeakReference(connectionManager)
+
+      evictor.register(connectionManager, 1000)
+      connectionManager = null
+
+      val deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10)
+      while (evictor.isRunning && System.nanoTime() < deadline) {
+        System.gc()
+        Thread.sleep(10)
+        evictor.evict()
+      }
+
+      reference.get mustBe null
+      evictor.isRunning mustBe false
+    }
+
+    it("ignores pools that are not registered") {
+      val evictor = new IdleConnectionEvictor
+
+      evictor.unregister(mock[HttpClientConnectionManager])
+
+      evictor.isRunning mustBe false
+    }
+  }
+}
@@ -0,0 +1,117 @@
+package com.cerner.beadledom.client.resteasy
+
+import com.cerner.beadledom.client.RetryPolicy
+import java.util.concurrent.atomic.AtomicInteger
+import javax.ws.rs.client.Entity
+import org.scalatest.{BeforeAndAfter, FunSpec, MustMatchers}
+
+/**
+  * Integration tests for retrying requests with a retry policy, against an in-process HTTP server
+  * that counts the requests it receives.
+  */
+class RequestRetrySpec extends FunSpec with MustMatchers with BeforeAndAfter
+    with StubHttpServer {
+  val attempts = new AtomicInteger()
+
+  handle("/unavailable") { exchange =>
+    attempts.incrementAndGet()
+    respond(exchange, 503, "unavailable")
+  }
+  handle("/retry-after") { exchange =>
+    if (attempts.incrementAndGet() == 1) {
+      exchange.getResponseHeaders.add("Retry-After", "1")
+      respond(exchange, 503, "unavailable")
+    } else {
+      respond(exchange, 200, "available")
+    }
+  }
+
+  before {
+    attempts.set(0)
+  }
+
+  val retryPolicy = RetryPolicy.builder()
+      .maxRetries(2)
+      .initialBackoffMillis(10)
+      .build()
+
+  def newClient(policy: RetryPolicy): BeadledomResteasyClient =
+    BeadledomResteasyClientBuilder.newBuilder().setRetryPolicy(policy).build()
+
+  describe("BeadledomResteasyClient") {
+    it("retries idempotent requests up to the max retries") {
+      val client = newClient(retryPolicy)
+
+      client.target(s"$serverUri/unavailable").request().get().getStatus mustBe 503
+
+      attempts.get mustBe 3
+      val stats = client.getRetryStats
+      stats.requests mustBe 1
+      stats.statusRetries mustBe 2
+      stats.retries mustBe 2
+
+      client.close()
+    }
+
+    it("does not retry requests that are not idempotent") {
+      val client = newClient(retryPolicy)
+
+      client.target(s"$serverUri/unavailable").request()
+          .post(Entity.text("body")).getStatus mustBe 503
+
+      attempts.get mustBe 1
+      client.getRetryStats.retries mustBe 0
+
+      client.close()
+    }
+
+    it("does not retry requests with the none policy") {
+      val client = newClient(RetryPolicy.none())
+
+      client.target(s"$serverUri/unavailable").request().get().getStatus mustBe 503
+
+      attempts.get mustBe 1
+
+      client.close()
+    }
+
+    it("retries after the delay of the Retry-After header") {
+      val client = newClient(retryPolicy)
+
+      val start = System.nanoTime()
+      client.target(s"$serverUri/retry-after").request().get(classOf[String]) mustBe "available"
+      val elapsedMillis = (System.nanoTime() - start) / 1000000
+
+      attempts.get mustBe 2
+      elapsedMillis must be >= 1000L
+
+      client.close()
+    }
+
+    it("limits retries to the retry budget of the client") {
+      val client = newClient(retryPolicy.newBuilder().budgetPercent(0).budgetBurst(1).build())
+
+      client.target(s"$serverUri/unavailable").request().get().getStatus mustBe 503
+      client.target(s"$serverUri/unavailable").request().get().getStatus mustBe 503
+
+      attempts.get mustBe 3
+      val stats = client.getRetryStats
+      stats.requests mustBe 2
+      stats.retries mustBe 1
+      stats.budgetRejections mustBe 2
+      stats.availableRetries mustBe 0
+
+      client.close()
+    }
+
+    it("reports no retry stats for the non-blocking http engine") {
+      val client = BeadledomResteasyClientBuilder.newBuilder()
+          .setNonBlockingHttpEngine(true)
+          .build()
+
+      client.getRetryStats mustBe null
+
+      client.close()
+    }
+  }
+}
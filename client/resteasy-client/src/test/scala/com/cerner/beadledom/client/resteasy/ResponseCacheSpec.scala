@@ -0,0 +1,186 @@
+package com.cerner.beadledom.client.resteasy
+
+import com.cerner.beadledom.client.{ConcurrencyLimitPolicy, ResponseCachePolicy}
+import java.nio.file.Files
+import java.util.concurrent.atomic.AtomicInteger
+import org.scalatest.{BeforeAndAfter, FunSpec, MustMatchers}
+
+import scala.collection.JavaConverters._
+
+/**
+  * Integration tests for the response cache, against an in-process HTTP server that sends cache
+  * headers and counts the requests it answers.
+  */
+class ResponseCacheSpec extends FunSpec with MustMatchers with BeforeAndAfter
+    with StubHttpServer {
+  val serverRequests = new AtomicInteger()
+  val version = new AtomicInteger()
+
+  handle("/") { exchange =>
+    serverRequests.incrementAndGet()
+    val requestHeaders = exchange.getRequestHeaders
+    val responseHeaders = exchange.getResponseHeaders
+    val etag = "\"v" + version.get + "\""
+
+    exchange.getRequestURI.getPath match {
+      case "/fresh" =>
+        responseHeaders.add("Cache-Control", "max-age=60")
+      case "/no-store" =>
+        responseHeaders.add("Cache-Control", "no-store")
+      case "/vary" =>
+        responseHeaders.add("Cache-Control", "max-age=60")
+        responseHeaders.add("Vary", "Accept-Language")
+      case "/etag" =>
+        responseHeaders.add("Cache-Control", "max-age=0")
+        responseHeaders.add("ETag", etag)
+      case _ =>
+    }
+
+    if (exchange.getRequestURI.getPath == "/etag" &&
+        etag == requestHeaders.getFirst("If-None-Match")) {
+      // The JDK server closes the connection after a response without a body
+      responseHeaders.add("Connection", "close")
+      exchange.sendResponseHeaders(304, -1)
+      exchange.close()
+    } else {
+      respond(exchange, 200, s"${version.get} ${requestHeaders.getFirst("Accept-Language")}")
+    }
+  }
+
+  before {
+    serverRequests.set(0)
+    version.set(1)
+  }
+
+  def newClient(policy: ResponseCachePolicy = ResponseCachePolicy.builder().build()) =
+    BeadledomResteasyClientBuilder.newBuilder().setResponseCachePolicy(policy).build()
+
+  def get(client: BeadledomResteasyClient, path: String, language: String = "en"): String =
+    client.target(serverUri + path).request()
+        .header("Accept-Language", language)
+        .get(classOf[String])
+
+  describe("BeadledomResteasyClient") {
+    it("answers requests for fresh responses from the cache") {
+      val client = newClient()
+
+      get(client, "/fresh") mustBe "1 en"
+      version.set(2)
+      get(client, "/fresh") mustBe "1 en"
+
+      serverRequests.get mustBe 1
+      val stats = client.getResponseCacheStats
+      stats.misses mustBe 1
+      stats.hits mustBe 1
+      stats.hitRatio mustBe 0.5
+
+      client.close()
+    }
+
+    it("does not cache responses that must not be stored") {
+      val client = newClient()
+
+      get(client, "/no-store")
+      get(client, "/no-store")
+
+      serverRequests.get mustBe 2
+      client.getResponseCacheStats.hits mustBe 0
+
+      client.close()
+    }
+
+    it("caches a variant of a response for each value of its Vary headers") {
+      val client = newClient()
+
+      get(client, "/vary", "en") mustBe "1 en"
+      get(client, "/vary", "fr") mustBe "1 fr"
+      get(client, "/vary", "en") mustBe "1 en"
+      get(client, "/vary", "fr") mustBe "1 fr"
+
+      serverRequests.get mustBe 2
+      client.getResponseCacheStats.hits mustBe 2
+
+      client.close()
+    }
+
+    it("revalidates stale responses with their ETag") {
+      val client = newClient()
+
+      get(client, "/etag") mustBe "1 en"
+      get(client, "/etag") mustBe "1 en"
+      version.set(2)
+      get(client, "/etag") mustBe "2 en"
+
+      serverRequests.get mustBe 3
+      val stats = client.getResponseCacheStats
+      stats.revalidations mustBe 1
+      stats.misses mustBe 2
+
+      client.close()
+    }
+
+    it("keeps responses from the cache out of the retry budget and the concurrency limits") {
+      val client = BeadledomResteasyClientBuilder.newBuilder()
+          .setResponseCachePolicy(ResponseCachePolicy.builder().build())
+          .setConcurrencyLimitPolicy(ConcurrencyLimitPolicy.builder().build())
+          .build()
+
+      get(client, "/fresh") mustBe "1 en"
+      get(client, "/fresh") mustBe "1 en"
+
+      serverRequests.get mustBe 1
+      client.getResponseCacheStats.hits mustBe 1
+      client.getRetryStats.requests mustBe 1
+      client.getConcurrencyLimitStats.asScala.foreach(_.inFlight mustBe 0)
+
+      client.close()
+    }
+
+    it("evicts the least recently used response when the cache is full") {
+      val client = newClient(ResponseCachePolicy.builder().maxEntries(1).build())
+
+      get(client, "/fresh")
+      get(client, "/vary")
+      get(client, "/fresh")
+
+      serverRequests.get mustBe 3
+
+      client.close()
+    }
+
+    it("does not cache responses larger than the max object size") {
+      val client = newClient(ResponseCachePolicy.builder().maxObjectSizeBytes(2).build())
+
+      get(client, "/fresh")
+      get(client, "/fresh")
+
+      serverRequests.get mustBe 2
+
+      client.close()
+    }
+
+    it("stores cached bodies in the cache directory until the client is closed") {
+      val cacheDirectory = Files.createTempDirectory("beadledom-response-cache").toFile
+      val client = newClient(ResponseCachePolicy.builder().cacheDirectory(cacheDirectory).build())
+
+      get(client, "/fresh") mustBe "1 en"
+      get(client, "/fresh") mustBe "1 en"
+
+      serverRequests.get mustBe 1
+      cacheDirectory.list() must not be empty
+
+      client.close()
+
+      cacheDirectory.list() mustBe empty
+      cacheDirectory.delete()
+    }
+
+    it("reports no response cache stats when responses are not cached") {
+      val client = BeadledomResteasyClientBuilder.newBuilder().build()
+
+      client.getResponseCacheStats mustBe null
+
+      client.close()
+    }
+  }
+}
@@ -7,9 +7,13 @@ import com.fasterxml.jackson.annotation.JsonInclude
 import com.fasterxml.jackson.databind.{DeserializationFeature, ObjectMapper, PropertyNamingStrategy, SerializationFeature}
 import com.fasterxml.jackson.jaxrs.json.JacksonJsonProvider
 
+import org.apache.http.impl.client.HttpClients
+import org.apache.http.protocol.BasicHttpContext
 import org.scalatest._
 import org.slf4j.MDC
 
+import scala.collection.JavaConverters._
+
 /**
   * @author John Leacox
   */
@@ -139,6 +143,40 @@ class ResteasyClientSpec(contextRoot: String, servicePort: Int)
       response.getStatus mustBe 500
       response.errorBody().string() mustBe """{"field_one":"one","field_two":"two"}"""
     }
+
+    it("reports the connection pool statistics of each route") {
+      val client = BeadledomResteasyClientBuilder.newBuilder()
+          .setMaxPooledPerRouteSize(s"localhost:$servicePort", 7)
+          .build()
+
+      val proxy = client.target(s"http://localhost:$servicePort/$contextRoot")
+          .proxy(classOf[TestResource])
+
+      proxy.get()
+      proxy.get()
+
+      val stats = client.getConnectionPoolStats.asScala
+      stats must have size 1
+      stats.head.route mustBe s"http://localhost:$servicePort"
+      stats.head.leased mustBe 0
+      stats.head.available mustBe 1
+      stats.head.max mustBe 7
+      stats.head.leaseCount mustBe 2
+      stats.head.maxLeaseWaitMillis must be >= stats.head.meanLeaseWaitMillis
+
+      client.close()
+    }
+
+    it("reports no connection pool statistics for a custom http engine") {
+      val client = BeadledomResteasyClientBuilder.newBuilder()
+          .setHttpEngine(
+            new ApacheHttpClient4Dot3Engine(HttpClients.createDefault(), new BasicHttpContext()))
+          .build()
+
+      client.getConnectionPoolStats mustBe empty
+
+      client.close()
+    }
   }
 
   /**
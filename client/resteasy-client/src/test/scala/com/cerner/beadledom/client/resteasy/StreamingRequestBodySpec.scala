@@ -0,0 +1,103 @@
+package com.cerner.beadledom.client.resteasy
+
+import java.io.OutputStream
+import javax.ws.rs.ProcessingException
+import javax.ws.rs.client.Entity
+import javax.ws.rs.core.{MediaType, StreamingOutput}
+import org.apache.commons.io.IOUtils
+import org.apache.http.NoHttpResponseException
+import org.scalatest.{FunSpec, MustMatchers}
+
+/**
+  * Tests for streamed request bodies, against an in-process HTTP server that echoes how the body
+  * of each request was sent.
+  */
+class StreamingRequestBodySpec extends FunSpec with MustMatchers with StubHttpServer {
+  handle("/upload") { exchange =>
+    val length = IOUtils.toByteArray(exchange.getRequestBody).length
+    val headers = exchange.getRequestHeaders
+    respond(exchange, 200, Seq("Transfer-Encoding", "Content-Length", "Content-Type")
+        .map(name => String.valueOf(headers.getFirst(name)))
+        .mkString("", " ", s" $length"))
+  }
+
+  // Reads the body of the request and closes the connection without a response
+  handle("/hang-up") { exchange =>
+    IOUtils.toByteArray(exchange.getRequestBody)
+    exchange.close()
+  }
+
+  val uploadUri = s"$serverUri/upload"
+
+  val bodySize = 4 * 1024 * 1024
+
+  def body: StreamingOutput = new StreamingOutput {
+    override def write(output: OutputStream): Unit = {
+      val chunk = new Array[Byte](8192)
+      for (_ <- 0 until bodySize / chunk.length) {
+        output.write(chunk)
+      }
+    }
+  }
+
+  def upload(client: BeadledomResteasyClient, streamRequestBody: Option[Boolean]): String = {
+    val request = client.target(uploadUri).request()
+    streamRequestBody.foreach(stream =>
+      request.property(BeadledomResteasyClient.STREAM_REQUEST_BODY_PROPERTY, stream))
+    request.post(Entity.entity(body, MediaType.APPLICATION_OCTET_STREAM_TYPE), classOf[String])
+  }
+
+  describe("ApacheHttpClient4Dot3Engine") {
+    it("buffers request bodies by default") {
+      val client = BeadledomResteasyClientBuilder.newBuilder().build()
+
+      upload(client, None) mustBe s"null $bodySize application/octet-stream $bodySize"
+
+      client.close()
+    }
+
+    it("streams request bodies with chunked transfer encoding when configured") {
+      val client = BeadledomResteasyClientBuilder.newBuilder()
+          .setStreamRequestBodies(true)
+          .build()
+
+      upload(client, None) mustBe s"chunked null application/octet-stream $bodySize"
+
+      client.close()
+    }
+
+    it("streams the body of a request with the stream request body property") {
+      val client = BeadledomResteasyClientBuilder.newBuilder().build()
+
+      upload(client, Some(true)) mustBe s"chunked null application/octet-stream $bodySize"
+
+      client.close()
+    }
+
+    it("does not retry a streamed request that failed after its body was sent") {
+      val client = BeadledomResteasyClientBuilder.newBuilder()
+          .setStreamRequestBodies(true)
+          .build()
+
+      val thrown = intercept[ProcessingException] {
+        client.target(s"$serverUri/hang-up").request()
+            .put(Entity.entity(body, MediaType.APPLICATION_OCTET_STREAM_TYPE), classOf[String])
+      }
+
+      thrown.getCause mustBe a[NoHttpResponseException]
+      client.getRetryStats.ioExceptionRetries mustBe 0
+
+      client.close()
+    }
+
+    it("buffers the body of a request that disables the stream request body property") {
+      val client = BeadledomResteasyClientBuilder.newBuilder()
+          .setStreamRequestBodies(true)
+          .build()
+
+      upload(client, Some(false)) mustBe s"null $bodySize application/octet-stream $bodySize"
+
+      client.close()
+    }
+  }
+}
@@ -0,0 +1,58 @@
+package com.cerner.beadledom.client.resteasy
+
+import com.sun.net.httpserver.{HttpExchange, HttpHandler, HttpServer}
+import java.net.InetSocketAddress
+import java.util.concurrent.{Executors, ThreadPoolExecutor}
+import org.scalatest.{BeforeAndAfterAll, Suite}
+
+/**
+  * An in-process HTTP server for specs that test the client against a real connection.
+  *
+  * <p>The server is started when the spec is created, handles each exchange on its own thread and
+  * is stopped after all of the tests of the spec have run.
+  */
+trait StubHttpServer extends BeforeAndAfterAll { this: Suite =>
+  /**
+    * The maximum number of queued incoming connections of the server; 0 uses the system default.
+    */
+  protected def serverBacklog: Int = 0
+
+  val serverExecutor = Executors.newCachedThreadPool().asInstanceOf[ThreadPoolExecutor]
+  val server = HttpServer.create(new InetSocketAddress("localhost", 0), serverBacklog)
+  server.setExecutor(serverExecutor)
+  server.start()
+
+  val serverUri = s"http://localhost:${server.getAddress.getPort}"
+
+  /**
+    * Handles the requests for the path and every path below it.
+    */
+  def handle(path: String)(handler: HttpExchange => Unit): Unit = {
+    server.createContext(path, new HttpHandler {
+      override def handle(exchange: HttpExchange): Unit = handler(exchange)
+    })
+  }
+
+  /**
+    * Responds with the status and the body as UTF-8 encoded plain text, and closes the exchange.
+    *
+    * <p>The client reads a null entity from a response without a content type, which the server
+    * does not add by itself.
+    */
+  def respond(exchange: HttpExchange, status: Int, body: String): Unit = {
+    val bytes = body.getBytes("UTF-8")
+    exchange.getResponseHeaders.set("Content-Type", "text/plain; charset=UTF-8")
+    exchange.sendResponseHeaders(status, bytes.length)
+    exchange.getResponseBody.write(bytes)
+    exchange.close()
+  }
+
+  override protected def afterAll(): Unit = {
+    try {
+      super.afterAll()
+    } finally {
+      server.stop(0)
+      serverExecutor.shutdownNow()
+    }
+  }
+}
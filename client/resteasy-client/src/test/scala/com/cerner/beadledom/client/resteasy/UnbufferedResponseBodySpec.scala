@@ -0,0 +1,108 @@
+package com.cerner.beadledom.client.resteasy
+
+import java.io.{BufferedInputStream, InputStream}
+import java.lang.management.ManagementFactory
+import org.scalatest.{FunSpec, MustMatchers}
+
+/**
+  * Tests for unbuffered response bodies, against an in-process HTTP server that responds with a
+  * large body.
+  */
+class UnbufferedResponseBodySpec extends FunSpec with MustMatchers with StubHttpServer {
+  val bodySize = 50 * 1024 * 1024
+
+  handle("/download") { exchange =>
+    val chunk = new Array[Byte](64 * 1024)
+    exchange.sendResponseHeaders(200, bodySize)
+    for (_ <- 0 until bodySize / chunk.length) {
+      exchange.getResponseBody.write(chunk)
+    }
+    exchange.close()
+  }
+
+  val downloadUri = s"$serverUri/download"
+
+  val threadMXBean = ManagementFactory.getThreadMXBean
+      .asInstanceOf[com.sun.management.ThreadMXBean]
+
+  def allocatedBytes: Long = threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId)
+
+  /**
+    * Downloads the body as an input stream, returning the stream type, the length read and the
+    * bytes allocated by the current thread while reading it.
+    */
+  def download(
+      client: BeadledomResteasyClient,
+      unbufferedResponseBody: Option[Boolean]): (Class[_], Long, Long) = {
+    val request = client.target(downloadUri).request()
+    unbufferedResponseBody.foreach(unbuffered =>
+      request.property(BeadledomResteasyClient.UNBUFFERED_RESPONSE_BODY_PROPERTY, unbuffered))
+
+    val response = request.get()
+    val buffer = new Array[Byte](8192)
+    val startBytes = allocatedBytes
+    val stream = response.readEntity(classOf[InputStream])
+    var length = 0L
+    var read = stream.read(buffer)
+    while (read != -1) {
+      length += read
+      read = stream.read(buffer)
+    }
+    val allocated = allocatedBytes - startBytes
+    stream.close()
+
+    (stream.getClass, length, allocated)
+  }
+
+  describe("ApacheHttpClient4Dot3Engine") {
+    it("reads response bodies through a buffer by default") {
+      val client = BeadledomResteasyClientBuilder.newBuilder().build()
+
+      val (streamType, length, _) = download(client, None)
+
+      classOf[BufferedInputStream].isAssignableFrom(streamType) mustBe true
+      length mustBe bodySize
+
+      client.close()
+    }
+
+    it("passes response bodies through in constant memory when configured") {
+      val client = BeadledomResteasyClientBuilder.newBuilder()
+          .setUnbufferedResponseBodies(true)
+          .build()
+
+      val (streamType, length, allocated) = download(client, None)
+
+      classOf[BufferedInputStream].isAssignableFrom(streamType) mustBe false
+      length mustBe bodySize
+      allocated must be < (bodySize / 10).toLong
+
+      client.close()
+    }
+
+    it("passes the body of a response through with the unbuffered response body property") {
+      val client = BeadledomResteasyClientBuilder.newBuilder().build()
+
+      val (streamType, length, allocated) = download(client, Some(true))
+
+      classOf[BufferedInputStream].isAssignableFrom(streamType) mustBe false
+      length mustBe bodySize
+      allocated must be < (bodySize / 10).toLong
+
+      client.close()
+    }
+
+    it("buffers the body of a response that disables the unbuffered response body property") {
+      val client = BeadledomResteasyClientBuilder.newBuilder()
+          .setUnbufferedResponseBodies(true)
+          .build()
+
+      val (streamType, length, _) = download(client, Some(false))
+
+      classOf[BufferedInputStream].isAssignableFrom(streamType) mustBe true
+      length mustBe bodySize
+
+      client.close()
+    }
+  }
+}
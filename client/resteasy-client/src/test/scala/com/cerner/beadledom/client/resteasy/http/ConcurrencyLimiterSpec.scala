@@ -0,0 +1,175 @@
+package com.cerner.beadledom.client.resteasy.http
+
+import com.cerner.beadledom.client.{ConcurrencyLimitExceededException, ConcurrencyLimitPolicy}
+import java.net.URI
+import java.util.concurrent.TimeUnit
+import org.scalatest.{FunSpec, MustMatchers}
+
+import scala.collection.JavaConverters._
+import scala.util.Try
+
+class ConcurrencyLimiterSpec extends FunSpec with MustMatchers {
+  val policy = ConcurrencyLimitPolicy.builder()
+      .initialLimit(20)
+      .minLimit(2)
+      .maxLimit(40)
+      .build()
+
+  val fastNanos = TimeUnit.MILLISECONDS.toNanos(10)
+  val slowNanos = TimeUnit.MILLISECONDS.toNanos(100)
+
+  /**
+    * Sends as many requests as the limit allows, and completes them all with the given latency.
+    */
+  def completeRequests(limit: GradientLimit, latencyNanos: Long, dropped: Boolean = false): Unit = {
+    val acquired = Iterator.continually(limit.tryAcquire()).takeWhile(identity).length
+    (1 to acquired).foreach(_ => limit.release(latencyNanos, dropped))
+  }
+
+  describe("GradientLimit") {
+    it("starts at the initial limit") {
+      val limit = new GradientLimit(null, policy)
+
+      limit.getStats.limit mustBe 20
+      limit.getStats.inFlight mustBe 0
+    }
+
+    it("rejects requests over the limit") {
+      val limit = new GradientLimit(null, policy)
+
+      (1 to 20).foreach(_ => limit.tryAcquire() mustBe true)
+      limit.tryAcquire() mustBe false
+
+      limit.getStats.inFlight mustBe 20
+      limit.getStats.rejections mustBe 1
+    }
+
+    it("grows while the latency is steady and the limit is in use") {
+      val limit = new GradientLimit(null, policy)
+
+      (1 to 5).foreach(_ => completeRequests(limit, fastNanos))
+
+      limit.getStats.limit mustBe 40
+      limit.getStats.inFlight mustBe 0
+    }
+
+    it("does not grow while less than half of the limit is in use") {
+      val limit = new GradientLimit(null, policy)
+
+      (1 to 100).foreach { _ =>
+        limit.tryAcquire()
+        limit.release(fastNanos, false)
+      }
+
+      limit.getStats.limit mustBe 20
+    }
+
+    it("shrinks when the latency grows beyond the tolerance") {
+      val limit = new GradientLimit(null, policy)
+      completeRequests(limit, fastNanos)
+      val steadyLimit = limit.getStats.limit
+
+      (1 to 20).foreach { _ =>
+        limit.tryAcquire()
+        limit.release(slowNanos, false)
+      }
+
+      limit.getStats.limit must be < steadyLimit / 2
+    }
+
+    it("shrinks when requests are dropped, down to the min limit") {
+      val limit = new GradientLimit(null, policy)
+
+      limit.tryAcquire()
+      limit.release(fastNanos, true)
+      limit.getStats.limit mustBe 18
+
+      (1 to 50).foreach(_ => completeRequests(limit, fastNanos, dropped = true))
+      limit.getStats.limit mustBe 2
+    }
+  }
+
+  describe("ConcurrencyLimiter") {
+    it("limits the client and each route") {
+      val limiter = new ConcurrencyLimiter(
+        ConcurrencyLimitPolicy.builder().initialLimit(2).build())
+
+      val permit = limiter.acquire(URI.create("http://example.com/a"))
+      limiter.acquire(URI.create("https://example.com/b"))
+
+      val exception = intercept[ConcurrencyLimitExceededException] {
+        limiter.acquire(URI.create("http://example.com:80/c"))
+      }
+      exception.getRoute mustBe null
+      exception.getLimit mustBe 2
+
+      permit.release(false)
+      limiter.acquire(URI.create("http://example.com/c"))
+
+      val stats = limiter.getStats.asScala
+      stats.head mustBe ConcurrencyLimitStats.create(null, 2, 2, 1)
+      stats.tail.toSet mustBe Set(
+        ConcurrencyLimitStats.create("http://example.com:80", 2, 1, 0),
+        ConcurrencyLimitStats.create("https://example.com:443", 2, 1, 0))
+    }
+
+    it("cancels a permit without adapting the limits") {
+      val limiter = new ConcurrencyLimiter(
+        ConcurrencyLimitPolicy.builder().initialLimit(2).build())
+
+      limiter.acquire(URI.create("http://example.com/a")).cancel()
+
+      val stats = limiter.getStats.asScala
+      stats.head mustBe ConcurrencyLimitStats.create(null, 2, 0, 0)
+      stats(1) mustBe ConcurrencyLimitStats.create("http://example.com:80", 2, 0, 0)
+    }
+
+    it("only counts the first release of a permit") {
+      val limiter = new ConcurrencyLimiter(
+        ConcurrencyLimitPolicy.builder().initialLimit(2).build())
+      val uri = URI.create("http://example.com/a")
+      limiter.acquire(uri)
+
+      val permit = limiter.acquire(uri)
+      permit.release(false)
+      permit.release(true)
+      permit.cancel()
+
+      val stats = limiter.getStats.asScala
+      stats.head.inFlight mustBe 1
+      stats.head.limit mustBe 2
+    }
+
+    it("limits a route below the limit of the client") {
+      val limiter = new ConcurrencyLimiter(
+        ConcurrencyLimitPolicy.builder().initialLimit(10).build())
+      val failingUri = URI.create("http://failing.example.com/a")
+      val healthyUri = URI.create("http://healthy.example.com/a")
+
+      (1 to 10).foreach(_ => limiter.acquire(failingUri).release(true))
+      (1 to 10).foreach { _ =>
+        val permits = Iterator.continually(
+          Try(limiter.acquire(healthyUri))).takeWhile(_.isSuccess).map(_.get).toList
+        permits.foreach(_.release(false))
+      }
+
+      (1 to 3).foreach(_ => limiter.acquire(failingUri))
+      val exception = intercept[ConcurrencyLimitExceededException] {
+        limiter.acquire(failingUri)
+      }
+      exception.getRoute mustBe "http://failing.example.com:80"
+      exception.getLimit mustBe 3
+
+      limiter.getStats.asScala.head.inFlight mustBe 3
+      limiter.acquire(healthyUri)
+    }
+
+    it("names routes by scheme, host and port") {
+      ConcurrencyLimiter.getRoute(URI.create("HTTP://example.com/a")) mustBe "http://example.com:80"
+      ConcurrencyLimiter.getRoute(URI.create("https://example.com/a")) mustBe
+          "https://example.com:443"
+      ConcurrencyLimiter.getRoute(URI.create("http://example.com:8080/a")) mustBe
+          "http://example.com:8080"
+    }
+  }
+}
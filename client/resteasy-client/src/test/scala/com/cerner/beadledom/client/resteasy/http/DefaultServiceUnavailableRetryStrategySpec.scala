@@ -4,7 +4,8 @@ import com.cerner.beadledom.client.resteasy.http.DefaultServiceUnavailableRetryS
 
 import org.apache.http.client.ServiceUnavailableRetryStrategy
 import org.apache.http.client.protocol.HttpClientContext
-import org.apache.http.{HttpRequest, HttpResponse, RequestLine, StatusLine}
+import org.apache.http.{HttpEntity, HttpEntityEnclosingRequest, HttpRequest, HttpResponse}
+import org.apache.http.{RequestLine, StatusLine}
 import org.mockito.Mockito
 import org.scalatest.mock.MockitoSugar
 import org.scalatest.{FunSpec, ShouldMatchers}
@@ -60,6 +61,41 @@ class DefaultServiceUnavailableRetryStrategySpec extends FunSpec with ShouldMatc
       describe("with status code 499 and executionCount 3") {
         it should behave like nonRetryableRequest(retryStrategy, 499, 3)
       }
+
+      describe("with a request body") {
+        def mockContext(repeatable: Boolean): HttpClientContext = {
+          val requestLine = mock[RequestLine]
+          Mockito.when(requestLine.getUri).thenReturn("some-uri")
+
+          val entity = mock[HttpEntity]
+          Mockito.when(entity.isRepeatable).thenReturn(repeatable)
+
+          val request = mock[HttpEntityEnclosingRequest]
+          Mockito.when(request.getRequestLine).thenReturn(requestLine)
+          Mockito.when(request.getEntity).thenReturn(entity)
+
+          val context = mock[HttpClientContext]
+          Mockito.when(context.getRequest).thenReturn(request)
+          context
+        }
+
+        def mockResponse(statusCode: Int): HttpResponse = {
+          val statusLine = mock[StatusLine]
+          Mockito.when(statusLine.getStatusCode).thenReturn(statusCode)
+
+          val response = mock[HttpResponse]
+          Mockito.when(response.getStatusLine).thenReturn(statusLine)
+          response
+        }
+
+        it("returns true when the body can be sent again") {
+          retryStrategy.retryRequest(mockResponse(503), 0, mockContext(true)) shouldBe true
+        }
+
+        it("returns false when the body cannot be sent again") {
+          retryStrategy.retryRequest(mockResponse(503), 0, mockContext(false)) shouldBe false
+        }
+      }
     }
   }
 }
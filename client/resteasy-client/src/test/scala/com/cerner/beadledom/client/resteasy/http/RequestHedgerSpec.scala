@@ -0,0 +1,126 @@
+package com.cerner.beadledom.client.resteasy.http
+
+import com.cerner.beadledom.client.{ConcurrencyLimitPolicy, HedgingPolicy}
+import java.io.IOException
+import java.net.URI
+import java.util.concurrent.Callable
+import org.apache.http.client.HttpClient
+import org.apache.http.client.methods.{HttpGet, HttpRequestBase, HttpUriRequest}
+import org.apache.http.message.BasicHttpResponse
+import org.apache.http.protocol.{BasicHttpContext, HttpContext}
+import org.apache.http.{HttpResponse, HttpVersion}
+import org.mockito.Matchers.any
+import org.mockito.Mockito._
+import org.mockito.invocation.InvocationOnMock
+import org.mockito.stubbing.Answer
+import org.scalatest.concurrent.Eventually
+import org.scalatest.mock.MockitoSugar
+import org.scalatest.{FunSpec, MustMatchers}
+
+import scala.collection.JavaConverters._
+
+class RequestHedgerSpec extends FunSpec with MustMatchers with MockitoSugar with Eventually {
+  val hedgingPolicy = HedgingPolicy.builder()
+      .initialDelayMillis(50)
+      .build()
+
+  val uri = URI.create("http://example.com/resource")
+
+  def response(body: String): HttpResponse =
+    new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, body)
+
+  val hedgeFactory = new Callable[HttpRequestBase] {
+    override def call(): HttpRequestBase = new HttpGet(uri)
+  }
+
+  /**
+    * Returns a client that answers each request with the given function of the request.
+    */
+  def httpClient(respond: HttpUriRequest => HttpResponse): HttpClient = {
+    val httpClient = mock[HttpClient]
+    doAnswer(new Answer[HttpResponse] {
+      override def answer(invocation: InvocationOnMock): HttpResponse =
+        respond(invocation.getArguments()(0).asInstanceOf[HttpUriRequest])
+    }).when(httpClient).execute(any[HttpUriRequest](), any[HttpContext]())
+    httpClient
+  }
+
+  def limiter(limit: Int): ConcurrencyLimiter = new ConcurrencyLimiter(
+    ConcurrencyLimitPolicy.builder().initialLimit(limit).minLimit(1).maxLimit(limit).build())
+
+  describe("RequestHedger") {
+    it("sends the request from the calling thread") {
+      val hedger = new RequestHedger(hedgingPolicy)
+      @volatile var requestThread: Thread = null
+      val client = httpClient { _ =>
+        requestThread = Thread.currentThread()
+        response("request")
+      }
+
+      val result = hedger.execute(
+        client, new BasicHttpContext, new BasicHttpContext, new HttpGet(uri), hedgeFactory)
+
+      result.getStatusLine.getReasonPhrase mustBe "request"
+      requestThread mustBe Thread.currentThread()
+      hedger.getStats.hedges mustBe 0
+
+      hedger.close()
+    }
+
+    it("sends the hedge of a slow request from a thread of the hedger with its own permit") {
+      val concurrencyLimiter = limiter(2)
+      val hedger = new RequestHedger(hedgingPolicy, concurrencyLimiter)
+      val request = new HttpGet(uri)
+      @volatile var hedgeThread: Thread = null
+      @volatile var hedgeInFlight = 0
+      val client = httpClient { attempt =>
+        if (attempt eq request) {
+          val deadline = System.currentTimeMillis() + 5000
+          while (!request.isAborted && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10)
+          }
+          throw new IOException("aborted")
+        }
+
+        hedgeThread = Thread.currentThread()
+        hedgeInFlight = concurrencyLimiter.getStats.asScala.head.inFlight
+        response("hedge")
+      }
+
+      val result = hedger.execute(
+        client, new BasicHttpContext, new BasicHttpContext, request, hedgeFactory)
+
+      result.getStatusLine.getReasonPhrase mustBe "hedge"
+      request.isAborted mustBe true
+      hedgeThread.getName must startWith("beadledom-client-hedging-")
+      hedgeInFlight mustBe 1
+      eventually {
+        concurrencyLimiter.getStats.asScala.head.inFlight mustBe 0
+      }
+      hedger.getStats.hedgesWon mustBe 1
+
+      hedger.close()
+    }
+
+    it("does not send a hedge when the concurrency limit is reached") {
+      val concurrencyLimiter = limiter(1)
+      val hedger = new RequestHedger(hedgingPolicy, concurrencyLimiter)
+      val permit = concurrencyLimiter.acquire(uri)
+      val client = httpClient { _ =>
+        Thread.sleep(300)
+        response("request")
+      }
+
+      val result = hedger.execute(
+        client, new BasicHttpContext, new BasicHttpContext, new HttpGet(uri), hedgeFactory)
+
+      result.getStatusLine.getReasonPhrase mustBe "request"
+      verify(client, times(1)).execute(any[HttpUriRequest](), any[HttpContext]())
+      hedger.getStats.hedges mustBe 0
+      hedger.getStats.budgetRejections mustBe 0
+
+      permit.release(false)
+      hedger.close()
+    }
+  }
+}
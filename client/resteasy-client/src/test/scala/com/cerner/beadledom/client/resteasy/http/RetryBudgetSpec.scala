@@ -0,0 +1,85 @@
+package com.cerner.beadledom.client.resteasy.http
+
+import com.cerner.beadledom.client.RetryPolicy
+import org.apache.http.HttpVersion
+import org.apache.http.client.cache.{CacheResponseStatus, HttpCacheContext}
+import org.apache.http.message.BasicHttpResponse
+import org.apache.http.protocol.BasicHttpContext
+import org.scalatest.{FunSpec, MustMatchers}
+
+class RetryBudgetSpec extends FunSpec with MustMatchers {
+  def newBudget(percent: Int, burst: Int): RetryBudget =
+    new RetryBudget(RetryPolicy.builder().budgetPercent(percent).budgetBurst(burst).build())
+
+  describe("RetryBudget") {
+    it("starts with the budget burst") {
+      val budget = newBudget(10, 3)
+
+      budget.getStats.availableRetries mustBe 3
+      budget.tryAcquire() mustBe true
+      budget.tryAcquire() mustBe true
+      budget.tryAcquire() mustBe true
+      budget.tryAcquire() mustBe false
+
+      budget.getStats.budgetRejections mustBe 1
+    }
+
+    it("allows the budget percentage of the requests to be retried") {
+      val budget = newBudget(10, 1)
+      budget.tryAcquire() mustBe true
+
+      (1 to 9).foreach(_ => budget.recordRequest())
+      budget.tryAcquire() mustBe false
+
+      budget.recordRequest()
+      budget.tryAcquire() mustBe true
+      budget.tryAcquire() mustBe false
+
+      budget.getStats.requests mustBe 10
+    }
+
+    it("saves up at most the budget burst") {
+      val budget = newBudget(50, 2)
+
+      (1 to 100).foreach(_ => budget.recordRequest())
+
+      budget.getStats.availableRetries mustBe 2
+    }
+
+    it("records each request once per context") {
+      val budget = newBudget(10, 1)
+      val context = new BasicHttpContext()
+      val response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK")
+
+      budget.process(response, context)
+      budget.process(response, context)
+      budget.recordRequest(context)
+      budget.process(response, new BasicHttpContext())
+
+      budget.getStats.requests mustBe 2
+    }
+
+    it("does not record requests answered by the cache") {
+      val budget = newBudget(10, 1)
+      val context = new BasicHttpContext()
+      context.setAttribute(HttpCacheContext.CACHE_RESPONSE_STATUS, CacheResponseStatus.CACHE_HIT)
+
+      budget.process(new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK"), context)
+
+      budget.getStats.requests mustBe 0
+    }
+
+    it("counts retries") {
+      val budget = newBudget(10, 1)
+
+      budget.recordStatusRetry()
+      budget.recordStatusRetry()
+      budget.recordIoExceptionRetry()
+
+      val stats = budget.getStats
+      stats.statusRetries mustBe 2
+      stats.ioExceptionRetries mustBe 1
+      stats.retries mustBe 3
+    }
+  }
+}
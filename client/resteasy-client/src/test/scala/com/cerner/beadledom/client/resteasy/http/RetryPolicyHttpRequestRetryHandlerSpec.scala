@@ -0,0 +1,97 @@
+package com.cerner.beadledom.client.resteasy.http
+
+import com.cerner.beadledom.client.RetryPolicy
+import java.io.{ByteArrayInputStream, IOException}
+import java.net.ConnectException
+import org.apache.http.client.protocol.HttpClientContext
+import org.apache.http.entity.InputStreamEntity
+import org.apache.http.message.{BasicHttpEntityEnclosingRequest, BasicHttpRequest}
+import org.apache.http.protocol.HttpCoreContext
+import org.apache.http.{HttpRequest, NoHttpResponseException}
+import org.scalatest.{FunSpec, MustMatchers}
+
+class RetryPolicyHttpRequestRetryHandlerSpec extends FunSpec with MustMatchers {
+  val retryPolicy = RetryPolicy.builder()
+      .maxRetries(2)
+      .initialBackoffMillis(0)
+      .build()
+
+  def context(request: HttpRequest, sent: Boolean): HttpClientContext = {
+    val context = HttpClientContext.create()
+    context.setAttribute(HttpCoreContext.HTTP_REQUEST, request)
+    context.setAttribute(HttpCoreContext.HTTP_REQ_SENT, sent)
+    context
+  }
+
+  val exception = new NoHttpResponseException("no response")
+
+  def newHandler(policy: RetryPolicy): RetryPolicyHttpRequestRetryHandler =
+    new RetryPolicyHttpRequestRetryHandler(policy, new RetryBudget(policy))
+
+  describe("RetryPolicyHttpRequestRetryHandler") {
+    it("retries idempotent requests up to the max retries") {
+      val budget = new RetryBudget(retryPolicy)
+      val handler = new RetryPolicyHttpRequestRetryHandler(retryPolicy, budget)
+      val get = context(new BasicHttpRequest("GET", "/"), sent = true)
+
+      handler.retryRequest(exception, 1, get) mustBe true
+      handler.retryRequest(exception, 2, get) mustBe true
+      handler.retryRequest(exception, 3, get) mustBe false
+
+      budget.getStats.ioExceptionRetries mustBe 2
+    }
+
+    it("only retries requests that are not idempotent if they were not sent") {
+      val handler = newHandler(retryPolicy)
+      val post = new BasicHttpEntityEnclosingRequest("POST", "/")
+
+      handler.retryRequest(exception, 1, context(post, sent = true)) mustBe false
+      handler.retryRequest(exception, 1, context(post, sent = false)) mustBe true
+    }
+
+    it("does not retry requests with a body that cannot be sent again") {
+      val budget = new RetryBudget(retryPolicy)
+      val handler = new RetryPolicyHttpRequestRetryHandler(retryPolicy, budget)
+      val put = new BasicHttpEntityEnclosingRequest("PUT", "/")
+      put.setEntity(new InputStreamEntity(new ByteArrayInputStream(Array[Byte](1, 2, 3))))
+      val availableRetries = budget.getStats.availableRetries
+
+      handler.retryRequest(exception, 1, context(put, sent = true)) mustBe false
+
+      budget.getStats.ioExceptionRetries mustBe 0
+      budget.getStats.availableRetries mustBe availableRetries
+    }
+
+    it("does not retry connection failures") {
+      val handler = newHandler(retryPolicy)
+      val get = context(new BasicHttpRequest("GET", "/"), sent = false)
+
+      handler.retryRequest(new ConnectException("refused"), 1, get) mustBe false
+    }
+
+    it("does not retry once the retry budget is exhausted") {
+      val policy = retryPolicy.newBuilder().budgetPercent(0).budgetBurst(1).build()
+      val budget = new RetryBudget(policy)
+      val handler = new RetryPolicyHttpRequestRetryHandler(policy, budget)
+      val get = context(new BasicHttpRequest("GET", "/"), sent = true)
+
+      handler.retryRequest(exception, 1, get) mustBe true
+      handler.retryRequest(new IOException("reset"), 1, get) mustBe false
+
+      budget.getStats.budgetRejections mustBe 1
+    }
+
+    it("waits for the backoff before retrying") {
+      val policy = retryPolicy.newBuilder().initialBackoffMillis(50).budgetBurst(20).build()
+      val handler = newHandler(policy)
+      val get = context(new BasicHttpRequest("GET", "/"), sent = true)
+
+      val start = System.nanoTime()
+      (1 to 20).foreach(_ => handler.retryRequest(exception, 1, get) mustBe true)
+      val elapsedMillis = (System.nanoTime() - start) / 1000000
+
+      elapsedMillis must be > 100L
+      elapsedMillis must be <= 20 * 50L + 500L
+    }
+  }
+}
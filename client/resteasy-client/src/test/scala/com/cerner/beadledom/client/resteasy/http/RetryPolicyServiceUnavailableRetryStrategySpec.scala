@@ -0,0 +1,135 @@
+package com.cerner.beadledom.client.resteasy.http
+
+import com.cerner.beadledom.client.RetryPolicy
+import java.util.Date
+import org.apache.http.client.protocol.HttpClientContext
+import org.apache.http.client.utils.DateUtils
+import org.apache.http.entity.{InputStreamEntity, StringEntity}
+import org.apache.http.message.BasicHttpEntityEnclosingRequest
+import org.apache.http.message.{BasicHttpRequest, BasicHttpResponse}
+import org.apache.http.protocol.HttpCoreContext
+import org.apache.http.{HttpRequest, HttpResponse, HttpVersion}
+import org.scalatest.{FunSpec, MustMatchers}
+
+class RetryPolicyServiceUnavailableRetryStrategySpec extends FunSpec with MustMatchers {
+  val retryPolicy = RetryPolicy.builder()
+      .maxRetries(2)
+      .initialBackoffMillis(100)
+      .maxBackoffMillis(1000)
+      .build()
+
+  def newStrategy(policy: RetryPolicy = retryPolicy): RetryPolicyServiceUnavailableRetryStrategy =
+    new RetryPolicyServiceUnavailableRetryStrategy(policy, new RetryBudget(policy))
+
+  def context(request: HttpRequest): HttpClientContext = {
+    val context = HttpClientContext.create()
+    context.setAttribute(HttpCoreContext.HTTP_REQUEST, request)
+    context
+  }
+
+  def get: HttpClientContext = context(new BasicHttpRequest("GET", "/resource"))
+
+  def response(statusCode: Int, retryAfter: Option[String] = None): HttpResponse = {
+    val response = new BasicHttpResponse(HttpVersion.HTTP_1_1, statusCode, "")
+    retryAfter.foreach(response.addHeader("Retry-After", _))
+    response
+  }
+
+  describe("RetryPolicyServiceUnavailableRetryStrategy") {
+    it("retries the retryable status codes up to the max retries") {
+      val strategy = newStrategy()
+
+      strategy.retryRequest(response(503), 1, get) mustBe true
+      strategy.retryRequest(response(500), 2, get) mustBe true
+      strategy.retryRequest(response(503), 3, get) mustBe false
+    }
+
+    it("does not retry other status codes") {
+      val strategy = newStrategy()
+
+      strategy.retryRequest(response(501), 1, get) mustBe false
+      strategy.retryRequest(response(404), 1, get) mustBe false
+      strategy.retryRequest(response(200), 1, get) mustBe false
+    }
+
+    it("does not retry requests with a method that is not idempotent") {
+      val strategy = newStrategy()
+      val request = new BasicHttpEntityEnclosingRequest("POST", "/resource")
+      request.setEntity(new StringEntity("body"))
+
+      strategy.retryRequest(response(503), 1, context(request)) mustBe false
+    }
+
+    it("does not retry requests whose body cannot be sent again") {
+      val strategy = newStrategy()
+      val repeatable = new BasicHttpEntityEnclosingRequest("PUT", "/resource")
+      repeatable.setEntity(new StringEntity("body"))
+      val streamed = new BasicHttpEntityEnclosingRequest("PUT", "/resource")
+      streamed.setEntity(new InputStreamEntity(new java.io.ByteArrayInputStream(Array[Byte](1))))
+
+      strategy.retryRequest(response(503), 1, context(repeatable)) mustBe true
+      strategy.retryRequest(response(503), 1, context(streamed)) mustBe false
+    }
+
+    it("waits for a jittered exponential backoff") {
+      val strategy = newStrategy(retryPolicy.newBuilder().budgetBurst(200).build())
+
+      val intervals = (1 to 200).map { _ =>
+        strategy.retryRequest(response(503), 2, get) mustBe true
+        strategy.getRetryInterval
+      }
+
+      intervals.min must be >= 0L
+      intervals.max must be <= 200L
+      intervals.distinct.size must be > 1
+    }
+
+    it("waits for the delay of the Retry-After header in seconds") {
+      val strategy = newStrategy()
+
+      strategy.retryRequest(response(503, Some("1")), 1, get) mustBe true
+      strategy.getRetryInterval mustBe 1000
+    }
+
+    it("waits for the delay of the Retry-After header as a date") {
+      val strategy = newStrategy()
+      val date = DateUtils.formatDate(new Date(System.currentTimeMillis() + 1000))
+
+      strategy.retryRequest(response(503, Some(date)), 1, get) mustBe true
+      strategy.getRetryInterval must be <= 1000L
+    }
+
+    it("does not retry when the Retry-After delay exceeds the max backoff") {
+      val strategy = newStrategy()
+
+      strategy.retryRequest(response(503, Some("120")), 1, get) mustBe false
+    }
+
+    it("ignores the Retry-After header when it is not honored") {
+      val strategy = newStrategy(retryPolicy.newBuilder().honorRetryAfter(false).build())
+
+      strategy.retryRequest(response(503, Some("120")), 1, get) mustBe true
+      strategy.getRetryInterval must be <= 100L
+    }
+
+    it("ignores an invalid Retry-After header") {
+      val strategy = newStrategy()
+
+      strategy.retryRequest(response(503, Some("soon")), 1, get) mustBe true
+      strategy.getRetryInterval must be <= 100L
+    }
+
+    it("does not retry once the retry budget is exhausted") {
+      val policy = retryPolicy.newBuilder().budgetPercent(0).budgetBurst(2).build()
+      val budget = new RetryBudget(policy)
+      val strategy = new RetryPolicyServiceUnavailableRetryStrategy(policy, budget)
+
+      strategy.retryRequest(response(503), 1, get) mustBe true
+      strategy.retryRequest(response(503), 1, get) mustBe true
+      strategy.retryRequest(response(503), 1, get) mustBe false
+
+      budget.getStats.statusRetries mustBe 2
+      budget.getStats.budgetRejections mustBe 1
+    }
+  }
+}
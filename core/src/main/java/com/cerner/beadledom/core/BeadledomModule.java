@@ -4,6 +4,7 @@ import com.cerner.beadledom.avro.AvroJacksonGuiceModule;
 import com.cerner.beadledom.avro.AvroSwaggerGuiceModule;
 import com.cerner.beadledom.configuration.BeadledomConfigurationModule;
 import com.cerner.beadledom.health.HealthModule;
+import com.cerner.beadledom.jackson.filter.FieldFilterCache;
 import com.cerner.beadledom.jackson.JacksonModule;
 import com.cerner.beadledom.jaxrs.JaxRsModule;
 import com.cerner.beadledom.jaxrs.exceptionmapping.JsonMappingExceptionMapper;
@@ -11,6 +12,7 @@ import com.cerner.beadledom.jaxrs.exceptionmapping.JsonParseExceptionMapper;
 import com.cerner.beadledom.jaxrs.exceptionmapping.ThrowableExceptionMapper;
 import com.cerner.beadledom.jaxrs.exceptionmapping.WebApplicationExceptionMapper;
 import com.cerner.beadledom.jaxrs.provider.FilteringJacksonJsonProvider;
+import com.cerner.beadledom.jaxrs.provider.JsonBufferPool;
 import com.cerner.beadledom.stagemonitor.StagemonitorModule;
 import com.cerner.beadledom.swagger.SwaggerModule;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -53,7 +55,9 @@ public class BeadledomModule extends AbstractModule {
   }
 
   @Provides
-  JacksonJsonProvider provideJacksonJsonProvider(ObjectMapper objectMapper) {
-    return new FilteringJacksonJsonProvider(objectMapper);
+  JacksonJsonProvider provideJacksonJsonProvider(
+      ObjectMapper objectMapper, FieldFilterCache fieldFilterCache,
+      JsonBufferPool jsonBufferPool) {
+    return new FilteringJacksonJsonProvider(objectMapper, fieldFilterCache, jsonBufferPool);
   }
 }
@@ -2,6 +2,7 @@ package com.cerner.beadledom.health.api;
 
 import com.cerner.beadledom.health.dto.HealthDto;
 import com.cerner.beadledom.health.dto.HealthJsonViews;
+import com.cerner.beadledom.jaxrs.CachedRepresentation;
 import com.fasterxml.jackson.annotation.JsonView;
 import com.wordnik.swagger.annotations.Api;
 import com.wordnik.swagger.annotations.ApiOperation;
@@ -31,5 +32,6 @@ public interface AvailabilityResource {
   @GET
   @Produces(MediaType.APPLICATION_JSON)
   @JsonView(HealthJsonViews.Availability.class)
+  @CachedRepresentation
   HealthDto getBasicAvailabilityCheck();
 }
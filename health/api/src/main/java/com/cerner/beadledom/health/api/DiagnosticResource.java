@@ -12,8 +12,9 @@ import com.wordnik.swagger.annotations.ApiResponses;
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.MediaType;
-import javax.ws.rs.core.Response;
 
 @Api(value = "/health",
     description = "Diagnostic health check")
@@ -22,7 +23,7 @@ public interface DiagnosticResource {
 
   @GET
   @Produces(MediaType.TEXT_HTML)
-  Response getDiagnosticHealthCheckHtml();
+  void getDiagnosticHealthCheckHtml(@Suspended AsyncResponse asyncResponse);
 
   @ApiOperation(value = "Diagnostic Health Check",
       notes =
@@ -35,5 +36,5 @@ public interface DiagnosticResource {
   @GET
   @Produces(MediaType.APPLICATION_JSON)
   @JsonView(HealthJsonViews.Diagnostic.class)
-  Response getDiagnosticHealthCheck();
+  void getDiagnosticHealthCheck(@Suspended AsyncResponse asyncResponse);
 }
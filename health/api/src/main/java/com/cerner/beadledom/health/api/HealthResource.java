@@ -12,15 +12,16 @@ import com.wordnik.swagger.annotations.ApiResponses;
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.MediaType;
-import javax.ws.rs.core.Response;
 
 @Api(value = "/health", description = "Health and dependency checks")
 @Path("meta/health")
 public interface HealthResource {
   @GET
   @Produces(MediaType.TEXT_HTML)
-  Response getPrimaryHealthCheckHtml();
+  void getPrimaryHealthCheckHtml(@Suspended AsyncResponse asyncResponse);
 
   @ApiOperation(value = "Primary Health Check",
       notes =
@@ -33,5 +34,5 @@ public interface HealthResource {
   @GET
   @Produces(MediaType.APPLICATION_JSON)
   @JsonView(HealthJsonViews.Primary.class)
-  Response getPrimaryHealthCheck();
+  void getPrimaryHealthCheck(@Suspended AsyncResponse asyncResponse);
 }
@@ -0,0 +1,32 @@
+package com.cerner.beadledom.health.api;
+
+import com.cerner.beadledom.health.dto.HealthMetricsDto;
+import com.wordnik.swagger.annotations.Api;
+import com.wordnik.swagger.annotations.ApiOperation;
+import com.wordnik.swagger.annotations.ApiResponse;
+import com.wordnik.swagger.annotations.ApiResponses;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+
+/**
+ * Health check metrics resource.
+ *
+ * @since 2.7
+ */
+@Api(value = "/health",
+    description = "Health check metrics of dependencies")
+@Path("meta/health/metrics")
+public interface MetricsResource {
+  @ApiOperation(value = "Dependency Metrics",
+      notes = "Always returns 200. The counts of successful, failed and timed out checks and the "
+          + "latency of the checks of each dependency, since the service started. Does not check "
+          + "the dependencies.",
+      response = HealthMetricsDto.class)
+  @ApiResponses(value = {
+      @ApiResponse(code = 200, message = "metrics", response = HealthMetricsDto.class)})
+  @GET
+  @Produces(MediaType.APPLICATION_JSON)
+  HealthMetricsDto getDependencyMetrics();
+}
@@ -1,6 +1,7 @@
 package com.cerner.beadledom.health.api;
 
 import com.cerner.beadledom.health.dto.BuildDto;
+import com.cerner.beadledom.jaxrs.CachedRepresentation;
 
 import com.wordnik.swagger.annotations.Api;
 import com.wordnik.swagger.annotations.ApiOperation;
@@ -30,5 +31,6 @@ public interface VersionResource {
       @ApiResponse(code = 200, message = "healthy")})
   @GET
   @Produces(MediaType.APPLICATION_JSON)
+  @CachedRepresentation
   BuildDto getVersionInfo();
 }
@@ -1,11 +1,14 @@
 package com.cerner.beadledom.health.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonView;
 import com.google.auto.value.AutoValue;
+import com.google.common.base.Throwables;
 import com.wordnik.swagger.annotations.ApiModel;
 import com.wordnik.swagger.annotations.ApiModelProperty;
 
+import java.time.Instant;
 import java.util.Optional;
 
 /**
@@ -27,7 +30,12 @@ public abstract class HealthDependencyDto {
         .setType(Optional.empty())
         .setHealthy(false)
         .setLinks(Optional.empty())
-        .setMessage(Optional.empty());
+        .setMessage(Optional.empty())
+        .setCheckedDateTime(Optional.empty())
+        .setAgeMillis(Optional.empty())
+        .setLatency(Optional.empty())
+        .setCircuitBreakerState(Optional.empty())
+        .setException(Optional.empty());
   }
 
   /**
@@ -69,6 +77,76 @@ public abstract class HealthDependencyDto {
   @JsonProperty("message")
   public abstract Optional<String> getMessage();
 
+  /**
+   * Returns when the dependency was checked, if the result of the check was cached.
+   *
+   * @since 2.7
+   */
+  @ApiModelProperty("When the dependency was checked; present if the result of the check was "
+      + "cached")
+  @JsonProperty("checkedDateTime")
+  @JsonView(HealthJsonViews.Diagnostic.class)
+  public abstract Optional<Instant> getCheckedDateTime();
+
+  /**
+   * Returns the age in milliseconds of the result of the check, if the result was cached.
+   *
+   * @since 2.7
+   */
+  @ApiModelProperty("The age in milliseconds of the result of the check; present if the result "
+      + "was cached")
+  @JsonProperty("ageMillis")
+  @JsonView(HealthJsonViews.Diagnostic.class)
+  public abstract Optional<Long> getAgeMillis();
+
+  /**
+   * Returns the latency of the dependency's checks; present in the diagnostic health check.
+   *
+   * @since 2.7
+   */
+  @ApiModelProperty("The latency of the dependency's checks")
+  @JsonProperty("latency")
+  @JsonView(HealthJsonViews.Diagnostic.class)
+  public abstract Optional<LatencyDto> getLatency();
+
+  /**
+   * Returns the state of the dependency's circuit breaker ("CLOSED", "OPEN" or "HALF_OPEN"), if
+   * the dependency has one; present in the diagnostic health check.
+   *
+   * @since 2.7
+   */
+  @ApiModelProperty("The state of the dependency's circuit breaker (CLOSED, OPEN or HALF_OPEN); "
+      + "present if the dependency has a circuit breaker")
+  @JsonProperty("circuitBreakerState")
+  @JsonView(HealthJsonViews.Diagnostic.class)
+  public abstract Optional<String> getCircuitBreakerState();
+
+  /**
+   * Returns the exception the dependency's check failed with, if any.
+   *
+   * <p>This is not included in the json model; its stack trace is included in the diagnostic views
+   * as {@link #getStackTrace()}.
+   *
+   * @since 2.7
+   */
+  @JsonIgnore
+  public abstract Optional<Throwable> getException();
+
+  /**
+   * Returns the stack trace of the exception the dependency's check failed with, if any.
+   *
+   * <p>The stack trace is rendered each time this is called, so it is only rendered for the views
+   * that include it.
+   *
+   * @since 2.7
+   */
+  @ApiModelProperty("The stack trace of the exception the check failed with, if any")
+  @JsonProperty("stackTrace")
+  @JsonView({HealthJsonViews.Diagnostic.class, HealthJsonViews.Dependency.class})
+  public Optional<String> getStackTrace() {
+    return getException().map(Throwables::getStackTraceAsString);
+  }
+
   @AutoValue.Builder
   public abstract static class Builder {
 
@@ -102,6 +180,36 @@ public abstract class HealthDependencyDto {
       return setMessage(Optional.ofNullable(message));
     }
 
+    abstract Builder setCheckedDateTime(Optional<Instant> checkedDateTime);
+
+    public Builder setCheckedDateTime(Instant checkedDateTime) {
+      return setCheckedDateTime(Optional.ofNullable(checkedDateTime));
+    }
+
+    abstract Builder setAgeMillis(Optional<Long> ageMillis);
+
+    public Builder setAgeMillis(long ageMillis) {
+      return setAgeMillis(Optional.of(ageMillis));
+    }
+
+    abstract Builder setLatency(Optional<LatencyDto> latency);
+
+    public Builder setLatency(LatencyDto latency) {
+      return setLatency(Optional.ofNullable(latency));
+    }
+
+    abstract Builder setCircuitBreakerState(Optional<String> circuitBreakerState);
+
+    public Builder setCircuitBreakerState(String circuitBreakerState) {
+      return setCircuitBreakerState(Optional.ofNullable(circuitBreakerState));
+    }
+
+    abstract Builder setException(Optional<Throwable> exception);
+
+    public Builder setException(Throwable exception) {
+      return setException(Optional.ofNullable(exception));
+    }
+
     public abstract HealthDependencyDto build();
   }
 }
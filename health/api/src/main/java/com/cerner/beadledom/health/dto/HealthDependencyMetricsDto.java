@@ -0,0 +1,68 @@
+package com.cerner.beadledom.health.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.auto.value.AutoValue;
+import com.wordnik.swagger.annotations.ApiModel;
+import com.wordnik.swagger.annotations.ApiModelProperty;
+import java.util.Optional;
+
+/**
+ * Represents the metrics of the health checks of a service dependency.
+ *
+ * @since 2.7
+ */
+@ApiModel(description = "Provides the counts and latency of the health checks of a dependency")
+@AutoValue
+public abstract class HealthDependencyMetricsDto {
+  /**
+   * Creates a new builder for {@code HealthDependencyMetricsDto}.
+   */
+  public static Builder builder() {
+    return new AutoValue_HealthDependencyMetricsDto.Builder()
+        .setSuccessCount(0)
+        .setFailureCount(0)
+        .setTimeoutCount(0)
+        .setLatency(Optional.empty());
+  }
+
+  @ApiModelProperty("The id of the dependency")
+  @JsonProperty("id")
+  public abstract String getId();
+
+  @ApiModelProperty("The number of checks that found the dependency healthy")
+  @JsonProperty("successCount")
+  public abstract long getSuccessCount();
+
+  @ApiModelProperty("The number of checks that found the dependency unhealthy or threw an "
+      + "exception")
+  @JsonProperty("failureCount")
+  public abstract long getFailureCount();
+
+  @ApiModelProperty("The number of checks that did not complete within their timeout")
+  @JsonProperty("timeoutCount")
+  public abstract long getTimeoutCount();
+
+  @ApiModelProperty("The latency of the completed checks; absent if the dependency has not been "
+      + "checked")
+  @JsonProperty("latency")
+  public abstract Optional<LatencyDto> getLatency();
+
+  @AutoValue.Builder
+  public abstract static class Builder {
+    public abstract Builder setId(String id);
+
+    public abstract Builder setSuccessCount(long successCount);
+
+    public abstract Builder setFailureCount(long failureCount);
+
+    public abstract Builder setTimeoutCount(long timeoutCount);
+
+    abstract Builder setLatency(Optional<LatencyDto> latency);
+
+    public Builder setLatency(LatencyDto latency) {
+      return setLatency(Optional.ofNullable(latency));
+    }
+
+    public abstract HealthDependencyMetricsDto build();
+  }
+}
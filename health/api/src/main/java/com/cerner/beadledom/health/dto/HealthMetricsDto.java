@@ -0,0 +1,35 @@
+package com.cerner.beadledom.health.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.auto.value.AutoValue;
+import com.wordnik.swagger.annotations.ApiModel;
+import com.wordnik.swagger.annotations.ApiModelProperty;
+import java.util.List;
+
+/**
+ * Represents the metrics of the health checks of all dependencies of a service.
+ *
+ * @since 2.7
+ */
+@ApiModel(description = "Provides the metrics of the health checks of the dependencies of this "
+    + "service")
+@AutoValue
+public abstract class HealthMetricsDto {
+  /**
+   * Creates a new builder for {@code HealthMetricsDto}.
+   */
+  public static Builder builder() {
+    return new AutoValue_HealthMetricsDto.Builder();
+  }
+
+  @ApiModelProperty("The metrics of each dependency")
+  @JsonProperty("dependencies")
+  public abstract List<HealthDependencyMetricsDto> getDependencies();
+
+  @AutoValue.Builder
+  public abstract static class Builder {
+    public abstract Builder setDependencies(List<HealthDependencyMetricsDto> dependencies);
+
+    public abstract HealthMetricsDto build();
+  }
+}
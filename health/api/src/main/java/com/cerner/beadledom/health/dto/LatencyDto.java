@@ -0,0 +1,55 @@
+package com.cerner.beadledom.health.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.auto.value.AutoValue;
+import com.wordnik.swagger.annotations.ApiModel;
+import com.wordnik.swagger.annotations.ApiModelProperty;
+
+/**
+ * Summarizes how long the health checks of a dependency have taken.
+ *
+ * <p>The count and percentiles cover the checks of the last 5 to 10 minutes, as the histogram they
+ * are computed from is rotated every 5 minutes, and the percentiles are accurate to within about
+ * 6%.
+ *
+ * @since 2.7
+ */
+@ApiModel(description = "Summarizes how long the health checks of a dependency have taken")
+@AutoValue
+public abstract class LatencyDto {
+  /**
+   * Creates a new builder for {@code LatencyDto}.
+   */
+  public static Builder builder() {
+    return new AutoValue_LatencyDto.Builder();
+  }
+
+  @ApiModelProperty("The number of checks of the dependency in the last 5 to 10 minutes")
+  @JsonProperty("count")
+  public abstract long getCount();
+
+  @ApiModelProperty("The median duration of the checks in milliseconds")
+  @JsonProperty("p50Millis")
+  public abstract double getP50Millis();
+
+  @ApiModelProperty("The 99th percentile duration of the checks in milliseconds")
+  @JsonProperty("p99Millis")
+  public abstract double getP99Millis();
+
+  @ApiModelProperty("The duration of the most recent check in milliseconds")
+  @JsonProperty("lastMillis")
+  public abstract double getLastMillis();
+
+  @AutoValue.Builder
+  public abstract static class Builder {
+    public abstract Builder setCount(long count);
+
+    public abstract Builder setP50Millis(double p50Millis);
+
+    public abstract Builder setP99Millis(double p99Millis);
+
+    public abstract Builder setLastMillis(double lastMillis);
+
+    public abstract LatencyDto build();
+  }
+}
@@ -1,5 +1,7 @@
 package com.cerner.beadledom.health.dto
 
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module
 import org.scalatest.{FunSpec, MustMatchers}
 import java.util.Optional
 
@@ -53,4 +55,34 @@ class HealthDependencyDtoSpec extends FunSpec with MustMatchers {
       dto.getName must be(none)
     }
   }
+
+  describe("#getStackTrace") {
+    val exception = new IllegalStateException("pikachu fainted")
+    val dto = HealthDependencyDto.builder()
+        .setId("pikachu")
+        .setMessage(exception.toString)
+        .setException(exception)
+        .build()
+    val mapper = new ObjectMapper().registerModule(new Jdk8Module())
+
+    it("renders the stack trace of the exception") {
+      dto.getStackTrace.get() must include("java.lang.IllegalStateException: pikachu fainted")
+      dto.getStackTrace.get() must include("at com.cerner.beadledom.health.dto")
+    }
+
+    it("is empty without an exception") {
+      HealthDependencyDto.builder().setId("pikachu").build().getStackTrace.isPresent mustBe false
+    }
+
+    it("is only included in the diagnostic views") {
+      val primary = mapper.writerWithView(classOf[HealthJsonViews.Primary]).writeValueAsString(dto)
+      val diagnostic = mapper.writerWithView(classOf[HealthJsonViews.Diagnostic])
+          .writeValueAsString(dto)
+
+      primary must include("pikachu fainted")
+      primary must not include "stackTrace"
+      diagnostic must include("stackTrace")
+      diagnostic must not include "\"exception\""
+    }
+  }
 }
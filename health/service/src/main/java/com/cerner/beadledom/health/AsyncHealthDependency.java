@@ -0,0 +1,70 @@
+package com.cerner.beadledom.health;
+
+import com.google.common.base.Throwables;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * A {@link HealthDependency} that checks its availability asynchronously, for dependencies that
+ * can be checked without blocking a thread (e.g. with a non-blocking HTTP client).
+ *
+ * <p>The health checks start the asynchronous checks of these dependencies directly rather than on
+ * the {@link HealthCheckExecutor}, and compose their results without blocking. Asynchronous
+ * dependencies are bound in the same way as synchronous ones:
+ *
+ * <p><pre><code>
+ *     {@literal @}ProvidesIntoSet
+ *     HealthDependency provideFoobarHealthDependency(FoobarClient client) {
+ *       return new AsyncHealthDependency() {
+ *         {@literal @}Override
+ *         public CompletionStage&lt;HealthStatus&gt; checkAvailabilityAsync() {
+ *           return client.ping().thenApply(
+ *               pong -&gt; HealthStatus.create(200, "foobar is available"));
+ *         }
+ *
+ *         {@literal @}Override
+ *         public String getName() {
+ *           return "foobar";
+ *         }
+ *       };
+ *     }
+ * </code></pre>
+ *
+ * @since 2.7
+ */
+public abstract class AsyncHealthDependency extends HealthDependency {
+  /**
+   * Starts the dependency's basic availability health check (or closest equivalent).
+   *
+   * <p>Implementations must not block. The returned stage may complete exceptionally; the health
+   * checker will handle this gracefully and assume the dependency is unhealthy.
+   *
+   * @return a stage that completes with the status of the dependency
+   */
+  public abstract CompletionStage<HealthStatus> checkAvailabilityAsync();
+
+  /**
+   * Waits for the result of {@link #checkAvailabilityAsync()}.
+   *
+   * <p>This allows asynchronous dependencies to be checked by code expecting a synchronous
+   * {@link HealthDependency}.
+   */
+  @Override
+  public final HealthStatus checkAvailability() {
+    CompletableFuture<HealthStatus> status = new CompletableFuture<>();
+    checkAvailabilityAsync().whenComplete((result, failure) -> {
+      if (failure != null) {
+        status.completeExceptionally(failure);
+      } else {
+        status.complete(result);
+      }
+    });
+
+    try {
+      return status.join();
+    } catch (CompletionException e) {
+      throw Throwables.propagate(e.getCause() != null ? e.getCause() : e);
+    }
+  }
+}
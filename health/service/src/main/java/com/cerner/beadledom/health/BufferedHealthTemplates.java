@@ -0,0 +1,19 @@
+package com.cerner.beadledom.health;
+
+import com.google.inject.BindingAnnotation;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Guice binding annotation for a Boolean that enables rendering the HTML health check pages into
+ * a pre-sized buffer before they are written, rather than streaming them.
+ *
+ * @since 2.7
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER})
+@BindingAnnotation
+public @interface BufferedHealthTemplates {
+}
@@ -0,0 +1,240 @@
+package com.cerner.beadledom.health;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * A {@link HealthDependency} that wraps another dependency with a circuit breaker, so a dependency
+ * that is down is not checked (and waited on) by every health check.
+ *
+ * <p>The circuit starts {@link State#CLOSED closed}, and every check is passed on to the wrapped
+ * dependency. After the failure threshold of consecutive checks has failed, the circuit
+ * {@link State#OPEN opens} and checks report the dependency as unhealthy immediately. Once the
+ * circuit has been open for the open duration it becomes {@link State#HALF_OPEN half-open}, and a
+ * single check is passed on to the wrapped dependency while the others are still reported as
+ * unhealthy. The circuit closes if that check succeeds, and opens again if it fails. If that check
+ * has not completed after another open duration, as happens when it hangs and ignores its
+ * timeout, another single check is passed on to the wrapped dependency.
+ *
+ * <p>A check fails if the wrapped dependency throws an exception, returns a status outside of the
+ * 2xx range or is interrupted, as happens when the check exceeds its timeout.
+ *
+ * <p>The circuit breaker is configured where the dependency is bound:
+ *
+ * <p><pre><code>
+ *     {@literal @}ProvidesIntoSet
+ *     HealthDependency provideFoobarHealthDependency() {
+ *       return CircuitBreakerHealthDependency.builder(new FoobarHealthDependency())
+ *           .setFailureThreshold(3)
+ *           .setOpenDuration(Duration.ofMinutes(1))
+ *           .build();
+ *     }
+ * </code></pre>
+ *
+ * <p>The state of the circuit is included in the diagnostic health check.
+ *
+ * @since 2.7
+ */
+public class CircuitBreakerHealthDependency extends HealthDependency {
+  public static final int DEFAULT_FAILURE_THRESHOLD = 5;
+  public static final Duration DEFAULT_OPEN_DURATION = Duration.ofSeconds(30);
+
+  /**
+   * The state of a circuit breaker.
+   */
+  public enum State {
+    /**
+     * Checks are passed on to the wrapped dependency.
+     */
+    CLOSED,
+    /**
+     * Checks report the dependency as unhealthy without checking the wrapped dependency.
+     */
+    OPEN,
+    /**
+     * A single check is passed on to the wrapped dependency to decide whether the circuit closes.
+     */
+    HALF_OPEN
+  }
+
+  private final HealthDependency delegate;
+  private final int failureThreshold;
+  private final long openDurationMillis;
+  private final Clock clock;
+
+  // Guarded by this
+  private State state = State.CLOSED;
+  private int consecutiveFailures;
+  // When the circuit opened or, while half-open, when the last check was let through
+  private long openedAtMillis;
+
+  private CircuitBreakerHealthDependency(Builder builder) {
+    this.delegate = builder.delegate;
+    this.failureThreshold = builder.failureThreshold;
+    this.openDurationMillis = builder.openDuration.toMillis();
+    this.clock = builder.clock;
+  }
+
+  /**
+   * Creates a new builder for a {@code CircuitBreakerHealthDependency} wrapping the given
+   * dependency, with the default thresholds.
+   */
+  public static Builder builder(HealthDependency delegate) {
+    return new Builder(checkNotNull(delegate, "delegate: null"));
+  }
+
+  /**
+   * Checks the wrapped dependency, unless the circuit is open.
+   */
+  @Override
+  public HealthStatus checkAvailability() {
+    if (!tryAcquire()) {
+      return HealthStatus.create(503, "Circuit breaker for " + getName() + " is open after "
+          + failureThreshold + " consecutive failed checks");
+    }
+
+    boolean succeeded = false;
+    try {
+      HealthStatus status = delegate.checkAvailability();
+      succeeded = status != null && status.getStatus() >= 200 && status.getStatus() <= 299;
+      return status;
+    } finally {
+      // A check interrupted by its timeout counts as a failure, even if it went on to succeed
+      record(succeeded && !Thread.currentThread().isInterrupted());
+    }
+  }
+
+  /**
+   * Returns the current state of the circuit.
+   */
+  public synchronized State getState() {
+    if (state == State.OPEN && clock.millis() - openedAtMillis >= openDurationMillis) {
+      return State.HALF_OPEN;
+    }
+    return state;
+  }
+
+  /**
+   * Returns the wrapped dependency.
+   */
+  public HealthDependency getDelegate() {
+    return delegate;
+  }
+
+  /**
+   * Returns true if a check may be passed on to the wrapped dependency.
+   */
+  private synchronized boolean tryAcquire() {
+    switch (state) {
+      case CLOSED:
+        return true;
+      case OPEN:
+      case HALF_OPEN:
+        long now = clock.millis();
+        if (now - openedAtMillis < openDurationMillis) {
+          return false;
+        }
+        // Let a single check through; others are rejected until it completes, or until another
+        // open duration has passed without it completing
+        state = State.HALF_OPEN;
+        openedAtMillis = now;
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  private synchronized void record(boolean succeeded) {
+    if (succeeded) {
+      state = State.CLOSED;
+      consecutiveFailures = 0;
+      return;
+    }
+
+    consecutiveFailures++;
+    if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+      state = State.OPEN;
+      openedAtMillis = clock.millis();
+    }
+  }
+
+  @Override
+  @Deprecated
+  public Optional<String> getBasicAvailabilityUrl() {
+    return delegate.getBasicAvailabilityUrl();
+  }
+
+  @Override
+  public Boolean getPrimary() {
+    return delegate.getPrimary();
+  }
+
+  @Override
+  public String getName() {
+    return delegate.getName();
+  }
+
+  @Override
+  public Optional<String> getDescription() {
+    return delegate.getDescription();
+  }
+
+  @Override
+  public Optional<Duration> getTimeout() {
+    return delegate.getTimeout();
+  }
+
+  @Override
+  public Optional<Duration> getCacheTtl() {
+    return delegate.getCacheTtl();
+  }
+
+  /**
+   * Builder for {@link CircuitBreakerHealthDependency}.
+   */
+  public static class Builder {
+    private final HealthDependency delegate;
+    private int failureThreshold = DEFAULT_FAILURE_THRESHOLD;
+    private Duration openDuration = DEFAULT_OPEN_DURATION;
+    private Clock clock = Clock.systemUTC();
+
+    private Builder(HealthDependency delegate) {
+      this.delegate = delegate;
+    }
+
+    /**
+     * Sets the number of consecutive failed checks that open the circuit.
+     */
+    public Builder setFailureThreshold(int failureThreshold) {
+      checkArgument(failureThreshold > 0, "failureThreshold: %s must be positive",
+          failureThreshold);
+      this.failureThreshold = failureThreshold;
+      return this;
+    }
+
+    /**
+     * Sets how long the circuit stays open before a check is passed on to the wrapped dependency
+     * again.
+     */
+    public Builder setOpenDuration(Duration openDuration) {
+      checkNotNull(openDuration, "openDuration: null");
+      checkArgument(!openDuration.isNegative() && !openDuration.isZero(),
+          "openDuration: %s must be positive", openDuration);
+      this.openDuration = openDuration;
+      return this;
+    }
+
+    Builder setClock(Clock clock) {
+      this.clock = checkNotNull(clock, "clock: null");
+      return this;
+    }
+
+    public CircuitBreakerHealthDependency build() {
+      return new CircuitBreakerHealthDependency(this);
+    }
+  }
+}
@@ -0,0 +1,157 @@
+package com.cerner.beadledom.health;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.auto.value.AutoValue;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Configures how the health checks run their {@link HealthDependency} checks.
+ *
+ * <p>Dependency checks run concurrently on the executor bound with {@link HealthCheckExecutor}.
+ * Each dependency check is bounded by its own timeout, and a health check as a whole is bounded by
+ * a deadline; dependencies that have not completed in time are reported as unhealthy.
+ *
+ * <p>The primary health check, which checks only the primary dependencies, has a tighter deadline
+ * than the diagnostic health check, which checks all dependencies. Each of the two tiers may only
+ * have a limited number of dependency checks queued or running on the executor at once, so a
+ * burst of diagnostic health checks cannot delay the primary health checks; checks beyond the
+ * limit are reported as unhealthy.
+ *
+ * <p>When a cache TTL is configured, the results of dependency checks are cached and served to
+ * health checks until they are older than the TTL. Results older than the TTL are still served,
+ * while the dependency is checked again in the background, until they are older than the maximum
+ * staleness. Concurrent health checks share a single check of each dependency.
+ *
+ * <p>The default configuration can be replaced using an
+ * {@link com.google.inject.multibindings.OptionalBinder}:
+ *
+ * <p><pre><code>
+ *     OptionalBinder.newOptionalBinder(binder(), HealthCheckConfiguration.class)
+ *         .setBinding()
+ *         .toInstance(HealthCheckConfiguration.builder()
+ *             .setDependencyTimeout(Duration.ofSeconds(2))
+ *             .build());
+ * </code></pre>
+ *
+ * @since 2.7
+ */
+@AutoValue
+public abstract class HealthCheckConfiguration {
+  public static final Duration DEFAULT_DEPENDENCY_TIMEOUT = Duration.ofSeconds(5);
+  public static final Duration DEFAULT_DEADLINE = Duration.ofSeconds(10);
+  public static final Duration DEFAULT_PRIMARY_DEADLINE = Duration.ofSeconds(2);
+  public static final int DEFAULT_MAXIMUM_CONCURRENT_PRIMARY_CHECKS = 8;
+  public static final int DEFAULT_MAXIMUM_CONCURRENT_DIAGNOSTIC_CHECKS = 8;
+
+  /**
+   * Creates a new builder for {@code HealthCheckConfiguration} with the default values.
+   */
+  public static Builder builder() {
+    return new AutoValue_HealthCheckConfiguration.Builder()
+        .setDependencyTimeout(DEFAULT_DEPENDENCY_TIMEOUT)
+        .setDeadline(DEFAULT_DEADLINE)
+        .setPrimaryDeadline(DEFAULT_PRIMARY_DEADLINE)
+        .setMaximumConcurrentPrimaryChecks(DEFAULT_MAXIMUM_CONCURRENT_PRIMARY_CHECKS)
+        .setMaximumConcurrentDiagnosticChecks(DEFAULT_MAXIMUM_CONCURRENT_DIAGNOSTIC_CHECKS)
+        .setCacheTtl(Optional.empty())
+        .setMaximumStaleness(Optional.empty());
+  }
+
+  /**
+   * Returns the maximum time a dependency check may take, unless the dependency provides its own
+   * timeout with {@link HealthDependency#getTimeout()}.
+   */
+  public abstract Duration getDependencyTimeout();
+
+  /**
+   * Returns the maximum time a diagnostic health check may take.
+   */
+  public abstract Duration getDeadline();
+
+  /**
+   * Returns the maximum time a primary health check may take.
+   */
+  public abstract Duration getPrimaryDeadline();
+
+  /**
+   * Returns the maximum number of dependency checks of primary health checks that may be queued or
+   * running at once.
+   */
+  public abstract int getMaximumConcurrentPrimaryChecks();
+
+  /**
+   * Returns the maximum number of dependency checks of diagnostic health checks and single
+   * dependency availability checks that may be queued or running at once.
+   */
+  public abstract int getMaximumConcurrentDiagnosticChecks();
+
+  /**
+   * Returns how long the result of a dependency check is served from the cache before the
+   * dependency is checked again, unless the dependency provides its own TTL with
+   * {@link HealthDependency#getCacheTtl()}; or {@link Optional#empty()} if results are not cached.
+   */
+  public abstract Optional<Duration> getCacheTtl();
+
+  /**
+   * Returns the maximum age of a cached result that may be served while the dependency is checked
+   * again in the background, or {@link Optional#empty()} to use twice the cache TTL.
+   */
+  public abstract Optional<Duration> getMaximumStaleness();
+
+  @AutoValue.Builder
+  public abstract static class Builder {
+    public abstract Builder setDependencyTimeout(Duration dependencyTimeout);
+
+    public abstract Builder setDeadline(Duration deadline);
+
+    public abstract Builder setPrimaryDeadline(Duration primaryDeadline);
+
+    public abstract Builder setMaximumConcurrentPrimaryChecks(int maximumConcurrentPrimaryChecks);
+
+    public abstract Builder setMaximumConcurrentDiagnosticChecks(
+        int maximumConcurrentDiagnosticChecks);
+
+    abstract Builder setCacheTtl(Optional<Duration> cacheTtl);
+
+    public Builder setCacheTtl(Duration cacheTtl) {
+      return setCacheTtl(Optional.ofNullable(cacheTtl));
+    }
+
+    abstract Builder setMaximumStaleness(Optional<Duration> maximumStaleness);
+
+    public Builder setMaximumStaleness(Duration maximumStaleness) {
+      return setMaximumStaleness(Optional.ofNullable(maximumStaleness));
+    }
+
+    abstract HealthCheckConfiguration autoBuild();
+
+    /**
+     * Builds the {@code HealthCheckConfiguration}.
+     *
+     * @throws IllegalArgumentException if a duration or a maximum number of checks is not positive
+     */
+    public HealthCheckConfiguration build() {
+      HealthCheckConfiguration configuration = autoBuild();
+      checkPositive(configuration.getDependencyTimeout(), "dependencyTimeout");
+      checkPositive(configuration.getDeadline(), "deadline");
+      checkPositive(configuration.getPrimaryDeadline(), "primaryDeadline");
+      checkArgument(configuration.getMaximumConcurrentPrimaryChecks() > 0,
+          "maximumConcurrentPrimaryChecks: %s must be positive",
+          configuration.getMaximumConcurrentPrimaryChecks());
+      checkArgument(configuration.getMaximumConcurrentDiagnosticChecks() > 0,
+          "maximumConcurrentDiagnosticChecks: %s must be positive",
+          configuration.getMaximumConcurrentDiagnosticChecks());
+      configuration.getCacheTtl().ifPresent(ttl -> checkPositive(ttl, "cacheTtl"));
+      configuration.getMaximumStaleness()
+          .ifPresent(staleness -> checkPositive(staleness, "maximumStaleness"));
+      return configuration;
+    }
+  }
+
+  static void checkPositive(Duration duration, String name) {
+    checkArgument(!duration.isNegative() && !duration.isZero(),
+        "%s: %s must be positive", name, duration);
+  }
+}
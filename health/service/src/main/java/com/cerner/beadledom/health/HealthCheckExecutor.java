@@ -0,0 +1,23 @@
+package com.cerner.beadledom.health;
+
+import com.google.inject.BindingAnnotation;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Guice binding annotation for the {@link java.util.concurrent.ExecutorService} that runs the
+ * {@link HealthDependency} checks.
+ *
+ * <p>{@link HealthModule} binds a bounded executor by default; it can be replaced using an
+ * {@link com.google.inject.multibindings.OptionalBinder} for
+ * {@code Key.get(ExecutorService.class, HealthCheckExecutor.class)}.
+ *
+ * @since 2.7
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER})
+@BindingAnnotation
+public @interface HealthCheckExecutor {
+}
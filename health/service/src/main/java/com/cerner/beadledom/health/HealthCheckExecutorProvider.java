@@ -0,0 +1,38 @@
+package com.cerner.beadledom.health;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Provider;
+
+/**
+ * A guice provider for the default {@link HealthCheckExecutor}.
+ *
+ * <p>The executor has a bounded number of daemon threads, which time out when idle, and a bounded
+ * queue. Checks rejected by a full executor are reported as unhealthy.
+ *
+ * <p>The number of threads matches the default limits of the primary and diagnostic tiers of
+ * {@link HealthCheckConfiguration}, so the checks of one tier never wait for the checks of the
+ * other.
+ */
+class HealthCheckExecutorProvider implements Provider<ExecutorService> {
+  static final int MAXIMUM_THREADS =
+      HealthCheckConfiguration.DEFAULT_MAXIMUM_CONCURRENT_PRIMARY_CHECKS
+          + HealthCheckConfiguration.DEFAULT_MAXIMUM_CONCURRENT_DIAGNOSTIC_CHECKS;
+  static final int MAXIMUM_QUEUED_CHECKS = 256;
+
+  @Override
+  public ExecutorService get() {
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(
+        MAXIMUM_THREADS, MAXIMUM_THREADS, 60, TimeUnit.SECONDS,
+        new LinkedBlockingQueue<>(MAXIMUM_QUEUED_CHECKS),
+        new ThreadFactoryBuilder()
+            .setDaemon(true)
+            .setNameFormat("beadledom-health-check-%d")
+            .build());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+}
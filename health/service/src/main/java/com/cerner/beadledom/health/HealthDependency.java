@@ -1,5 +1,6 @@
 package com.cerner.beadledom.health;
 
+import java.time.Duration;
 import java.util.Optional;
 
 /**
@@ -53,4 +54,26 @@ public abstract class HealthDependency {
   public Optional<String> getDescription() {
     return Optional.empty();
   }
+
+  /**
+   * Returns the maximum time that {@link #checkAvailability()} may take before the dependency is
+   * reported as unhealthy, or {@link Optional#empty()} to use the
+   * {@link HealthCheckConfiguration#getDependencyTimeout() configured timeout}.
+   *
+   * @since 2.7
+   */
+  public Optional<Duration> getTimeout() {
+    return Optional.empty();
+  }
+
+  /**
+   * Returns how long the result of {@link #checkAvailability()} may be cached, or
+   * {@link Optional#empty()} to use the {@link HealthCheckConfiguration#getCacheTtl() configured
+   * TTL}.
+   *
+   * @since 2.7
+   */
+  public Optional<Duration> getCacheTtl() {
+    return Optional.empty();
+  }
 }
@@ -4,13 +4,19 @@ import com.cerner.beadledom.health.api.AvailabilityResource;
 import com.cerner.beadledom.health.api.DependenciesResource;
 import com.cerner.beadledom.health.api.DiagnosticResource;
 import com.cerner.beadledom.health.api.HealthResource;
+import com.cerner.beadledom.health.api.MetricsResource;
 import com.cerner.beadledom.health.api.VersionResource;
+import com.cerner.beadledom.health.internal.HealthCheckCache;
 import com.cerner.beadledom.health.internal.HealthChecker;
+import com.cerner.beadledom.health.internal.HealthDependencyLinks;
+import com.cerner.beadledom.health.internal.HealthMetrics;
 import com.cerner.beadledom.health.internal.HealthTemplateFactory;
+import com.cerner.beadledom.health.internal.HealthTemplates;
 import com.cerner.beadledom.health.resource.AvailabilityResourceImpl;
 import com.cerner.beadledom.health.resource.DependenciesResourceImpl;
 import com.cerner.beadledom.health.resource.DiagnosticResourceImpl;
 import com.cerner.beadledom.health.resource.HealthResourceImpl;
+import com.cerner.beadledom.health.resource.MetricsResourceImpl;
 import com.cerner.beadledom.health.resource.VersionResourceImpl;
 import com.cerner.beadledom.metadata.ServiceMetadata;
 import com.fasterxml.jackson.databind.Module;
@@ -21,11 +27,14 @@ import com.github.mustachejava.MustacheFactory;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
 import com.google.inject.AbstractModule;
+import com.google.inject.Key;
 import com.google.inject.Provides;
 import com.google.inject.multibindings.Multibinder;
 import com.google.inject.multibindings.MultibindingsScanner;
+import com.google.inject.multibindings.OptionalBinder;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import javax.inject.Singleton;
 import javax.ws.rs.core.UriInfo;
 
@@ -66,11 +75,12 @@ import javax.ws.rs.core.UriInfo;
  *
  * <p>Provides:
  * <ul>
- *     <li>{@link AvailabilityResource}</li>
+ *     <li>{@link AvailabilityResource} (singleton)</li>
  *     <li>{@link HealthResource}</li>
- *     <li>{@link VersionResource}</li>
+ *     <li>{@link VersionResource} (singleton)</li>
  *     <li>{@link DiagnosticResource}</li>
  *     <li>{@link DependenciesResource}</li>
+ *     <li>{@link MetricsResource}</li>
  *     <li>The following {@link com.fasterxml.jackson.databind.Module Jackson module} multibindings:
  *       <ul>
  *         <li>{@link com.fasterxml.jackson.datatype.jdk8.Jdk8Module}</li>
@@ -78,10 +88,25 @@ import javax.ws.rs.core.UriInfo;
  *       </ul>
  *     </li>
  *     <li>{@link com.cerner.beadledom.health.internal.HealthChecker} (for internal use only)</li>
+ *     <li>{@link HealthCheckConfiguration} with the default timeouts, which can be replaced using
+ *     an {@link OptionalBinder}</li>
+ *     <li>{@link ExecutorService} with binding annotation {@link HealthCheckExecutor}, a bounded
+ *     executor that runs the dependency checks concurrently, which can be replaced using an
+ *     {@link OptionalBinder}</li>
+ *     <li>{@link HealthCheckCache}, which caches the results of dependencies with a cache TTL
+ *     (for internal use only)</li>
+ *     <li>{@link HealthMetrics}, which records the outcome and latency of the dependency checks
+ *     (for internal use only)</li>
+ *     <li>{@link HealthDependencyLinks}, which builds the links of the dependencies once per base
+ *     URI (for internal use only)</li>
  *     <li>{@link Map}&lt;{@link String}, {@link com.cerner.beadledom.health.HealthDependency}&gt;
  *     (for internal use only)</li>
  *     <li>{@link com.github.mustachejava.MustacheFactory} with binding annotation
  *     HealthTemplateFactory (for internal use only)</li>
+ *     <li>{@link com.cerner.beadledom.health.internal.HealthTemplates}, compiled eagerly when the
+ *     injector is created (for internal use only). Bind a Boolean annotated with
+ *     {@link BufferedHealthTemplates} to render the HTML pages into a pre-sized buffer instead of
+ *     streaming them.</li>
  * </ul>
  *
  * <p>Requires:
@@ -106,7 +131,22 @@ public class HealthModule extends AbstractModule {
     bind(DependenciesResource.class).to(DependenciesResourceImpl.class);
     bind(DiagnosticResource.class).to(DiagnosticResourceImpl.class);
     bind(VersionResource.class).to(VersionResourceImpl.class);
+    bind(MetricsResource.class).to(MetricsResourceImpl.class);
+    // The availability and version entities are constant, so a single instance of each resource
+    // lets their cached representations be reused for every request
+    bind(AvailabilityResourceImpl.class).in(Singleton.class);
+    bind(VersionResourceImpl.class).in(Singleton.class);
     bind(HealthChecker.class);
+    bind(HealthCheckCache.class).in(Singleton.class);
+    bind(HealthMetrics.class).in(Singleton.class);
+    bind(HealthDependencyLinks.class).in(Singleton.class);
+
+    OptionalBinder.newOptionalBinder(binder(), HealthCheckConfiguration.class)
+        .setDefault().toInstance(HealthCheckConfiguration.builder().build());
+    OptionalBinder
+        .newOptionalBinder(binder(), Key.get(ExecutorService.class, HealthCheckExecutor.class))
+        .setDefault().toProvider(HealthCheckExecutorProvider.class).in(Singleton.class);
+    bind(HealthTemplates.class).toProvider(HealthTemplatesProvider.class).asEagerSingleton();
 
     //This is to provide a default binding for HealthDependency,
     // so that services with no HealthDependency bindings can start
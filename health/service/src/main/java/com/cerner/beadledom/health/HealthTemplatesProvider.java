@@ -0,0 +1,28 @@
+package com.cerner.beadledom.health;
+
+import com.cerner.beadledom.health.internal.HealthTemplateFactory;
+import com.cerner.beadledom.health.internal.HealthTemplates;
+import com.github.mustachejava.MustacheFactory;
+import com.google.inject.Inject;
+import javax.inject.Provider;
+
+/**
+ * A guice provider for {@link HealthTemplates}.
+ */
+class HealthTemplatesProvider implements Provider<HealthTemplates> {
+  @BufferedHealthTemplates
+  @Inject(optional = true)
+  Boolean buffered = false;
+
+  private final MustacheFactory mustacheFactory;
+
+  @Inject
+  HealthTemplatesProvider(@HealthTemplateFactory MustacheFactory mustacheFactory) {
+    this.mustacheFactory = mustacheFactory;
+  }
+
+  @Override
+  public HealthTemplates get() {
+    return new HealthTemplates(mustacheFactory, buffered);
+  }
+}
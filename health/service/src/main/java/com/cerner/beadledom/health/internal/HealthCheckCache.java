@@ -0,0 +1,376 @@
+package com.cerner.beadledom.health.internal;
+
+import com.cerner.beadledom.health.AsyncHealthDependency;
+import com.cerner.beadledom.health.HealthCheckConfiguration;
+import com.cerner.beadledom.health.HealthCheckExecutor;
+import com.cerner.beadledom.health.HealthDependency;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+
+/**
+ * Runs {@link HealthDependency} checks, caching the results of dependencies that have a cache TTL.
+ *
+ * <p>Synchronous dependencies are checked on the {@link HealthCheckExecutor}, while
+ * {@link AsyncHealthDependency} checks are started directly; either way the result is a
+ * {@link CompletableFuture}, so callers can compose the checks without blocking.
+ *
+ * <p>A cached result is served until it is older than the dependency's TTL. Older results are
+ * served while the dependency is checked again in the background (stale-while-revalidate), until
+ * they are older than the maximum staleness; after that callers wait for a new check. Concurrent
+ * callers share a single in-flight check of each dependency.
+ *
+ * <p>While a cached dependency is being used, it is also refreshed in the background each time its
+ * TTL expires, so health checks are usually served fresh results without waiting. Each dependency
+ * has at most one pending background refresh, and the background refreshes stop when the cache is
+ * shut down by the lifecycle managing container.
+ *
+ * <p>Each {@link HealthCheckTier} may only have a limited number of checks queued or running on the
+ * executor at once, as configured by the {@link HealthCheckConfiguration}.
+ *
+ * <p>The outcome of each check is recorded in the {@link HealthMetrics} once, however many callers
+ * share it: a check that does not complete within the dependency's timeout is recorded as a
+ * timeout, and only its latency is recorded once it completes.
+ */
+public class HealthCheckCache {
+  private final HealthCheckConfiguration configuration;
+  private final Map<HealthCheckTier, Executor> tierExecutors;
+  private final HealthMetrics metrics;
+  private final Clock clock;
+  private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+  private final ScheduledExecutorService scheduler;
+
+  @Inject
+  HealthCheckCache(
+      HealthCheckConfiguration configuration, @HealthCheckExecutor ExecutorService executor,
+      HealthMetrics metrics) {
+    this(configuration, executor, metrics, Clock.systemUTC());
+  }
+
+  HealthCheckCache(
+      HealthCheckConfiguration configuration, ExecutorService executor, HealthMetrics metrics,
+      Clock clock) {
+    this(configuration, executor, metrics, clock, newScheduler());
+  }
+
+  HealthCheckCache(
+      HealthCheckConfiguration configuration, ExecutorService executor, HealthMetrics metrics,
+      Clock clock, ScheduledExecutorService scheduler) {
+    this.configuration = configuration;
+    this.metrics = metrics;
+    this.clock = clock;
+    this.scheduler = scheduler;
+    this.tierExecutors = new EnumMap<>(HealthCheckTier.class);
+    tierExecutors.put(HealthCheckTier.PRIMARY,
+        new TierExecutor(executor, configuration.getMaximumConcurrentPrimaryChecks()));
+    tierExecutors.put(HealthCheckTier.DIAGNOSTIC,
+        new TierExecutor(executor, configuration.getMaximumConcurrentDiagnosticChecks()));
+  }
+
+  /**
+   * Returns true if the results of the dependency's checks are cached.
+   */
+  boolean isCached(HealthDependency dependency) {
+    return cacheTtl(dependency).isPresent();
+  }
+
+  /**
+   * Returns the result of checking the dependency, which may be cached.
+   *
+   * <p>Cancelling the returned future interrupts a synchronous check that is not shared with other
+   * callers; checks shared with other callers are not cancelled.
+   *
+   * @param tier the tier of the health check, whose share of the executor runs the check
+   * @throws RejectedExecutionException if the tier's limit is reached or the executor rejected the
+   *     check
+   */
+  CompletableFuture<HealthCheckResult> check(HealthDependency dependency, HealthCheckTier tier) {
+    Executor tierExecutor = tierExecutors.get(tier);
+    Optional<Duration> ttl = cacheTtl(dependency);
+    if (!ttl.isPresent()) {
+      return startCheck(dependency, tierExecutor);
+    }
+
+    Entry entry = entries.computeIfAbsent(
+        dependency.getName(), name -> new Entry(dependency, ttl.get()));
+    return entry.get(tierExecutor).thenApply(result -> result);
+  }
+
+  /**
+   * Returns the timeout of the dependency's checks, in nanoseconds.
+   */
+  long timeoutNanos(HealthDependency dependency) {
+    return dependency.getTimeout().orElse(configuration.getDependencyTimeout()).toNanos();
+  }
+
+  /**
+   * Returns a future that completes like the given future, or completes exceptionally with a
+   * {@link TimeoutException} and cancels the given future if it does not complete in time.
+   */
+  <T> CompletableFuture<T> withTimeout(CompletableFuture<T> future, long timeoutNanos) {
+    CompletableFuture<T> timed = new CompletableFuture<>();
+    ScheduledFuture<?> timeout = scheduler.schedule(() -> {
+      if (timed.completeExceptionally(new TimeoutException())) {
+        future.cancel(true);
+      }
+    }, timeoutNanos, TimeUnit.NANOSECONDS);
+
+    future.whenComplete((result, failure) -> {
+      timeout.cancel(false);
+      if (failure != null) {
+        timed.completeExceptionally(failure);
+      } else {
+        timed.complete(result);
+      }
+    });
+    return timed;
+  }
+
+  /**
+   * Stops the background refreshes and check timeouts.
+   */
+  @PreDestroy
+  void shutdown() {
+    scheduler.shutdownNow();
+  }
+
+  /**
+   * Returns the clock used to timestamp check results.
+   */
+  Clock getClock() {
+    return clock;
+  }
+
+  /**
+   * Starts a check of the dependency.
+   *
+   * <p>Asynchronous dependencies are checked directly. Synchronous dependencies are adapted by
+   * running their checks on the tier's share of the executor.
+   */
+  private CompletableFuture<HealthCheckResult> startCheck(
+      HealthDependency dependency, Executor tierExecutor) {
+    CheckOutcome outcome = new CheckOutcome(dependency);
+    if (dependency instanceof AsyncHealthDependency) {
+      CompletableFuture<HealthCheckResult> check =
+          HealthCheckResult.checkAsync((AsyncHealthDependency) dependency, clock)
+              .thenApply(result -> {
+                outcome.recordCheck(result);
+                return result;
+              });
+      outcome.scheduleTimeout();
+      return check;
+    }
+
+    CompletableFuture<HealthCheckResult> check = new CompletableFuture<>();
+    FutureTask<Void> task = new FutureTask<>(() -> {
+      try {
+        HealthCheckResult result = HealthCheckResult.check(dependency, clock);
+        outcome.recordCheck(result);
+        check.complete(result);
+      } catch (Throwable e) {
+        check.completeExceptionally(e);
+      }
+    }, null);
+    tierExecutor.execute(task);
+    outcome.scheduleTimeout();
+
+    // Interrupt the check if its caller gives up on it, which only happens when it times out
+    check.whenComplete((result, failure) -> {
+      if (check.isCancelled()) {
+        outcome.recordTimeout();
+        task.cancel(true);
+      }
+    });
+    return check;
+  }
+
+  /**
+   * Creates the single daemon thread that runs the background refreshes and check timeouts, which
+   * are removed from its queue when cancelled.
+   */
+  private static ScheduledExecutorService newScheduler() {
+    ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1,
+        new ThreadFactoryBuilder()
+            .setDaemon(true)
+            .setNameFormat("beadledom-health-check-scheduler-%d")
+            .build());
+    scheduler.setRemoveOnCancelPolicy(true);
+    return scheduler;
+  }
+
+  private Optional<Duration> cacheTtl(HealthDependency dependency) {
+    Optional<Duration> ttl = dependency.getCacheTtl();
+    return ttl.isPresent() ? ttl : configuration.getCacheTtl();
+  }
+
+  /**
+   * Records the outcome of a single check of a dependency, either its result or its timeout.
+   */
+  private class CheckOutcome {
+    private final HealthDependency dependency;
+    private final AtomicBoolean recorded = new AtomicBoolean();
+    private volatile ScheduledFuture<?> timeout;
+
+    CheckOutcome(HealthDependency dependency) {
+      this.dependency = dependency;
+    }
+
+    void scheduleTimeout() {
+      if (recorded.get()) {
+        return;
+      }
+
+      try {
+        timeout = scheduler.schedule(
+            this::recordTimeout, timeoutNanos(dependency), TimeUnit.NANOSECONDS);
+      } catch (RejectedExecutionException e) {
+        // The cache has been shut down; the timeout is not recorded
+      }
+    }
+
+    void recordTimeout() {
+      if (recorded.compareAndSet(false, true)) {
+        metrics.recordTimeout(dependency);
+      }
+    }
+
+    void recordCheck(HealthCheckResult result) {
+      ScheduledFuture<?> scheduledTimeout = timeout;
+      if (scheduledTimeout != null) {
+        scheduledTimeout.cancel(false);
+      }
+
+      if (recorded.compareAndSet(false, true)) {
+        metrics.recordCheck(dependency, result);
+      } else {
+        // The check has been recorded as a timeout, but its latency is still of interest
+        metrics.recordLatency(dependency, result);
+      }
+    }
+  }
+
+  /**
+   * The cached result and in-flight check of a dependency.
+   */
+  private class Entry {
+    private final HealthDependency dependency;
+    private final long ttlMillis;
+    private final long maximumStalenessMillis;
+
+    // Guarded by this
+    private HealthCheckResult latest;
+    private CompletableFuture<HealthCheckResult> inFlight;
+    private ScheduledFuture<?> scheduledRefresh;
+    private long lastAccessMillis;
+
+    Entry(HealthDependency dependency, Duration ttl) {
+      this.dependency = dependency;
+      this.ttlMillis = ttl.toMillis();
+      this.maximumStalenessMillis = configuration.getMaximumStaleness()
+          .orElse(ttl.multipliedBy(2))
+          .toMillis();
+    }
+
+    synchronized CompletableFuture<HealthCheckResult> get(Executor tierExecutor) {
+      long now = clock.millis();
+      lastAccessMillis = now;
+
+      if (latest != null) {
+        long ageMillis = now - latest.getCheckedAt().toEpochMilli();
+        if (ageMillis < ttlMillis) {
+          return CompletableFuture.completedFuture(latest);
+        }
+
+        if (ageMillis < maximumStalenessMillis) {
+          try {
+            refresh(tierExecutor);
+          } catch (RejectedExecutionException e) {
+            // The stale result is served and the refresh is retried by the next caller
+          }
+          return CompletableFuture.completedFuture(latest);
+        }
+      }
+
+      return refresh(tierExecutor);
+    }
+
+    /**
+     * Starts a check of the dependency unless one is already in flight.
+     *
+     * <p>The returned future completes once the entry has been updated with the result, so a
+     * following call to {@link #get(Executor)} sees the result.
+     */
+    private synchronized CompletableFuture<HealthCheckResult> refresh(Executor tierExecutor) {
+      if (inFlight != null) {
+        return inFlight;
+      }
+
+      CompletableFuture<HealthCheckResult> check = startCheck(dependency, tierExecutor);
+
+      // The completed check schedules the next background refresh
+      if (scheduledRefresh != null) {
+        scheduledRefresh.cancel(false);
+        scheduledRefresh = null;
+      }
+
+      // An asynchronous check may complete, and clear the in-flight check, before this returns
+      CompletableFuture<HealthCheckResult> updated = new CompletableFuture<>();
+      inFlight = updated;
+      check.whenComplete((result, failure) -> {
+        complete(result);
+        if (failure != null) {
+          updated.completeExceptionally(failure);
+        } else {
+          updated.complete(result);
+        }
+      });
+      return updated;
+    }
+
+    private synchronized void complete(HealthCheckResult result) {
+      inFlight = null;
+      if (result == null) {
+        // The check failed unexpectedly; the next caller will check the dependency again
+        return;
+      }
+
+      latest = result;
+
+      // Keep refreshing in the background while the dependency is being checked
+      if (scheduledRefresh == null && lastAccessMillis + maximumStalenessMillis > clock.millis()) {
+        try {
+          scheduledRefresh =
+              scheduler.schedule(this::backgroundRefresh, ttlMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+          // The cache has been shut down
+        }
+      }
+    }
+
+    private void backgroundRefresh() {
+      try {
+        refresh(tierExecutors.get(HealthCheckTier.DIAGNOSTIC));
+      } catch (RejectedExecutionException e) {
+        // The next caller will check the dependency
+      }
+    }
+  }
+}
@@ -0,0 +1,127 @@
+package com.cerner.beadledom.health.internal;
+
+import com.google.common.base.Objects;
+import com.google.common.base.Ticker;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.slf4j.Logger;
+
+/**
+ * Logs the exceptions that health dependency checks fail with, without flooding the log while a
+ * dependency is down.
+ *
+ * <p>An exception is logged with its stack trace unless the previous exception logged for the
+ * dependency was of the same type, had the same message and was logged within the interval; such
+ * repeated exceptions are only counted, and the count is included when the exception is next
+ * logged. If a different exception is logged instead, the count of the previous exception is
+ * logged first, with the type and message of that exception.
+ *
+ * <p>Instances are thread-safe.
+ */
+final class HealthCheckFailureLog {
+  /**
+   * The default minimum time between logging identical exceptions of a dependency.
+   */
+  static final Duration DEFAULT_INTERVAL = Duration.ofMinutes(1);
+
+  private final Logger logger;
+  private final long intervalNanos;
+  private final Ticker ticker;
+  private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+  HealthCheckFailureLog(Logger logger) {
+    this(logger, DEFAULT_INTERVAL, Ticker.systemTicker());
+  }
+
+  HealthCheckFailureLog(Logger logger, Duration interval, Ticker ticker) {
+    this.logger = logger;
+    this.intervalNanos = interval.toNanos();
+    this.ticker = ticker;
+  }
+
+  /**
+   * Logs an exception that was thrown by the check of the dependency.
+   */
+  void logThrown(String dependencyName, Throwable exception) {
+    log(dependencyName, "threw", exception);
+  }
+
+  /**
+   * Logs an exception that was returned in the status of the check of the dependency.
+   */
+  void logReturned(String dependencyName, Throwable exception) {
+    log(dependencyName, "returned", exception);
+  }
+
+  private void log(String dependencyName, String verb, Throwable exception) {
+    Entry entry = entries.get(dependencyName);
+    if (entry == null) {
+      entry = entries.computeIfAbsent(dependencyName, name -> new Entry());
+    }
+
+    Decision decision = entry.tryLog(exception, ticker.read(), intervalNanos);
+    if (decision == null) {
+      return;
+    }
+
+    if (decision.previousSuppressed > 0) {
+      logger.error("Health dependency {} had {} identical exceptions that were not logged: {}",
+          dependencyName, decision.previousSuppressed, decision.previousException);
+    }
+
+    long suppressed = decision.suppressed;
+    if (suppressed == 0) {
+      logger.error("Health dependency {} {} an exception", dependencyName, verb, exception);
+    } else {
+      logger.error("Health dependency {} {} an exception ({} identical exceptions not logged)",
+          dependencyName, verb, suppressed, exception);
+    }
+  }
+
+  /**
+   * How to log an exception: the number of identical exceptions not logged since the last one
+   * was, and the number of suppressed exceptions of a different previous exception.
+   */
+  private static final class Decision {
+    private final long suppressed;
+    private final String previousException;
+    private final long previousSuppressed;
+
+    Decision(long suppressed, String previousException, long previousSuppressed) {
+      this.suppressed = suppressed;
+      this.previousException = previousException;
+      this.previousSuppressed = previousSuppressed;
+    }
+  }
+
+  private static final class Entry {
+    private String lastType;
+    private String lastMessage;
+    private long lastLoggedNanos;
+    private long suppressed;
+
+    /**
+     * Returns how to log the exception, or null if it should not be logged.
+     */
+    synchronized Decision tryLog(Throwable exception, long nowNanos, long intervalNanos) {
+      String type = exception.getClass().getName();
+      String message = exception.getMessage();
+      boolean identical = type.equals(lastType) && Objects.equal(message, lastMessage);
+      if (identical && nowNanos - lastLoggedNanos < intervalNanos) {
+        suppressed++;
+        return null;
+      }
+
+      final Decision decision = identical
+          ? new Decision(suppressed, null, 0)
+          : new Decision(0, lastMessage == null ? lastType : lastType + ": " + lastMessage,
+              suppressed);
+      lastType = type;
+      lastMessage = message;
+      lastLoggedNanos = nowNanos;
+      suppressed = 0;
+      return decision;
+    }
+  }
+}
@@ -0,0 +1,95 @@
+package com.cerner.beadledom.health.internal;
+
+import com.cerner.beadledom.health.AsyncHealthDependency;
+import com.cerner.beadledom.health.HealthDependency;
+import com.cerner.beadledom.health.HealthStatus;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * The outcome of checking a {@link HealthDependency}: either the returned {@link HealthStatus} or
+ * the exception thrown, when the check completed and how long it took.
+ */
+final class HealthCheckResult {
+  private final HealthStatus status;
+  private final Throwable failure;
+  private final Instant checkedAt;
+  private final long durationNanos;
+
+  private HealthCheckResult(
+      HealthStatus status, Throwable failure, Instant checkedAt, long durationNanos) {
+    this.status = status;
+    this.failure = failure;
+    this.checkedAt = checkedAt;
+    this.durationNanos = durationNanos;
+  }
+
+  /**
+   * Checks the availability of the dependency, capturing any exception thrown by the check.
+   */
+  static HealthCheckResult check(HealthDependency dependency, Clock clock) {
+    long startNanos = System.nanoTime();
+    try {
+      HealthStatus status = dependency.checkAvailability();
+      return new HealthCheckResult(
+          status, null, clock.instant(), System.nanoTime() - startNanos);
+    } catch (Exception e) {
+      return new HealthCheckResult(null, e, clock.instant(), System.nanoTime() - startNanos);
+    }
+  }
+
+  /**
+   * Starts the asynchronous check of the dependency; the returned future completes with the
+   * result, capturing any exception thrown or returned by the check.
+   */
+  static CompletableFuture<HealthCheckResult> checkAsync(
+      AsyncHealthDependency dependency, Clock clock) {
+    long startNanos = System.nanoTime();
+    CompletableFuture<HealthCheckResult> result = new CompletableFuture<>();
+    try {
+      dependency.checkAvailabilityAsync().whenComplete((status, failure) -> {
+        if (failure instanceof CompletionException && failure.getCause() != null) {
+          failure = failure.getCause();
+        }
+        result.complete(new HealthCheckResult(
+            failure == null ? status : null, failure, clock.instant(),
+            System.nanoTime() - startNanos));
+      });
+    } catch (Exception e) {
+      result.complete(
+          new HealthCheckResult(null, e, clock.instant(), System.nanoTime() - startNanos));
+    }
+    return result;
+  }
+
+  /**
+   * Returns the status returned by the check, or null if the check failed with an exception.
+   */
+  HealthStatus getStatus() {
+    return status;
+  }
+
+  /**
+   * Returns the exception the check failed with, or null if the check returned a status.
+   */
+  Throwable getFailure() {
+    return failure;
+  }
+
+  Instant getCheckedAt() {
+    return checkedAt;
+  }
+
+  long getDurationNanos() {
+    return durationNanos;
+  }
+
+  /**
+   * Returns true if the check returned a status in the 2xx range.
+   */
+  boolean isHealthy() {
+    return status != null && status.getStatus() >= 200 && status.getStatus() <= 299;
+  }
+}
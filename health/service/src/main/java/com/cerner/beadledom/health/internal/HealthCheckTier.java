@@ -0,0 +1,18 @@
+package com.cerner.beadledom.health.internal;
+
+/**
+ * The tiers of health checks, each of which is given its own share of the health check executor.
+ */
+enum HealthCheckTier {
+  /**
+   * The primary health check, which checks only the primary dependencies and is typically used by
+   * load balancers.
+   */
+  PRIMARY,
+
+  /**
+   * The diagnostic health check and the availability checks of single dependencies, which check
+   * all dependencies.
+   */
+  DIAGNOSTIC
+}
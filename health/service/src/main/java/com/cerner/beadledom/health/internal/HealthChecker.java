@@ -2,19 +2,31 @@ package com.cerner.beadledom.health.internal;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.cerner.beadledom.health.AsyncHealthDependency;
+import com.cerner.beadledom.health.CircuitBreakerHealthDependency;
+import com.cerner.beadledom.health.HealthCheckConfiguration;
+import com.cerner.beadledom.health.HealthCheckExecutor;
 import com.cerner.beadledom.health.HealthDependency;
 import com.cerner.beadledom.health.HealthStatus;
-import com.cerner.beadledom.health.api.DependenciesResource;
 import com.cerner.beadledom.health.dto.HealthDependencyDto;
+import com.cerner.beadledom.health.dto.HealthDependencyMetricsDto;
 import com.cerner.beadledom.health.dto.HealthDto;
-import com.cerner.beadledom.health.dto.LinksDto;
+import com.cerner.beadledom.health.dto.HealthMetricsDto;
 import com.cerner.beadledom.metadata.ServiceMetadata;
-import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSortedMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Range;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import javax.inject.Inject;
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Response;
@@ -27,56 +39,129 @@ import org.slf4j.LoggerFactory;
  * and dependency availability checks.
  *
  * <p>Health checks are performed by invoking the checkAvailability method of the injected
- * HealthDependency instances.
+ * HealthDependency instances. The dependencies of a health check are checked concurrently on the
+ * {@link HealthCheckExecutor}; each check is bounded by its dependency timeout and the health
+ * check as a whole by the primary or diagnostic deadline of the {@link HealthCheckConfiguration}.
+ * Dependencies that do not complete in time are reported as unhealthy.
+ *
+ * <p>{@link AsyncHealthDependency} instances are checked by invoking their checkAvailabilityAsync
+ * method instead, without occupying a thread of the executor while the check is in progress. The
+ * asynchronous variants of the health checks complete once all of the checks have completed, so
+ * no thread is blocked waiting for them.
+ *
+ * <p>The results of dependencies with a cache TTL are served from the {@link HealthCheckCache};
+ * the dependency DTOs of such dependencies include when the result was checked and its age.
+ *
+ * <p>The stack traces of exceptions that checks fail with are not built unless the dependency DTO
+ * is rendered with a view that includes them, and repeated identical exceptions are logged at most
+ * once per {@link HealthCheckFailureLog#DEFAULT_INTERVAL interval}.
+ *
+ * <p>The outcome and latency of every check are recorded in the {@link HealthMetrics}; the
+ * dependency DTOs of the diagnostic health check include the latency of the dependency's checks,
+ * and the state of the circuit breaker of a {@link CircuitBreakerHealthDependency}.
  */
 public class HealthChecker {
   private static final Logger LOGGER = LoggerFactory.getLogger(HealthChecker.class);
+  private static final HealthCheckFailureLog FAILURE_LOG = new HealthCheckFailureLog(LOGGER);
 
   private final UriInfo uriInfo;
   private final ServiceMetadata serviceMetadata;
-  private final Map<String, HealthDependency> healthDependencies;
+  private final ImmutableSortedMap<String, HealthDependency> healthDependencies;
+  private final List<HealthDependency> primaryDependencies;
+  private final HealthCheckConfiguration configuration;
+  private final HealthCheckCache cache;
+  private final HealthMetrics metrics;
+  private final HealthDependencyLinks links;
 
   @Inject
   HealthChecker(
       UriInfo uriInfo,
       ServiceMetadata serviceMetadata,
-      Map<String, HealthDependency> healthDependencies) {
+      Map<String, HealthDependency> healthDependencies,
+      HealthCheckConfiguration configuration,
+      HealthCheckCache cache,
+      HealthMetrics metrics,
+      HealthDependencyLinks links) {
     this.uriInfo = uriInfo;
     this.serviceMetadata = serviceMetadata;
     this.healthDependencies = ImmutableSortedMap.copyOf(healthDependencies);
+    this.primaryDependencies = primaryDependencies(this.healthDependencies.values());
+    this.configuration = configuration;
+    this.cache = cache;
+    this.metrics = metrics;
+    this.links = links;
   }
 
   /**
    * Performs the Primary Health Check.
    *
-   * <p>The resulting DTO will contain information about the health of all the main dependencies
-   * (currently, all dependencies) as well as an overall status of either 200 (if all dependencies
-   * are healthy) or 503 (if one or more dependencies are unhealthy) and corresponding message.
-   * Other metadata fields on the HealthDto will also be populated.
+   * <p>The resulting DTO will contain information about the health of the primary dependencies
+   * (or all dependencies, if none are marked as primary) as well as an overall status of either
+   * 200 (if all dependencies are healthy) or 503 (if one or more dependencies are unhealthy) and
+   * corresponding message. Other metadata fields on the HealthDto will also be populated.
+   *
+   * <p>The primary health check is bounded by the primary deadline.
    */
   public HealthDto doPrimaryHealthCheck() {
-    // TODO - allow some dependencies to be marked as 'secondary', and skip those here
-    return checkHealth(healthDependencies.values());
+    return doPrimaryHealthCheckAsync().join();
+  }
+
+  /**
+   * Starts the Primary Health Check; see {@link #doPrimaryHealthCheck()}.
+   *
+   * <p>The returned stage completes once every dependency has been checked or has timed out; it
+   * does not complete exceptionally.
+   *
+   * @since 2.7
+   */
+  public CompletableFuture<HealthDto> doPrimaryHealthCheckAsync() {
+    return checkHealth(primaryDependencies, HealthCheckTier.PRIMARY,
+        configuration.getPrimaryDeadline());
   }
 
   /**
    * Performs the Diagnostic Health Check.
    *
-   * <p>Currently the same as the Primary Health Check.
+   * <p>Like the Primary Health Check, but checks all dependencies and is bounded by the diagnostic
+   * deadline.
    */
   public HealthDto doDiagnosticHealthCheck() {
-    return checkHealth(healthDependencies.values());
+    return doDiagnosticHealthCheckAsync().join();
+  }
+
+  /**
+   * Starts the Diagnostic Health Check; see {@link #doDiagnosticHealthCheck()}.
+   *
+   * <p>The returned stage completes once every dependency has been checked or has timed out; it
+   * does not complete exceptionally.
+   *
+   * @since 2.7
+   */
+  public CompletableFuture<HealthDto> doDiagnosticHealthCheckAsync() {
+    return checkHealth(healthDependencies.values(), HealthCheckTier.DIAGNOSTIC,
+        configuration.getDeadline());
   }
 
   /**
    * Returns a list of all health dependencies, but does not check their health.
    */
   public List<HealthDependencyDto> doDependencyListing() {
-    List<HealthDependencyDto> listing = Lists.newArrayList();
+    // The DTOs are created as the list is iterated, so they are streamed as they are written
+    URI baseUri = uriInfo.getBaseUri();
+    return Lists.transform(healthDependencies.values().asList(),
+        dependency -> dependencyDtoBuilder(dependency, baseUri).build());
+  }
+
+  /**
+   * Returns the counts and latency of the checks of all health dependencies, but does not check
+   * their health.
+   */
+  public HealthMetricsDto doDependencyMetrics() {
+    List<HealthDependencyMetricsDto> dependencyMetrics = Lists.newArrayList();
     for (HealthDependency dependency : healthDependencies.values()) {
-      listing.add(dependencyDtoBuilder(dependency).build());
+      dependencyMetrics.add(metrics.toDto(dependency));
     }
-    return listing;
+    return HealthMetricsDto.builder().setDependencies(dependencyMetrics).build();
   }
 
   /**
@@ -87,22 +172,64 @@ public class HealthChecker {
     if (dependency == null) {
       throw new WebApplicationException(Response.status(404).build());
     }
-    return checkDependencyHealth(dependency);
+
+    return checkDependency(dependency, HealthCheckTier.DIAGNOSTIC, cache.timeoutNanos(dependency))
+        .join();
+  }
+
+  /**
+   * Returns the dependencies marked as primary, or all of the dependencies if none are.
+   */
+  private static List<HealthDependency> primaryDependencies(
+      Collection<HealthDependency> dependencies) {
+    List<HealthDependency> primary = Lists.newArrayList();
+    for (HealthDependency dependency : dependencies) {
+      if (Boolean.TRUE.equals(dependency.getPrimary())) {
+        primary.add(dependency);
+      }
+    }
+    return primary.isEmpty()
+        ? ImmutableList.copyOf(dependencies) : ImmutableList.copyOf(primary);
+  }
+
+  private CompletableFuture<HealthDto> checkHealth(
+      Collection<HealthDependency> dependencies, HealthCheckTier tier, Duration deadline) {
+    long deadlineNanos = deadline.toNanos();
+
+    // Start every check before composing them, so the checks run concurrently
+    List<CompletableFuture<HealthDependencyDto>> checks =
+        Lists.newArrayListWithCapacity(dependencies.size());
+    for (HealthDependency dependency : dependencies) {
+      checks.add(checkDependency(
+          dependency, tier, Math.min(cache.timeoutNanos(dependency), deadlineNanos)));
+    }
+
+    return CompletableFuture.allOf(checks.toArray(new CompletableFuture<?>[checks.size()]))
+        .thenApply(ignored -> toHealthDto(dependencies, checks, tier));
   }
 
-  private HealthDto checkHealth(Iterable<HealthDependency> dependencies) {
+  private HealthDto toHealthDto(
+      Collection<HealthDependency> dependencies,
+      List<CompletableFuture<HealthDependencyDto>> checks, HealthCheckTier tier) {
     int status = 200;
     HealthDto.Builder builder = HealthDto.builder(serviceMetadata);
-    List<HealthDependencyDto> dependencyDtos = Lists.newArrayList();
+    List<HealthDependencyDto> dependencyDtos = Lists.newArrayListWithCapacity(dependencies.size());
 
-    // TODO - this might be worth parallelizing in the future
+    int index = 0;
     for (HealthDependency dependency : dependencies) {
-      HealthDependencyDto dependencyDto = checkDependencyHealth(dependency);
+      HealthDependencyDto dependencyDto = checks.get(index++).join();
 
       if (!dependencyDto.isHealthy()) {
         status = 503;
       }
 
+      if (tier == HealthCheckTier.DIAGNOSTIC) {
+        dependencyDto = HealthDependencyDto.builder(dependencyDto)
+            .setLatency(metrics.getLatency(dependency))
+            .setCircuitBreakerState(circuitBreakerState(dependency))
+            .build();
+      }
+
       dependencyDtos.add(dependencyDto);
     }
 
@@ -119,47 +246,100 @@ public class HealthChecker {
     return builder.build();
   }
 
-  private HealthDependencyDto checkDependencyHealth(HealthDependency dependency) {
-    HealthDependencyDto.Builder builder = dependencyDtoBuilder(dependency);
+  private static String circuitBreakerState(HealthDependency dependency) {
+    if (dependency instanceof CircuitBreakerHealthDependency) {
+      return ((CircuitBreakerHealthDependency) dependency).getState().name();
+    }
+    return null;
+  }
+
+  /**
+   * Starts the dependency's check, or retrieves its cached result, and returns a stage that
+   * completes with the resulting dependency DTO once the check completes or times out.
+   *
+   * <p>The links of the DTO are built on the calling thread, as the request scoped
+   * {@link UriInfo} is not available to the threads that complete the checks.
+   */
+  private CompletableFuture<HealthDependencyDto> checkDependency(
+      HealthDependency dependency, HealthCheckTier tier, long timeoutNanos) {
+    HealthDependencyDto.Builder builder = dependencyDtoBuilder(dependency, uriInfo.getBaseUri());
 
+    CompletableFuture<HealthCheckResult> check;
     try {
-      HealthStatus status = dependency.checkAvailability();
-      String message = status.getMessage();
-      builder.setMessage(message);
-      if (status.getException().isPresent()) {
-        LOGGER.error(
-            "Health dependency {} returned an exception", dependency.getName(),
-            status.getException());
-        String stacktrace = Throwables.getStackTraceAsString(status.getException().get());
-        builder.setMessage(new StringBuilder().append(message)
-            .append(' ')
-            .append(stacktrace).toString());
-      }
-      builder.setHealthy(true);
-      if (!Range.closed(200, 299).contains(status.getStatus())) {
-        builder.setHealthy(false);
+      check = cache.check(dependency, tier);
+    } catch (RejectedExecutionException e) {
+      LOGGER.warn("Health dependency {} check was rejected by the executor", dependency.getName());
+      return CompletableFuture.completedFuture(builder.setHealthy(false)
+          .setMessage("Health check of " + dependency.getName()
+              + " was rejected because too many health checks are running")
+          .build());
+    }
+
+    return cache.withTimeout(check, timeoutNanos).handle((result, failure) -> {
+      if (failure != null) {
+        return toFailedDependencyDto(dependency, builder, failure, timeoutNanos);
       }
-    } catch (Exception e) {
-      LOGGER.error("Health dependency {} threw  an exception", dependency.getName(), e);
-      builder.setHealthy(false)
-          .setMessage(Throwables.getStackTraceAsString(e));
+      return toDependencyDto(dependency, builder, result);
+    });
+  }
+
+  private HealthDependencyDto toDependencyDto(
+      HealthDependency dependency, HealthDependencyDto.Builder builder, HealthCheckResult result) {
+    if (cache.isCached(dependency)) {
+      builder.setCheckedDateTime(result.getCheckedAt())
+          .setAgeMillis(Math.max(
+              Duration.between(result.getCheckedAt(), cache.getClock().instant()).toMillis(), 0));
+    }
+
+    if (result.getFailure() != null) {
+      FAILURE_LOG.logThrown(dependency.getName(), result.getFailure());
+      return builder.setHealthy(false)
+          .setMessage(result.getFailure().toString())
+          .setException(result.getFailure())
+          .build();
     }
 
+    HealthStatus status = result.getStatus();
+    builder.setMessage(status.getMessage());
+    if (status.getException().isPresent()) {
+      FAILURE_LOG.logReturned(dependency.getName(), status.getException().get());
+      builder.setException(status.getException().get());
+    }
+    builder.setHealthy(true);
+    if (!Range.closed(200, 299).contains(status.getStatus())) {
+      builder.setHealthy(false);
+    }
     return builder.build();
   }
 
-  private HealthDependencyDto.Builder dependencyDtoBuilder(HealthDependency dependency) {
+  private HealthDependencyDto toFailedDependencyDto(
+      HealthDependency dependency, HealthDependencyDto.Builder builder, Throwable failure,
+      long timeoutNanos) {
+    if (failure instanceof TimeoutException) {
+      LOGGER.error("Health dependency {} timed out after {} ms", dependency.getName(),
+          TimeUnit.NANOSECONDS.toMillis(timeoutNanos));
+      return builder.setHealthy(false)
+          .setMessage("Health check of " + dependency.getName() + " timed out after "
+              + TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + " ms")
+          .build();
+    }
+
+    // Only possible if the check failed with an Error, as exceptions are captured in the result
+    Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+        ? failure.getCause() : failure;
+    FAILURE_LOG.logThrown(dependency.getName(), cause);
+    return builder.setHealthy(false)
+        .setMessage(cause.toString())
+        .setException(cause)
+        .build();
+  }
+
+  private HealthDependencyDto.Builder dependencyDtoBuilder(
+      HealthDependency dependency, URI baseUri) {
     HealthDependencyDto.Builder dto = HealthDependencyDto.builder()
         .setPrimary(dependency.getPrimary())
         .setId(dependency.getName())
-        .setLinks(LinksDto.builder()
-            .setSelf(
-                uriInfo.getBaseUriBuilder()
-                    .path(DependenciesResource.class)
-                    .path(dependency.getName())
-                    .build()
-                    .toString())
-            .build());
+        .setLinks(links.get(baseUri, dependency.getName()));
 
     if (dependency.getDescription().isPresent()) {
       dto.setName(dependency.getDescription().get());
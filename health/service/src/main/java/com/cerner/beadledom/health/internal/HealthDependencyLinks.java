@@ -0,0 +1,60 @@
+package com.cerner.beadledom.health.internal;
+
+import com.cerner.beadledom.health.api.DependenciesResource;
+import com.cerner.beadledom.health.dto.LinksDto;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import java.net.URI;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.ws.rs.core.UriBuilder;
+
+/**
+ * Builds the links of health dependency DTOs.
+ *
+ * <p>The URI of the {@link DependenciesResource} is built once per base URI of the service, and the
+ * links of each dependency once per base URI, so the links are not rebuilt for every dependency of
+ * every health check. Only the links of a limited number of base URIs are kept; a service is
+ * normally reached through only a few.
+ */
+public class HealthDependencyLinks {
+  private static final int MAXIMUM_BASE_URIS = 16;
+
+  private final LoadingCache<URI, BaseUriLinks> linksByBaseUri = CacheBuilder.newBuilder()
+      .maximumSize(MAXIMUM_BASE_URIS)
+      .build(new CacheLoader<URI, BaseUriLinks>() {
+        @Override
+        public BaseUriLinks load(URI baseUri) {
+          return new BaseUriLinks(UriBuilder.fromUri(baseUri)
+              .path(DependenciesResource.class)
+              .build());
+        }
+      });
+
+  /**
+   * Returns the links of the named dependency for the given base URI.
+   */
+  LinksDto get(URI baseUri, String dependencyName) {
+    return linksByBaseUri.getUnchecked(baseUri).get(dependencyName);
+  }
+
+  private static class BaseUriLinks {
+    private final URI dependenciesUri;
+    private final ConcurrentMap<String, LinksDto> linksByName = new ConcurrentHashMap<>();
+
+    BaseUriLinks(URI dependenciesUri) {
+      this.dependenciesUri = dependenciesUri;
+    }
+
+    LinksDto get(String dependencyName) {
+      LinksDto links = linksByName.get(dependencyName);
+      if (links == null) {
+        links = linksByName.computeIfAbsent(dependencyName, name -> LinksDto.builder()
+            .setSelf(UriBuilder.fromUri(dependenciesUri).path(name).build().toString())
+            .build());
+      }
+      return links;
+    }
+  }
+}
@@ -0,0 +1,67 @@
+package com.cerner.beadledom.health.internal;
+
+import com.cerner.beadledom.health.dto.HealthDependencyMetricsDto;
+import com.cerner.beadledom.health.dto.LatencyDto;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The counts and latency of the checks of a single dependency.
+ */
+final class HealthDependencyMetrics {
+  private final LatencyHistogram latency = new LatencyHistogram();
+  private final LongAdder successes = new LongAdder();
+  private final LongAdder failures = new LongAdder();
+  private final LongAdder timeouts = new LongAdder();
+  private volatile long lastMicros;
+
+  void recordCheck(HealthCheckResult result) {
+    recordLatency(result);
+    if (result.isHealthy()) {
+      successes.increment();
+    } else {
+      failures.increment();
+    }
+  }
+
+  void recordLatency(HealthCheckResult result) {
+    long micros = TimeUnit.NANOSECONDS.toMicros(result.getDurationNanos());
+    latency.record(micros);
+    lastMicros = micros;
+  }
+
+  void recordTimeout() {
+    timeouts.increment();
+  }
+
+  /**
+   * Returns the latency of the completed checks, or null if the dependency has not been checked.
+   */
+  LatencyDto toLatencyDto() {
+    LatencyHistogram.Snapshot snapshot = latency.snapshot();
+    if (snapshot.getTotalCount() == 0) {
+      return null;
+    }
+
+    return LatencyDto.builder()
+        .setCount(snapshot.getTotalCount())
+        .setP50Millis(toMillis(snapshot.getValueAtPercentile(50)))
+        .setP99Millis(toMillis(snapshot.getValueAtPercentile(99)))
+        .setLastMillis(toMillis(lastMicros))
+        .build();
+  }
+
+  HealthDependencyMetricsDto toDto(String id) {
+    return HealthDependencyMetricsDto.builder()
+        .setId(id)
+        .setSuccessCount(successes.sum())
+        .setFailureCount(failures.sum())
+        .setTimeoutCount(timeouts.sum())
+        .setLatency(toLatencyDto())
+        .build();
+  }
+
+  private static double toMillis(long micros) {
+    return micros / 1000.0;
+  }
+}
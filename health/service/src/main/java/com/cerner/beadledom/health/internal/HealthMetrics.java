@@ -0,0 +1,56 @@
+package com.cerner.beadledom.health.internal;
+
+import com.cerner.beadledom.health.HealthDependency;
+import com.cerner.beadledom.health.dto.HealthDependencyMetricsDto;
+import com.cerner.beadledom.health.dto.LatencyDto;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.inject.Inject;
+
+/**
+ * Records the outcome and latency of every {@link HealthDependency} check.
+ *
+ * <p>The latency of each dependency is recorded in a lock-free histogram of the last 5 to 10
+ * minutes, along with counts of the checks that succeeded, failed and timed out since the service
+ * started. Results served from the {@link HealthCheckCache} are not recorded again, and a check
+ * that timed out is counted as a timeout only, however many health checks waited for it.
+ */
+public class HealthMetrics {
+  private final ConcurrentMap<String, HealthDependencyMetrics> dependencies =
+      new ConcurrentHashMap<>();
+
+  @Inject
+  HealthMetrics() {
+  }
+
+  void recordCheck(HealthDependency dependency, HealthCheckResult result) {
+    metrics(dependency.getName()).recordCheck(result);
+  }
+
+  void recordLatency(HealthDependency dependency, HealthCheckResult result) {
+    metrics(dependency.getName()).recordLatency(result);
+  }
+
+  void recordTimeout(HealthDependency dependency) {
+    metrics(dependency.getName()).recordTimeout();
+  }
+
+  /**
+   * Returns the latency of the dependency's completed checks, or null if it has not been checked.
+   */
+  LatencyDto getLatency(HealthDependency dependency) {
+    HealthDependencyMetrics metrics = dependencies.get(dependency.getName());
+    return metrics == null ? null : metrics.toLatencyDto();
+  }
+
+  HealthDependencyMetricsDto toDto(HealthDependency dependency) {
+    return metrics(dependency.getName()).toDto(dependency.getName());
+  }
+
+  private HealthDependencyMetrics metrics(String name) {
+    // Avoid computeIfAbsent for existing dependencies, as it locks in Java 8
+    HealthDependencyMetrics metrics = dependencies.get(name);
+    return metrics != null
+        ? metrics : dependencies.computeIfAbsent(name, n -> new HealthDependencyMetrics());
+  }
+}
@@ -0,0 +1,107 @@
+package com.cerner.beadledom.health.internal;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.cerner.beadledom.jaxrs.StreamingWriterOutput;
+import com.github.mustachejava.Mustache;
+import com.github.mustachejava.MustacheFactory;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.ws.rs.core.StreamingOutput;
+
+/**
+ * An immutable registry of the compiled health check templates.
+ *
+ * <p>All templates are compiled when the registry is created, so rendering a template never
+ * compiles it or looks it up in the {@link MustacheFactory}'s cache.
+ *
+ * <p>Templates are streamed to the response by default. When buffered rendering is enabled, a
+ * template is rendered into a buffer pre-sized to the largest previous rendering of that template
+ * before the response is written, so rendering errors result in an error response rather than a
+ * truncated page.
+ */
+public class HealthTemplates {
+  public static final String BASIC_AVAILABILITY = "basic_availability.mustache";
+  public static final String DEPENDENCY_AVAILABILITY = "dependency_availability.mustache";
+  public static final String DEPENDENCY_LISTING = "dependency_listing.mustache";
+  public static final String DIAGNOSTIC_HEALTH = "diagnostic_health.mustache";
+  public static final String PRIMARY_HEALTH = "primary_health.mustache";
+  public static final String VERSION = "version.mustache";
+
+  private static final ImmutableList<String> TEMPLATE_NAMES = ImmutableList.of(
+      BASIC_AVAILABILITY, DEPENDENCY_AVAILABILITY, DEPENDENCY_LISTING, DIAGNOSTIC_HEALTH,
+      PRIMARY_HEALTH, VERSION);
+  private static final int INITIAL_BUFFER_SIZE = 4096;
+
+  private final ImmutableMap<String, Template> templates;
+  private final boolean buffered;
+
+  /**
+   * Creates a new {@code HealthTemplates} that streams rendered templates.
+   *
+   * @param mustacheFactory the factory used to compile the templates
+   */
+  public HealthTemplates(MustacheFactory mustacheFactory) {
+    this(mustacheFactory, false);
+  }
+
+  /**
+   * Creates a new {@code HealthTemplates}.
+   *
+   * @param mustacheFactory the factory used to compile the templates
+   * @param buffered true to render templates into a pre-sized buffer before writing them, false
+   *     to stream rendered templates
+   */
+  public HealthTemplates(MustacheFactory mustacheFactory, boolean buffered) {
+    checkNotNull(mustacheFactory, "mustacheFactory:null");
+
+    ImmutableMap.Builder<String, Template> builder = ImmutableMap.builder();
+    for (String name : TEMPLATE_NAMES) {
+      builder.put(name, new Template(mustacheFactory.compile(name)));
+    }
+    this.templates = builder.build();
+    this.buffered = buffered;
+  }
+
+  /**
+   * Returns the output of rendering the named template with the given scope.
+   *
+   * @param name the name of the template; one of the template name constants of this class
+   * @param scope the object that provides the values of the template
+   * @throws IllegalArgumentException if the template does not exist
+   */
+  public StreamingOutput render(String name, Object scope) {
+    Template template = templates.get(name);
+    checkArgument(template != null, "Unknown health template: %s", name);
+
+    if (!buffered) {
+      return StreamingWriterOutput.with(writer -> template.mustache.execute(writer, scope));
+    }
+
+    byte[] rendered = template.renderToBytes(scope);
+    return output -> output.write(rendered);
+  }
+
+  private static class Template {
+    private final Mustache mustache;
+    // The size of the largest rendering of the template, used to pre-size render buffers
+    private final AtomicInteger sizeHint = new AtomicInteger(INITIAL_BUFFER_SIZE);
+
+    Template(Mustache mustache) {
+      this.mustache = mustache;
+    }
+
+    byte[] renderToBytes(Object scope) {
+      StringWriter writer = new StringWriter(sizeHint.get());
+      mustache.execute(writer, scope);
+
+      String rendered = writer.toString();
+      sizeHint.accumulateAndGet(rendered.length(), Math::max);
+      return rendered.getBytes(StandardCharsets.UTF_8);
+    }
+  }
+}
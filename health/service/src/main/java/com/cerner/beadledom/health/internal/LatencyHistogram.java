@@ -0,0 +1,156 @@
+package com.cerner.beadledom.health.internal;
+
+import com.google.common.base.Ticker;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of durations in microseconds, with log-linear buckets in the style of
+ * HdrHistogram.
+ *
+ * <p>Durations below 16 microseconds are recorded exactly; larger durations are recorded in one of
+ * 16 buckets per power of two, so reported percentiles are within about 6% of the recorded
+ * durations. Durations above an hour are recorded as an hour.
+ *
+ * <p>Only recent durations are reported. Durations are recorded in the current of two interval
+ * histograms; once the current histogram is an interval old it becomes the previous histogram and
+ * a new current histogram is started. Snapshots include both, so they cover between one and two
+ * of the most recent intervals, 5 minutes by default.
+ *
+ * <p>Recording is a single atomic increment and never blocks, except for the rare swap of the
+ * histograms at the end of an interval, so it is safe to record from many threads at once; a
+ * snapshot taken while durations are being recorded may not include them all.
+ */
+final class LatencyHistogram {
+  static final long DEFAULT_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+  private static final int SUB_BUCKET_BITS = 4;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final long MAXIMUM_MICROS = TimeUnit.HOURS.toMicros(1);
+  private static final int BUCKET_COUNT = bucketIndex(MAXIMUM_MICROS) + 1;
+
+  private final long intervalNanos;
+  private final Ticker ticker;
+  private volatile Interval current;
+  private volatile Interval previous;
+
+  LatencyHistogram() {
+    this(DEFAULT_INTERVAL_NANOS, Ticker.systemTicker());
+  }
+
+  LatencyHistogram(long intervalNanos, Ticker ticker) {
+    this.intervalNanos = intervalNanos;
+    this.ticker = ticker;
+    this.current = new Interval(ticker.read());
+    this.previous = new Interval(current.startNanos - intervalNanos);
+  }
+
+  /**
+   * Records a duration; negative durations are recorded as zero.
+   */
+  void record(long micros) {
+    currentInterval().counts.incrementAndGet(
+        bucketIndex(Math.min(Math.max(micros, 0), MAXIMUM_MICROS)));
+  }
+
+  /**
+   * Returns a snapshot of the durations recorded in the current and previous intervals.
+   */
+  Snapshot snapshot() {
+    Interval latest = currentInterval();
+    Interval earlier = previous;
+    long[] snapshot = new long[BUCKET_COUNT];
+    long total = 0;
+    for (int i = 0; i < snapshot.length; i++) {
+      snapshot[i] = latest.counts.get(i) + earlier.counts.get(i);
+      total += snapshot[i];
+    }
+    return new Snapshot(snapshot, total);
+  }
+
+  private Interval currentInterval() {
+    Interval interval = current;
+    long now = ticker.read();
+    return now - interval.startNanos < intervalNanos ? interval : rotate(now);
+  }
+
+  private synchronized Interval rotate(long now) {
+    Interval interval = current;
+    long elapsedNanos = now - interval.startNanos;
+    if (elapsedNanos < intervalNanos) {
+      // Another thread rotated the intervals
+      return interval;
+    }
+
+    // After an idle interval the current histogram is too old to be reported
+    previous = elapsedNanos < 2 * intervalNanos ? interval : new Interval(now - intervalNanos);
+    current = new Interval(now);
+    return current;
+  }
+
+  static int bucketIndex(long micros) {
+    if (micros < SUB_BUCKETS) {
+      return (int) micros;
+    }
+
+    // The position of the highest bit selects the power of two, the next bits the sub-bucket
+    int shift = 63 - Long.numberOfLeadingZeros(micros) - SUB_BUCKET_BITS;
+    int subBucket = (int) (micros >>> shift) - SUB_BUCKETS;
+    return SUB_BUCKETS + shift * SUB_BUCKETS + subBucket;
+  }
+
+  static long highestValueInBucket(int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+
+    int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+    long subBucket = (index - SUB_BUCKETS) % SUB_BUCKETS;
+    return ((SUB_BUCKETS + subBucket + 1) << shift) - 1;
+  }
+
+  /**
+   * The counts of the durations recorded in a single interval.
+   */
+  private static final class Interval {
+    private final long startNanos;
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+    private Interval(long startNanos) {
+      this.startNanos = startNanos;
+    }
+  }
+
+  /**
+   * An immutable snapshot of a {@link LatencyHistogram}.
+   */
+  static final class Snapshot {
+    private final long[] counts;
+    private final long totalCount;
+
+    private Snapshot(long[] counts, long totalCount) {
+      this.counts = counts;
+      this.totalCount = totalCount;
+    }
+
+    long getTotalCount() {
+      return totalCount;
+    }
+
+    /**
+     * Returns the duration in microseconds that the given percentage of the recorded durations
+     * are less than or equal to, or 0 if no durations were recorded.
+     */
+    long getValueAtPercentile(double percentile) {
+      long target = Math.max((long) Math.ceil(percentile / 100 * totalCount), 1);
+      long cumulative = 0;
+      for (int i = 0; i < counts.length; i++) {
+        cumulative += counts[i];
+        if (cumulative >= target) {
+          return highestValueInBucket(i);
+        }
+      }
+      return 0;
+    }
+  }
+}
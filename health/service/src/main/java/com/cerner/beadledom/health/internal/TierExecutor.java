@@ -0,0 +1,59 @@
+package com.cerner.beadledom.health.internal;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * An {@link Executor} that limits the number of tasks a tier of health checks may have queued or
+ * running on the shared health check executor.
+ *
+ * <p>Tasks submitted beyond the limit are rejected rather than queued, so a burst of checks in one
+ * tier cannot occupy all of the shared executor's threads and delay the checks of another tier.
+ */
+final class TierExecutor implements Executor {
+  private final Executor delegate;
+  private final Semaphore permits;
+
+  TierExecutor(Executor delegate, int maximumConcurrentChecks) {
+    checkArgument(maximumConcurrentChecks > 0,
+        "maximumConcurrentChecks: %s must be positive", maximumConcurrentChecks);
+    this.delegate = delegate;
+    this.permits = new Semaphore(maximumConcurrentChecks);
+  }
+
+  /**
+   * Executes the task on the delegate executor.
+   *
+   * @throws RejectedExecutionException if the tier's limit is reached or the delegate executor
+   *     rejected the task
+   */
+  @Override
+  public void execute(Runnable task) {
+    if (!permits.tryAcquire()) {
+      throw new RejectedExecutionException("Too many health checks are running in this tier");
+    }
+
+    try {
+      delegate.execute(() -> {
+        try {
+          task.run();
+        } finally {
+          permits.release();
+        }
+      });
+    } catch (RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  /**
+   * Returns the number of additional tasks that may currently be executed.
+   */
+  int availablePermits() {
+    return permits.availablePermits();
+  }
+}
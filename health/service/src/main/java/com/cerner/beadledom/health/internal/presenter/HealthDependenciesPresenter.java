@@ -3,9 +3,9 @@ package com.cerner.beadledom.health.internal.presenter;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.cerner.beadledom.health.dto.HealthDependenciesDto;
+import com.google.common.collect.Lists;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Wraps a HealthDependenciesDto to add methods needed by the HTML views.
@@ -23,10 +23,9 @@ public class HealthDependenciesPresenter {
   }
 
   /**
-   * Returns the list of dependencies, wrapped with HealthDependencyPresenter.
+   * Returns the list of dependencies, wrapped with HealthDependencyPresenter as they are rendered.
    */
   public List<HealthDependencyPresenter> getDependencies() {
-    return dto.getDependencies().stream()
-        .map(HealthDependencyPresenter::new).collect(Collectors.toList());
+    return Lists.transform(dto.getDependencies(), HealthDependencyPresenter::new);
   }
 }
@@ -39,6 +39,21 @@ public class HealthDependencyPresenter {
     return dto.getMessage();
   }
 
+  /**
+   * Returns the stack trace of the exception the dependency's check failed with, or null if there
+   * is none.
+   */
+  public String getStackTrace() {
+    return dto.getStackTrace().orElse(null);
+  }
+
+  /**
+   * Returns the state of the dependency's circuit breaker from the DTO, if it has one.
+   */
+  public Optional<String> getCircuitBreakerState() {
+    return dto.getCircuitBreakerState();
+  }
+
   /**
    * Returns a CSS class indicating whether the dependency is healthy ("healthy") or not
    * ("unhealthy").
@@ -4,6 +4,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.cerner.beadledom.health.dto.HealthDependencyDto;
 import com.cerner.beadledom.health.dto.HealthDto;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 
 import java.util.List;
@@ -23,16 +24,11 @@ public class HealthPresenter {
   }
 
   /**
-   * Returns the list of dependencies, wrapped with HealthDependencyPresenter.
+   * Returns the list of dependencies, wrapped with HealthDependencyPresenter as they are rendered.
    */
   public List<HealthDependencyPresenter> getDependencies() {
-    List<HealthDependencyPresenter> dependencies = Lists.newArrayList();
-    if (dto.getDependencies().isPresent()) {
-      for (HealthDependencyDto dependencyDto : dto.getDependencies().get()) {
-        dependencies.add(new HealthDependencyPresenter(dependencyDto));
-      }
-    }
-    return dependencies;
+    List<HealthDependencyDto> dependencies = dto.getDependencies().orElse(ImmutableList.of());
+    return Lists.transform(dependencies, HealthDependencyPresenter::new);
   }
 
   /**
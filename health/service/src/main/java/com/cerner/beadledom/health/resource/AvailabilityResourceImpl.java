@@ -2,10 +2,8 @@ package com.cerner.beadledom.health.resource;
 
 import com.cerner.beadledom.health.api.AvailabilityResource;
 import com.cerner.beadledom.health.dto.HealthDto;
-import com.cerner.beadledom.health.internal.HealthTemplateFactory;
-import com.cerner.beadledom.jaxrs.StreamingWriterOutput;
+import com.cerner.beadledom.health.internal.HealthTemplates;
 import com.cerner.beadledom.metadata.ServiceMetadata;
-import com.github.mustachejava.MustacheFactory;
 
 import javax.inject.Inject;
 import javax.ws.rs.core.StreamingOutput;
@@ -20,15 +18,13 @@ public class AvailabilityResourceImpl implements AvailabilityResource {
   @Inject
   AvailabilityResourceImpl(
       ServiceMetadata serviceMetadata,
-      @HealthTemplateFactory MustacheFactory mustacheFactory) {
+      HealthTemplates templates) {
     healthDto = HealthDto.builder()
         .setMessage(serviceMetadata.getBuildInfo().getArtifactId() + " is available")
         .setStatus(200)
         .build();
 
-    healthHtmlOutput = StreamingWriterOutput
-        .with(writer -> mustacheFactory.compile("basic_availability.mustache")
-            .execute(writer, healthDto));
+    healthHtmlOutput = templates.render(HealthTemplates.BASIC_AVAILABILITY, healthDto);
   }
 
   @Override
@@ -4,12 +4,9 @@ import com.cerner.beadledom.health.api.DependenciesResource;
 import com.cerner.beadledom.health.dto.HealthDependenciesDto;
 import com.cerner.beadledom.health.dto.HealthDependencyDto;
 import com.cerner.beadledom.health.internal.HealthChecker;
-import com.cerner.beadledom.health.internal.HealthTemplateFactory;
+import com.cerner.beadledom.health.internal.HealthTemplates;
 import com.cerner.beadledom.health.internal.presenter.HealthDependenciesPresenter;
 import com.cerner.beadledom.health.internal.presenter.HealthDependencyPresenter;
-import com.cerner.beadledom.jaxrs.StreamingWriterOutput;
-import com.github.mustachejava.Mustache;
-import com.github.mustachejava.MustacheFactory;
 import com.google.inject.Inject;
 
 import java.util.List;
@@ -21,13 +18,12 @@ import javax.ws.rs.core.StreamingOutput;
  */
 public class DependenciesResourceImpl implements DependenciesResource {
   private final HealthChecker checker;
-  private final MustacheFactory mustacheFactory;
+  private final HealthTemplates templates;
 
   @Inject
-  DependenciesResourceImpl(
-      HealthChecker checker, @HealthTemplateFactory MustacheFactory mustacheFactory) {
+  DependenciesResourceImpl(HealthChecker checker, HealthTemplates templates) {
     this.checker = checker;
-    this.mustacheFactory = mustacheFactory;
+    this.templates = templates;
   }
 
   @Override
@@ -35,9 +31,8 @@ public class DependenciesResourceImpl implements DependenciesResource {
     HealthDependenciesDto dto = HealthDependenciesDto.builder()
         .setDependencies(checker.doDependencyListing())
         .build();
-    Mustache mustache = mustacheFactory.compile("dependency_listing.mustache");
-    return StreamingWriterOutput
-        .with(writer -> mustache.execute(writer, new HealthDependenciesPresenter(dto)));
+    return templates.render(
+        HealthTemplates.DEPENDENCY_LISTING, new HealthDependenciesPresenter(dto));
   }
 
   @Override
@@ -48,11 +43,10 @@ public class DependenciesResourceImpl implements DependenciesResource {
   @Override
   public Response getDependencyAvailabilityCheckHtml(String name) {
     HealthDependencyDto dto = checker.doDependencyAvailabilityCheck(name);
-    Mustache mustache = mustacheFactory.compile("dependency_availability.mustache");
     Integer status = returnStatus(dto);
     return Response.status(status)
-        .entity(StreamingWriterOutput
-            .with(writer -> mustache.execute(writer, new HealthDependencyPresenter(dto))))
+        .entity(templates.render(
+            HealthTemplates.DEPENDENCY_AVAILABILITY, new HealthDependencyPresenter(dto)))
         .build();
   }
 
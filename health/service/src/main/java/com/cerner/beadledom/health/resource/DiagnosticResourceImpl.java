@@ -1,44 +1,53 @@
 package com.cerner.beadledom.health.resource;
 
 import com.cerner.beadledom.health.api.DiagnosticResource;
-import com.cerner.beadledom.health.dto.HealthDto;
 import com.cerner.beadledom.health.internal.HealthChecker;
-import com.cerner.beadledom.health.internal.HealthTemplateFactory;
+import com.cerner.beadledom.health.internal.HealthTemplates;
 import com.cerner.beadledom.health.internal.presenter.HealthPresenter;
-import com.cerner.beadledom.jaxrs.StreamingWriterOutput;
-import com.github.mustachejava.Mustache;
-import com.github.mustachejava.MustacheFactory;
 
 import javax.inject.Inject;
+import javax.ws.rs.container.AsyncResponse;
 import javax.ws.rs.core.Response;
 
 /**
  *  Diagnostic health check resource.
+ *
+ *  <p>The responses are resumed once the health check completes, so no request thread is blocked
+ *  while the dependencies are checked.
  */
 public class DiagnosticResourceImpl implements DiagnosticResource {
   private final HealthChecker checker;
-  private final MustacheFactory mustacheFactory;
+  private final HealthTemplates templates;
 
   @Inject
-  DiagnosticResourceImpl(
-      HealthChecker checker, @HealthTemplateFactory MustacheFactory mustacheFactory) {
+  DiagnosticResourceImpl(HealthChecker checker, HealthTemplates templates) {
     this.checker = checker;
-    this.mustacheFactory = mustacheFactory;
+    this.templates = templates;
   }
 
   @Override
-  public Response getDiagnosticHealthCheckHtml() {
-    HealthDto dto = checker.doDiagnosticHealthCheck();
-    Mustache mustache = mustacheFactory.compile("diagnostic_health.mustache");
-    return Response.status(dto.getStatus())
-        .entity(StreamingWriterOutput
-            .with(writer -> mustache.execute(writer, new HealthPresenter(dto))))
-        .build();
+  public void getDiagnosticHealthCheckHtml(AsyncResponse asyncResponse) {
+    checker.doDiagnosticHealthCheckAsync().whenComplete((dto, failure) -> {
+      if (failure != null) {
+        asyncResponse.resume(failure);
+        return;
+      }
+
+      asyncResponse.resume(Response.status(dto.getStatus())
+          .entity(templates.render(HealthTemplates.DIAGNOSTIC_HEALTH, new HealthPresenter(dto)))
+          .build());
+    });
   }
 
   @Override
-  public Response getDiagnosticHealthCheck() {
-    HealthDto dto = checker.doDiagnosticHealthCheck();
-    return Response.status(dto.getStatus()).entity(dto).build();
+  public void getDiagnosticHealthCheck(AsyncResponse asyncResponse) {
+    checker.doDiagnosticHealthCheckAsync().whenComplete((dto, failure) -> {
+      if (failure != null) {
+        asyncResponse.resume(failure);
+        return;
+      }
+
+      asyncResponse.resume(Response.status(dto.getStatus()).entity(dto).build());
+    });
   }
 }
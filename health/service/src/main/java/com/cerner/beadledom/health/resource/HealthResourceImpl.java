@@ -1,44 +1,53 @@
 package com.cerner.beadledom.health.resource;
 
 import com.cerner.beadledom.health.api.HealthResource;
-import com.cerner.beadledom.health.dto.HealthDto;
 import com.cerner.beadledom.health.internal.HealthChecker;
-import com.cerner.beadledom.health.internal.HealthTemplateFactory;
+import com.cerner.beadledom.health.internal.HealthTemplates;
 import com.cerner.beadledom.health.internal.presenter.HealthPresenter;
-import com.cerner.beadledom.jaxrs.StreamingWriterOutput;
-import com.github.mustachejava.Mustache;
-import com.github.mustachejava.MustacheFactory;
 
 import javax.inject.Inject;
+import javax.ws.rs.container.AsyncResponse;
 import javax.ws.rs.core.Response;
 
 /**
  *  Primary health check resource.
+ *
+ *  <p>The responses are resumed once the health check completes, so no request thread is blocked
+ *  while the dependencies are checked.
  */
 public class HealthResourceImpl implements HealthResource {
   private final HealthChecker checker;
-  private final MustacheFactory mustacheFactory;
+  private final HealthTemplates templates;
 
   @Inject
-  HealthResourceImpl(
-      HealthChecker checker, @HealthTemplateFactory MustacheFactory mustacheFactory) {
+  HealthResourceImpl(HealthChecker checker, HealthTemplates templates) {
     this.checker = checker;
-    this.mustacheFactory = mustacheFactory;
+    this.templates = templates;
   }
 
   @Override
-  public Response getPrimaryHealthCheckHtml() {
-    HealthDto dto = checker.doPrimaryHealthCheck();
-    Mustache mustache = mustacheFactory.compile("primary_health.mustache");
-    return Response.status(dto.getStatus())
-        .entity(
-            StreamingWriterOutput.with(writer -> mustache.execute(writer, new HealthPresenter(dto))))
-        .build();
+  public void getPrimaryHealthCheckHtml(AsyncResponse asyncResponse) {
+    checker.doPrimaryHealthCheckAsync().whenComplete((dto, failure) -> {
+      if (failure != null) {
+        asyncResponse.resume(failure);
+        return;
+      }
+
+      asyncResponse.resume(Response.status(dto.getStatus())
+          .entity(templates.render(HealthTemplates.PRIMARY_HEALTH, new HealthPresenter(dto)))
+          .build());
+    });
   }
 
   @Override
-  public Response getPrimaryHealthCheck() {
-    HealthDto dto = checker.doPrimaryHealthCheck();
-    return Response.status(dto.getStatus()).entity(dto).build();
+  public void getPrimaryHealthCheck(AsyncResponse asyncResponse) {
+    checker.doPrimaryHealthCheckAsync().whenComplete((dto, failure) -> {
+      if (failure != null) {
+        asyncResponse.resume(failure);
+        return;
+      }
+
+      asyncResponse.resume(Response.status(dto.getStatus()).entity(dto).build());
+    });
   }
 }
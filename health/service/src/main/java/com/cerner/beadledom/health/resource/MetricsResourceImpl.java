@@ -0,0 +1,26 @@
+package com.cerner.beadledom.health.resource;
+
+import com.cerner.beadledom.health.api.MetricsResource;
+import com.cerner.beadledom.health.dto.HealthMetricsDto;
+import com.cerner.beadledom.health.internal.HealthChecker;
+
+import javax.inject.Inject;
+
+/**
+ *  Health check metrics resource.
+ *
+ *  @since 2.7
+ */
+public class MetricsResourceImpl implements MetricsResource {
+  private final HealthChecker checker;
+
+  @Inject
+  MetricsResourceImpl(HealthChecker checker) {
+    this.checker = checker;
+  }
+
+  @Override
+  public HealthMetricsDto getDependencyMetrics() {
+    return checker.doDependencyMetrics();
+  }
+}
@@ -2,13 +2,11 @@ package com.cerner.beadledom.health.resource;
 
 import com.cerner.beadledom.health.api.VersionResource;
 import com.cerner.beadledom.health.dto.BuildDto;
-import com.cerner.beadledom.health.internal.HealthTemplateFactory;
+import com.cerner.beadledom.health.internal.HealthTemplates;
 import com.cerner.beadledom.health.internal.presenter.BuildPresenter;
-import com.cerner.beadledom.jaxrs.StreamingWriterOutput;
 import com.cerner.beadledom.metadata.BuildInfo;
 import com.cerner.beadledom.metadata.ServiceMetadata;
 
-import com.github.mustachejava.MustacheFactory;
 import com.google.inject.Inject;
 
 import javax.ws.rs.core.StreamingOutput;
@@ -25,7 +23,7 @@ public class VersionResourceImpl implements VersionResource {
   @Inject
   VersionResourceImpl(
       ServiceMetadata serviceMetadata,
-      @HealthTemplateFactory MustacheFactory mustacheFactory) {
+      HealthTemplates templates) {
 
     BuildInfo buildInfo = serviceMetadata.getBuildInfo();
 
@@ -38,10 +36,7 @@ public class VersionResourceImpl implements VersionResource {
 
     buildDto = buildInfoBuilder.build();
 
-    healthHtmlOutput = StreamingWriterOutput
-        .with(writer -> mustacheFactory
-            .compile("version.mustache")
-            .execute(writer, new BuildPresenter(buildDto)));
+    healthHtmlOutput = templates.render(HealthTemplates.VERSION, new BuildPresenter(buildDto));
   }
 
   @Override
@@ -0,0 +1,209 @@
+package com.cerner.beadledom.health
+
+import java.time.{Clock, Duration, Instant, ZoneId, ZoneOffset}
+import com.google.common.util.concurrent.Uninterruptibles
+import java.util.Optional
+import java.util.concurrent.{CountDownLatch, TimeUnit}
+import org.scalatest.{FunSpec, MustMatchers}
+
+/**
+ * Spec tests for CircuitBreakerHealthDependency.
+ */
+class CircuitBreakerHealthDependencySpec extends FunSpec with MustMatchers {
+  class TestClock extends Clock {
+    var now: Instant = Instant.parse("2016-02-03T04:05:06Z")
+
+    override def getZone: ZoneId = ZoneOffset.UTC
+
+    override def withZone(zone: ZoneId): Clock = this
+
+    override def instant(): Instant = now
+
+    def advance(duration: Duration): Unit = now = now.plus(duration)
+  }
+
+  class ToggledDependency extends HealthDependency {
+    var status: HealthStatus = HealthStatus.create(503, "alpha is unavailable")
+    var checks = 0
+
+    override def getName: String = "alpha"
+
+    override def getDescription: Optional[String] = Optional.of("the first dependency")
+
+    override def getTimeout: Optional[Duration] = Optional.of(Duration.ofSeconds(1))
+
+    override def checkAvailability(): HealthStatus = {
+      checks += 1
+      status
+    }
+  }
+
+  def newCircuitBreaker(dependency: HealthDependency, clock: Clock) =
+    CircuitBreakerHealthDependency.builder(dependency)
+        .setFailureThreshold(3)
+        .setOpenDuration(Duration.ofSeconds(30))
+        .setClock(clock)
+        .build()
+
+  describe("CircuitBreakerHealthDependency") {
+    it("delegates the properties of the dependency") {
+      val dependency = new ToggledDependency
+      val circuitBreaker = newCircuitBreaker(dependency, new TestClock)
+
+      circuitBreaker.getName must be("alpha")
+      circuitBreaker.getDescription.get() must be("the first dependency")
+      circuitBreaker.getTimeout.get() must be(Duration.ofSeconds(1))
+      circuitBreaker.getPrimary.booleanValue must be(false)
+      circuitBreaker.getDelegate must be theSameInstanceAs dependency
+    }
+
+    it("passes checks on to the dependency while closed") {
+      val dependency = new ToggledDependency
+      val circuitBreaker = newCircuitBreaker(dependency, new TestClock)
+
+      circuitBreaker.checkAvailability().getMessage must be("alpha is unavailable")
+      circuitBreaker.checkAvailability().getMessage must be("alpha is unavailable")
+
+      dependency.checks must be(2)
+      circuitBreaker.getState must be(CircuitBreakerHealthDependency.State.CLOSED)
+    }
+
+    it("opens after the failure threshold of consecutive failures") {
+      val dependency = new ToggledDependency
+      val circuitBreaker = newCircuitBreaker(dependency, new TestClock)
+
+      (1 to 3).foreach(_ => circuitBreaker.checkAvailability())
+      val status = circuitBreaker.checkAvailability()
+
+      dependency.checks must be(3)
+      circuitBreaker.getState must be(CircuitBreakerHealthDependency.State.OPEN)
+      status.getStatus must be(503)
+      status.getMessage must be(
+        "Circuit breaker for alpha is open after 3 consecutive failed checks")
+    }
+
+    it("resets the consecutive failures on success") {
+      val dependency = new ToggledDependency
+      val circuitBreaker = newCircuitBreaker(dependency, new TestClock)
+
+      (1 to 2).foreach(_ => circuitBreaker.checkAvailability())
+      dependency.status = HealthStatus.create(200, "alpha is available")
+      circuitBreaker.checkAvailability()
+      dependency.status = HealthStatus.create(503, "alpha is unavailable")
+      (1 to 2).foreach(_ => circuitBreaker.checkAvailability())
+
+      circuitBreaker.getState must be(CircuitBreakerHealthDependency.State.CLOSED)
+    }
+
+    it("counts exceptions as failures") {
+      val circuitBreaker = newCircuitBreaker(new HealthDependency {
+        override def getName: String = "alpha"
+
+        override def checkAvailability(): HealthStatus = throw new IllegalStateException("broken")
+      }, new TestClock)
+
+      (1 to 3).foreach(_ =>
+        an[IllegalStateException] must be thrownBy circuitBreaker.checkAvailability())
+
+      circuitBreaker.getState must be(CircuitBreakerHealthDependency.State.OPEN)
+      circuitBreaker.checkAvailability().getStatus must be(503)
+    }
+
+    it("counts interrupted checks as failures") {
+      val circuitBreaker = newCircuitBreaker(new HealthDependency {
+        override def getName: String = "alpha"
+
+        override def checkAvailability(): HealthStatus = {
+          Thread.currentThread().interrupt()
+          HealthStatus.create(200, "alpha is available")
+        }
+      }, new TestClock)
+
+      try {
+        (1 to 3).foreach(_ => circuitBreaker.checkAvailability())
+      } finally {
+        Thread.interrupted()
+      }
+
+      circuitBreaker.getState must be(CircuitBreakerHealthDependency.State.OPEN)
+    }
+
+    it("lets a single check through once the open duration has passed") {
+      val clock = new TestClock
+      val dependency = new ToggledDependency
+      val circuitBreaker = newCircuitBreaker(dependency, clock)
+      (1 to 3).foreach(_ => circuitBreaker.checkAvailability())
+
+      clock.advance(Duration.ofSeconds(30))
+
+      circuitBreaker.getState must be(CircuitBreakerHealthDependency.State.HALF_OPEN)
+      circuitBreaker.checkAvailability().getMessage must be("alpha is unavailable")
+      dependency.checks must be(4)
+      circuitBreaker.getState must be(CircuitBreakerHealthDependency.State.OPEN)
+      circuitBreaker.checkAvailability()
+      dependency.checks must be(4)
+    }
+
+    it("closes when the half-open check succeeds") {
+      val clock = new TestClock
+      val dependency = new ToggledDependency
+      val circuitBreaker = newCircuitBreaker(dependency, clock)
+      (1 to 3).foreach(_ => circuitBreaker.checkAvailability())
+
+      clock.advance(Duration.ofSeconds(30))
+      dependency.status = HealthStatus.create(200, "alpha is available")
+
+      circuitBreaker.checkAvailability().getMessage must be("alpha is available")
+      circuitBreaker.getState must be(CircuitBreakerHealthDependency.State.CLOSED)
+      circuitBreaker.checkAvailability()
+      dependency.checks must be(5)
+    }
+
+    it("lets another check through once a half-open check has not returned for the open duration") {
+      val clock = new TestClock
+      val probing = new CountDownLatch(1)
+      val release = new CountDownLatch(1)
+      val dependency = new ToggledDependency {
+        @volatile var hang = false
+
+        override def checkAvailability(): HealthStatus = {
+          if (hang) {
+            // A check that ignores its interruption by the timeout
+            probing.countDown()
+            Uninterruptibles.awaitUninterruptibly(release)
+          }
+          super.checkAvailability()
+        }
+      }
+      val circuitBreaker = newCircuitBreaker(dependency, clock)
+      (1 to 3).foreach(_ => circuitBreaker.checkAvailability())
+
+      dependency.hang = true
+      clock.advance(Duration.ofSeconds(30))
+      val probe = new Thread(new Runnable {
+        override def run(): Unit = circuitBreaker.checkAvailability()
+      })
+      probe.start()
+      probing.await(5, TimeUnit.SECONDS) must be(true)
+
+      circuitBreaker.checkAvailability().getMessage must include("is open")
+
+      dependency.hang = false
+      dependency.status = HealthStatus.create(200, "alpha is available")
+      clock.advance(Duration.ofSeconds(30))
+
+      circuitBreaker.checkAvailability().getMessage must be("alpha is available")
+      circuitBreaker.getState must be(CircuitBreakerHealthDependency.State.CLOSED)
+
+      release.countDown()
+      probe.join(5000)
+    }
+
+    it("rejects invalid thresholds") {
+      val builder = CircuitBreakerHealthDependency.builder(new ToggledDependency)
+
+      an[IllegalArgumentException] must be thrownBy builder.setFailureThreshold(0)
+      an[IllegalArgumentException] must be thrownBy builder.setOpenDuration(Duration.ZERO)
+    }
+  }
+}
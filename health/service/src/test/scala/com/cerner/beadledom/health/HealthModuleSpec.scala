@@ -1,10 +1,13 @@
 package com.cerner.beadledom.health
 
-import com.cerner.beadledom.metadata.ServiceMetadata
+import com.cerner.beadledom.health.api.{AvailabilityResource, VersionResource}
+import com.cerner.beadledom.metadata.{BuildInfo, ServiceMetadata}
 import com.google.inject._
 import com.google.inject.multibindings.{Multibinder, ProvidesIntoSet}
 import org.scalatest.mock.MockitoSugar
 import org.scalatest.{FunSpec, MustMatchers}
+import java.time.Instant
+import java.util.Properties
 import javax.ws.rs.core.UriInfo
 
 class HealthModuleSpec extends FunSpec with MustMatchers with MockitoSugar {
@@ -67,6 +70,33 @@ class HealthModuleSpec extends FunSpec with MustMatchers with MockitoSugar {
       val provider = injector.getInstance(Key.get(dynamicHealthDependency))
       provider mustBe empty
     }
+
+    it("returns the same availability and version entities for every request") {
+      val injector = Guice.createInjector(new AbstractModule {
+        override def configure(): Unit = {
+          bind(classOf[ServiceMetadata]).toInstance(ServiceMetadata.builder()
+              .setBuildInfo(BuildInfo.builder()
+                  .setArtifactId("artifactId")
+                  .setGroupId("groupId")
+                  .setScmRevision("scmRevision")
+                  .setRawProperties(new Properties)
+                  .setVersion("version")
+                  .build())
+              .setStartupTime(Instant.now())
+              .build())
+          bind(classOf[UriInfo]).toInstance(mock[UriInfo])
+          install(new HealthModule)
+        }
+      })
+
+      // The cached representations are keyed by the entity instance
+      val availability = injector.getInstance(classOf[AvailabilityResource])
+      injector.getInstance(classOf[AvailabilityResource]).getBasicAvailabilityCheck mustBe
+          theSameInstanceAs(availability.getBasicAvailabilityCheck)
+      val version = injector.getInstance(classOf[VersionResource])
+      injector.getInstance(classOf[VersionResource]).getVersionInfo mustBe
+          theSameInstanceAs(version.getVersionInfo)
+    }
   }
 }
 
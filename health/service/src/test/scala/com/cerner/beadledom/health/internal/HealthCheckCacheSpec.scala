@@ -0,0 +1,220 @@
+package com.cerner.beadledom.health.internal
+
+import com.cerner.beadledom.health.{HealthCheckConfiguration, HealthDependency, HealthStatus}
+import java.time.{Clock, Duration, Instant, ZoneId, ZoneOffset}
+import java.util.Optional
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.{CountDownLatch, Executors, RejectedExecutionException}
+import java.util.concurrent.{ScheduledThreadPoolExecutor, TimeUnit}
+import org.scalatest.{FunSpec, MustMatchers}
+import scala.util.Try
+
+class HealthCheckCacheSpec extends FunSpec with MustMatchers {
+  val executor = Executors.newCachedThreadPool()
+
+  class TestClock extends Clock {
+    @volatile var now = Instant.parse("2016-02-03T04:05:06Z")
+
+    def advance(duration: Duration): Unit = now = now.plus(duration)
+
+    override def getZone: ZoneId = ZoneOffset.UTC
+
+    override def withZone(zone: ZoneId): Clock = this
+
+    override def instant(): Instant = now
+  }
+
+  class CountingDependency(ttl: Optional[Duration] = Optional.empty()) extends HealthDependency {
+    val checks = new AtomicInteger()
+
+    override def getName: String = "alpha"
+
+    override def getCacheTtl: Optional[Duration] = ttl
+
+    override def checkAvailability(): HealthStatus =
+      HealthStatus.create(200, s"check ${checks.incrementAndGet()}")
+  }
+
+  def newCache(configuration: HealthCheckConfiguration, clock: Clock = new TestClock) =
+    new HealthCheckCache(configuration, executor, new HealthMetrics(), clock)
+
+  def check(cache: HealthCheckCache, dependency: HealthDependency): HealthCheckResult =
+    cache.check(dependency, HealthCheckTier.DIAGNOSTIC).get()
+
+  def cachingConfiguration(ttl: Duration) =
+    HealthCheckConfiguration.builder().setCacheTtl(ttl).build()
+
+  def eventually(condition: => Boolean): Unit = {
+    val deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5)
+    while (!condition && System.nanoTime() < deadline) {
+      Thread.sleep(10)
+    }
+    condition mustBe true
+  }
+
+  describe("HealthCheckCache") {
+    it("checks dependencies without a cache TTL every time") {
+      val cache = newCache(HealthCheckConfiguration.builder().build())
+      val dependency = new CountingDependency()
+
+      cache.isCached(dependency) mustBe false
+      check(cache, dependency).getStatus.getMessage must be("check 1")
+      check(cache, dependency).getStatus.getMessage must be("check 2")
+    }
+
+    it("serves results younger than the TTL from the cache") {
+      val clock = new TestClock
+      val cache = newCache(cachingConfiguration(Duration.ofMinutes(1)), clock)
+      val dependency = new CountingDependency()
+
+      val first = check(cache, dependency)
+      clock.advance(Duration.ofSeconds(59))
+      val second = check(cache, dependency)
+
+      cache.isCached(dependency) mustBe true
+      second must be theSameInstanceAs first
+      dependency.checks.get() must be(1)
+    }
+
+    it("uses the cache TTL provided by the dependency") {
+      val cache = newCache(HealthCheckConfiguration.builder().build())
+      val dependency = new CountingDependency(Optional.of(Duration.ofMinutes(1)))
+
+      check(cache, dependency)
+      check(cache, dependency)
+
+      cache.isCached(dependency) mustBe true
+      dependency.checks.get() must be(1)
+    }
+
+    it("serves stale results while checking the dependency again in the background") {
+      val clock = new TestClock
+      val cache = newCache(cachingConfiguration(Duration.ofMinutes(1)), clock)
+      val dependency = new CountingDependency()
+
+      val first = check(cache, dependency)
+      clock.advance(Duration.ofSeconds(90))
+      val stale = check(cache, dependency)
+
+      stale must be theSameInstanceAs first
+      eventually(dependency.checks.get() == 2)
+      eventually(check(cache, dependency).getStatus.getMessage == "check 2")
+    }
+
+    it("waits for a new check once results are older than the maximum staleness") {
+      val clock = new TestClock
+      val cache = newCache(
+        HealthCheckConfiguration.builder()
+            .setCacheTtl(Duration.ofMinutes(1))
+            .setMaximumStaleness(Duration.ofMinutes(5))
+            .build(),
+        clock)
+      val dependency = new CountingDependency()
+
+      check(cache, dependency)
+      clock.advance(Duration.ofMinutes(5))
+      val result = check(cache, dependency)
+
+      result.getStatus.getMessage must be("check 2")
+      result.getCheckedAt must be(clock.now)
+    }
+
+    it("keeps at most one background refresh pending for each dependency") {
+      val clock = new TestClock
+      val scheduler = new ScheduledThreadPoolExecutor(1)
+      scheduler.setRemoveOnCancelPolicy(true)
+      val cache = new HealthCheckCache(
+        cachingConfiguration(Duration.ofMinutes(1)), executor, new HealthMetrics(), clock,
+        scheduler)
+      val dependency = new CountingDependency()
+
+      check(cache, dependency)
+      (2 to 5).foreach { count =>
+        clock.advance(Duration.ofSeconds(90))
+        check(cache, dependency)
+        eventually(dependency.checks.get() == count)
+        eventually(scheduler.getQueue.size() == 1)
+      }
+
+      scheduler.getQueue.size() must be(1)
+    }
+
+    it("stops the background refreshes when shut down") {
+      val scheduler = new ScheduledThreadPoolExecutor(1)
+      val cache = new HealthCheckCache(
+        cachingConfiguration(Duration.ofMinutes(1)), executor, new HealthMetrics(),
+        new TestClock, scheduler)
+
+      check(cache, new CountingDependency())
+      cache.shutdown()
+
+      scheduler.isShutdown mustBe true
+      scheduler.getQueue.size() must be(0)
+    }
+
+    it("shares a single in-flight check between concurrent callers") {
+      val checks = new AtomicInteger()
+      val release = new CountDownLatch(1)
+      val dependency = new HealthDependency {
+        override def getName: String = "alpha"
+
+        override def checkAvailability(): HealthStatus = {
+          checks.incrementAndGet()
+          release.await()
+          HealthStatus.create(200, "A-OK")
+        }
+      }
+      val cache = newCache(cachingConfiguration(Duration.ofMinutes(1)))
+
+      val futures = (1 to 10).map(_ => cache.check(dependency, HealthCheckTier.DIAGNOSTIC))
+      futures.head.cancel(true)
+      release.countDown()
+
+      futures.tail.foreach(_.get().getStatus.getMessage must be("A-OK"))
+      checks.get() must be(1)
+    }
+
+    it("limits the number of checks each tier may run at once") {
+      val release = new CountDownLatch(1)
+      val blocking = new HealthDependency {
+        override def getName: String = "blocking"
+
+        override def checkAvailability(): HealthStatus = {
+          release.await()
+          HealthStatus.create(200, "done")
+        }
+      }
+      val cache = newCache(
+        HealthCheckConfiguration.builder()
+            .setMaximumConcurrentPrimaryChecks(1)
+            .setMaximumConcurrentDiagnosticChecks(2)
+            .build())
+
+      cache.check(blocking, HealthCheckTier.DIAGNOSTIC)
+      cache.check(blocking, HealthCheckTier.DIAGNOSTIC)
+      a[RejectedExecutionException] must be thrownBy
+          cache.check(blocking, HealthCheckTier.DIAGNOSTIC)
+
+      val primary = cache.check(new CountingDependency(), HealthCheckTier.PRIMARY)
+      primary.get().getStatus.getMessage must be("check 1")
+
+      release.countDown()
+      eventually(Try(check(cache, new CountingDependency())).isSuccess)
+    }
+
+    it("captures exceptions thrown by the dependency") {
+      val exception = new IllegalStateException("broken")
+      val dependency = new HealthDependency {
+        override def getName: String = "alpha"
+
+        override def checkAvailability(): HealthStatus = throw exception
+      }
+      val cache = newCache(cachingConfiguration(Duration.ofMinutes(1)))
+
+      val result = check(cache, dependency)
+
+      result.getStatus must be(null)
+      result.getFailure must be theSameInstanceAs exception
+    }
+  }
+}
@@ -0,0 +1,100 @@
+package com.cerner.beadledom.health.internal
+
+import com.google.common.base.Ticker
+import java.time.Duration
+import org.mockito.Matchers.{any, anyString, eq => eqTo}
+import org.mockito.Mockito.{times, verify, verifyNoMoreInteractions}
+import org.scalatest.mock.MockitoSugar
+import org.scalatest.{FunSpec, MustMatchers}
+import org.slf4j.Logger
+
+/**
+ * Spec tests for HealthCheckFailureLog.
+ */
+class HealthCheckFailureLogSpec extends FunSpec with MustMatchers with MockitoSugar {
+  class TestTicker extends Ticker {
+    var nanos = 0L
+
+    override def read(): Long = nanos
+
+    def advance(duration: Duration): Unit = nanos += duration.toNanos
+  }
+
+  def newLog(logger: Logger, ticker: Ticker) =
+    new HealthCheckFailureLog(logger, Duration.ofMinutes(1), ticker)
+
+  describe("HealthCheckFailureLog") {
+    it("logs the first exception of a dependency") {
+      val logger = mock[Logger]
+      val exception = new IllegalStateException("broken")
+
+      newLog(logger, new TestTicker).logThrown("alpha", exception)
+
+      verify(logger).error("Health dependency {} {} an exception", "alpha", "threw", exception)
+    }
+
+    it("does not log identical exceptions within the interval") {
+      val logger = mock[Logger]
+      val log = newLog(logger, new TestTicker)
+
+      (1 to 5).foreach(_ => log.logThrown("alpha", new IllegalStateException("broken")))
+
+      verify(logger, times(1)).error(anyString(), any(), any(), any())
+      verifyNoMoreInteractions(logger)
+    }
+
+    it("logs the count of the identical exceptions that were not logged after the interval") {
+      val logger = mock[Logger]
+      val ticker = new TestTicker
+      val log = newLog(logger, ticker)
+      (1 to 4).foreach(_ => log.logThrown("alpha", new IllegalStateException("broken")))
+
+      ticker.advance(Duration.ofMinutes(1))
+      val exception = new IllegalStateException("broken")
+      log.logThrown("alpha", exception)
+
+      verify(logger).error(
+        eqTo("Health dependency {} {} an exception ({} identical exceptions not logged)"),
+        eqTo("alpha"), eqTo("threw"), eqTo(Long.box(3L)), eqTo(exception))
+    }
+
+    it("logs exceptions that differ from the previous exception") {
+      val logger = mock[Logger]
+      val log = newLog(logger, new TestTicker)
+      val first = new IllegalStateException("broken")
+      val second = new IllegalStateException("broken differently")
+
+      log.logThrown("alpha", first)
+      log.logReturned("alpha", second)
+
+      verify(logger).error("Health dependency {} {} an exception", "alpha", "threw", first)
+      verify(logger).error("Health dependency {} {} an exception", "alpha", "returned", second)
+    }
+
+    it("logs the count of the previous exception with its own type and message") {
+      val logger = mock[Logger]
+      val log = newLog(logger, new TestTicker)
+      (1 to 3).foreach(_ => log.logThrown("alpha", new IllegalStateException("broken")))
+
+      val different = new IllegalArgumentException("illegal")
+      log.logThrown("alpha", different)
+
+      verify(logger).error(
+        eqTo("Health dependency {} had {} identical exceptions that were not logged: {}"),
+        eqTo("alpha"), eqTo(Long.box(2L)), eqTo("java.lang.IllegalStateException: broken"))
+      verify(logger).error("Health dependency {} {} an exception", "alpha", "threw", different)
+    }
+
+    it("logs the exceptions of each dependency separately") {
+      val logger = mock[Logger]
+      val log = newLog(logger, new TestTicker)
+      val exception = new IllegalStateException("broken")
+
+      log.logThrown("alpha", exception)
+      log.logThrown("beta", exception)
+
+      verify(logger).error("Health dependency {} {} an exception", "alpha", "threw", exception)
+      verify(logger).error("Health dependency {} {} an exception", "beta", "threw", exception)
+    }
+  }
+}
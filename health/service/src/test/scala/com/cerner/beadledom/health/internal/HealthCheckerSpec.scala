@@ -1,14 +1,20 @@
 package com.cerner.beadledom.health.internal
 
-import com.cerner.beadledom.health.dto.{HealthDependencyDto, HealthDto, LinksDto}
-import com.cerner.beadledom.health.{HealthDependency, HealthStatus}
+import com.cerner.beadledom.health.dto.{HealthDependencyDto, HealthDto, LatencyDto, LinksDto}
+import com.cerner.beadledom.health.{AsyncHealthDependency, CircuitBreakerHealthDependency}
+import com.cerner.beadledom.health.{HealthCheckConfiguration, HealthDependency, HealthStatus}
 import com.cerner.beadledom.metadata.{BuildInfo, ServiceMetadata}
+import com.google.common.util.concurrent.Uninterruptibles
 import java.net.URI
-import java.time.Instant
+import java.time.{Duration, Instant}
 import java.util.Optional
+import java.util.concurrent.{CompletableFuture, CompletionStage, ExecutorService, Executors}
+import java.util.concurrent.{CountDownLatch, RejectedExecutionException, TimeUnit}
+import java.util.function.Supplier
 import javax.ws.rs.WebApplicationException
 import org.jboss.resteasy.spi.ResteasyUriInfo
-import org.mockito.Mockito.when
+import org.mockito.Matchers.any
+import org.mockito.Mockito.{doThrow, when}
 import org.scalatest.mock.MockitoSugar
 import org.scalatest.{FunSpec, MustMatchers}
 import scala.collection.JavaConverters._
@@ -27,12 +33,49 @@ class HealthCheckerSpec extends FunSpec with MustMatchers with MockitoSugar {
       .build()
   val testException = new IllegalArgumentException("it is illegal to argue about HTTP status codes")
 
-  def newChecker(requestUri: String, dependencies: List[HealthDependency]) = new HealthChecker(
+  val executor = Executors.newCachedThreadPool()
+
+  def newChecker(requestUri: String, dependencies: List[HealthDependency],
+      configuration: HealthCheckConfiguration = HealthCheckConfiguration.builder().build(),
+      executor: ExecutorService = executor,
+      metrics: HealthMetrics = new HealthMetrics()) = new HealthChecker(
     new ResteasyUriInfo(new URI(requestUri)),
     metadata,
-    dependencies.groupBy(d => d.getName).mapValues(ds => ds.head).asJava
+    dependencies.groupBy(d => d.getName).mapValues(ds => ds.head).asJava,
+    configuration,
+    new HealthCheckCache(configuration, executor, metrics),
+    metrics,
+    new HealthDependencyLinks()
   )
 
+  /**
+    * Removes the latency, which varies between runs, from the dependencies of the DTO.
+    */
+  def withoutLatency(dto: HealthDto): HealthDto = HealthDto.builder(dto)
+      .setDependencies(dto.getDependencies.get().asScala
+          .map(d => HealthDependencyDto.builder(d).setLatency(null: LatencyDto).build()).asJava)
+      .build()
+
+  def slowDependency(name: String, sleepMillis: Long,
+      timeout: Optional[Duration] = Optional.empty()) = new HealthDependency {
+    override def getName: String = name
+
+    override def getTimeout: Optional[Duration] = timeout
+
+    override def checkAvailability(): HealthStatus = {
+      Thread.sleep(sleepMillis)
+      HealthStatus.create(200, s"$name is available")
+    }
+  }
+
+  def primaryDependency(name: String, status: HealthStatus) = new HealthDependency {
+    override def getName: String = name
+
+    override def getPrimary: java.lang.Boolean = true
+
+    override def checkAvailability(): HealthStatus = status
+  }
+
   def newDependency(name: String, desc: String,
       status: HealthStatus) = new HealthDependency {
     override def getName: String = name
@@ -43,6 +86,13 @@ class HealthCheckerSpec extends FunSpec with MustMatchers with MockitoSugar {
 
   }
 
+  def asyncDependency(name: String,
+      check: () => CompletionStage[HealthStatus]) = new AsyncHealthDependency {
+    override def getName: String = name
+
+    override def checkAvailabilityAsync(): CompletionStage[HealthStatus] = check()
+  }
+
   def faultyDependency = new HealthDependency {
     override def getName: String = "alpha"
 
@@ -133,7 +183,7 @@ class HealthCheckerSpec extends FunSpec with MustMatchers with MockitoSugar {
         dto mustBe expected
       }
 
-      it("includes exception stack trace when illegal argument exception occurs") {
+      it("includes the exception when illegal argument exception occurs") {
         val checker = newChecker(
           "http://localhost/meta/health",
           List(newDependency("alpha", "alpha",
@@ -142,8 +192,16 @@ class HealthCheckerSpec extends FunSpec with MustMatchers with MockitoSugar {
         val dto = checker.doPrimaryHealthCheck()
         dto.getStatus must be(503)
         dto.getMessage.get() must be("SampleArtifact is unavailable")
-        dto.getDependencies.get().get(0).getMessage.get()
-            .contains("java.lang.IllegalArgumentException") mustBe true
+        dto.getDependencies.get().get(0).getMessage.get() must be("not feeling so hot")
+        dto.getDependencies.get().get(0).getException.get() must be theSameInstanceAs testException
+      }
+
+      it("includes the exception thrown by a dependency") {
+        val checker = newChecker("http://localhost/meta/health", List(faultyDependency))
+        val dependency = checker.doPrimaryHealthCheck().getDependencies.get().get(0)
+        dependency.isHealthy mustBe false
+        dependency.getMessage.get() must be(testException.toString)
+        dependency.getException.get() must be theSameInstanceAs testException
       }
 
       describe("#doDiagnosticHealthCheck") {
@@ -182,7 +240,7 @@ class HealthCheckerSpec extends FunSpec with MustMatchers with MockitoSugar {
               .setStatus(200)
               .setMessage("SampleArtifact is available")
               .build()
-          dto mustBe expected
+          withoutLatency(dto) mustBe expected
         }
 
         it("creates failure dto when any dependencies are unhealthy") {
@@ -218,7 +276,7 @@ class HealthCheckerSpec extends FunSpec with MustMatchers with MockitoSugar {
               .setStatus(503)
               .setMessage("SampleArtifact is unavailable")
               .build()
-          dto mustBe expected
+          withoutLatency(dto) mustBe expected
         }
 
         it("includes exception stack trace when illegal argument exception occurs") {
@@ -230,7 +288,8 @@ class HealthCheckerSpec extends FunSpec with MustMatchers with MockitoSugar {
           val dto = checker.doDiagnosticHealthCheck()
           dto.getStatus must be(503)
           dto.getMessage.get() must be("SampleArtifact is unavailable")
-          dto.getDependencies.get().get(0).getMessage.get()
+          dto.getDependencies.get().get(0).getMessage.get() must be("not feeling so hot")
+          dto.getDependencies.get().get(0).getStackTrace.get()
               .contains("java.lang.IllegalArgumentException") mustBe true
         }
       }
@@ -310,9 +369,381 @@ class HealthCheckerSpec extends FunSpec with MustMatchers with MockitoSugar {
           val dto = checker.doPrimaryHealthCheck()
 
           checker.doDependencyAvailabilityCheck("alpha")
-              .getMessage.get().contains("java.lang.IllegalArgumentException") mustBe true
+              .getStackTrace.get().contains("java.lang.IllegalArgumentException") mustBe true
         }
       }
     }
+
+    describe("with concurrent, time-bounded checks") {
+      it("checks dependencies concurrently") {
+        val checker = newChecker(
+          "http://localhost/meta/health",
+          (1 to 5).map(i => slowDependency(s"dependency$i", 500)).toList)
+
+        val start = System.nanoTime()
+        val dto = checker.doPrimaryHealthCheck()
+        val elapsedMillis = (System.nanoTime() - start) / 1000000
+
+        dto.getStatus must be(200)
+        elapsedMillis must be < 2500L
+      }
+
+      it("reports dependencies that exceed the dependency timeout as unhealthy") {
+        val checker = newChecker(
+          "http://localhost/meta/health",
+          List(slowDependency("fast", 0), slowDependency("slow", 5000)),
+          HealthCheckConfiguration.builder().setDependencyTimeout(Duration.ofMillis(100)).build())
+
+        val dto = checker.doPrimaryHealthCheck()
+        val dependencies = dto.getDependencies.get().asScala
+
+        dto.getStatus must be(503)
+        dependencies.find(_.getId == "fast").get.isHealthy mustBe true
+        dependencies.find(_.getId == "slow").get.isHealthy mustBe false
+        dependencies.find(_.getId == "slow").get.getMessage.get() must be(
+          "Health check of slow timed out after 100 ms")
+      }
+
+      it("uses the timeout provided by the dependency") {
+        val checker = newChecker(
+          "http://localhost/meta/health",
+          List(slowDependency("slow", 300, Optional.of(Duration.ofSeconds(5)))),
+          HealthCheckConfiguration.builder().setDependencyTimeout(Duration.ofMillis(100)).build())
+
+        checker.doPrimaryHealthCheck().getStatus must be(200)
+      }
+
+      it("bounds the whole health check by the deadline") {
+        val checker = newChecker(
+          "http://localhost/meta/health",
+          List(slowDependency("alpha", 5000), slowDependency("beta", 5000)),
+          HealthCheckConfiguration.builder()
+              .setDependencyTimeout(Duration.ofSeconds(10))
+              .setDeadline(Duration.ofMillis(200))
+              .build())
+
+        val start = System.nanoTime()
+        val dto = checker.doDiagnosticHealthCheck()
+        val elapsedMillis = (System.nanoTime() - start) / 1000000
+
+        dto.getStatus must be(503)
+        elapsedMillis must be < 2000L
+      }
+
+      it("times out a single dependency availability check") {
+        val checker = newChecker(
+          "http://localhost/meta/health",
+          List(slowDependency("slow", 5000)),
+          HealthCheckConfiguration.builder().setDependencyTimeout(Duration.ofMillis(100)).build())
+
+        checker.doDependencyAvailabilityCheck("slow").isHealthy mustBe false
+      }
+
+      it("reports checks rejected by the executor as unhealthy") {
+        val rejectingExecutor = mock[ExecutorService]
+        doThrow(new RejectedExecutionException()).when(rejectingExecutor)
+            .execute(any(classOf[Runnable]))
+        val checker = newChecker(
+          "http://localhost/meta/health",
+          List(newDependency("alpha", null, HealthStatus.create(200, "A-OK"))),
+          executor = rejectingExecutor)
+
+        val dto = checker.doPrimaryHealthCheck()
+
+        dto.getStatus must be(503)
+        dto.getDependencies.get().get(0).getMessage.get() must include("rejected")
+      }
+    }
+
+    describe("with primary dependencies") {
+      it("checks only the primary dependencies in the primary health check") {
+        val checker = newChecker(
+          "http://localhost/meta/health",
+          List(
+            primaryDependency("alpha", HealthStatus.create(200, "A-OK")),
+            newDependency("beta", null, HealthStatus.create(503, "B-not-OK"))))
+
+        val dto = checker.doPrimaryHealthCheck()
+
+        dto.getStatus must be(200)
+        dto.getDependencies.get().asScala.map(_.getId) must be(List("alpha"))
+        dto.getDependencies.get().get(0).isPrimary mustBe true
+      }
+
+      it("checks all dependencies in the diagnostic health check") {
+        val checker = newChecker(
+          "http://localhost/meta/health",
+          List(
+            primaryDependency("alpha", HealthStatus.create(200, "A-OK")),
+            newDependency("beta", null, HealthStatus.create(503, "B-not-OK"))))
+
+        val dto = checker.doDiagnosticHealthCheck()
+
+        dto.getStatus must be(503)
+        dto.getDependencies.get().asScala.map(_.getId) must be(List("alpha", "beta"))
+      }
+
+      it("bounds the primary health check by the primary deadline") {
+        val checker = newChecker(
+          "http://localhost/meta/health",
+          List(slowDependency("alpha", 1000)),
+          HealthCheckConfiguration.builder()
+              .setPrimaryDeadline(Duration.ofMillis(100))
+              .setDeadline(Duration.ofSeconds(5))
+              .build())
+
+        checker.doPrimaryHealthCheck().getStatus must be(503)
+        checker.doDiagnosticHealthCheck().getStatus must be(200)
+      }
+
+      it("limits the checks of the diagnostic tier without limiting the primary tier") {
+        val checker = newChecker(
+          "http://localhost/meta/health",
+          List(slowDependency("alpha", 500), slowDependency("beta", 500)),
+          HealthCheckConfiguration.builder()
+              .setMaximumConcurrentDiagnosticChecks(1)
+              .build())
+
+        val diagnostic = checker.doDiagnosticHealthCheck()
+        val primary = checker.doPrimaryHealthCheck()
+
+        diagnostic.getStatus must be(503)
+        diagnostic.getDependencies.get().get(1).getMessage.get() must include("rejected")
+        primary.getStatus must be(200)
+      }
+    }
+
+    describe("with metrics") {
+      it("records the outcome and latency of each check") {
+        val metrics = new HealthMetrics()
+        val checker = newChecker(
+          "http://localhost/meta/health",
+          List(
+            newDependency("alpha", null, HealthStatus.create(200, "A-OK")),
+            newDependency("beta", null, HealthStatus.create(503, "B-not-OK")),
+            slowDependency("gamma", 5000)),
+          HealthCheckConfiguration.builder().setDependencyTimeout(Duration.ofMillis(100)).build(),
+          metrics = metrics)
+
+        checker.doPrimaryHealthCheck()
+        checker.doPrimaryHealthCheck()
+        val dependencies = checker.doDependencyMetrics().getDependencies.asScala
+
+        dependencies.map(_.getId) must be(List("alpha", "beta", "gamma"))
+        val alpha = dependencies.head
+        alpha.getSuccessCount must be(2)
+        alpha.getFailureCount must be(0)
+        alpha.getTimeoutCount must be(0)
+        alpha.getLatency.get().getCount must be(2)
+        dependencies(1).getFailureCount must be(2)
+        dependencies(2).getTimeoutCount must be(2)
+      }
+
+      it("records one timeout for a cached check that concurrent health checks waited for") {
+        val metrics = new HealthMetrics()
+        val release = new CountDownLatch(1)
+        val slow = new HealthDependency {
+          override def getName: String = "alpha"
+
+          override def checkAvailability(): HealthStatus = {
+            Uninterruptibles.awaitUninterruptibly(release)
+            HealthStatus.create(200, "A-OK")
+          }
+        }
+        val checker = newChecker(
+          "http://localhost/meta/health",
+          List(slow),
+          HealthCheckConfiguration.builder()
+              .setDependencyTimeout(Duration.ofMillis(100))
+              .setCacheTtl(Duration.ofMinutes(1))
+              .build(),
+          metrics = metrics)
+
+        val callers = (1 to 2).map(_ => CompletableFuture.supplyAsync(new Supplier[HealthDto] {
+          override def get(): HealthDto = checker.doDiagnosticHealthCheck()
+        }, executor))
+        callers.foreach(_.get(5, TimeUnit.SECONDS).getStatus must be(503))
+        release.countDown()
+
+        val deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5)
+        def alpha = checker.doDependencyMetrics().getDependencies.get(0)
+        while (!alpha.getLatency.isPresent && System.nanoTime() < deadline) {
+          Thread.sleep(10)
+        }
+        alpha.getTimeoutCount must be(1)
+        alpha.getSuccessCount must be(0)
+        alpha.getLatency.get().getCount must be(1)
+      }
+
+      it("includes the latency of the dependencies in the diagnostic health check only") {
+        val checker = newChecker(
+          "http://localhost/meta/health",
+          List(slowDependency("alpha", 20)))
+
+        val primary = checker.doPrimaryHealthCheck().getDependencies.get().get(0)
+        val diagnostic = checker.doDiagnosticHealthCheck().getDependencies.get().get(0)
+
+        primary.getLatency.isPresent mustBe false
+        diagnostic.getLatency.get().getCount must be(2)
+        diagnostic.getLatency.get().getP50Millis must be >= 18.0
+        diagnostic.getLatency.get().getLastMillis must be >= 18.0
+      }
+
+      it("does not include dependencies that have not been checked in the latency") {
+        val checker = newChecker(
+          "http://localhost/meta/health",
+          List(newDependency("alpha", null, HealthStatus.create(200, "A-OK"))))
+
+        val metricsDto = checker.doDependencyMetrics().getDependencies.get(0)
+
+        metricsDto.getSuccessCount must be(0)
+        metricsDto.getLatency.isPresent mustBe false
+      }
+    }
+
+    describe("with cached checks") {
+      it("includes when cached results were checked and their age") {
+        val checker = newChecker(
+          "http://localhost/meta/health",
+          List(
+            newDependency("alpha", null, HealthStatus.create(200, "A-OK")),
+            new HealthDependency {
+              override def getName: String = "beta"
+
+              override def getCacheTtl: Optional[Duration] = Optional.of(Duration.ofMinutes(1))
+
+              override def checkAvailability(): HealthStatus = HealthStatus.create(200, "B-OK")
+            }))
+
+        val dependencies = checker.doDiagnosticHealthCheck().getDependencies.get().asScala
+        val alpha = dependencies.find(_.getId == "alpha").get
+        val beta = dependencies.find(_.getId == "beta").get
+
+        alpha.getCheckedDateTime.isPresent mustBe false
+        alpha.getAgeMillis.isPresent mustBe false
+        beta.getMessage.get() must be("B-OK")
+        beta.getCheckedDateTime.isPresent mustBe true
+        beta.getAgeMillis.get().longValue() must be >= 0L
+      }
+
+      it("serves cached results to subsequent health checks") {
+        var checks = 0
+        val checker = newChecker(
+          "http://localhost/meta/health",
+          List(new HealthDependency {
+            override def getName: String = "alpha"
+
+            override def checkAvailability(): HealthStatus = {
+              checks += 1
+              HealthStatus.create(200, "A-OK")
+            }
+          }),
+          HealthCheckConfiguration.builder().setCacheTtl(Duration.ofMinutes(1)).build())
+
+        val first = checker.doPrimaryHealthCheck().getDependencies.get().get(0)
+        val second = checker.doPrimaryHealthCheck().getDependencies.get().get(0)
+
+        checks must be(1)
+        second.getCheckedDateTime must be(first.getCheckedDateTime)
+      }
+    }
+
+    describe("with circuit breakers") {
+      it("includes the state of circuit breakers in the diagnostic health check only") {
+        val checker = newChecker(
+          "http://localhost/meta/health",
+          List(
+            newDependency("alpha", null, HealthStatus.create(200, "A-OK")),
+            CircuitBreakerHealthDependency.builder(
+              newDependency("beta", null, HealthStatus.create(503, "B-not-OK")))
+                .setFailureThreshold(1)
+                .build()))
+
+        val primary = checker.doPrimaryHealthCheck().getDependencies.get().asScala
+        val diagnostic = checker.doDiagnosticHealthCheck().getDependencies.get().asScala
+
+        primary.find(_.getId == "beta").get.getCircuitBreakerState.isPresent mustBe false
+        diagnostic.find(_.getId == "alpha").get.getCircuitBreakerState.isPresent mustBe false
+        diagnostic.find(_.getId == "beta").get.getCircuitBreakerState.get() must be("OPEN")
+        diagnostic.find(_.getId == "beta").get.getMessage.get() must be(
+          "Circuit breaker for beta is open after 1 consecutive failed checks")
+      }
+    }
+
+    describe("with asynchronous dependencies") {
+      it("checks asynchronous dependencies without the executor") {
+        val rejectingExecutor = mock[ExecutorService]
+        doThrow(new RejectedExecutionException()).when(rejectingExecutor)
+            .execute(any(classOf[Runnable]))
+        val checker = newChecker(
+          "http://localhost/meta/health",
+          List(asyncDependency("alpha",
+            () => CompletableFuture.completedFuture(HealthStatus.create(200, "A-OK")))),
+          executor = rejectingExecutor)
+
+        val dto = checker.doPrimaryHealthCheck()
+
+        dto.getStatus must be(200)
+        dto.getDependencies.get().get(0).getMessage.get() must be("A-OK")
+      }
+
+      it("reports asynchronous checks that complete exceptionally as unhealthy") {
+        val failed = new CompletableFuture[HealthStatus]()
+        failed.completeExceptionally(testException)
+        val checker = newChecker(
+          "http://localhost/meta/health",
+          List(asyncDependency("alpha", () => failed)))
+
+        val dto = checker.doPrimaryHealthCheck()
+
+        dto.getStatus must be(503)
+        dto.getDependencies.get().get(0).isHealthy mustBe false
+        dto.getDependencies.get().get(0).getMessage.get() must include(testException.getMessage)
+      }
+
+      it("reports asynchronous dependencies that exceed the dependency timeout as unhealthy") {
+        val checker = newChecker(
+          "http://localhost/meta/health",
+          List(asyncDependency("slow", () => new CompletableFuture[HealthStatus]())),
+          HealthCheckConfiguration.builder().setDependencyTimeout(Duration.ofMillis(100)).build())
+
+        val dto = checker.doPrimaryHealthCheck()
+
+        dto.getStatus must be(503)
+        dto.getDependencies.get().get(0).getMessage.get() must be(
+          "Health check of slow timed out after 100 ms")
+      }
+
+      it("completes the health check once the asynchronous checks complete") {
+        val pending = new CompletableFuture[HealthStatus]()
+        val checker = newChecker(
+          "http://localhost/meta/health",
+          List(asyncDependency("alpha", () => pending)))
+
+        val dto = checker.doDiagnosticHealthCheckAsync()
+
+        dto.isDone mustBe false
+        pending.complete(HealthStatus.create(200, "A-OK"))
+        dto.get(5, TimeUnit.SECONDS).getStatus must be(200)
+      }
+
+      it("waits for the asynchronous check when checked synchronously") {
+        val dependency = asyncDependency("alpha",
+          () => CompletableFuture.supplyAsync(new Supplier[HealthStatus] {
+            override def get(): HealthStatus = HealthStatus.create(200, "A-OK")
+          }))
+
+        dependency.checkAvailability().getMessage must be("A-OK")
+      }
+
+      it("rethrows the failure of the asynchronous check when checked synchronously") {
+        val failed = new CompletableFuture[HealthStatus]()
+        failed.completeExceptionally(testException)
+        val dependency = asyncDependency("alpha", () => failed)
+
+        val thrown = the[IllegalArgumentException] thrownBy dependency.checkAvailability()
+        thrown must be theSameInstanceAs testException
+      }
+    }
   }
 }
@@ -0,0 +1,43 @@
+package com.cerner.beadledom.health.internal
+
+import java.net.URI
+import org.scalatest.{FunSpec, MustMatchers}
+
+/**
+ * Spec tests for HealthDependencyLinks.
+ */
+class HealthDependencyLinksSpec extends FunSpec with MustMatchers {
+  describe("HealthDependencyLinks") {
+    it("builds the self link of the dependency") {
+      val links = new HealthDependencyLinks()
+
+      links.get(URI.create("http://localhost/"), "alpha").getSelf must be(
+        "http://localhost/meta/health/diagnostic/dependencies/alpha")
+    }
+
+    it("builds the self links relative to each base URI") {
+      val links = new HealthDependencyLinks()
+
+      links.get(URI.create("http://localhost/"), "alpha").getSelf must be(
+        "http://localhost/meta/health/diagnostic/dependencies/alpha")
+      links.get(URI.create("https://example.com/service/"), "alpha").getSelf must be(
+        "https://example.com/service/meta/health/diagnostic/dependencies/alpha")
+    }
+
+    it("encodes the name of the dependency") {
+      val links = new HealthDependencyLinks()
+
+      links.get(URI.create("http://localhost/"), "shard 1").getSelf must be(
+        "http://localhost/meta/health/diagnostic/dependencies/shard%201")
+    }
+
+    it("reuses the links of a dependency") {
+      val links = new HealthDependencyLinks()
+
+      val first = links.get(URI.create("http://localhost/"), "alpha")
+      val second = links.get(URI.create("http://localhost/"), "alpha")
+
+      second must be theSameInstanceAs first
+    }
+  }
+}
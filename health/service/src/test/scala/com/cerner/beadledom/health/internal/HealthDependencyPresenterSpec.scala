@@ -49,6 +49,21 @@ class HealthDependencyPresenterSpec extends FunSpec with MustMatchers with Mocki
       }
     }
 
+    describe("#getCircuitBreakerState") {
+      it("returns the circuit breaker state") {
+        val dto = HealthDependencyDto.builder(healthDependencyDto)
+            .setCircuitBreakerState("OPEN")
+            .build()
+        val presenter = new HealthDependencyPresenter(dto)
+
+        presenter.getCircuitBreakerState.get() must be ("OPEN")
+      }
+
+      it("returns empty if the dependency has no circuit breaker") {
+        healthDependencyPresenter.getCircuitBreakerState.isPresent must be (false)
+      }
+    }
+
     describe("#getStatusClass") {
       it("returns the healthy CSS class") {
         healthDependencyPresenter.getStatusClass must be ("healthy")
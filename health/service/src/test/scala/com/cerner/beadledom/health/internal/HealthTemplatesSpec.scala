@@ -0,0 +1,132 @@
+package com.cerner.beadledom.health.internal
+
+import com.cerner.beadledom.health.dto.{HealthDependencyDto, HealthDto, LinksDto}
+import com.cerner.beadledom.health.internal.presenter.HealthPresenter
+import com.github.mustachejava.{DefaultMustacheFactory, Mustache}
+import java.io.ByteArrayOutputStream
+import java.util.concurrent.{Callable, Executors, TimeUnit}
+import org.mockito.Matchers.anyString
+import org.mockito.Mockito.{never, reset, spy, verify}
+import org.scalatest.mock.MockitoSugar
+import org.scalatest.{FunSpec, MustMatchers}
+import scala.collection.JavaConverters._
+
+/**
+ * Spec tests for {@link HealthTemplates}.
+ */
+class HealthTemplatesSpec extends FunSpec with MustMatchers with MockitoSugar {
+  def mustacheFactory = new DefaultMustacheFactory("com/cerner/beadledom/health")
+
+  def healthDto(dependencyCount: Int): HealthDto = HealthDto.builder()
+      .setMessage("SampleArtifact is available")
+      .setStatus(200)
+      .setDependencies((0 until dependencyCount).map(i => HealthDependencyDto.builder()
+          .setId(s"dependency$i")
+          .setName(s"Dependency $i")
+          .setHealthy(true)
+          .setPrimary(i % 2 == 0)
+          .setMessage(s"dependency$i is available")
+          .setLinks(LinksDto.builder()
+              .setSelf(s"http://localhost/meta/health/dependencies/dependency$i")
+              .build())
+          .build()).asJava)
+      .build()
+
+  def render(templates: HealthTemplates, name: String, scope: AnyRef): String = {
+    val output = new ByteArrayOutputStream()
+    templates.render(name, scope).write(output)
+    output.toString("UTF-8")
+  }
+
+  describe("HealthTemplates") {
+    it("compiles every template when created") {
+      val factory = spy(mustacheFactory)
+      new HealthTemplates(factory)
+
+      Seq(HealthTemplates.BASIC_AVAILABILITY, HealthTemplates.DEPENDENCY_AVAILABILITY,
+        HealthTemplates.DEPENDENCY_LISTING, HealthTemplates.DIAGNOSTIC_HEALTH,
+        HealthTemplates.PRIMARY_HEALTH, HealthTemplates.VERSION).foreach { name =>
+        verify(factory).compile(name)
+      }
+    }
+
+    it("does not compile templates when rendering") {
+      val factory = spy(mustacheFactory)
+      val templates = new HealthTemplates(factory)
+      reset(factory)
+      render(templates, HealthTemplates.PRIMARY_HEALTH, new HealthPresenter(healthDto(2)))
+
+      verify(factory, never()).compile(anyString())
+    }
+
+    it("renders the same output when buffered and streamed") {
+      val streamed = new HealthTemplates(mustacheFactory)
+      val buffered = new HealthTemplates(mustacheFactory, true)
+      val presenter = new HealthPresenter(healthDto(20))
+
+      val expected = render(streamed, HealthTemplates.PRIMARY_HEALTH, presenter)
+      expected must include("dependency19")
+      render(buffered, HealthTemplates.PRIMARY_HEALTH, presenter) must be(expected)
+      // The second buffered rendering uses the size of the first
+      render(buffered, HealthTemplates.PRIMARY_HEALTH, presenter) must be(expected)
+    }
+
+    it("throws an IllegalArgumentException for unknown templates") {
+      val templates = new HealthTemplates(mustacheFactory)
+      an[IllegalArgumentException] must be thrownBy
+          templates.render("unknown.mustache", new HealthPresenter(healthDto(1)))
+    }
+  }
+
+  describe("A series of tests to measure concurrent HTML health rendering latency.") {
+    val threadCount = 8
+    val rendersPerThread = 2000
+    val presenter = new HealthPresenter(healthDto(20))
+
+    def measure(description: String, renderHtml: () => String): Unit = {
+      val executor = Executors.newFixedThreadPool(threadCount)
+      try {
+        // warm up
+        (0 until rendersPerThread).foreach(_ => renderHtml())
+
+        val task = new Callable[Long] {
+          override def call(): Long = {
+            val start = System.nanoTime()
+            (0 until rendersPerThread).foreach(_ => renderHtml())
+            System.nanoTime() - start
+          }
+        }
+        val totalNanos = executor.invokeAll(List.fill(threadCount)(task).asJava).asScala
+            .map(_.get()).sum
+        println(s"Average latency rendering the primary health page $description with " +
+            s"$threadCount threads: ${totalNanos / (threadCount * rendersPerThread)} ns")
+      } finally {
+        executor.shutdown()
+        executor.awaitTermination(1, TimeUnit.MINUTES)
+      }
+    }
+
+    it("renders with a template compiled per request") {
+      val factory = mustacheFactory
+      measure("compiling per request", () => {
+        val mustache: Mustache = factory.compile(HealthTemplates.PRIMARY_HEALTH)
+        val output = new ByteArrayOutputStream()
+        val writer = new java.io.OutputStreamWriter(output, "UTF-8")
+        mustache.execute(writer, presenter)
+        writer.flush()
+        output.toString("UTF-8")
+      })
+    }
+
+    it("renders with precompiled templates") {
+      val templates = new HealthTemplates(mustacheFactory)
+      measure("precompiled", () => render(templates, HealthTemplates.PRIMARY_HEALTH, presenter))
+    }
+
+    it("renders with precompiled, buffered templates") {
+      val templates = new HealthTemplates(mustacheFactory, true)
+      measure("precompiled and buffered",
+        () => render(templates, HealthTemplates.PRIMARY_HEALTH, presenter))
+    }
+  }
+}
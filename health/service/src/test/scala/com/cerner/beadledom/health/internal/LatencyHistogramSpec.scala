@@ -0,0 +1,94 @@
+package com.cerner.beadledom.health.internal
+
+import com.google.common.base.Ticker
+import java.util.concurrent.TimeUnit
+import org.scalatest.{FunSpec, MustMatchers}
+
+class LatencyHistogramSpec extends FunSpec with MustMatchers {
+  class TestTicker extends Ticker {
+    @volatile var nanos = 0L
+
+    def advance(minutes: Long): Unit = nanos += TimeUnit.MINUTES.toNanos(minutes)
+
+    override def read(): Long = nanos
+  }
+
+  describe("LatencyHistogram") {
+    it("reports 0 when nothing was recorded") {
+      val snapshot = new LatencyHistogram().snapshot()
+
+      snapshot.getTotalCount must be(0)
+      snapshot.getValueAtPercentile(50) must be(0)
+    }
+
+    it("records small durations exactly") {
+      val histogram = new LatencyHistogram()
+      (0 until 16).foreach(i => histogram.record(i))
+
+      val snapshot = histogram.snapshot()
+
+      snapshot.getTotalCount must be(16)
+      snapshot.getValueAtPercentile(50) must be(7)
+      snapshot.getValueAtPercentile(100) must be(15)
+    }
+
+    it("reports percentiles within the precision of the buckets") {
+      val histogram = new LatencyHistogram()
+      (1 to 10000).foreach(i => histogram.record(i * 100L))
+
+      val snapshot = histogram.snapshot()
+      val p50 = snapshot.getValueAtPercentile(50)
+      val p99 = snapshot.getValueAtPercentile(99)
+
+      p50.toDouble must be(500000.0 +- 500000 * 0.0625)
+      p99.toDouble must be(990000.0 +- 990000 * 0.0625)
+    }
+
+    it("maps every duration to a bucket containing it") {
+      Seq(16L, 17L, 31L, 32L, 33L, 1000L, 123456L, 3600000000L).foreach { micros =>
+        val index = LatencyHistogram.bucketIndex(micros)
+        LatencyHistogram.highestValueInBucket(index) must be >= micros
+        if (index > 0) {
+          LatencyHistogram.highestValueInBucket(index - 1) must be < micros
+        }
+      }
+    }
+
+    it("reports the durations of the current and previous intervals") {
+      val ticker = new TestTicker
+      val histogram = new LatencyHistogram(TimeUnit.MINUTES.toNanos(5), ticker)
+      histogram.record(1000)
+      ticker.advance(5)
+      histogram.record(10)
+
+      histogram.snapshot().getTotalCount must be(2)
+      histogram.snapshot().getValueAtPercentile(100) must be >= 1000L
+
+      ticker.advance(5)
+      val snapshot = histogram.snapshot()
+
+      snapshot.getTotalCount must be(1)
+      snapshot.getValueAtPercentile(100) must be(10)
+    }
+
+    it("drops every duration after two idle intervals") {
+      val ticker = new TestTicker
+      val histogram = new LatencyHistogram(TimeUnit.MINUTES.toNanos(5), ticker)
+      histogram.record(1000)
+      ticker.advance(10)
+
+      histogram.snapshot().getTotalCount must be(0)
+    }
+
+    it("clamps negative and very large durations") {
+      val histogram = new LatencyHistogram()
+      histogram.record(-5)
+      histogram.record(Long.MaxValue)
+
+      val snapshot = histogram.snapshot()
+
+      snapshot.getValueAtPercentile(50) must be(0)
+      snapshot.getValueAtPercentile(100) must be >= 3600000000L
+    }
+  }
+}
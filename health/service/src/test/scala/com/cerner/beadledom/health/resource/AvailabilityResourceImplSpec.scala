@@ -1,6 +1,7 @@
 package com.cerner.beadledom.health.resource
 
 import com.cerner.beadledom.metadata.{BuildInfo, ServiceMetadata}
+import com.cerner.beadledom.health.internal.HealthTemplates
 import com.github.mustachejava.DefaultMustacheFactory
 import org.scalatest._
 import java.time.Instant
@@ -27,9 +28,10 @@ class AvailabilityResourceImplSpec extends FunSpec with MustMatchers {
           .setStartupTime(Instant.now())
           .build()
 
-        val mustacheFactory = new DefaultMustacheFactory("com/cerner/beadledom/health")
+        val templates = new HealthTemplates(
+            new DefaultMustacheFactory("com/cerner/beadledom/health"))
 
-        val resource = new AvailabilityResourceImpl(serviceMetadata, mustacheFactory)
+        val resource = new AvailabilityResourceImpl(serviceMetadata, templates)
 
         val healthDto = resource.getBasicAvailabilityCheck
 
@@ -1,15 +1,19 @@
 package com.cerner.beadledom.health.resource
 
-import com.cerner.beadledom.health.api.DependenciesResource
 import com.cerner.beadledom.health.dto.HealthDto
 import com.cerner.beadledom.health.internal.HealthChecker
 import com.cerner.beadledom.health.{TestModule1, TestModule2}
+import com.cerner.beadledom.health.internal.HealthTemplates
 import com.github.mustachejava.DefaultMustacheFactory
 import com.google.inject.{AbstractModule, Guice}
 import java.net.URI
-import javax.ws.rs.core.{UriBuilder, UriInfo}
-import org.mockito.Matchers._
+import java.util.concurrent.{CompletableFuture, TimeUnit}
+import javax.ws.rs.container.AsyncResponse
+import javax.ws.rs.core.{Response, UriInfo}
+import org.mockito.Matchers.any
 import org.mockito.Mockito._
+import org.mockito.invocation.InvocationOnMock
+import org.mockito.stubbing.Answer
 import org.scalatest._
 import org.scalatest.mock.MockitoSugar
 
@@ -20,14 +24,24 @@ import org.scalatest.mock.MockitoSugar
  */
 class DiagnosticResourceImplSpec extends FunSpec with MustMatchers with MockitoSugar {
   val mockUriInfo = mock[UriInfo]
-  val mockUriBuilder = mock[UriBuilder]
-  val url = URI.create("demoUrl")
-  val mustacheFactory = new DefaultMustacheFactory("com/cerner/beadledom/health")
+  val templates = new HealthTemplates(new DefaultMustacheFactory("com/cerner/beadledom/health"))
 
-  when(mockUriInfo.getBaseUriBuilder()).thenReturn(mockUriBuilder)
-  when(mockUriBuilder.path(any[Class[DependenciesResource]])).thenReturn(mockUriBuilder)
-  when(mockUriBuilder.path(any[String])).thenReturn(mockUriBuilder)
-  when(mockUriBuilder.build()).thenReturn(url)
+  when(mockUriInfo.getBaseUri).thenReturn(URI.create("http://localhost/"))
+
+  // Resumes a mock AsyncResponse into a future, as the checks complete on another thread
+  def resumedResponse(suspend: AsyncResponse => Unit): Response = {
+    val resumed = new CompletableFuture[AnyRef]
+    val asyncResponse = mock[AsyncResponse]
+    when(asyncResponse.resume(any[AnyRef]())).thenAnswer(new Answer[java.lang.Boolean] {
+      override def answer(invocation: InvocationOnMock): java.lang.Boolean = {
+        resumed.complete(invocation.getArguments()(0))
+        true
+      }
+    })
+
+    suspend(asyncResponse)
+    resumed.get(5, TimeUnit.SECONDS).asInstanceOf[Response]
+  }
 
   describe("DiagnosticResourceImpl") {
     describe("#getDiagnosticHealthCheck") {
@@ -41,8 +55,8 @@ class DiagnosticResourceImplSpec extends FunSpec with MustMatchers with MockitoS
 
         val injector = Guice.createInjector(healthModule)
         val checker = injector.getInstance(classOf[HealthChecker])
-        val healthResource = new DiagnosticResourceImpl(checker, mustacheFactory)
-        val healthCheck = healthResource.getDiagnosticHealthCheck
+        val healthResource = new DiagnosticResourceImpl(checker, templates)
+        val healthCheck = resumedResponse(healthResource.getDiagnosticHealthCheck)
         val healthDto = healthCheck.getEntity.asInstanceOf[HealthDto]
 
         healthDto.getMessage.get() must be ("Lombre is available")
@@ -62,8 +76,8 @@ class DiagnosticResourceImplSpec extends FunSpec with MustMatchers with MockitoS
 
         val injector = Guice.createInjector(healthModule)
         val checker = injector.getInstance(classOf[HealthChecker])
-        val healthResource = new DiagnosticResourceImpl(checker, mustacheFactory)
-        val healthCheck = healthResource.getDiagnosticHealthCheck
+        val healthResource = new DiagnosticResourceImpl(checker, templates)
+        val healthCheck = resumedResponse(healthResource.getDiagnosticHealthCheck)
         val healthDto = healthCheck.getEntity.asInstanceOf[HealthDto]
 
         healthDto.getMessage.get() must be("Lombre is unavailable")
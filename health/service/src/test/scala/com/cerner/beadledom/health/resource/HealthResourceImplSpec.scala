@@ -1,15 +1,19 @@
 package com.cerner.beadledom.health.resource
 
-import com.cerner.beadledom.health.api.DependenciesResource
 import com.cerner.beadledom.health.dto.HealthDto
 import com.cerner.beadledom.health.internal.HealthChecker
 import com.cerner.beadledom.health.{TestModule1, TestModule2}
+import com.cerner.beadledom.health.internal.HealthTemplates
 import com.github.mustachejava.DefaultMustacheFactory
 import com.google.inject.{AbstractModule, Guice}
 import java.net.URI
-import javax.ws.rs.core.{UriBuilder, UriInfo}
-import org.mockito.Matchers._
+import java.util.concurrent.{CompletableFuture, TimeUnit}
+import javax.ws.rs.container.AsyncResponse
+import javax.ws.rs.core.{Response, UriInfo}
+import org.mockito.Matchers.any
 import org.mockito.Mockito._
+import org.mockito.invocation.InvocationOnMock
+import org.mockito.stubbing.Answer
 import org.scalatest._
 import org.scalatest.mock.MockitoSugar
 
@@ -20,18 +24,29 @@ import org.scalatest.mock.MockitoSugar
  */
 class HealthResourceImplSpec extends FunSpec with MustMatchers with MockitoSugar {
   val mockUriInfo = mock[UriInfo]
-  val mockUriBuilder = mock[UriBuilder]
-  val url = URI.create("demoUrl")
 
-  when(mockUriInfo.getBaseUriBuilder()).thenReturn(mockUriBuilder)
-  when(mockUriBuilder.path(any[Class[DependenciesResource]])).thenReturn(mockUriBuilder)
-  when(mockUriBuilder.path(any[String])).thenReturn(mockUriBuilder)
-  when(mockUriBuilder.build()).thenReturn(url)
+  when(mockUriInfo.getBaseUri).thenReturn(URI.create("http://localhost/"))
+
+  // Resumes a mock AsyncResponse into a future, as the checks complete on another thread
+  def resumedResponse(suspend: AsyncResponse => Unit): Response = {
+    val resumed = new CompletableFuture[AnyRef]
+    val asyncResponse = mock[AsyncResponse]
+    when(asyncResponse.resume(any[AnyRef]())).thenAnswer(new Answer[java.lang.Boolean] {
+      override def answer(invocation: InvocationOnMock): java.lang.Boolean = {
+        resumed.complete(invocation.getArguments()(0))
+        true
+      }
+    })
+
+    suspend(asyncResponse)
+    resumed.get(5, TimeUnit.SECONDS).asInstanceOf[Response]
+  }
 
   describe("HealthResourceImpl") {
     describe("#getPrimaryHealthCheck") {
       it("returns a dto with status 200") {
-        val mustacheFactory = new DefaultMustacheFactory("com/cerner/beadledom/health")
+        val templates = new HealthTemplates(
+            new DefaultMustacheFactory("com/cerner/beadledom/health"))
         val healthModule = new AbstractModule {
           override def configure(): Unit = {
             install(new TestModule1)
@@ -41,8 +56,8 @@ class HealthResourceImplSpec extends FunSpec with MustMatchers with MockitoSugar
 
         val injector = Guice.createInjector(healthModule)
         val checker = injector.getInstance(classOf[HealthChecker])
-        val healthResource = new HealthResourceImpl(checker, mustacheFactory)
-        val healthCheck = healthResource.getPrimaryHealthCheck
+        val healthResource = new HealthResourceImpl(checker, templates)
+        val healthCheck = resumedResponse(healthResource.getPrimaryHealthCheck)
         val healthDto = healthCheck.getEntity.asInstanceOf[HealthDto]
 
         healthDto.getMessage.get() must be ("Lombre is available")
@@ -54,7 +69,8 @@ class HealthResourceImplSpec extends FunSpec with MustMatchers with MockitoSugar
       }
 
       it("returns a dto with status 503") {
-        val mustacheFactory = new DefaultMustacheFactory("com/cerner/beadledom/health")
+        val templates = new HealthTemplates(
+            new DefaultMustacheFactory("com/cerner/beadledom/health"))
         val healthModule = new AbstractModule {
           override def configure(): Unit = {
             install(new TestModule2)
@@ -64,8 +80,8 @@ class HealthResourceImplSpec extends FunSpec with MustMatchers with MockitoSugar
 
         val injector = Guice.createInjector(healthModule)
         val checker = injector.getInstance(classOf[HealthChecker])
-        val healthResource = new HealthResourceImpl(checker, mustacheFactory)
-        val healthCheck = healthResource.getPrimaryHealthCheck
+        val healthResource = new HealthResourceImpl(checker, templates)
+        val healthCheck = resumedResponse(healthResource.getPrimaryHealthCheck)
         val healthDto = healthCheck.getEntity.asInstanceOf[HealthDto]
 
         healthDto.getMessage.get() must be ("Lombre is unavailable")
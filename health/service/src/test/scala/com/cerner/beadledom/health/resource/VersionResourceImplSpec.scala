@@ -4,6 +4,7 @@ import java.time.Instant
 import java.util.Properties
 
 import com.cerner.beadledom.metadata.{BuildInfo, ServiceMetadata}
+import com.cerner.beadledom.health.internal.HealthTemplates
 import com.github.mustachejava.DefaultMustacheFactory
 import org.scalatest._
 
@@ -28,9 +29,10 @@ class VersionResourceImplSpec extends FunSpec with MustMatchers {
             .setStartupTime(Instant.now())
             .build()
 
-        val mustacheFactory = new DefaultMustacheFactory("com/cerner/beadledom/health")
+        val templates = new HealthTemplates(
+            new DefaultMustacheFactory("com/cerner/beadledom/health"))
 
-        val resource = new VersionResourceImpl(serviceMetadata, mustacheFactory)
+        val resource = new VersionResourceImpl(serviceMetadata, templates)
 
         val buildDto = resource.getVersionInfo
 
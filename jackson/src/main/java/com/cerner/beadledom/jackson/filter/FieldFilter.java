@@ -1,19 +1,27 @@
 package com.cerner.beadledom.jackson.filter;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.fasterxml.jackson.core.JsonGenerationException;
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.JsonTokenId;
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.google.common.primitives.Ints;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 /**
  * A Jackson filter that will weed out fields from a provided String.
@@ -58,25 +66,95 @@ import org.slf4j.LoggerFactory;
  *
  * <p>This would serialize the entire object for key "inner_model2"/"embedded_inner".
  *
- * <p>Note: json fields containing a '/' character are NOT supported by this filter at this time.
+ * <p>In addition to field names, the following can be used in a field address:
+ * <ul>
+ *     <li>
+ *       {@code *} matches any field name. For example {@code *}{@code /id} keeps the id field of
+ *       every top level object, and {@code inner_model/*} is the same as {@code inner_model/}.
+ *     </li>
+ *     <li>
+ *       A leading {@code -} excludes the addressed field rather than keeping it. For example
+ *       {@code -audit} keeps every field except audit, and {@code -audit/*} keeps audit but removes
+ *       all of its fields. If only exclusions are given, all other fields are kept; otherwise the
+ *       exclusions are removed from the kept fields.
+ *     </li>
+ *     <li>
+ *       A slice suffix keeps only a range of the elements of an array field. {@code items[2]} keeps
+ *       the element at index 2, {@code items[0:10]} keeps the elements from index 0 up to but not
+ *       including 10, and {@code items[10:]} and {@code items[:10]} leave the range open ended.
+ *       Slices can be combined with nested fields, such as {@code items[0:10]/id}. Each slice of a
+ *       field keeps its own range with its own nested fields; {@code items[0:2],items[8:10]/id}
+ *       keeps the first two elements whole and only the id of the elements 8 and 9.
+ *     </li>
+ * </ul>
+ *
+ * <p>The field addresses are compiled into a tree of filters keyed by interned field names, so
+ * each field written is evaluated with a single lookup.
+ *
+ * <p>Note: json fields containing a '/', ',' or '[' character, or named '*', are NOT supported by
+ * this filter at this time.
+ *
+ * <p>A {@code FieldFilter} is not modified once it has been created, so instances can be cached and
+ * shared between threads; see {@link FieldFilterCache}.
  */
 public class FieldFilter {
-  private static final Logger LOGGER = LoggerFactory.getLogger(FieldFilter.class);
   public static final FieldFilter UNFILTERED_FIELD = new FieldFilter(false);
 
+  private static final String WILDCARD = "*";
+  private static final Splitter FIELD_SPLITTER = Splitter.on(',').trimResults().omitEmptyStrings();
+  private static final Splitter PATH_SPLITTER = Splitter.on('/').trimResults();
+
   private final boolean isFiltered;
-  private final Map<String, FieldFilter> filters = Maps.newHashMap();
+  private final boolean hasFilters;
+  private final Map<String, FieldFilter> filters;
+  private final Set<String> excludedFields;
+  // The filter for fields that are not in filters; null if those fields are excluded
+  private final FieldFilter defaultFilter;
+  // The filter for the elements of an array filtered by this filter, unless it is sliced
+  private final FieldFilter elementFilter;
+  // The sorted, disjoint ranges of the elements kept by a sliced filter, and their filters; null
+  // if the filter is not sliced
+  private final int[] sliceStarts;
+  private final int[] sliceEnds;
+  private final FieldFilter[] sliceFilters;
 
   private FieldFilter(boolean isFiltered) {
     this.isFiltered = isFiltered;
+    this.hasFilters = false;
+    this.filters = ImmutableMap.of();
+    this.excludedFields = ImmutableSet.of();
+    this.defaultFilter = isFiltered ? null : this;
+    this.elementFilter = this;
+    this.sliceStarts = null;
+    this.sliceEnds = null;
+    this.sliceFilters = null;
   }
 
-  private FieldFilter(Set<String> fields) {
-    this.isFiltered = true;
-    for (String field : fields) {
-      field = field.trim();
-      addField(field);
-    }
+  private FieldFilter(
+      boolean isFiltered, Map<String, FieldFilter> filters, Set<String> excludedFields,
+      FieldFilter defaultFilter) {
+    this.isFiltered = isFiltered;
+    this.hasFilters = true;
+    this.filters = filters;
+    this.excludedFields = excludedFields;
+    this.defaultFilter = defaultFilter;
+    this.elementFilter = this;
+    this.sliceStarts = null;
+    this.sliceEnds = null;
+    this.sliceFilters = null;
+  }
+
+  private FieldFilter(
+      FieldFilter objectFilter, int[] sliceStarts, int[] sliceEnds, FieldFilter[] sliceFilters) {
+    this.isFiltered = objectFilter.isFiltered;
+    this.hasFilters = true;
+    this.filters = objectFilter.filters;
+    this.excludedFields = objectFilter.excludedFields;
+    this.defaultFilter = objectFilter.defaultFilter;
+    this.elementFilter = null;
+    this.sliceStarts = sliceStarts;
+    this.sliceEnds = sliceEnds;
+    this.sliceFilters = sliceFilters;
   }
 
   /**
@@ -84,58 +162,265 @@ public class FieldFilter {
    * @param fieldParam comma separated list of fields to keep when executing the filter; should be
    *     in the format"id,inner_model/id,other_thing" corresponding to field names in the JSON
    * @return a new FieldFilter to be applied to JSON
+   * @throws IllegalArgumentException if the fieldParam is not a valid list of fields
    */
   public static FieldFilter create(String fieldParam) {
     if (fieldParam == null || fieldParam.isEmpty()) {
-      return new FieldFilter(Sets.<String>newHashSet());
+      return new FieldFilter(true);
     }
-    return new FieldFilter(Sets.newHashSet(fieldParam.split(",")));
+
+    List<List<Segment>> includes = Lists.newArrayList();
+    List<List<Segment>> excludes = Lists.newArrayList();
+    for (String field : FIELD_SPLITTER.split(fieldParam)) {
+      if (field.startsWith("-")) {
+        List<Segment> path = parsePath(field.substring(1), field);
+        for (Segment segment : path) {
+          checkArgument(!segment.isSliced(), "Slices are not supported in exclusions: %s", field);
+        }
+        checkArgument(!path.isEmpty(), "Invalid field: %s", field);
+        excludes.add(path);
+      } else {
+        includes.add(parsePath(field, field));
+      }
+    }
+
+    if (includes.isEmpty() && excludes.isEmpty()) {
+      return new FieldFilter(true);
+    }
+
+    return compile(includes, excludes);
   }
 
   /**
-   * Adds a field to be filtered for this FieldFilter.
+   * Parses a '/' separated field address into its segments; a trailing '/' is dropped.
    */
-  protected void addField(String field) {
-    if (field.contains("/")) {
-      // Splits the field into, at most, 2 strings - "prefix" / "suffix" - since we guarantee the
-      // field contains a / this will ALWAYS have a length of 2.
-      String[] fields = field.split("/", 2);
-      String prefix = fields[0];
-      // This may be an empty string if the field passed in was "foo/"
-      String suffix = fields[1];
-      if ("".equals(suffix)) {
-        filters.put(prefix, UNFILTERED_FIELD);
-        return;
+  private static List<Segment> parsePath(String path, String field) {
+    List<String> names = Lists.newArrayList(PATH_SPLITTER.split(path));
+    if (names.size() > 1 && names.get(names.size() - 1).isEmpty()) {
+      names.remove(names.size() - 1);
+    }
+
+    ImmutableList.Builder<Segment> segments = ImmutableList.builder();
+    for (String name : names) {
+      segments.add(Segment.parse(name, field));
+    }
+    return segments.build();
+  }
+
+  /**
+   * Compiles the included and excluded field addresses, relative to a single object, into a
+   * filter.
+   */
+  private static FieldFilter compile(List<List<Segment>> includes, List<List<Segment>> excludes) {
+    // An address ending at this object keeps all of it
+    boolean includeAll = includes.isEmpty();
+    for (List<Segment> path : includes) {
+      includeAll |= path.isEmpty();
+    }
+
+    boolean excludeAll = false;
+    Set<String> excludedFields = Sets.newHashSet();
+    Set<String> names = Sets.newLinkedHashSet();
+    for (List<Segment> path : excludes) {
+      String name = path.get(0).name;
+      if (path.size() == 1) {
+        excludeAll |= name.equals(WILDCARD);
+        excludedFields.add(name);
+      } else if (!name.equals(WILDCARD)) {
+        names.add(name);
+      }
+    }
+
+    if (!includeAll) {
+      for (List<Segment> path : includes) {
+        if (!path.get(0).name.equals(WILDCARD)) {
+          names.add(path.get(0).name);
+        }
+      }
+    }
+
+    FieldFilter defaultFilter = null;
+    if (!excludeAll) {
+      defaultFilter = compileField(WILDCARD, includeAll, includes, excludes);
+    }
+
+    Map<String, FieldFilter> filters = Maps.newHashMap();
+    for (String name : names) {
+      if (excludeAll || excludedFields.contains(name)) {
+        continue;
+      }
+
+      FieldFilter filter = compileField(name, includeAll, includes, excludes);
+      if (filter != null && filter != defaultFilter) {
+        filters.put(name.intern(), filter);
       }
+    }
 
-      FieldFilter nestedFilter = filters.get(prefix);
-      if (filters.containsKey(prefix) && nestedFilter == UNFILTERED_FIELD) {
-        return;
-      } else if (nestedFilter == null) {
-        nestedFilter = new FieldFilter(true);
-        filters.put(prefix, nestedFilter);
+    Set<String> exclusions = Sets.newHashSet();
+    for (String name : excludedFields) {
+      if (!name.equals(WILDCARD)) {
+        exclusions.add(name.intern());
       }
-      nestedFilter.addField(suffix);
-    } else {
-      filters.put(field, UNFILTERED_FIELD);
     }
+
+    if (!includeAll || !filters.isEmpty() || !exclusions.isEmpty() || excludeAll
+        || defaultFilter != UNFILTERED_FIELD) {
+      return new FieldFilter(!includeAll, ImmutableMap.copyOf(filters),
+          ImmutableSet.copyOf(exclusions), defaultFilter);
+    }
+
+    return UNFILTERED_FIELD;
+  }
+
+  /**
+   * Compiles the filter for the value of the named field, or the default filter for fields not
+   * otherwise named when the name is the wildcard. Returns null if the field is not kept.
+   *
+   * <p>If an address of the field is sliced, the elements of an array value are filtered by the
+   * addresses whose slices contain them, an address without a slice containing every element, so
+   * each range of elements gets its own filter. The fields of an object value are filtered by all
+   * the addresses.
+   */
+  private static FieldFilter compileField(
+      String name, boolean includeAll, List<List<Segment>> includes,
+      List<List<Segment>> excludes) {
+    List<List<Segment>> fieldExcludes = Lists.newArrayList();
+    for (List<Segment> path : excludes) {
+      Segment segment = path.get(0);
+      if (path.size() > 1 && (segment.name.equals(name) || segment.name.equals(WILDCARD))) {
+        fieldExcludes.add(path.subList(1, path.size()));
+      }
+    }
+
+    if (includeAll) {
+      return compileValue(
+          ImmutableList.<List<Segment>>of(ImmutableList.<Segment>of()), fieldExcludes);
+    }
+
+    List<Segment> fieldSegments = Lists.newArrayList();
+    List<List<Segment>> fieldIncludes = Lists.newArrayList();
+    boolean sliced = false;
+    for (List<Segment> path : includes) {
+      Segment segment = path.get(0);
+      if (segment.name.equals(name) || segment.name.equals(WILDCARD)) {
+        fieldSegments.add(segment);
+        fieldIncludes.add(path.subList(1, path.size()));
+        sliced |= segment.isSliced();
+      }
+    }
+
+    if (fieldIncludes.isEmpty()) {
+      return null;
+    }
+
+    FieldFilter filter = compileValue(fieldIncludes, fieldExcludes);
+    if (!sliced) {
+      return filter;
+    }
+
+    // Split the slices into ranges that are each contained by the same set of slices
+    Set<Integer> bounds = Sets.newTreeSet();
+    for (Segment segment : fieldSegments) {
+      bounds.add(segment.sliceStart);
+      bounds.add(segment.sliceEnd);
+    }
+
+    List<Integer> starts = Lists.newArrayList();
+    List<Integer> ends = Lists.newArrayList();
+    List<FieldFilter> sliceFilters = Lists.newArrayList();
+    Integer rangeStart = null;
+    for (Integer bound : bounds) {
+      if (rangeStart != null) {
+        List<List<Segment>> rangeIncludes = Lists.newArrayList();
+        for (int i = 0; i < fieldSegments.size(); i++) {
+          Segment segment = fieldSegments.get(i);
+          if (segment.sliceStart <= rangeStart && rangeStart < segment.sliceEnd) {
+            rangeIncludes.add(fieldIncludes.get(i));
+          }
+        }
+
+        if (!rangeIncludes.isEmpty()) {
+          starts.add(rangeStart);
+          ends.add(bound);
+          sliceFilters.add(compileValue(rangeIncludes, fieldExcludes));
+        }
+      }
+      rangeStart = bound;
+    }
+
+    return new FieldFilter(filter, Ints.toArray(starts), Ints.toArray(ends),
+        sliceFilters.toArray(new FieldFilter[sliceFilters.size()]));
+  }
+
+  /**
+   * Compiles the included and excluded field addresses, relative to a value, into a filter for the
+   * value.
+   */
+  private static FieldFilter compileValue(
+      List<List<Segment>> includes, List<List<Segment>> excludes) {
+    if (excludes.isEmpty()) {
+      for (List<Segment> path : includes) {
+        if (path.isEmpty()) {
+          // Nothing to filter beneath this value
+          return UNFILTERED_FIELD;
+        }
+      }
+    }
+
+    return compile(includes, excludes);
   }
 
   /**
    * Returns true if this FieldFilter contains filters, false otherwise.
    */
   public boolean hasFilters() {
-    return !filters.isEmpty();
+    return hasFilters;
   }
 
   protected Map<String, FieldFilter> getFilters() {
     return filters;
   }
 
+  /**
+   * Returns the filter to apply to the value of the given field, or null if the field is excluded
+   * by this filter.
+   */
+  FieldFilter getFieldFilter(String field) {
+    FieldFilter filter = filters.get(field);
+    if (filter != null) {
+      return filter;
+    }
+
+    if (!excludedFields.isEmpty() && excludedFields.contains(field)) {
+      return null;
+    }
+    return defaultFilter;
+  }
+
+  /**
+   * Returns the filter to apply to the element at the given index of an array filtered by this
+   * filter, or null if the element is excluded by this filter.
+   */
+  FieldFilter getElementFilter(int index) {
+    if (sliceStarts == null) {
+      return elementFilter;
+    }
+
+    int slice = Arrays.binarySearch(sliceStarts, index);
+    if (slice < 0) {
+      // The last slice starting before the index
+      slice = -slice - 2;
+    }
+    return slice >= 0 && index < sliceEnds[slice] ? sliceFilters[slice] : null;
+  }
+
   /**
    * Writes the json from the parser onto the generator, using the filters to only write the objects
    * specified.
    *
+   * <p>There is no limit on the nesting depth of the json; see
+   * {@link #writeJson(JsonParser, JsonGenerator, int)} to limit the depth.
+   *
    * @param parser JsonParser that is created from a Jackson utility (i.e. ObjectMapper)
    * @param jgen JsonGenerator that is used for writing json onto an underlying stream
    * @throws JsonGenerationException exception if Jackson throws an error while iterating through
@@ -143,121 +428,120 @@ public class FieldFilter {
    * @throws IOException if en error occurs while Jackson is parsing or writing json
    */
   public void writeJson(JsonParser parser, JsonGenerator jgen) throws IOException {
+    writeJson(parser, jgen, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Writes the json from the parser onto the generator, using the filters to only write the objects
+   * specified.
+   *
+   * <p>Tokens are streamed from the parser to the generator one at a time using an explicit stack
+   * of filters, so deeply nested json does not consume call stack. Excluded values are skipped by
+   * the parser without being copied.
+   *
+   * @param parser JsonParser that is created from a Jackson utility (i.e. ObjectMapper)
+   * @param jgen JsonGenerator that is used for writing json onto an underlying stream
+   * @param maxDepth the maximum nesting depth of objects and arrays that will be written
+   * @throws JsonParseException if the written json is nested deeper than {@code maxDepth}
+   * @throws IOException if en error occurs while Jackson is parsing or writing json
+   */
+  public void writeJson(JsonParser parser, JsonGenerator jgen, int maxDepth) throws IOException {
     checkNotNull(parser, "JsonParser cannot be null for writeJson.");
     checkNotNull(jgen, "JsonGenerator cannot be null for writeJson.");
+    checkArgument(maxDepth > 0, "maxDepth: %s must be greater than 0", maxDepth);
+
+    FieldFilterState state = new FieldFilterState(this);
     JsonToken curToken = parser.nextToken();
     while (curToken != null) {
-      curToken = processToken(curToken, parser, jgen);
-    }
-    jgen.flush();
-  }
+      switch (curToken.id()) {
+        case JsonTokenId.ID_START_OBJECT:
+        case JsonTokenId.ID_START_ARRAY:
+          if (!state.startStruct(curToken.id() == JsonTokenId.ID_START_ARRAY)) {
+            parser.skipChildren();
+            state.endStruct();
+            break;
+          }
 
-  private JsonToken processToken(JsonToken curToken, JsonParser parser, JsonGenerator jgen)
-      throws IOException {
-    if (curToken.isStructEnd()) {
-      // this is our escape and base case.
-      return curToken;
-    }
-    if (curToken.isStructStart()) {
-      processStructStart(curToken, jgen);
-      JsonToken token = processToken(parser.nextToken(), parser, jgen);
-      while (!token.isStructEnd()) {
-        token = processToken(token, parser, jgen);
+          if (state.depth() > maxDepth) {
+            throw new JsonParseException(
+                "Maximum depth of " + maxDepth + " exceeded", parser.getCurrentLocation());
+          }
+          jgen.copyCurrentEvent(parser);
+          break;
+        case JsonTokenId.ID_END_OBJECT:
+        case JsonTokenId.ID_END_ARRAY:
+          state.endStruct();
+          jgen.copyCurrentEvent(parser);
+          break;
+        case JsonTokenId.ID_FIELD_NAME:
+          if (state.fieldName(parser.getCurrentName())) {
+            jgen.copyCurrentEvent(parser);
+          }
+          break;
+        default:
+          // Scalar values are copied without materializing them as text where possible
+          if (state.value()) {
+            jgen.copyCurrentEvent(parser);
+          }
+          break;
       }
-      processStructEnd(token, jgen);
-      return parser.nextToken();
-    }
 
-    if (curToken.id() == JsonTokenId.ID_FIELD_NAME) {
-      String currentName = parser.getCurrentName();
-      if (isFiltered && filters.containsKey(parser.getCurrentName())) {
-        jgen.writeFieldName(currentName);
-        // perform filtering.
-        return filters.get(parser.getCurrentName()).processToken(parser.nextToken(), parser, jgen);
-      } else if (!isFiltered) {
-        jgen.writeFieldName(currentName);
-        return processToken(parser.nextToken(), parser, jgen);
-      } else {
-        parser.nextToken();
-        parser.skipChildren();
-        return processToken(parser.nextToken(), parser, jgen);
-      }
-    } else if (curToken.isScalarValue()) {
-      processValue(curToken, parser, jgen);
-      return parser.nextToken();
-    } else {
-      LOGGER.error(
-          "Unable to process the token {} with name {}.", curToken, parser.getCurrentName());
-      throw new RuntimeException(
-          "Unable to process the token " + curToken + " with name" + parser.getCurrentName());
+      curToken = parser.nextToken();
     }
+    jgen.flush();
   }
 
   /**
-   * Uses a JsonToken + JsonParser to determine how to write a value to the JsonGenerator.
-   *
-   * <p>This separation exists so we can separate the iteration logic from the parsing logic.
-   *
-   * @param valueToken current token we are interested in from the parser
-   * @param parser current parser
-   * @param jgen JsonGenerator that is used for writing json onto an underlying stream
-   * @throws JsonGenerationException if access to the JsonParser throws a JsonGenerationException
-   * @throws IOException if the Jackson utilties (JsonParser or JsonGenerator) throw an IOException
+   * A single segment of a field address.
    */
-  private void processValue(JsonToken valueToken, JsonParser parser, JsonGenerator jgen)
-      throws IOException {
-    if (valueToken.isBoolean()) {
-      jgen.writeBoolean(parser.getBooleanValue());
-    } else if (valueToken.isNumeric()) {
-      if (parser.getNumberType() == JsonParser.NumberType.INT) {
-        jgen.writeNumber(parser.getIntValue());
-      } else if (parser.getNumberType() == JsonParser.NumberType.DOUBLE) {
-        jgen.writeNumber(parser.getDoubleValue());
-      } else if (parser.getNumberType() == JsonParser.NumberType.FLOAT) {
-        jgen.writeNumber(parser.getFloatValue());
-      } else if (parser.getNumberType() == JsonParser.NumberType.LONG) {
-        jgen.writeNumber(parser.getLongValue());
-      } else if (parser.getNumberType() == JsonParser.NumberType.BIG_DECIMAL) {
-        jgen.writeNumber(parser.getDecimalValue());
-      } else if (parser.getNumberType() == JsonParser.NumberType.BIG_INTEGER) {
-        jgen.writeNumber(parser.getBigIntegerValue());
-      } else {
-        LOGGER.error("Found unsupported numeric value with name {}.", parser.getCurrentName());
-        throw new RuntimeException(
-            "Found unsupported numeric value with name " + parser.getCurrentName());
-      }
-    } else if (valueToken.id() == JsonTokenId.ID_STRING) {
-      jgen.writeString(parser.getText());
-    } else {
-      // Something bad just happened. Probably an unsupported type.
-      LOGGER.error(
-          "Found unsupported value type {} for name {}.", valueToken.id(), parser.getCurrentName());
-      throw new RuntimeException(
-          "Found unsupported value type " + valueToken.id() + " for name " + parser
-              .getCurrentName());
+  private static final class Segment {
+    final String name;
+    final int sliceStart;
+    final int sliceEnd;
+
+    private Segment(String name, int sliceStart, int sliceEnd) {
+      this.name = name;
+      this.sliceStart = sliceStart;
+      this.sliceEnd = sliceEnd;
     }
-  }
 
-  private void processStructStart(JsonToken token, JsonGenerator jgen) throws IOException {
-    if (token.id() == JsonToken.START_OBJECT.id()) {
-      jgen.writeStartObject();
-    } else if (token.id() == JsonToken.START_ARRAY.id()) {
-      jgen.writeStartArray();
-    } else {
-      LOGGER.error("Illegal struct start {}", token.id());
-      throw new RuntimeException("Illegal struct start " + token.id());
+    boolean isSliced() {
+      return sliceStart != 0 || sliceEnd != Integer.MAX_VALUE;
     }
-  }
 
-  private void processStructEnd(JsonToken token, JsonGenerator jgen)
-      throws IOException {
-    if (token.id() == JsonTokenId.ID_END_OBJECT) {
-      jgen.writeEndObject();
-    } else if (token.id() == JsonTokenId.ID_END_ARRAY) {
-      jgen.writeEndArray();
-    } else {
-      LOGGER.error("Illegal struct end {}", token.id());
-      throw new RuntimeException("Illegal struct end " + token.id());
+    /**
+     * Parses a segment in the format {@code name}, {@code name[index]} or
+     * {@code name[start:end]}, where either of start or end may be omitted.
+     */
+    static Segment parse(String segment, String field) {
+      int sliceIndex = segment.indexOf('[');
+      String name = sliceIndex < 0 ? segment : segment.substring(0, sliceIndex).trim();
+      checkArgument(!name.isEmpty(), "Invalid field: %s", field);
+      if (sliceIndex < 0) {
+        return new Segment(name, 0, Integer.MAX_VALUE);
+      }
+
+      checkArgument(segment.endsWith("]"), "Invalid slice in field: %s", field);
+      String slice = segment.substring(sliceIndex + 1, segment.length() - 1);
+      int separatorIndex = slice.indexOf(':');
+      try {
+        if (separatorIndex < 0) {
+          int index = Integer.parseInt(slice.trim());
+          checkArgument(index >= 0 && index < Integer.MAX_VALUE,
+              "Invalid slice in field: %s", field);
+          return new Segment(name, index, index + 1);
+        }
+
+        String start = slice.substring(0, separatorIndex).trim();
+        String end = slice.substring(separatorIndex + 1).trim();
+        int sliceStart = start.isEmpty() ? 0 : Integer.parseInt(start);
+        int sliceEnd = end.isEmpty() ? Integer.MAX_VALUE : Integer.parseInt(end);
+        checkArgument(sliceStart >= 0 && sliceEnd >= sliceStart,
+            "Invalid slice in field: %s", field);
+        return new Segment(name, sliceStart, sliceEnd);
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("Invalid slice in field: " + field, e);
+      }
     }
   }
 }
@@ -0,0 +1,122 @@
+package com.cerner.beadledom.jackson.filter;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Splitter;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.util.SortedSet;
+
+/**
+ * A size-bounded, thread-safe cache of compiled {@link FieldFilter} instances keyed by the fields
+ * parameter they are created from.
+ *
+ * <p>Filters are looked up by the fields parameter as given first, so a repeated fields parameter
+ * is served without parsing it again. Only on a miss is the parameter canonicalized, so fields
+ * parameters that select the same fields in a different order or with different whitespace (e.g.
+ * {@code "a,b"} and {@code " b, a"}) share a single cached filter. When the cache is full, the
+ * least recently used filters are evicted.
+ *
+ * <p>Cached filters are shared between threads, which is safe because a {@link FieldFilter} is not
+ * modified once it has been created.
+ */
+public class FieldFilterCache {
+  /**
+   * The default maximum number of filters held by the cache.
+   */
+  public static final long DEFAULT_MAXIMUM_SIZE = 1000;
+
+  private static final Splitter FIELD_SPLITTER = Splitter.on(',').trimResults().omitEmptyStrings();
+  private static final Joiner FIELD_JOINER = Joiner.on(',');
+  private static final FieldFilter EMPTY_FILTER = FieldFilter.create(null);
+
+  private final Cache<String, FieldFilter> filtersByParam;
+  private final LoadingCache<String, FieldFilter> filtersByCanonicalFields;
+
+  /**
+   * Creates a new {@code FieldFilterCache} with the {@link #DEFAULT_MAXIMUM_SIZE}.
+   */
+  public FieldFilterCache() {
+    this(DEFAULT_MAXIMUM_SIZE);
+  }
+
+  /**
+   * Creates a new {@code FieldFilterCache}.
+   *
+   * @param maximumSize the maximum number of filters held by the cache; must not be negative. A
+   *     maximum size of 0 disables caching.
+   */
+  public FieldFilterCache(long maximumSize) {
+    checkArgument(maximumSize >= 0, "maximumSize: %s must not be negative", maximumSize);
+    this.filtersByParam = CacheBuilder.newBuilder()
+        .maximumSize(maximumSize)
+        .recordStats()
+        .build();
+    this.filtersByCanonicalFields = CacheBuilder.newBuilder()
+        .maximumSize(maximumSize)
+        .build(new CacheLoader<String, FieldFilter>() {
+          @Override
+          public FieldFilter load(String canonicalFields) {
+            return FieldFilter.create(canonicalFields);
+          }
+        });
+  }
+
+  /**
+   * Returns the {@link FieldFilter} for the given fields parameter, creating and caching it if it
+   * is not already cached.
+   *
+   * @param fieldParam comma separated list of fields to keep when executing the filter; see
+   *     {@link FieldFilter#create(String)}
+   * @return the FieldFilter to be applied to JSON
+   * @throws IllegalArgumentException if the fieldParam is not a valid list of fields
+   */
+  public FieldFilter get(String fieldParam) {
+    if (fieldParam == null || fieldParam.isEmpty()) {
+      return EMPTY_FILTER;
+    }
+
+    FieldFilter filter = filtersByParam.getIfPresent(fieldParam);
+    if (filter != null) {
+      return filter;
+    }
+
+    try {
+      filter = filtersByCanonicalFields.getUnchecked(canonicalize(fieldParam));
+    } catch (UncheckedExecutionException e) {
+      throw Throwables.propagate(e.getCause());
+    }
+    filtersByParam.put(fieldParam, filter);
+    return filter;
+  }
+
+  /**
+   * Returns the hit, miss and eviction statistics of the lookups by fields parameter.
+   */
+  public CacheStats stats() {
+    return filtersByParam.stats();
+  }
+
+  /**
+   * Returns the approximate number of distinct filters currently held by the cache.
+   */
+  public long size() {
+    return filtersByCanonicalFields.size();
+  }
+
+  /**
+   * Returns the fields of the parameter, trimmed, de-duplicated and sorted, as a comma separated
+   * string.
+   */
+  static String canonicalize(String fieldParam) {
+    SortedSet<String> fields = Sets.newTreeSet(FIELD_SPLITTER.split(fieldParam));
+    return FIELD_JOINER.join(fields);
+  }
+}
@@ -0,0 +1,135 @@
+package com.cerner.beadledom.jackson.filter;
+
+import java.util.Arrays;
+
+/**
+ * Tracks the position of a stream of JSON tokens within a {@link FieldFilter} tree and decides
+ * which of the tokens are written.
+ *
+ * <p>The filters for the open objects and arrays are kept on an explicit stack so the nesting depth
+ * of the JSON does not consume call stack. Each token is evaluated with a single lookup against the
+ * compiled filter of the enclosing structure.
+ *
+ * <p>Instances are not thread-safe and are intended to be used for filtering a single value.
+ */
+final class FieldFilterState {
+  private static final int INITIAL_STACK_SIZE = 16;
+
+  private FieldFilter[] filterStack = new FieldFilter[INITIAL_STACK_SIZE];
+  private int[] indexStack = new int[INITIAL_STACK_SIZE];
+  private int depth;
+
+  // The filter for the structure (object or array) currently being written
+  private FieldFilter structFilter;
+  // The index of the next element of the array being written; -1 when not in an array
+  private int elementIndex = -1;
+  // The filter for the next value of the object being written; null if the value is excluded
+  private FieldFilter fieldValueFilter;
+  // The depth of nested structures within an excluded value
+  private int skippedDepth;
+
+  FieldFilterState(FieldFilter filter) {
+    this.structFilter = filter;
+    this.fieldValueFilter = filter;
+  }
+
+  /**
+   * Returns the number of objects and arrays currently open.
+   */
+  int depth() {
+    return depth;
+  }
+
+  /**
+   * Returns true if currently within an excluded value.
+   */
+  boolean isSkipping() {
+    return skippedDepth > 0 || (elementIndex < 0 && fieldValueFilter == null);
+  }
+
+  /**
+   * Returns true if the field with the given name will be written within the object currently
+   * being written.
+   */
+  boolean includesField(String name) {
+    return skippedDepth == 0 && structFilter.getFieldFilter(name) != null;
+  }
+
+  /**
+   * Evaluates a field name; returns true if the field name should be written.
+   */
+  boolean fieldName(String name) {
+    if (skippedDepth > 0) {
+      return false;
+    }
+
+    fieldValueFilter = structFilter.getFieldFilter(name);
+    return fieldValueFilter != null;
+  }
+
+  /**
+   * Evaluates a scalar value; returns true if the value should be written.
+   */
+  boolean value() {
+    return skippedDepth == 0 && nextValueFilter() != null;
+  }
+
+  /**
+   * Evaluates the start of an object or array; returns true if the start should be written.
+   *
+   * <p>When false is returned, the structure is skipped until the matching call to
+   * {@link #endStruct()}.
+   */
+  boolean startStruct(boolean isArray) {
+    if (skippedDepth > 0) {
+      skippedDepth++;
+      return false;
+    }
+
+    FieldFilter filter = nextValueFilter();
+    if (filter == null) {
+      skippedDepth = 1;
+      return false;
+    }
+
+    if (depth == filterStack.length) {
+      filterStack = Arrays.copyOf(filterStack, depth * 2);
+      indexStack = Arrays.copyOf(indexStack, depth * 2);
+    }
+    filterStack[depth] = structFilter;
+    indexStack[depth] = elementIndex;
+    depth++;
+
+    structFilter = filter;
+    elementIndex = isArray ? 0 : -1;
+    return true;
+  }
+
+  /**
+   * Evaluates the end of an object or array; returns true if the end should be written.
+   */
+  boolean endStruct() {
+    if (skippedDepth > 0) {
+      skippedDepth--;
+      return false;
+    }
+
+    depth--;
+    structFilter = filterStack[depth];
+    elementIndex = indexStack[depth];
+    filterStack[depth] = null;
+    fieldValueFilter = structFilter;
+    return true;
+  }
+
+  private FieldFilter nextValueFilter() {
+    if (elementIndex >= 0) {
+      return structFilter.getElementFilter(elementIndex++);
+    }
+
+    FieldFilter filter = fieldValueFilter;
+    // Only the root can have consecutive values without field names
+    fieldValueFilter = structFilter;
+    return filter;
+  }
+}
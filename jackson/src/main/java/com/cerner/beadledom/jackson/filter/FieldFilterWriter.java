@@ -0,0 +1,135 @@
+package com.cerner.beadledom.jackson.filter;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.Version;
+import com.fasterxml.jackson.databind.AnnotationIntrospector;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.AnnotatedClass;
+import com.fasterxml.jackson.databind.introspect.NopAnnotationIntrospector;
+import com.fasterxml.jackson.databind.ser.BeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.PropertyFilter;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import java.io.IOException;
+
+/**
+ * Serializes values as JSON filtered by a {@link FieldFilter} in a single pass.
+ *
+ * <p>Values are written through a {@link FieldFilteringGenerator}, so the serialized value is never
+ * buffered before being filtered. In addition, bean serializers consult the filter before writing
+ * each property, so the values of excluded bean properties are never computed.
+ *
+ * <p>The writer uses a copy of the provided {@link ObjectMapper}; any {@code @JsonFilter} filters
+ * configured on the original mapper continue to be applied. Instances are thread-safe and should
+ * be reused.
+ */
+public class FieldFilterWriter {
+  static final String FILTER_ID = FieldFilter.class.getName();
+
+  private final ObjectWriter objectWriter;
+
+  /**
+   * Creates a new {@code FieldFilterWriter}.
+   *
+   * @param objectMapper the mapper used to serialize values
+   */
+  public FieldFilterWriter(ObjectMapper objectMapper) {
+    checkNotNull(objectMapper, "objectMapper:null");
+
+    ObjectMapper filteringMapper = objectMapper.copy();
+    filteringMapper.setAnnotationIntrospector(AnnotationIntrospector.pair(
+        objectMapper.getSerializationConfig().getAnnotationIntrospector(),
+        new FieldFilterIntrospector()));
+
+    this.objectWriter = filteringMapper.writer(new FieldFilterProvider(
+        objectMapper.getSerializationConfig().getFilterProvider()));
+  }
+
+  /**
+   * Writes the value to the generator, keeping only the fields selected by the filter.
+   *
+   * @param jgen JsonGenerator that is used for writing json onto an underlying stream
+   * @param value the value to serialize
+   * @param filter the filter to apply to the serialized value
+   * @throws IOException if an error occurs while Jackson is serializing or writing json
+   */
+  public void writeValue(JsonGenerator jgen, Object value, FieldFilter filter) throws IOException {
+    checkNotNull(jgen, "JsonGenerator cannot be null for writeValue.");
+    checkNotNull(filter, "FieldFilter cannot be null for writeValue.");
+    objectWriter.writeValue(new FieldFilteringGenerator(jgen, filter), value);
+  }
+
+  /**
+   * Assigns the field filter id to every bean that does not declare its own filter.
+   */
+  private static class FieldFilterIntrospector extends NopAnnotationIntrospector {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public Version version() {
+      return Version.unknownVersion();
+    }
+
+    @Override
+    public Object findFilterId(Annotated annotated) {
+      if (annotated instanceof AnnotatedClass) {
+        return FILTER_ID;
+      }
+      return null;
+    }
+  }
+
+  /**
+   * Skips bean properties that will not be written by the {@link FieldFilteringGenerator}.
+   */
+  private static class FieldFilterPropertyFilter extends SimpleBeanPropertyFilter {
+    @Override
+    public void serializeAsField(
+        Object pojo, JsonGenerator jgen, SerializerProvider provider, PropertyWriter writer)
+        throws Exception {
+      if (jgen instanceof FieldFilteringGenerator
+          && !((FieldFilteringGenerator) jgen).includesField(writer.getName())) {
+        if (!jgen.canOmitFields()) {
+          writer.serializeAsOmittedField(pojo, jgen, provider);
+        }
+        return;
+      }
+
+      writer.serializeAsField(pojo, jgen, provider);
+    }
+  }
+
+  /**
+   * Provides the {@link FieldFilterPropertyFilter} and delegates all other filter ids to the filter
+   * provider of the original mapper.
+   */
+  private static class FieldFilterProvider extends FilterProvider {
+    private final PropertyFilter fieldFilter = new FieldFilterPropertyFilter();
+    private final FilterProvider delegate;
+
+    FieldFilterProvider(FilterProvider delegate) {
+      this.delegate = delegate;
+    }
+
+    @Deprecated
+    @Override
+    public BeanPropertyFilter findFilter(Object filterId) {
+      throw new UnsupportedOperationException("Access to deprecated filters not supported");
+    }
+
+    @Override
+    public PropertyFilter findPropertyFilter(Object filterId, Object valueToFilter) {
+      if (FILTER_ID.equals(filterId)) {
+        return fieldFilter;
+      }
+
+      return delegate == null ? null : delegate.findPropertyFilter(filterId, valueToFilter);
+    }
+  }
+}
@@ -0,0 +1,282 @@
+package com.cerner.beadledom.jackson.filter;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.fasterxml.jackson.core.Base64Variant;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.util.JsonGeneratorDelegate;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * A {@link JsonGenerator} that applies a {@link FieldFilter} to the tokens written to it, passing
+ * only the selected fields on to the delegate generator.
+ *
+ * <p>This allows a value to be serialized and filtered in a single pass, without first buffering
+ * the full serialized value and re-parsing it through {@link FieldFilter#writeJson}. The output
+ * is identical to the output of {@link FieldFilter#writeJson} for the same filter.
+ *
+ * <p>Instances are not thread-safe and are intended to be used for writing a single value.
+ */
+public class FieldFilteringGenerator extends JsonGeneratorDelegate {
+  private final FieldFilterState state;
+
+  /**
+   * Creates a new {@code FieldFilteringGenerator}.
+   *
+   * @param delegate the generator that the filtered JSON is written to
+   * @param filter the filter to apply to the written JSON
+   */
+  public FieldFilteringGenerator(JsonGenerator delegate, FieldFilter filter) {
+    // Copy methods are not delegated so copied tokens are filtered like any other write
+    super(checkNotNull(delegate, "delegate:null"), false);
+    this.state = new FieldFilterState(checkNotNull(filter, "filter:null"));
+  }
+
+  /**
+   * Returns true if the field with the given name will be written within the object currently
+   * being written, false otherwise.
+   *
+   * <p>This allows serializers to avoid computing the values of fields that will be excluded.
+   */
+  public boolean includesField(String name) {
+    return state.includesField(name);
+  }
+
+  @Override
+  public void writeStartArray() throws IOException {
+    if (state.startStruct(true)) {
+      delegate.writeStartArray();
+    }
+  }
+
+  @Override
+  public void writeStartArray(int size) throws IOException {
+    if (state.startStruct(true)) {
+      delegate.writeStartArray(size);
+    }
+  }
+
+  @Override
+  public void writeEndArray() throws IOException {
+    if (state.endStruct()) {
+      delegate.writeEndArray();
+    }
+  }
+
+  @Override
+  public void writeStartObject() throws IOException {
+    if (state.startStruct(false)) {
+      delegate.writeStartObject();
+    }
+  }
+
+  @Override
+  public void writeEndObject() throws IOException {
+    if (state.endStruct()) {
+      delegate.writeEndObject();
+    }
+  }
+
+  @Override
+  public void writeFieldName(String name) throws IOException {
+    if (state.fieldName(name)) {
+      delegate.writeFieldName(name);
+    }
+  }
+
+  @Override
+  public void writeFieldName(SerializableString name) throws IOException {
+    if (state.fieldName(name.getValue())) {
+      delegate.writeFieldName(name);
+    }
+  }
+
+  @Override
+  public void writeOmittedField(String fieldName) throws IOException {
+    if (state.includesField(fieldName)) {
+      delegate.writeOmittedField(fieldName);
+    }
+  }
+
+  @Override
+  public void writeString(String text) throws IOException {
+    if (state.value()) {
+      delegate.writeString(text);
+    }
+  }
+
+  @Override
+  public void writeString(char[] text, int offset, int len) throws IOException {
+    if (state.value()) {
+      delegate.writeString(text, offset, len);
+    }
+  }
+
+  @Override
+  public void writeString(SerializableString text) throws IOException {
+    if (state.value()) {
+      delegate.writeString(text);
+    }
+  }
+
+  @Override
+  public void writeRawUTF8String(byte[] text, int offset, int length) throws IOException {
+    if (state.value()) {
+      delegate.writeRawUTF8String(text, offset, length);
+    }
+  }
+
+  @Override
+  public void writeUTF8String(byte[] text, int offset, int length) throws IOException {
+    if (state.value()) {
+      delegate.writeUTF8String(text, offset, length);
+    }
+  }
+
+  @Override
+  public void writeRaw(String text) throws IOException {
+    if (!state.isSkipping()) {
+      delegate.writeRaw(text);
+    }
+  }
+
+  @Override
+  public void writeRaw(String text, int offset, int len) throws IOException {
+    if (!state.isSkipping()) {
+      delegate.writeRaw(text, offset, len);
+    }
+  }
+
+  @Override
+  public void writeRaw(SerializableString raw) throws IOException {
+    if (!state.isSkipping()) {
+      delegate.writeRaw(raw);
+    }
+  }
+
+  @Override
+  public void writeRaw(char[] text, int offset, int len) throws IOException {
+    if (!state.isSkipping()) {
+      delegate.writeRaw(text, offset, len);
+    }
+  }
+
+  @Override
+  public void writeRaw(char c) throws IOException {
+    if (!state.isSkipping()) {
+      delegate.writeRaw(c);
+    }
+  }
+
+  @Override
+  public void writeRawValue(String text) throws IOException {
+    if (state.value()) {
+      delegate.writeRawValue(text);
+    }
+  }
+
+  @Override
+  public void writeRawValue(String text, int offset, int len) throws IOException {
+    if (state.value()) {
+      delegate.writeRawValue(text, offset, len);
+    }
+  }
+
+  @Override
+  public void writeRawValue(char[] text, int offset, int len) throws IOException {
+    if (state.value()) {
+      delegate.writeRawValue(text, offset, len);
+    }
+  }
+
+  @Override
+  public void writeBinary(Base64Variant b64variant, byte[] data, int offset, int len)
+      throws IOException {
+    if (state.value()) {
+      delegate.writeBinary(b64variant, data, offset, len);
+    }
+  }
+
+  @Override
+  public int writeBinary(Base64Variant b64variant, InputStream data, int dataLength)
+      throws IOException {
+    if (state.value()) {
+      return delegate.writeBinary(b64variant, data, dataLength);
+    }
+    return -1;
+  }
+
+  @Override
+  public void writeNumber(short v) throws IOException {
+    if (state.value()) {
+      delegate.writeNumber(v);
+    }
+  }
+
+  @Override
+  public void writeNumber(int v) throws IOException {
+    if (state.value()) {
+      delegate.writeNumber(v);
+    }
+  }
+
+  @Override
+  public void writeNumber(long v) throws IOException {
+    if (state.value()) {
+      delegate.writeNumber(v);
+    }
+  }
+
+  @Override
+  public void writeNumber(BigInteger v) throws IOException {
+    if (state.value()) {
+      delegate.writeNumber(v);
+    }
+  }
+
+  @Override
+  public void writeNumber(double v) throws IOException {
+    if (state.value()) {
+      delegate.writeNumber(v);
+    }
+  }
+
+  @Override
+  public void writeNumber(float v) throws IOException {
+    if (state.value()) {
+      delegate.writeNumber(v);
+    }
+  }
+
+  @Override
+  public void writeNumber(BigDecimal v) throws IOException {
+    if (state.value()) {
+      delegate.writeNumber(v);
+    }
+  }
+
+  @Override
+  public void writeNumber(String encodedValue) throws IOException {
+    if (state.value()) {
+      delegate.writeNumber(encodedValue);
+    }
+  }
+
+  @Override
+  public void writeBoolean(boolean value) throws IOException {
+    if (state.value()) {
+      delegate.writeBoolean(value);
+    }
+  }
+
+  @Override
+  public void writeNull() throws IOException {
+    if (state.value()) {
+      delegate.writeNull();
+    }
+  }
+}
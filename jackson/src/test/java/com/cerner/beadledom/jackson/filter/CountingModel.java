@@ -0,0 +1,35 @@
+package com.cerner.beadledom.jackson.filter;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * Model that counts the number of times its properties are computed.
+ */
+@JsonPropertyOrder({
+    "id",
+    "expensive"
+})
+public class CountingModel {
+  private final String id;
+  private int expensiveCount;
+
+  public CountingModel(String id) {
+    this.id = id;
+  }
+
+  @JsonProperty("id")
+  public String getId() {
+    return id;
+  }
+
+  @JsonProperty("expensive")
+  public String getExpensive() {
+    expensiveCount++;
+    return "expensive_" + id;
+  }
+
+  public int expensiveCount() {
+    return expensiveCount;
+  }
+}
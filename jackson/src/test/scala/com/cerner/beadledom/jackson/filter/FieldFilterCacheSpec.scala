@@ -0,0 +1,87 @@
+package com.cerner.beadledom.jackson.filter
+
+import org.scalatest._
+
+/**
+ * Spec tests for {@link FieldFilterCache}.
+ */
+class FieldFilterCacheSpec extends FunSpec with ShouldMatchers {
+  describe("FieldFilterCache") {
+    it("returns the same filter for repeated fields") {
+      val cache = new FieldFilterCache()
+
+      val filter = cache.get("id,name,object/id")
+
+      cache.get("id,name,object/id") should be theSameInstanceAs filter
+      cache.stats().missCount() should be (1)
+      cache.stats().hitCount() should be (1)
+    }
+
+    it("returns the same filter for fields in a different order") {
+      val cache = new FieldFilterCache()
+
+      val filter = cache.get("a,b")
+
+      cache.get("b,a") should be theSameInstanceAs filter
+      cache.get(" b , a,a") should be theSameInstanceAs filter
+      cache.size() should be (1)
+    }
+
+    it("does not canonicalize the fields again for a repeated fields parameter") {
+      val cache = new FieldFilterCache()
+
+      val filter = cache.get("b,a")
+
+      cache.get("b,a") should be theSameInstanceAs filter
+      cache.get("a,b") should be theSameInstanceAs filter
+      cache.stats().hitCount() should be (1)
+      cache.stats().missCount() should be (2)
+      cache.size() should be (1)
+    }
+
+    it("returns a filter without filters for empty fields") {
+      val cache = new FieldFilterCache()
+
+      cache.get(null).hasFilters should be (false)
+      cache.get("").hasFilters should be (false)
+      cache.size() should be (0)
+    }
+
+    it("compiles the same filter as FieldFilter.create") {
+      val filter = new FieldFilterCache().get("object/id,name,id")
+
+      filter.getFilters should have size 3
+      filter.getFilters.get("id") should be (FieldFilter.UNFILTERED_FIELD)
+      filter.getFilters.get("name") should be (FieldFilter.UNFILTERED_FIELD)
+      filter.getFilters.get("object").getFilters.get("id") should be (FieldFilter.UNFILTERED_FIELD)
+    }
+
+    it("evicts filters beyond the maximum size") {
+      val cache = new FieldFilterCache(2)
+
+      (1 to 10).foreach { value => cache.get(s"field$value") }
+
+      cache.size() should be <= 2L
+      cache.stats().evictionCount() should be >= 8L
+    }
+
+    it("does not cache filters when the maximum size is 0") {
+      val cache = new FieldFilterCache(0)
+
+      cache.get("id") should not be theSameInstanceAs (cache.get("id"))
+      cache.size() should be (0)
+    }
+
+    it("rejects a negative maximum size") {
+      intercept[IllegalArgumentException] {
+        new FieldFilterCache(-1)
+      }
+    }
+  }
+
+  describe("canonicalize") {
+    it("sorts, trims and de-duplicates fields") {
+      FieldFilterCache.canonicalize(" name,id ,name,,object/id") should be ("id,name,object/id")
+    }
+  }
+}
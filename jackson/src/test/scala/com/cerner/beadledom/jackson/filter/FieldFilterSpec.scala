@@ -3,6 +3,7 @@ package com.cerner.beadledom.jackson.filter
 import com.cerner.beadledom.jackson.filter.DeepModel.{EmbeddedDeep, EmbeddedDeeper, InChinaNow}
 import com.cerner.beadledom.jackson.filter.FakeModel._
 import com.cerner.beadledom.jackson.filter.Venue._
+import com.fasterxml.jackson.core.JsonParseException
 import com.fasterxml.jackson.databind.ObjectMapper
 import com.fasterxml.jackson.databind.util.TokenBuffer
 import com.google.common.collect.Lists
@@ -245,4 +246,208 @@ class FieldFilterSpec extends FunSpec with BeforeAndAfterAll with ShouldMatchers
       }
     }
   }
+
+  describe("Streaming of deeply nested documents.") {
+    val objectMapper = new ObjectMapper()
+
+    def nested(depth: Int): String = ("""{"a":""" * depth) + "1" + ("}" * depth)
+
+    def filter(json: String, fields: String, maxDepth: Int = Int.MaxValue): String = {
+      val outputStream = new ByteArrayOutputStream()
+      val jgen = objectMapper.getFactory.createGenerator(outputStream)
+      FieldFilter.create(fields).writeJson(
+        objectMapper.getFactory.createParser(json), jgen, maxDepth)
+      outputStream.toString
+    }
+
+    it("writes documents nested deeper than the call stack") {
+      val json = nested(100000)
+
+      filter(json, "a/") should be (json)
+    }
+
+    it("skips deeply nested excluded values") {
+      filter("""{"id":1,"a":""" + nested(100000).substring(5), "id") should be ("""{"id":1}""")
+    }
+
+    it("copies null and scalar values") {
+      val json = """{"a":null,"b":true,"c":1.5,"d":12345678901234,"e":"text","f":[null,1]}"""
+
+      filter(json, "a,b,c,d,e,f") should be (json)
+    }
+
+    it("fails when the maximum depth is exceeded") {
+      intercept[JsonParseException] {
+        filter(nested(11), "a/", 10)
+      }
+    }
+
+    it("does not count excluded values against the maximum depth") {
+      filter("""{"id":1,"a":""" + nested(20).substring(5), "id", 1) should be ("""{"id":1}""")
+    }
+  }
+
+  describe("A series of tests to measure streaming time for different document shapes.") {
+    val objectMapper = new ObjectMapper()
+
+    def time(shape: String, json: String, fields: String): Unit = {
+      val filter = FieldFilter.create(fields)
+      (1 to 10).foreach { value =>
+        System.gc()
+        val startTime = System.currentTimeMillis()
+        val jgen = objectMapper.getFactory.createGenerator(new ByteArrayOutputStream())
+        filter.writeJson(objectMapper.getFactory.createParser(json), jgen)
+        println(s"($shape) Total time for run $value: ${System.currentTimeMillis() - startTime}")
+      }
+    }
+
+    it("streams a wide document") {
+      val json = (0 until 100000).map(value => s""""field$value":"value$value"""")
+          .mkString("{", ",", "}")
+
+      time("Wide", json, "field1,field50000,field99999")
+    }
+
+    it("streams a deep document") {
+      val json = ("""{"id":1,"a":""" * 10000) + "1" + ("}" * 10000)
+
+      time("Deep", json, "id,a/id,a/a/id")
+    }
+
+    it("streams an array heavy document") {
+      val json = (0 until 100000).map(value => s"""{"id":$value,"tags":["a","b","c"]}""")
+          .mkString("""{"items":[""", ",", "]}")
+
+      time("Arrays", json, "items/id")
+    }
+  }
+
+  describe("Parsing of the field selection grammar.") {
+    val objectMapper = new ObjectMapper()
+    val json = """{"id":"id1","name":"name1","audit":{"created":"c","updated":"u"},""" +
+        """"inner":{"id":"inner_id","name":"inner_name","audit":{"created":"c"}},""" +
+        """"items":[{"id":0,"name":"n0"},{"id":1,"name":"n1"},{"id":2,"name":"n2"},""" +
+        """{"id":3,"name":"n3"}]}"""
+
+    def filter(fields: String): String = {
+      val outputStream = new ByteArrayOutputStream()
+      val jgen = objectMapper.getFactory.createGenerator(outputStream)
+      FieldFilter.create(fields).writeJson(objectMapper.getFactory.createParser(json), jgen)
+      outputStream.toString
+    }
+
+    it("keeps every field except an excluded field") {
+      filter("-audit") should be (
+        """{"id":"id1","name":"name1","inner":{"id":"inner_id","name":"inner_name",""" +
+            """"audit":{"created":"c"}},"items":[{"id":0,"name":"n0"},{"id":1,"name":"n1"},""" +
+            """{"id":2,"name":"n2"},{"id":3,"name":"n3"}]}""")
+    }
+
+    it("removes all nested fields of an excluded wildcard") {
+      filter("id,audit,-audit/*") should be ("""{"id":"id1","audit":{}}""")
+    }
+
+    it("removes exclusions from included fields") {
+      filter("inner,-inner/audit") should be (
+        """{"inner":{"id":"inner_id","name":"inner_name"}}""")
+    }
+
+    it("excludes nested fields of every object with a wildcard") {
+      filter("-*/audit,-audit,-items") should be (
+        """{"id":"id1","name":"name1","inner":{"id":"inner_id","name":"inner_name"}}""")
+    }
+
+    it("keeps nested fields of every object with a wildcard") {
+      filter("*/id") should be (
+        """{"id":"id1","name":"name1","audit":{},"inner":{"id":"inner_id"},""" +
+            """"items":[{"id":0},{"id":1},{"id":2},{"id":3}]}""")
+    }
+
+    it("merges wildcard fields with named fields") {
+      filter("*/created,inner/name") should be (
+        """{"id":"id1","name":"name1","audit":{"created":"c"},"inner":{"name":"inner_name"},""" +
+            """"items":[{},{},{},{}]}""")
+    }
+
+    it("treats a trailing wildcard like a trailing slash") {
+      filter("audit/*") should be (filter("audit/"))
+    }
+
+    it("keeps a range of array elements") {
+      filter("items[1:3]") should be ("""{"items":[{"id":1,"name":"n1"},{"id":2,"name":"n2"}]}""")
+    }
+
+    it("keeps a single array element") {
+      filter("items[2]/id") should be ("""{"items":[{"id":2}]}""")
+    }
+
+    it("keeps open ended ranges of array elements") {
+      filter("items[2:]/id") should be ("""{"items":[{"id":2},{"id":3}]}""")
+      filter("items[:1]/id") should be ("""{"items":[{"id":0}]}""")
+    }
+
+    it("keeps disjoint ranges of array elements") {
+      filter("items[0:1],items[3:]") should be (
+        """{"items":[{"id":0,"name":"n0"},{"id":3,"name":"n3"}]}""")
+    }
+
+    it("applies the nested fields of a slice only to the elements in its range") {
+      filter("items[0:2]/id,items[1:4]/name") should be (
+        """{"items":[{"id":0},{"id":1,"name":"n1"},{"name":"n2"},{"name":"n3"}]}""")
+      filter("items[3]/id,items/name") should be (
+        """{"items":[{"name":"n0"},{"name":"n1"},{"name":"n2"},{"id":3,"name":"n3"}]}""")
+    }
+
+    it("ignores a slice on an object field") {
+      filter("inner[0:1]/id") should be ("""{"inner":{"id":"inner_id"}}""")
+    }
+
+    it("lets exclusions take precedence over inclusions") {
+      filter("id,name,-name") should be ("""{"id":"id1"}""")
+    }
+
+    it("ignores whitespace and empty fields") {
+      filter(" id , ,- name,") should be ("""{"id":"id1"}""")
+    }
+
+    it("rejects invalid fields") {
+      Seq("items[", "items[a]", "items[-1]", "items[3:1]", "[0]", "a//b", "-", "-items[0]")
+          .foreach { fields =>
+            intercept[IllegalArgumentException] {
+              FieldFilter.create(fields)
+            }
+          }
+    }
+
+    it("interns compiled field names") {
+      val name = new String("name")
+      val filter = FieldFilter.create(name)
+
+      filter.getFilters.keySet().iterator().next() should be theSameInstanceAs "name"
+    }
+  }
+
+  describe("A series of tests to measure field lookup throughput.") {
+    val names = (0 until 50).map(value => s"field$value".intern()).toArray
+    val fields = names.filter(name => name.hashCode % 2 == 0)
+    val lookups = 100000
+
+    it("looks up fields in a compiled filter") {
+      val filter = FieldFilter.create(fields.mkString(",") + ",-excluded,*/id")
+      filter.getFieldFilter("excluded") shouldBe null
+
+      (1 to 5).foreach { value =>
+        var matches = 0
+        val startTime = System.currentTimeMillis()
+        (0 until lookups).foreach { index =>
+          if (filter.getFieldFilter(names(index % names.length)) != null) {
+            matches += 1
+          }
+        }
+        println(s"(Compiled) Total time for run $value: ${System.currentTimeMillis() - startTime}")
+        // Fields that are not selected are still included for the */id wildcard
+        matches shouldBe lookups
+      }
+    }
+  }
 }
@@ -0,0 +1,112 @@
+package com.cerner.beadledom.jackson.filter
+
+import com.cerner.beadledom.jackson.filter.DeepModel.{EmbeddedDeep, EmbeddedDeeper, InChinaNow}
+import com.cerner.beadledom.jackson.filter.FakeModel._
+import com.cerner.beadledom.jackson.filter.Venue._
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.fasterxml.jackson.databind.util.TokenBuffer
+import java.io.ByteArrayOutputStream
+import org.scalatest._
+import scala.collection.JavaConverters._
+
+/**
+ * Spec tests for {@link FieldFilterWriter}.
+ */
+class FieldFilterWriterSpec extends FunSpec with ShouldMatchers {
+  val objectMapper = new ObjectMapper()
+  val writer = new FieldFilterWriter(objectMapper)
+
+  def streamed(value: Any, fields: String): String = {
+    val outputStream = new ByteArrayOutputStream()
+    val jgen = objectMapper.getFactory.createGenerator(outputStream)
+    writer.writeValue(jgen, value, FieldFilter.create(fields))
+    jgen.flush()
+    outputStream.toString
+  }
+
+  def buffered(value: Any, fields: String): String = {
+    val outputStream = new ByteArrayOutputStream()
+    val jgen = objectMapper.getFactory.createGenerator(outputStream)
+    val tokenBuffer = new TokenBuffer(objectMapper, false)
+    objectMapper.writeValue(tokenBuffer, value)
+    FieldFilter.create(fields).writeJson(tokenBuffer.asParser(), jgen)
+    outputStream.toString
+  }
+
+  val fakeInnerModel1 = new FakeInnerModel("inner_id1", "inner_name1", List("inner_tag1").asJava)
+  val fakeInnerModel2 = new FakeInnerModel("inner_id2", "inner_name2", List("inner_tag2").asJava)
+  val fakeModel = new FakeModel("id1", "name1", 1, List("tag1", "tag2").asJava,
+    List(fakeInnerModel1, fakeInnerModel2).asJava)
+
+  describe("FieldFilterWriter") {
+    it("writes all fields when every field is selected") {
+      streamed(fakeModel, "id,name,times,tags,inner_models") should be (
+        objectMapper.writeValueAsString(fakeModel))
+    }
+
+    it("filters simple bean properties") {
+      streamed(fakeModel, "id,name,times") should be ("""{"id":"id1","name":"name1","times":1}""")
+    }
+
+    it("filters nested bean properties") {
+      streamed(fakeModel, "id,name,inner_models/id") should be (
+        """{"id":"id1","name":"name1","inner_models":[{"id":"inner_id1"},{"id":"inner_id2"}]}""")
+    }
+
+    it("writes empty objects for nested fields that do not match") {
+      streamed(fakeModel, "id,inner_models/missing") should be (
+        buffered(fakeModel, "id,inner_models/missing"))
+    }
+
+    it("filters maps the same as beans") {
+      val map = Map("id" -> "id1", "skipped" -> Map("a" -> List(1, 2).asJava).asJava,
+        "nested" -> Map("a" -> 1, "b" -> 2).asJava).asJava
+
+      streamed(map, "id,nested/b") should be ("""{"id":"id1","nested":{"b":2}}""")
+    }
+
+    it("produces the same output as the buffered filter for a complex object") {
+      val albums = List(new Album("album_id1", "album name 1"),
+        new Album("album_id2", "album_name2")).asJava
+      val vocalists: java.util.List[Vocalist] = List(
+        new Vocalist("vocalist1", "VocalistOne", albums, "bald")).asJava
+      val failures: java.util.List[Failure] = List(new Failure("failure1",
+        "Most Musicians", List("There's always an excuse.", "Also terrible.").asJava)).asJava
+      val guitarists: java.util.List[Musician] = List(
+        new Guitarist("guitarist1", "GuitaristOne", albums, "loud"))
+          .asJava.asInstanceOf[java.util.List[Musician]]
+      val tenors: java.util.List[Tenor] = List(new Tenor("good", "TenorOne", albums, "baldish",
+        "perfect")).asJava
+      val venue = new
+              Venue("venue_id1", "THE venue", "THE place", tenors, vocalists, guitarists, failures)
+      val fields = "id,name,tenors/pitch_pipe,tenors/albums/name,vocalists/albums/id," +
+          "failures/excuses,guitarists/attitude"
+
+      streamed(venue, fields) should be (buffered(venue, fields))
+    }
+
+    it("produces the same output as the buffered filter for a deeply nested object") {
+      val deepModel = new DeepModel("deep_id", List(new EmbeddedDeep(
+        "embedded_id",
+        List(new EmbeddedDeeper(
+          "embedded_deeper_id",
+          List(new InChinaNow("at_this_point_too_far_in", 10000)).asJava
+        )).asJava
+      )).asJava)
+      val fields = "id,stupid_name/no_escape/so_far_in"
+
+      streamed(deepModel, fields) should be (buffered(deepModel, fields))
+    }
+
+    it("does not compute excluded bean properties") {
+      val model = new CountingModel("counting_id")
+
+      streamed(model, "id") should be ("""{"id":"counting_id"}""")
+      model.expensiveCount() should be (0)
+
+      streamed(model, "id,expensive") should be (
+        """{"id":"counting_id","expensive":"expensive_counting_id"}""")
+      model.expensiveCount() should be (1)
+    }
+  }
+}
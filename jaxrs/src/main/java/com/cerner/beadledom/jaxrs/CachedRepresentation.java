@@ -0,0 +1,27 @@
+package com.cerner.beadledom.jaxrs;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Indicates that the entity returned by the annotated resource method is immutable, so its
+ * serialized representation can be computed once and reused for every response.
+ *
+ * <p>Responses of annotated methods are handled by the
+ * {@link com.cerner.beadledom.jaxrs.provider.CachedRepresentationFilter}, which serializes each
+ * entity instance once per media type and set of entity annotations (e.g. a {@code @JsonView}),
+ * adds a strong {@code ETag} header, and responds with {@code 304 Not Modified} when the request's
+ * {@code If-None-Match} header matches.
+ *
+ * <p>The method must return the same instance for as long as its representation is unchanged, so
+ * the resource is typically bound as a singleton; a new instance is serialized the first time it
+ * is returned.
+ *
+ * @since 2.7
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CachedRepresentation {
+}
@@ -0,0 +1,23 @@
+package com.cerner.beadledom.jaxrs;
+
+import com.cerner.beadledom.jackson.filter.FieldFilterCache;
+import com.cerner.beadledom.jaxrs.provider.FieldFilterCacheSize;
+import com.google.inject.Inject;
+import javax.annotation.Nullable;
+import javax.inject.Provider;
+
+/**
+ * A guice provider for {@link FieldFilterCache}.
+ */
+class FieldFilterCacheProvider implements Provider<FieldFilterCache> {
+  @FieldFilterCacheSize
+  @Nullable
+  @Inject(optional = true)
+  Long maximumSize;
+
+  @Override
+  public FieldFilterCache get() {
+    return new FieldFilterCache(
+        maximumSize == null ? FieldFilterCache.DEFAULT_MAXIMUM_SIZE : maximumSize);
+  }
+}
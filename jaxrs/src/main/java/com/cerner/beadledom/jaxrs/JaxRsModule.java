@@ -1,6 +1,11 @@
 package com.cerner.beadledom.jaxrs;
 
+import com.cerner.beadledom.jackson.filter.FieldFilterCache;
+import com.cerner.beadledom.jaxrs.provider.CachedRepresentationFilter;
 import com.cerner.beadledom.jaxrs.provider.CorrelationIdFilter;
+import com.cerner.beadledom.jaxrs.provider.FieldFilterCacheSize;
+import com.cerner.beadledom.jaxrs.provider.JsonBufferPool;
+import com.cerner.beadledom.jaxrs.provider.JsonBufferPoolSize;
 import com.google.inject.AbstractModule;
 import javax.inject.Singleton;
 
@@ -10,6 +15,15 @@ import javax.inject.Singleton;
  * <p>Provides:
  * <ul>
  *     <li>{@link CorrelationIdFilter}</li>
+ *     <li>{@link CachedRepresentationFilter}</li>
+ *     <li>
+ *       {@link FieldFilterCache} for the field filtering JSON provider. The maximum size of the
+ *       cache can be configured by binding a Long annotated with {@link FieldFilterCacheSize}.
+ *     </li>
+ *     <li>
+ *       {@link JsonBufferPool} for the field filtering JSON provider. The maximum size of the pool
+ *       can be configured by binding an Integer annotated with {@link JsonBufferPoolSize}.
+ *     </li>
  * </ul>
  *
  * @author John Leacox
@@ -19,5 +33,8 @@ public class JaxRsModule extends AbstractModule {
   protected void configure() {
     bind(CorrelationIdFilter.class).toProvider(CorrelationIdFilterProvider.class)
         .in(Singleton.class);
+    bind(CachedRepresentationFilter.class).in(Singleton.class);
+    bind(FieldFilterCache.class).toProvider(FieldFilterCacheProvider.class).in(Singleton.class);
+    bind(JsonBufferPool.class).toProvider(JsonBufferPoolProvider.class).in(Singleton.class);
   }
 }
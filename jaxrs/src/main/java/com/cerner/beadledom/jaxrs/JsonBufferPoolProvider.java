@@ -0,0 +1,23 @@
+package com.cerner.beadledom.jaxrs;
+
+import com.cerner.beadledom.jaxrs.provider.JsonBufferPool;
+import com.cerner.beadledom.jaxrs.provider.JsonBufferPoolSize;
+import com.google.inject.Inject;
+import javax.annotation.Nullable;
+import javax.inject.Provider;
+
+/**
+ * A guice provider for {@link JsonBufferPool}.
+ */
+class JsonBufferPoolProvider implements Provider<JsonBufferPool> {
+  @JsonBufferPoolSize
+  @Nullable
+  @Inject(optional = true)
+  Integer maximumSize;
+
+  @Override
+  public JsonBufferPool get() {
+    return new JsonBufferPool(
+        maximumSize == null ? JsonBufferPool.DEFAULT_MAXIMUM_SIZE : maximumSize);
+  }
+}
@@ -0,0 +1,208 @@
+package com.cerner.beadledom.jaxrs.provider;
+
+import com.cerner.beadledom.jaxrs.CachedRepresentation;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import javax.annotation.Priority;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Provider;
+import javax.ws.rs.ext.Providers;
+
+/**
+ * Writes precomputed representations of the entities returned by resource methods annotated with
+ * {@link CachedRepresentation}.
+ *
+ * <p>The first time an entity instance is returned for a media type and set of entity annotations,
+ * it is serialized with the {@link MessageBodyWriter} that would otherwise have written it. The
+ * serialized bytes are cached and written directly for subsequent responses of the same entity, so
+ * constant entities such as health and version information are only serialized once.
+ *
+ * <p>Each cached representation has a strong {@code ETag} computed from its bytes. Requests whose
+ * {@code If-None-Match} header matches receive a {@code 304 Not Modified} response without a body.
+ *
+ * <p>Only successful responses to GET and HEAD requests without query parameters are cached, as
+ * query parameters such as {@code fields} may change the representation.
+ */
+@Provider
+@Priority(Priorities.ENTITY_CODER)
+public class CachedRepresentationFilter implements ContainerResponseFilter {
+  // Entities are compared by identity and released once they are no longer referenced
+  private final Cache<Object, ConcurrentMap<RepresentationKey, Representation>> cache =
+      CacheBuilder.newBuilder().weakKeys().build();
+
+  @Context
+  Providers providers;
+
+  @Override
+  public void filter(
+      ContainerRequestContext requestContext, ContainerResponseContext responseContext)
+      throws IOException {
+    if (!isCacheable(requestContext, responseContext)) {
+      return;
+    }
+
+    Representation representation = getRepresentation(responseContext);
+    responseContext.getHeaders().putSingle(HttpHeaders.ETAG, representation.entityTag);
+
+    Response.ResponseBuilder preconditionFailed =
+        requestContext.getRequest().evaluatePreconditions(representation.entityTag);
+    if (preconditionFailed != null) {
+      // 304 Not Modified for a matching If-None-Match, 412 for a mismatched If-Match
+      responseContext.setStatus(preconditionFailed.build().getStatus());
+      responseContext.setEntity(null);
+      return;
+    }
+
+    responseContext.setEntity(
+        representation.bytes, responseContext.getEntityAnnotations(),
+        responseContext.getMediaType());
+  }
+
+  private static boolean isCacheable(
+      ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+    if (!responseContext.hasEntity()
+        || responseContext.getStatus() != Response.Status.OK.getStatusCode()
+        || responseContext.getMediaType() == null) {
+      return false;
+    }
+
+    String method = requestContext.getMethod();
+    if (!HttpMethod.GET.equals(method) && !HttpMethod.HEAD.equals(method)) {
+      return false;
+    }
+
+    if (!requestContext.getUriInfo().getQueryParameters().isEmpty()) {
+      return false;
+    }
+
+    Annotation[] annotations = responseContext.getEntityAnnotations();
+    if (annotations == null) {
+      return false;
+    }
+
+    for (Annotation annotation : annotations) {
+      if (annotation.annotationType() == CachedRepresentation.class) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  private Representation getRepresentation(ContainerResponseContext responseContext)
+      throws IOException {
+    Object entity = responseContext.getEntity();
+    ConcurrentMap<RepresentationKey, Representation> representations;
+    try {
+      representations = cache.get(entity, () -> new ConcurrentHashMap<>());
+    } catch (ExecutionException e) {
+      throw new IllegalStateException(e.getCause());
+    }
+
+    RepresentationKey key = new RepresentationKey(
+        responseContext.getMediaType(), responseContext.getEntityAnnotations());
+    Representation representation = representations.get(key);
+    if (representation == null) {
+      // Concurrent first requests may both serialize the entity; the first result is kept
+      representation = serialize(responseContext);
+      Representation existing = representations.putIfAbsent(key, representation);
+      if (existing != null) {
+        representation = existing;
+      }
+    }
+
+    return representation;
+  }
+
+  @SuppressWarnings("unchecked")
+  private Representation serialize(ContainerResponseContext responseContext) throws IOException {
+    Object entity = responseContext.getEntity();
+    Class<?> type = responseContext.getEntityClass();
+    Type genericType = responseContext.getEntityType();
+    Annotation[] annotations = responseContext.getEntityAnnotations();
+    MediaType mediaType = responseContext.getMediaType();
+
+    MessageBodyWriter<Object> writer = (MessageBodyWriter<Object>) providers.getMessageBodyWriter(
+        type, genericType, annotations, mediaType);
+    if (writer == null) {
+      throw new IllegalStateException(
+          "No MessageBodyWriter found for " + type.getName() + " and " + mediaType);
+    }
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    writer.writeTo(entity, type, genericType, annotations, mediaType,
+        new MultivaluedHashMap<>(), output);
+    return new Representation(output.toByteArray(), mediaType);
+  }
+
+  /**
+   * The media type and entity annotations that a representation was serialized with.
+   */
+  private static class RepresentationKey {
+    private final MediaType mediaType;
+    private final List<Annotation> annotations;
+
+    RepresentationKey(MediaType mediaType, Annotation[] annotations) {
+      this.mediaType = mediaType;
+      this.annotations = Arrays.asList(annotations);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+
+      RepresentationKey that = (RepresentationKey) o;
+      return mediaType.equals(that.mediaType) && annotations.equals(that.annotations);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(mediaType, annotations);
+    }
+  }
+
+  /**
+   * A serialized entity and its entity tag.
+   */
+  private static class Representation {
+    private final byte[] bytes;
+    private final EntityTag entityTag;
+
+    Representation(byte[] bytes, MediaType mediaType) {
+      this.bytes = bytes;
+      this.entityTag = new EntityTag(Hashing.sha256().newHasher()
+          .putString(mediaType.toString(), StandardCharsets.UTF_8)
+          .putBytes(bytes)
+          .hash()
+          .toString());
+    }
+  }
+}
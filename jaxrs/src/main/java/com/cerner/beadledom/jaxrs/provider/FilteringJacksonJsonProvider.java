@@ -1,10 +1,11 @@
 package com.cerner.beadledom.jaxrs.provider;
 
 import com.cerner.beadledom.jackson.filter.FieldFilter;
+import com.cerner.beadledom.jackson.filter.FieldFilterCache;
+import com.cerner.beadledom.jackson.filter.FieldFilterWriter;
 import com.fasterxml.jackson.core.JsonGenerator;
-import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.util.BufferRecycler;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.util.TokenBuffer;
 import com.fasterxml.jackson.jaxrs.json.JacksonJsonProvider;
 import java.io.IOException;
 import java.io.OutputStream;
@@ -12,9 +13,11 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
 import javax.inject.Inject;
 import javax.ws.rs.Produces;
+import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 import javax.ws.rs.ext.Provider;
 
@@ -23,22 +26,55 @@ import javax.ws.rs.ext.Provider;
  * {@link FieldFilter}.
  *
  * <p>This will return JSON containing only the fields specified in the 'fields' query parameter. if
- * the 'fields' query parameter is not specified, then all fields will be returned.
+ * the 'fields' query parameter is not specified, then all fields will be returned. See
+ * {@link FieldFilter} for the supported syntax; an invalid 'fields' query parameter results in a
+ * 400 response.
+ *
+ * <p>Filtering is applied while the entity is serialized, so the values of excluded fields are not
+ * computed and the full entity is never buffered in memory. Compiled filters are cached in a
+ * {@link FieldFilterCache} so repeated 'fields' query parameters are only parsed once. The buffers
+ * used to write filtered responses are borrowed from a {@link JsonBufferPool} and returned once
+ * the response has been written.
  */
 @Provider
 @Produces(MediaType.APPLICATION_JSON)
 public class FilteringJacksonJsonProvider extends JacksonJsonProvider {
-  private final ObjectMapper objectMapper;
+  private final PooledJsonFactory jsonFactory;
+  private final FieldFilterWriter fieldFilterWriter;
+  private final FieldFilterCache fieldFilterCache;
+  private final JsonBufferPool jsonBufferPool;
   @Context
   UriInfo uriInfo;
 
+  /**
+   * Creates a new instance of {@link FilteringJacksonJsonProvider} with a default sized
+   * {@link FieldFilterCache} and {@link JsonBufferPool}.
+   */
+  public FilteringJacksonJsonProvider(ObjectMapper objectMapper) {
+    this(objectMapper, new FieldFilterCache());
+  }
+
+  /**
+   * Creates a new instance of {@link FilteringJacksonJsonProvider} with a default sized
+   * {@link JsonBufferPool}.
+   */
+  public FilteringJacksonJsonProvider(
+      ObjectMapper objectMapper, FieldFilterCache fieldFilterCache) {
+    this(objectMapper, fieldFilterCache, new JsonBufferPool());
+  }
+
   /**
    * Creates a new instance of {@link FilteringJacksonJsonProvider}.
    */
   @Inject
-  public FilteringJacksonJsonProvider(ObjectMapper objectMapper) {
+  public FilteringJacksonJsonProvider(
+      ObjectMapper objectMapper, FieldFilterCache fieldFilterCache,
+      JsonBufferPool jsonBufferPool) {
     super(objectMapper);
-    this.objectMapper = objectMapper;
+    this.jsonFactory = new PooledJsonFactory(objectMapper.getFactory(), objectMapper);
+    this.fieldFilterWriter = new FieldFilterWriter(objectMapper);
+    this.fieldFilterCache = fieldFilterCache;
+    this.jsonBufferPool = jsonBufferPool;
   }
 
   @Override
@@ -55,17 +91,29 @@ public class FilteringJacksonJsonProvider extends JacksonJsonProvider {
     String fields = uriInfo.getQueryParameters() == null ? null
         : uriInfo.getQueryParameters().getFirst("fields");
 
-    FieldFilter fieldFilter = FieldFilter.create(fields);
+    FieldFilter fieldFilter;
+    try {
+      fieldFilter = fieldFilterCache.get(fields);
+    } catch (IllegalArgumentException e) {
+      Response response = Response.status(Response.Status.BAD_REQUEST)
+          .type(MediaType.TEXT_PLAIN)
+          .build();
+      throw new WebApplicationException(e.getMessage(), e, response);
+    }
+
     if (!fieldFilter.hasFilters()) {
       super.writeTo(o, type, genericType, annotations, mediaType, httpHeaders, os);
       return;
     }
 
-    JsonGenerator jgen = objectMapper.getFactory().createGenerator(os);
-    TokenBuffer tokenBuffer = new TokenBuffer(objectMapper, false);
-    objectMapper.writeValue(tokenBuffer, o);
-    JsonParser jsonParser = tokenBuffer.asParser();
-    fieldFilter.writeJson(jsonParser, jgen);
-    jgen.flush();
+    BufferRecycler recycler = jsonBufferPool.acquire();
+    try {
+      JsonGenerator jgen = jsonFactory.createGenerator(os, recycler);
+      fieldFilterWriter.writeValue(jgen, o, fieldFilter);
+      // Closing the generator flushes it and releases its buffers back to the recycler
+      jgen.close();
+    } finally {
+      jsonBufferPool.release(recycler);
+    }
   }
 }
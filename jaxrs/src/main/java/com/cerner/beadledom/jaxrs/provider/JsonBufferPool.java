@@ -0,0 +1,104 @@
+package com.cerner.beadledom.jaxrs.provider;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.fasterxml.jackson.core.util.BufferRecycler;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded, thread-safe pool of the buffers used by Jackson to write JSON responses.
+ *
+ * <p>By default Jackson recycles its buffers through a {@code ThreadLocal}, which only helps when
+ * the same threads serialize many responses, and retains buffers for every thread that has ever
+ * written JSON. This pool instead shares a fixed number of buffer sets between all threads; a
+ * buffer set is borrowed for the duration of a single response and returned when the response has
+ * been written. When the pool is empty a new buffer set is created, and buffer sets returned to a
+ * full pool are discarded.
+ */
+public class JsonBufferPool {
+  /**
+   * The default maximum number of buffer sets held by the pool.
+   */
+  public static final int DEFAULT_MAXIMUM_SIZE = 64;
+
+  private final BlockingQueue<BufferRecycler> pool;
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder missCount = new LongAdder();
+  private final LongAdder allocatedBytes = new LongAdder();
+
+  /**
+   * Creates a new {@code JsonBufferPool} with the {@link #DEFAULT_MAXIMUM_SIZE}.
+   */
+  public JsonBufferPool() {
+    this(DEFAULT_MAXIMUM_SIZE);
+  }
+
+  /**
+   * Creates a new {@code JsonBufferPool}.
+   *
+   * @param maximumSize the maximum number of buffer sets held by the pool; must be positive
+   */
+  public JsonBufferPool(int maximumSize) {
+    checkArgument(maximumSize > 0, "maximumSize: %s must be positive", maximumSize);
+    this.pool = new ArrayBlockingQueue<>(maximumSize);
+  }
+
+  /**
+   * Returns the hit, miss and allocation statistics of the pool.
+   */
+  public JsonBufferPoolStats stats() {
+    return new JsonBufferPoolStats(hitCount.sum(), missCount.sum(), allocatedBytes.sum());
+  }
+
+  /**
+   * Returns the number of buffer sets currently available in the pool.
+   */
+  public int size() {
+    return pool.size();
+  }
+
+  /**
+   * Borrows a buffer set from the pool, creating a new one if the pool is empty.
+   */
+  BufferRecycler acquire() {
+    BufferRecycler recycler = pool.poll();
+    if (recycler != null) {
+      hitCount.increment();
+      return recycler;
+    }
+
+    missCount.increment();
+    return new CountingBufferRecycler();
+  }
+
+  /**
+   * Returns a buffer set borrowed with {@link #acquire()} to the pool.
+   *
+   * @return true if the buffer set was pooled, or false if it was discarded because the pool is
+   *     full
+   */
+  boolean release(BufferRecycler recycler) {
+    checkNotNull(recycler, "recycler:null");
+    return pool.offer(recycler);
+  }
+
+  /**
+   * A {@link BufferRecycler} that counts the bytes of the buffers it allocates.
+   */
+  private class CountingBufferRecycler extends BufferRecycler {
+    @Override
+    protected byte[] balloc(int size) {
+      allocatedBytes.add(size);
+      return super.balloc(size);
+    }
+
+    @Override
+    protected char[] calloc(int size) {
+      allocatedBytes.add(size * 2L);
+      return super.calloc(size);
+    }
+  }
+}
@@ -0,0 +1,20 @@
+package com.cerner.beadledom.jaxrs.provider;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.PARAMETER;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import com.google.inject.BindingAnnotation;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Guice binding annotation for the maximum number of buffer sets pooled by the
+ * {@link JsonBufferPool} of the {@link FilteringJacksonJsonProvider}.
+ */
+@BindingAnnotation
+@Target({FIELD, PARAMETER, METHOD})
+@Retention(RUNTIME)
+public @interface JsonBufferPoolSize {
+}
@@ -0,0 +1,65 @@
+package com.cerner.beadledom.jaxrs.provider;
+
+/**
+ * Statistics about the performance of a {@link JsonBufferPool}.
+ *
+ * <p>Each response written with the pool is counted as either a hit, when a pooled buffer set was
+ * reused, or a miss, when a new buffer set had to be created.
+ */
+public class JsonBufferPoolStats {
+  private final long hitCount;
+  private final long missCount;
+  private final long allocatedBytes;
+
+  JsonBufferPoolStats(long hitCount, long missCount, long allocatedBytes) {
+    this.hitCount = hitCount;
+    this.missCount = missCount;
+    this.allocatedBytes = allocatedBytes;
+  }
+
+  /**
+   * Returns the number of responses that reused a pooled buffer set.
+   */
+  public long getHitCount() {
+    return hitCount;
+  }
+
+  /**
+   * Returns the number of responses that had to create a new buffer set.
+   */
+  public long getMissCount() {
+    return missCount;
+  }
+
+  /**
+   * Returns the total number of responses written with the pool.
+   */
+  public long getResponseCount() {
+    return hitCount + missCount;
+  }
+
+  /**
+   * Returns the total number of bytes allocated for buffers by the pool.
+   */
+  public long getAllocatedBytes() {
+    return allocatedBytes;
+  }
+
+  /**
+   * Returns the average number of bytes allocated for buffers per response, or 0 if no responses
+   * have been written.
+   */
+  public double getAllocatedBytesPerResponse() {
+    long responseCount = getResponseCount();
+    return responseCount == 0 ? 0.0 : (double) allocatedBytes / responseCount;
+  }
+
+  @Override
+  public String toString() {
+    return "JsonBufferPoolStats{"
+        + "hitCount=" + hitCount
+        + ", missCount=" + missCount
+        + ", allocatedBytes=" + allocatedBytes
+        + '}';
+  }
+}
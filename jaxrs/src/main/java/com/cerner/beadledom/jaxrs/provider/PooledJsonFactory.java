@@ -0,0 +1,39 @@
+package com.cerner.beadledom.jaxrs.provider;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.io.IOContext;
+import com.fasterxml.jackson.core.util.BufferRecycler;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A {@link JsonFactory} that creates UTF-8 generators backed by a provided {@link BufferRecycler}
+ * rather than the factory's thread local recycler.
+ *
+ * <p>The factory is created as a copy of an existing factory, so generators are configured with the
+ * same features, character escapes and output decorators as the original.
+ */
+class PooledJsonFactory extends JsonFactory {
+  private static final long serialVersionUID = 1L;
+
+  PooledJsonFactory(JsonFactory src, ObjectCodec codec) {
+    super(src, codec);
+  }
+
+  /**
+   * Creates a UTF-8 generator that writes to the output stream using the buffers of the recycler.
+   *
+   * <p>The output stream is not closed when the generator is closed. Once the generator has been
+   * closed, its buffers have been returned to the recycler and the recycler may be reused.
+   */
+  JsonGenerator createGenerator(OutputStream out, BufferRecycler recycler) throws IOException {
+    IOContext ctxt = new IOContext(recycler, out, false);
+    ctxt.setEncoding(JsonEncoding.UTF8);
+    JsonGenerator jgen = _createUTF8Generator(_decorate(out, ctxt), ctxt);
+    jgen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    return jgen;
+  }
+}
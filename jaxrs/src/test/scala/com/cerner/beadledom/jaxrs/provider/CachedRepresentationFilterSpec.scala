@@ -0,0 +1,195 @@
+package com.cerner.beadledom.jaxrs.provider
+
+import com.cerner.beadledom.jaxrs.CachedRepresentation
+import com.cerner.beadledom.jaxrs.provider.FakeModel.FakeInnerModel
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.fasterxml.jackson.jaxrs.json.JacksonJsonProvider
+import java.lang.annotation.Annotation
+import javax.ws.rs.HttpMethod
+import javax.ws.rs.container.{ContainerRequestContext, ContainerResponseContext}
+import javax.ws.rs.core._
+import javax.ws.rs.ext.{MessageBodyWriter, Providers}
+import org.jboss.resteasy.specimpl.MultivaluedMapImpl
+import org.mockito.{ArgumentCaptor, Matchers, Mockito}
+import org.scalatest._
+import org.scalatest.mock.MockitoSugar
+import scala.collection.JavaConverters._
+
+/**
+ * Spec tests for {@link CachedRepresentationFilter}.
+ */
+class CachedRepresentationFilterSpec extends FunSpec with ShouldMatchers with MockitoSugar {
+  val objectMapper = new ObjectMapper()
+  val cachedAnnotations: Array[Annotation] =
+    classOf[CachedRepresentationFilterSpec].getMethod("cachedMethod").getAnnotations
+
+  @CachedRepresentation
+  def cachedMethod(): Unit = {}
+
+  def fakeModel(): FakeModel = new FakeModel("id1", "name1", 1, List("tag1").asJava,
+    List(new FakeInnerModel("inner_id1", "inner_name1", List("inner_tag1").asJava)).asJava)
+
+  def filter(writer: MessageBodyWriter[AnyRef]): CachedRepresentationFilter = {
+    val providers = mock[Providers]
+    Mockito.doReturn(writer).when(providers).getMessageBodyWriter(Matchers.any(), Matchers.any(),
+      Matchers.any(), Matchers.any())
+    val filter = new CachedRepresentationFilter()
+    filter.providers = providers
+    filter
+  }
+
+  // Stub-only mocks do not record their invocations, so they can be called in a loop
+  def stub[T <: AnyRef](implicit manifest: Manifest[T]): T =
+    mock[T](Mockito.withSettings().stubOnly())
+
+  def requestContext(
+      method: String = HttpMethod.GET,
+      queryParams: MultivaluedMap[String, String] = new MultivaluedMapImpl[String, String],
+      preconditions: Response.ResponseBuilder = null): ContainerRequestContext = {
+    val uriInfo = stub[UriInfo]
+    Mockito.when(uriInfo.getQueryParameters).thenReturn(queryParams)
+    val request = stub[Request]
+    Mockito.when(request.evaluatePreconditions(Matchers.any(classOf[EntityTag])))
+        .thenReturn(preconditions)
+
+    val requestContext = stub[ContainerRequestContext]
+    Mockito.when(requestContext.getMethod).thenReturn(method)
+    Mockito.when(requestContext.getUriInfo).thenReturn(uriInfo)
+    Mockito.when(requestContext.getRequest).thenReturn(request)
+    requestContext
+  }
+
+  def responseContext(
+      entity: AnyRef, annotations: Array[Annotation] = cachedAnnotations,
+      status: Int = 200, stubOnly: Boolean = false): ContainerResponseContext = {
+    val responseContext =
+      if (stubOnly) stub[ContainerResponseContext] else mock[ContainerResponseContext]
+    Mockito.when(responseContext.hasEntity).thenReturn(true)
+    Mockito.doReturn(entity).when(responseContext).getEntity
+    Mockito.doReturn(entity.getClass).when(responseContext).getEntityClass
+    Mockito.doReturn(entity.getClass).when(responseContext).getEntityType
+    Mockito.when(responseContext.getEntityAnnotations).thenReturn(annotations)
+    Mockito.when(responseContext.getMediaType).thenReturn(MediaType.APPLICATION_JSON_TYPE)
+    Mockito.when(responseContext.getStatus).thenReturn(status)
+    Mockito.when(responseContext.getHeaders).thenReturn(new MultivaluedMapImpl[String, AnyRef])
+    responseContext
+  }
+
+  def cachedBytes(responseContext: ContainerResponseContext): Array[Byte] = {
+    val captor = ArgumentCaptor.forClass(classOf[AnyRef])
+    Mockito.verify(responseContext).setEntity(captor.capture(), Matchers.any(), Matchers.any())
+    captor.getValue.asInstanceOf[Array[Byte]]
+  }
+
+  describe("CachedRepresentationFilter") {
+    it("replaces the entity with its serialized representation and an ETag") {
+      val entity = fakeModel()
+      val response = responseContext(entity)
+
+      filter(new JacksonJsonProvider(objectMapper)).filter(requestContext(), response)
+
+      new String(cachedBytes(response), "UTF-8") should be(objectMapper.writeValueAsString(entity))
+      response.getHeaders.getFirst(HttpHeaders.ETAG) should not be null
+    }
+
+    it("serializes an entity only once") {
+      val writer = Mockito.spy(new JacksonJsonProvider(objectMapper))
+      val cachingFilter = filter(writer.asInstanceOf[MessageBodyWriter[AnyRef]])
+      val entity = fakeModel()
+
+      val first = responseContext(entity)
+      val second = responseContext(entity)
+      cachingFilter.filter(requestContext(), first)
+      cachingFilter.filter(requestContext(), second)
+
+      cachedBytes(first) should be theSameInstanceAs cachedBytes(second)
+      first.getHeaders.getFirst(HttpHeaders.ETAG) should be(
+        second.getHeaders.getFirst(HttpHeaders.ETAG))
+      Mockito.verify(writer, Mockito.times(1)).writeTo(Matchers.any(), Matchers.any(),
+        Matchers.any(), Matchers.any(), Matchers.any(), Matchers.any(), Matchers.any())
+    }
+
+    it("serializes each entity instance separately") {
+      val cachingFilter = filter(new JacksonJsonProvider(objectMapper))
+      val first = responseContext(fakeModel())
+      val second = responseContext(new FakeModel("id2", "name2", 2, List[String]().asJava,
+        List[FakeInnerModel]().asJava))
+
+      cachingFilter.filter(requestContext(), first)
+      cachingFilter.filter(requestContext(), second)
+
+      first.getHeaders.getFirst(HttpHeaders.ETAG) should not be
+          second.getHeaders.getFirst(HttpHeaders.ETAG)
+    }
+
+    it("responds with the status of failed preconditions without an entity") {
+      val response = responseContext(fakeModel())
+
+      filter(new JacksonJsonProvider(objectMapper)).filter(
+        requestContext(preconditions = Response.notModified()), response)
+
+      Mockito.verify(response).setStatus(304)
+      Mockito.verify(response).setEntity(null)
+      response.getHeaders.getFirst(HttpHeaders.ETAG) should not be null
+    }
+
+    it("ignores methods without the CachedRepresentation annotation") {
+      val response = responseContext(fakeModel(), annotations = Array())
+
+      filter(new JacksonJsonProvider(objectMapper)).filter(requestContext(), response)
+
+      Mockito.verify(response, Mockito.never()).setEntity(Matchers.any(), Matchers.any(),
+        Matchers.any())
+      response.getHeaders.getFirst(HttpHeaders.ETAG) should be(null)
+    }
+
+    it("ignores requests with query parameters") {
+      val queryParams = new MultivaluedMapImpl[String, String]
+      queryParams.add("fields", "id")
+      val response = responseContext(fakeModel())
+
+      filter(new JacksonJsonProvider(objectMapper)).filter(
+        requestContext(queryParams = queryParams), response)
+
+      response.getHeaders.getFirst(HttpHeaders.ETAG) should be(null)
+    }
+
+    it("ignores non-GET requests and unsuccessful responses") {
+      val cachingFilter = filter(new JacksonJsonProvider(objectMapper))
+      val postResponse = responseContext(fakeModel())
+      val errorResponse = responseContext(fakeModel(), status = 500)
+
+      cachingFilter.filter(requestContext(method = HttpMethod.POST), postResponse)
+      cachingFilter.filter(requestContext(), errorResponse)
+
+      postResponse.getHeaders.getFirst(HttpHeaders.ETAG) should be(null)
+      errorResponse.getHeaders.getFirst(HttpHeaders.ETAG) should be(null)
+    }
+  }
+
+  describe("A series of tests to measure cached representation time.") {
+    it("serializes a FakeModel with and without caching") {
+      val entity = fakeModel()
+      val cachingFilter = filter(new JacksonJsonProvider(objectMapper))
+      val iterations = 10000
+      val request = requestContext()
+      val response = responseContext(entity, stubOnly = true)
+
+      (0 until iterations).foreach { value =>
+        objectMapper.writeValueAsBytes(entity)
+        cachingFilter.filter(request, response)
+      }
+
+      val serializedStartTime = System.nanoTime()
+      (0 until iterations).foreach { value => objectMapper.writeValueAsBytes(entity) }
+      val serializedTime = (System.nanoTime() - serializedStartTime) / iterations
+
+      val cachedStartTime = System.nanoTime()
+      (0 until iterations).foreach { value => cachingFilter.filter(request, response) }
+      val cachedTime = (System.nanoTime() - cachedStartTime) / iterations
+
+      println(s"Average time to serialize a FakeModel: $serializedTime ns, " +
+          s"with a cached representation: $cachedTime ns")
+    }
+  }
+}
@@ -1,11 +1,14 @@
 package com.cerner.beadledom.jaxrs.provider
 
+import com.cerner.beadledom.jackson.filter.FieldFilter
 import com.cerner.beadledom.jaxrs.provider.FakeModel.FakeInnerModel
 import com.cerner.beadledom.jaxrs.provider.Venue._
 import com.fasterxml.jackson.databind.ObjectMapper
+import com.fasterxml.jackson.databind.util.TokenBuffer
 import com.google.common.collect.Lists
 import java.io.{ByteArrayOutputStream, OutputStream}
 import java.nio.charset.Charset
+import javax.ws.rs.WebApplicationException
 import javax.ws.rs.core._
 import org.jboss.resteasy.specimpl.MultivaluedMapImpl
 import org.mockito
@@ -142,6 +145,48 @@ class FilteringJacksonJsonProviderSpec
       val json = """{"id":"venue_id1","name":"THE venue","tenors":[{"pitch_pipe":"perfect","name":"TenorOne","albums":[{"name":"album name 1"},{"name":"album_name2"}]}],"guitarists":[{"attitude":"HAPPY","name":"GuitaristOne"}],"failures":[{"name":"Most Musicians","excuses":["There's always an excuse.","Also terrible."]}],"vocalists":[{"albums":[{"id":"go","name":"go"},{"id":"wrong","name":"Everything is Wrong"}],"hair_style":"bald","id":"vocalist1","name":"VocalistOne"},{"albums":[{"id":"album_id1","name":"album name 1"},{"id":"album_id2","name":"album_name2"}],"hair_style":"curly + long","id":"vocalist2","name":"VocalistTwo"}]}"""
       json should be === output.toString(Charset.defaultCharset().name())
     }
+    it("filters with exclusions, wildcards and slices") {
+      val uriInfo = Mockito.mock(classOf[UriInfo])
+      val queryParams = new MultivaluedMapImpl[String, String]
+      queryParams.add("fields", "id,name,times,inner_models[1:]/*,-inner_models/tags")
+      Mockito.when(uriInfo.getQueryParameters).thenReturn(queryParams)
+      val output = new ByteArrayOutputStream()
+
+      val filter = new FilteringJacksonJsonProvider(objectMapper)
+      filter.uriInfo = uriInfo
+
+      filter.writeTo(fakeModel,
+        fakeModel.getClass,
+        null,
+        Array(),
+        MediaType.APPLICATION_JSON_TYPE,
+        null,
+        output)
+
+      val json = """{"id":"id1","name":"name1","times":1,"inner_models":[{"id":"inner_id2","name":"inner_name2"}]}"""
+      json should be === output.toString(Charset.defaultCharset().name())
+    }
+
+    it("responds with a bad request for invalid fields") {
+      val uriInfo = Mockito.mock(classOf[UriInfo])
+      val queryParams = new MultivaluedMapImpl[String, String]
+      queryParams.add("fields", "inner_models[a]")
+      Mockito.when(uriInfo.getQueryParameters).thenReturn(queryParams)
+
+      val filter = new FilteringJacksonJsonProvider(objectMapper)
+      filter.uriInfo = uriInfo
+
+      val exception = intercept[WebApplicationException] {
+        filter.writeTo(fakeModel,
+          fakeModel.getClass,
+          null,
+          Array(),
+          MediaType.APPLICATION_JSON_TYPE,
+          null,
+          new ByteArrayOutputStream())
+      }
+      exception.getResponse.getStatus should be (400)
+    }
   }
 
   describe("A series of tests to measure serialization time.") {
@@ -225,4 +270,64 @@ class FilteringJacksonJsonProviderSpec
       }
     }
   }
+
+  describe("A comparison of buffered and streaming filtering times.") {
+    // Each inner model serializes to roughly 64 bytes
+    val payloads = Seq(("1 KB", 16), ("100 KB", 1600), ("10 MB", 160000))
+
+    def model(innerModelCount: Int): FakeModel = {
+      val innerModels = Lists.newArrayList[FakeInnerModel]()
+      (0 until innerModelCount).foreach({ value => innerModels.add(new FakeInnerModel(s"$value",
+        s"inner_name$value", List(s"inner_tag$value").asJava))
+      })
+      new FakeModel("id1", "name1", 1, List("tag1", "tag2").asJava, innerModels)
+    }
+
+    def writeBuffered(fakeModel: FakeModel, fields: String): Unit = {
+      val output = new ByteArrayOutputStream()
+      val jgen = objectMapper.getFactory.createGenerator(output)
+      val tokenBuffer = new TokenBuffer(objectMapper, false)
+      objectMapper.writeValue(tokenBuffer, fakeModel)
+      FieldFilter.create(fields).writeJson(tokenBuffer.asParser(), jgen)
+    }
+
+    payloads.foreach { case (size, innerModelCount) =>
+      it(s"filters a $size FakeModel") {
+        val fakeModel = model(innerModelCount)
+        val fields = "id,name,inner_models/id"
+        val uriInfo = Mockito.mock(classOf[UriInfo], Mockito.withSettings().stubOnly())
+        val queryParams = new MultivaluedMapImpl[String, String]
+        queryParams.add("fields", fields)
+        Mockito.when(uriInfo.getQueryParameters).thenReturn(queryParams)
+
+        val filter = new FilteringJacksonJsonProvider(objectMapper)
+        filter.uriInfo = uriInfo
+
+        val iterations = math.max(10, 1600000 / innerModelCount)
+
+        // warm up both paths before timing
+        (0 until iterations).foreach { value => writeBuffered(fakeModel, fields) }
+        (0 until iterations).foreach { value =>
+          filter.writeTo(fakeModel, fakeModel.getClass, null, Array(),
+            MediaType.APPLICATION_JSON_TYPE, null, new ByteArrayOutputStream())
+        }
+
+        System.gc()
+        val bufferedStartTime = System.nanoTime()
+        (0 until iterations).foreach { value => writeBuffered(fakeModel, fields) }
+        val bufferedTime = (System.nanoTime() - bufferedStartTime) / iterations
+
+        System.gc()
+        val streamingStartTime = System.nanoTime()
+        (0 until iterations).foreach { value =>
+          filter.writeTo(fakeModel, fakeModel.getClass, null, Array(),
+            MediaType.APPLICATION_JSON_TYPE, null, new ByteArrayOutputStream())
+        }
+        val streamingTime = (System.nanoTime() - streamingStartTime) / iterations
+
+        println(s"Average time for $size FakeModel with buffered filtering: $bufferedTime ns, " +
+            s"streaming filtering: $streamingTime ns")
+      }
+    }
+  }
 }
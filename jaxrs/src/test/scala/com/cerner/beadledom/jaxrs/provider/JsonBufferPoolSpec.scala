@@ -0,0 +1,153 @@
+package com.cerner.beadledom.jaxrs.provider
+
+import com.cerner.beadledom.jackson.filter.FieldFilterCache
+import com.cerner.beadledom.jaxrs.provider.FakeModel.FakeInnerModel
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.google.common.collect.Lists
+import java.io.ByteArrayOutputStream
+import java.lang.management.ManagementFactory
+import javax.ws.rs.core.{MediaType, UriInfo}
+import org.jboss.resteasy.specimpl.MultivaluedMapImpl
+import org.mockito.Mockito
+import org.scalatest.{FunSpec, ShouldMatchers}
+import scala.collection.JavaConverters._
+
+/**
+ * Spec tests for {@link JsonBufferPool}.
+ */
+class JsonBufferPoolSpec extends FunSpec with ShouldMatchers {
+  val objectMapper = new ObjectMapper()
+
+  def model(innerModelCount: Int): FakeModel = {
+    val innerModels = Lists.newArrayList[FakeInnerModel]()
+    (0 until innerModelCount).foreach({ value => innerModels.add(new FakeInnerModel(s"$value",
+      s"inner_name$value", List(s"inner_tag$value").asJava))
+    })
+    new FakeModel("id1", "name1", 1, List("tag1", "tag2").asJava, innerModels)
+  }
+
+  def provider(pool: JsonBufferPool, fields: String): FilteringJacksonJsonProvider = {
+    val uriInfo = Mockito.mock(classOf[UriInfo])
+    val queryParams = new MultivaluedMapImpl[String, String]
+    queryParams.add("fields", fields)
+    Mockito.when(uriInfo.getQueryParameters).thenReturn(queryParams)
+
+    val provider = new FilteringJacksonJsonProvider(objectMapper, new FieldFilterCache(), pool)
+    provider.uriInfo = uriInfo
+    provider
+  }
+
+  def write(provider: FilteringJacksonJsonProvider, fakeModel: FakeModel): String = {
+    val output = new ByteArrayOutputStream()
+    provider.writeTo(fakeModel, fakeModel.getClass, null, Array(),
+      MediaType.APPLICATION_JSON_TYPE, null, output)
+    output.toString("UTF-8")
+  }
+
+  describe("JsonBufferPool") {
+    it("creates a new buffer set when empty") {
+      val pool = new JsonBufferPool(2)
+      pool.acquire()
+
+      pool.stats().getMissCount should be(1)
+      pool.stats().getHitCount should be(0)
+    }
+
+    it("reuses released buffer sets") {
+      val pool = new JsonBufferPool(2)
+      val recycler = pool.acquire()
+      pool.release(recycler)
+
+      pool.acquire() should be theSameInstanceAs recycler
+      pool.stats().getHitCount should be(1)
+      pool.stats().getMissCount should be(1)
+    }
+
+    it("discards buffer sets released to a full pool") {
+      val pool = new JsonBufferPool(1)
+      pool.release(pool.acquire())
+      pool.release(pool.acquire())
+      pool.release(pool.acquire())
+      pool.size() should be(1)
+    }
+
+    it("reports whether a released buffer set was pooled") {
+      val pool = new JsonBufferPool(1)
+      val first = pool.acquire()
+      val second = pool.acquire()
+
+      pool.release(first) should be(true)
+      pool.release(second) should be(false)
+    }
+
+    it("throws an IllegalArgumentException for a non-positive maximum size") {
+      intercept[IllegalArgumentException] {
+        new JsonBufferPool(0)
+      }
+    }
+
+    it("returns buffers to the pool after each filtered response") {
+      val pool = new JsonBufferPool(2)
+      val fakeModel = model(10)
+      val filtering = provider(pool, "id,inner_models/id")
+
+      val first = write(filtering, fakeModel)
+      val second = write(filtering, fakeModel)
+
+      first should be(second)
+      pool.size() should be(1)
+      pool.stats().getMissCount should be(1)
+      pool.stats().getHitCount should be(1)
+      pool.stats().getAllocatedBytes should be > 0L
+    }
+
+    it("does not allocate new buffers for pooled responses") {
+      val pool = new JsonBufferPool(2)
+      val filtering = provider(pool, "id,inner_models/id")
+      write(filtering, model(10))
+      val allocatedBytes = pool.stats().getAllocatedBytes
+
+      (0 until 10).foreach(_ => write(filtering, model(10)))
+
+      pool.stats().getAllocatedBytes should be(allocatedBytes)
+    }
+  }
+
+  describe("A series of tests to measure allocation per filtered response.") {
+    it("measures the bytes allocated by the writing thread per response") {
+      val threadBean = ManagementFactory.getThreadMXBean
+      if (threadBean.isInstanceOf[com.sun.management.ThreadMXBean]) {
+        val allocationBean = threadBean.asInstanceOf[com.sun.management.ThreadMXBean]
+        val fakeModel = model(160)
+        val fields = "id,name,inner_models/id"
+        val iterations = 1000
+
+        val pooled = provider(new JsonBufferPool(), fields)
+        // Draining the pool before each response forces new buffers to be allocated
+        val drainedPool = new JsonBufferPool(1)
+        val drained = provider(drainedPool, fields)
+        def unpooled = {
+          drainedPool.acquire()
+          drained
+        }
+
+        (0 until iterations).foreach { value => write(pooled, fakeModel) }
+        (0 until iterations).foreach { value => write(unpooled, fakeModel) }
+
+        val threadId = Thread.currentThread().getId
+        val pooledStart = allocationBean.getThreadAllocatedBytes(threadId)
+        (0 until iterations).foreach { value => write(pooled, fakeModel) }
+        val pooledBytes = (allocationBean.getThreadAllocatedBytes(threadId) - pooledStart) /
+            iterations
+
+        val unpooledStart = allocationBean.getThreadAllocatedBytes(threadId)
+        (0 until iterations).foreach { value => write(unpooled, fakeModel) }
+        val unpooledBytes = (allocationBean.getThreadAllocatedBytes(threadId) - unpooledStart) /
+            iterations
+
+        println(s"Average bytes allocated per filtered response with pooled buffers: " +
+            s"$pooledBytes, without pooled buffers: $unpooledBytes")
+      }
+    }
+  }
+}
@@ -6,7 +6,7 @@ import com.cerner.beadledom.testing.JsonMatchers.equalJson
 import com.google.common.base.Charsets
 import java.io.File
 import javax.ws.rs.client.Entity
-import javax.ws.rs.core.MediaType
+import javax.ws.rs.core.{HttpHeaders, MediaType}
 import org.apache.commons.io.{FileUtils, IOUtils}
 import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder
 import org.scalatest.mock.MockitoSugar
@@ -57,6 +57,20 @@ class ResteasyServiceSpec(rootUrl: String, tomcatPort: Int)
           val expected = Json.obj("message" -> "faux-service is available")
           response.readEntity(classOf[String]) must equalJson(expected)
         }
+
+        it("returns 304 Not Modified for the ETag of the json") {
+          val response = client.target(s"$rootUrl/meta/availability").request()
+              .accept(MediaType.APPLICATION_JSON).get()
+          val entityTag = response.getEntityTag
+          response.close()
+
+          val notModified = client.target(s"$rootUrl/meta/availability").request()
+              .accept(MediaType.APPLICATION_JSON).header(HttpHeaders.IF_NONE_MATCH, entityTag)
+              .get()
+          notModified.close()
+          entityTag must not be null
+          notModified.getStatus must be(304)
+        }
       }
 
       describe("/meta/health") {